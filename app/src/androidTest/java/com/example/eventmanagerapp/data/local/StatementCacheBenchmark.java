@@ -0,0 +1,82 @@
+package com.example.eventmanagerapp.data.local;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Throughput of a single-row update through {@link StatementCache} versus compiling the
+ * statement on every call, as the DAOs did before. Reports timings only; the unit tests
+ * in StatementCacheTest check the cache's behaviour.
+ */
+@RunWith(AndroidJUnit4.class)
+public class StatementCacheBenchmark {
+
+    private static final String DATABASE_NAME = "statement_cache_benchmark.db";
+    private static final String SQL_TOUCH = "UPDATE events SET remind_before=? WHERE id=?";
+
+    @Rule
+    public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private Context context;
+    private AppDatabase database;
+    private int eventId;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DATABASE_NAME);
+        database = new AppDatabase(context, DATABASE_NAME);
+
+        eventId = (int) database.getStatementCache().executeInsert(
+                "INSERT INTO events (user_id, title, start_time, end_time) VALUES (100, 'Event', 0, 3600000)",
+                statement -> { });
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+        context.deleteDatabase(DATABASE_NAME);
+    }
+
+    @Test
+    public void updateCompiledPerCall() {
+        SQLiteDatabase db = database.getDatabase();
+        BenchmarkState state = benchmarkRule.getState();
+        int value = 0;
+        while (state.keepRunning()) {
+            SQLiteStatement statement = db.compileStatement(SQL_TOUCH);
+            try {
+                statement.bindLong(1, value++);
+                statement.bindLong(2, eventId);
+                statement.executeUpdateDelete();
+            } finally {
+                statement.close();
+            }
+        }
+    }
+
+    @Test
+    public void updateCached() {
+        StatementCache statements = database.getStatementCache();
+        BenchmarkState state = benchmarkRule.getState();
+        int[] value = {0};
+        while (state.keepRunning()) {
+            statements.executeUpdateDelete(SQL_TOUCH, statement -> {
+                statement.bindLong(1, value[0]++);
+                statement.bindLong(2, eventId);
+            });
+        }
+    }
+}
@@ -8,6 +8,8 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.eventmanagerapp.R;
@@ -16,26 +18,85 @@ import com.example.eventmanagerapp.presentation.EventDetailActivity;
 import com.example.eventmanagerapp.utils.DateTimeHelper;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-
+import java.util.Objects;
+
+/**
+ * Event rows backed by an {@link AsyncListDiffer}: every update submits a new list, the diff
+ * against the current one is computed on a background thread and only rows that changed
+ * are rebound. Ids are stable, so unchanged rows keep their views across refreshes.
+ *
+ * Occurrences of a repeating event all carry the series' id, so a row is identified by
+ * its id together with its start time, see {@link #stableId(Event)}.
+ */
 public class EventAdapter extends RecyclerView.Adapter<EventAdapter.EventViewHolder> {
 
-    private final List<Event> data = new ArrayList<>();
+    // So sánh theo những gì dòng hiển thị (tiêu đề, giờ); id dùng cho click
+    static final DiffUtil.ItemCallback<Event> DIFF_CALLBACK = new DiffUtil.ItemCallback<Event>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Event oldItem, @NonNull Event newItem) {
+            return oldItem.getId() == newItem.getId()
+                    && oldItem.getStartTime() == newItem.getStartTime();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Event oldItem, @NonNull Event newItem) {
+            return oldItem.getStartTime() == newItem.getStartTime()
+                    && oldItem.getEndTime() == newItem.getEndTime()
+                    && Objects.equals(oldItem.getTitle(), newItem.getTitle());
+        }
+    };
+
+    private final AsyncListDiffer<Event> differ;
+    // Danh sách gửi đi gần nhất; differ có thể chưa tính xong diff cho nó
+    private List<Event> latest = Collections.emptyList();
+
+    public EventAdapter() {
+        setHasStableIds(true);
+        differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
+    }
 
     public void setData(List<Event> newData) {
-        data.clear();
-        if (newData != null) data.addAll(newData);
-        notifyDataSetChanged();
+        submit(newData == null ? new ArrayList<>() : new ArrayList<>(newData));
     }
 
     public void addEvent(Event e) {
-        data.add(e);
-        notifyItemInserted(data.size() - 1);
+        List<Event> next = new ArrayList<>(latest);
+        next.add(e);
+        submit(next);
+    }
+
+    public void appendData(List<Event> page) {
+        List<Event> next = new ArrayList<>(latest.size() + page.size());
+        next.addAll(latest);
+        next.addAll(page);
+        submit(next);
+    }
+
+    public void prependData(List<Event> page) {
+        List<Event> next = new ArrayList<>(page.size() + latest.size());
+        next.addAll(page);
+        next.addAll(latest);
+        submit(next);
+    }
+
+    public void removeFirst(int count) {
+        submit(new ArrayList<>(latest.subList(count, latest.size())));
+    }
+
+    public void removeLast(int count) {
+        submit(new ArrayList<>(latest.subList(0, latest.size() - count)));
     }
 
     public void clear() {
-        data.clear();
-        notifyDataSetChanged();
+        submit(new ArrayList<>());
+    }
+
+    private void submit(List<Event> next) {
+        // Lần cập nhật sau phải dựa trên danh sách này chứ không phải danh sách đang hiển thị
+        latest = next;
+        differ.submitList(next);
     }
 
     @NonNull
@@ -48,19 +109,34 @@ public class EventAdapter extends RecyclerView.Adapter<EventAdapter.EventViewHol
 
     @Override
     public void onBindViewHolder(@NonNull EventViewHolder holder, int position) {
-        Event event = data.get(position);
+        Event event = differ.getCurrentList().get(position);
         holder.bind(event);
     }
 
+    @Override
+    public long getItemId(int position) {
+        return stableId(differ.getCurrentList().get(position));
+    }
+
+    /**
+     * Event id in the high half, start minute in the low half. Two occurrences of one
+     * series never start in the same minute, so ids stay unique within a list.
+     */
+    static long stableId(Event event) {
+        return ((long) event.getId() << 32) | ((event.getStartTime() / 60000L) & 0xFFFFFFFFL);
+    }
+
     @Override
     public int getItemCount() {
-        return data.size();
+        return differ.getCurrentList().size();
     }
 
     static class EventViewHolder extends RecyclerView.ViewHolder {
 
         private final TextView tvTitle;
         private final TextView tvTime;
+        // TextView giữ tham chiếu tới mảng này, chỉ ghi lại ngay trước setText kế tiếp
+        private final char[] timeBuffer = new char[DateTimeHelper.TIME_RANGE_LENGTH];
         private final Context context;
 
         EventViewHolder(@NonNull View itemView) {
@@ -73,15 +149,18 @@ public class EventAdapter extends RecyclerView.Adapter<EventAdapter.EventViewHol
         void bind(Event event) {
             tvTitle.setText(event.getTitle());
 
-            String timeText = DateTimeHelper.formatTimeRange(
+            int timeLength = DateTimeHelper.formatTimeRange(
                     event.getStartTime(),
-                    event.getEndTime()
+                    event.getEndTime(),
+                    timeBuffer
             );
-            tvTime.setText(timeText);
+            tvTime.setText(timeBuffer, 0, timeLength);
 
             itemView.setOnClickListener(v -> {
                 Intent intent = new Intent(context, EventDetailActivity.class);
                 intent.putExtra("event_id", event.getId());
+                // Với chuỗi lặp lại: lần được chọn
+                intent.putExtra("occurrence_start", event.getStartTime());
                 context.startActivity(intent);
             });
         }
@@ -2,20 +2,67 @@ package com.example.eventmanagerapp.data.local;
 
 import android.content.Context;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.Cursor;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.os.SystemClock;
+import android.util.Log;
 
 public class AppDatabase extends SQLiteOpenHelper {
 
+    private static final String TAG = "AppDatabase";
+
     private static final String DATABASE_NAME = "event_manager.db";
-    private static final int DATABASE_VERSION = 3;
+    private static final int DATABASE_VERSION = 11;
 
     private static final String TABLE_EVENT = "events";
     private static final String TABLE_USER = "users";
 
+    // Phục vụ truy vấn theo khoảng thời gian của từng user (lịch tuần)
+    private static final String CREATE_INDEX_USER_START =
+            "CREATE INDEX IF NOT EXISTS idx_events_user_start ON " + TABLE_EVENT +
+                    "(user_id, start_time)";
+
+    // Index trên biểu thức: MAX(end_time - start_time) của một user chỉ cần một lần seek
+    private static final String CREATE_INDEX_USER_DURATION =
+            "CREATE INDEX IF NOT EXISTS idx_events_user_duration ON " + TABLE_EVENT +
+                    "(user_id, end_time - start_time)";
+
+    // Partial index: chỉ chứa các nhắc nhở chưa báo, nên nhỏ và luôn "nóng"
+    private static final String CREATE_INDEX_PENDING_REMINDER =
+            "CREATE INDEX IF NOT EXISTS idx_events_pending_reminder ON " + TABLE_EVENT +
+                    "(reminder_at) WHERE reminder_fired = 0 AND reminder_at IS NOT NULL";
+
+    // Partial index: chỉ các chuỗi lặp lại, thường rất ít so với sự kiện đơn lẻ
+    private static final String CREATE_INDEX_SERIES =
+            "CREATE INDEX IF NOT EXISTS idx_events_series ON " + TABLE_EVENT +
+                    "(user_id, start_time) WHERE repeat_days IS NOT NULL";
+
+    // FTS4 external content: chỉ lưu chỉ mục, nội dung đọc lại từ bảng events
+    static final String TABLE_EVENT_FTS = "events_fts";
+
+    // Các lần lặp đã bị bỏ của một chuỗi, theo giờ bắt đầu gốc của lần đó
+    static final String TABLE_EVENT_EXCEPTIONS = "event_exceptions";
+
+    // Số sự kiện và số phút bận của mỗi user theo ngày địa phương, cập nhật bằng trigger
+    static final String TABLE_DAY_SUMMARY = "day_summary";
+
+    // Số câu SQL đã chuẩn bị giữ lại trên mỗi connection (mặc định 25, tối đa 100)
+    private static final int SQL_CACHE_SIZE = 64;
+
     private static AppDatabase instance;
 
+    private final StatementCache statementCache = new StatementCache(this);
+    private final WriteQueue writeQueue = new WriteQueue(this);
+
     private AppDatabase(Context context) {
-        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+        this(context, DATABASE_NAME);
+    }
+
+    // Cho test: mở một file database khác với file của app
+    AppDatabase(Context context, String name) {
+        super(context, name, null, DATABASE_VERSION);
+        // WAL: một writer + các reader chạy song song trên connection pool
+        setWriteAheadLoggingEnabled(true);
     }
 
     public static synchronized AppDatabase getInstance(Context context) {
@@ -25,6 +72,50 @@ public class AppDatabase extends SQLiteOpenHelper {
         return instance;
     }
 
+    /**
+     * Returns the process-wide connection. SQLiteOpenHelper keeps it open once
+     * created, so DAOs borrow it here and must never close it themselves.
+     * With write-ahead logging, reads from other threads are served by the
+     * pool's reader connections while the primary connection handles writes.
+     */
+    public SQLiteDatabase getDatabase() {
+        return getWritableDatabase();
+    }
+
+    /**
+     * Compiled statements shared by the DAOs for single-row writes and single-value lookups.
+     */
+    public StatementCache getStatementCache() {
+        return statementCache;
+    }
+
+    /**
+     * Single writer thread that event mutations go through, see {@link WriteQueue}.
+     */
+    public WriteQueue getWriteQueue() {
+        return writeQueue;
+    }
+
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        db.setMaxSqlCacheSize(SQL_CACHE_SIZE);
+    }
+
+    /**
+     * Commits the queued writes and stops the writer thread before closing the connection.
+     * Not synchronized on the helper: the writer needs that lock to reach the database
+     * while it drains. The next getDatabase() or submit opens and starts them again.
+     */
+    @Override
+    public void close() {
+        writeQueue.shutdown();
+        synchronized (this) {
+            // Statement gắn với connection cũ, không dùng lại được sau khi mở lại
+            statementCache.clear();
+            super.close();
+        }
+    }
+
     @Override
     public void onCreate(SQLiteDatabase db) {
         String createUserTable = "CREATE TABLE " + TABLE_USER + " (" +
@@ -44,34 +135,236 @@ public class AppDatabase extends SQLiteOpenHelper {
                 "start_time INTEGER NOT NULL, " +
                 "end_time INTEGER NOT NULL, " +
                 "remind_before INTEGER DEFAULT 0, " +
+                "reminder_at INTEGER, " +
+                "reminder_fired INTEGER NOT NULL DEFAULT 0, " +
+                "repeat_days INTEGER, " +
+                "repeat_until INTEGER, " +
+                "start_day INTEGER, " +
+                "day_minutes INTEGER NOT NULL DEFAULT 0, " +
                 "FOREIGN KEY(user_id) REFERENCES users(id) ON DELETE CASCADE" +
                 ")";
         db.execSQL(createEventTable);
+        db.execSQL(CREATE_INDEX_USER_START);
+        db.execSQL(CREATE_INDEX_PENDING_REMINDER);
+        db.execSQL(CREATE_INDEX_SERIES);
+        db.execSQL(CREATE_INDEX_USER_DURATION);
+        createSearchIndex(db);
+        createExceptionTable(db);
+        createDaySummaryTable(db);
+        createDaySummaryTriggers(db);
     }
 
+    /**
+     * Runs every pending step in order. SQLiteOpenHelper already wraps onUpgrade and the
+     * version bump in one transaction, so the upgrade is all-or-nothing: if a step throws,
+     * the earlier steps roll back too and the next open starts again from oldVersion.
+     */
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-        if (oldVersion < 3) {
-            // Tạo bảng users
-            String createUserTable = "CREATE TABLE IF NOT EXISTS " + TABLE_USER + " (" +
-                    "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                    "username TEXT UNIQUE NOT NULL, " +
-                    "password TEXT NOT NULL, " +
-                    "full_name TEXT, " +
-                    "created_at INTEGER NOT NULL" +
-                    ")";
-            db.execSQL(createUserTable);
-
-            try {
-                db.execSQL("ALTER TABLE " + TABLE_EVENT + " ADD COLUMN user_id INTEGER DEFAULT 1");
-            } catch (Exception e) {
-                // Cột đã tồn tại
+        for (Migration migration : MIGRATIONS) {
+            if (migration.version <= oldVersion || migration.version > newVersion) {
+                continue;
             }
+            long started = SystemClock.elapsedRealtime();
+            migration.migrate(db);
+            Log.i(TAG, "Migrated to v" + migration.version + " in "
+                    + (SystemClock.elapsedRealtime() - started) + " ms");
         }
     }
 
-    @Override
-    public void onDowngrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-        onUpgrade(db, oldVersion, newVersion);
+    /**
+     * Schema history, oldest first. Databases before v3 (v1 and v2) start at the v3 step.
+     * Add a step here and bump {@link #DATABASE_VERSION} together; onCreate must produce
+     * the same schema as running every step.
+     */
+    static final Migration[] MIGRATIONS = {
+            new Migration(3) {
+                @Override
+                void migrate(SQLiteDatabase db) {
+                    db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_USER + " (" +
+                            "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                            "username TEXT UNIQUE NOT NULL, " +
+                            "password TEXT NOT NULL, " +
+                            "full_name TEXT, " +
+                            "created_at INTEGER NOT NULL" +
+                            ")");
+                    // Bản v2 có thể đã có cột user_id
+                    if (!hasColumn(db, TABLE_EVENT, "user_id")) {
+                        db.execSQL("ALTER TABLE " + TABLE_EVENT + " ADD COLUMN user_id INTEGER DEFAULT 1");
+                    }
+                }
+            },
+            new Migration(4) {
+                @Override
+                void migrate(SQLiteDatabase db) {
+                    db.execSQL(CREATE_INDEX_USER_START);
+                }
+            },
+            new Migration(5) {
+                @Override
+                void migrate(SQLiteDatabase db) {
+                    db.execSQL("ALTER TABLE " + TABLE_EVENT + " ADD COLUMN reminder_at INTEGER");
+                    db.execSQL("ALTER TABLE " + TABLE_EVENT +
+                            " ADD COLUMN reminder_fired INTEGER NOT NULL DEFAULT 0");
+                    // Nhắc nhở đã qua coi như đã báo, tránh bắn hàng loạt thông báo cũ sau khi nâng cấp
+                    db.execSQL("UPDATE " + TABLE_EVENT + " SET " +
+                                    "reminder_at = start_time - remind_before * 60000, " +
+                                    "reminder_fired = CASE WHEN start_time - remind_before * 60000 <= ? THEN 1 ELSE 0 END",
+                            new Object[]{System.currentTimeMillis()});
+                }
+            },
+            new Migration(6) {
+                @Override
+                void migrate(SQLiteDatabase db) {
+                    db.execSQL(CREATE_INDEX_PENDING_REMINDER);
+                }
+            },
+            new Migration(7) {
+                @Override
+                void migrate(SQLiteDatabase db) {
+                    createSearchIndex(db);
+                    db.execSQL("INSERT INTO " + TABLE_EVENT_FTS + "(" + TABLE_EVENT_FTS + ") VALUES('rebuild')");
+                }
+            },
+            new Migration(8) {
+                @Override
+                void migrate(SQLiteDatabase db) {
+                    db.execSQL("ALTER TABLE " + TABLE_EVENT + " ADD COLUMN repeat_days INTEGER");
+                    db.execSQL("ALTER TABLE " + TABLE_EVENT + " ADD COLUMN repeat_until INTEGER");
+                    db.execSQL(CREATE_INDEX_SERIES);
+                    createExceptionTable(db);
+                }
+            },
+            new Migration(9) {
+                @Override
+                void migrate(SQLiteDatabase db) {
+                    db.execSQL("ALTER TABLE " + TABLE_EVENT + " ADD COLUMN start_day INTEGER");
+                    db.execSQL("ALTER TABLE " + TABLE_EVENT +
+                            " ADD COLUMN day_minutes INTEGER NOT NULL DEFAULT 0");
+                    createDaySummaryTable(db);
+                    // Tính lại toàn bộ một lần trước khi bật trigger, để trigger không chạy cho từng dòng
+                    EventDao.rebuildDaySummaries(db);
+                    createDaySummaryTriggers(db);
+                }
+            },
+            new Migration(10) {
+                @Override
+                void migrate(SQLiteDatabase db) {
+                    // Tạo lại các trigger UPDATE với điều kiện chỉ chạy khi cột liên quan đổi giá trị
+                    db.execSQL("DROP TRIGGER IF EXISTS day_summary_au_old");
+                    db.execSQL("DROP TRIGGER IF EXISTS day_summary_au_new");
+                    db.execSQL("DROP TRIGGER IF EXISTS events_fts_bu");
+                    db.execSQL("DROP TRIGGER IF EXISTS events_fts_au");
+                    createDaySummaryTriggers(db);
+                    createSearchIndex(db);
+                }
+            },
+            new Migration(11) {
+                @Override
+                void migrate(SQLiteDatabase db) {
+                    db.execSQL(CREATE_INDEX_USER_DURATION);
+                }
+            },
+    };
+
+    private static boolean hasColumn(SQLiteDatabase db, String table, String column) {
+        Cursor cursor = db.rawQuery("PRAGMA table_info(" + table + ")", null);
+        try {
+            int nameIndex = cursor.getColumnIndexOrThrow("name");
+            while (cursor.moveToNext()) {
+                if (column.equals(cursor.getString(nameIndex))) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Per-day totals of single events, keyed by (user_id, epoch_day). Each event row
+     * carries its local start day and its minutes before midnight (start_day,
+     * day_minutes, written by EventDao), so the triggers only add and subtract.
+     * Repeating events are not counted; their occurrences are expanded in memory.
+     */
+    private static void createDaySummaryTable(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_DAY_SUMMARY + " (" +
+                "user_id INTEGER NOT NULL, " +
+                "epoch_day INTEGER NOT NULL, " +
+                "event_count INTEGER NOT NULL, " +
+                "busy_minutes INTEGER NOT NULL, " +
+                "PRIMARY KEY(user_id, epoch_day)" +
+                ") WITHOUT ROWID");
+    }
+
+    private static void createDaySummaryTriggers(SQLiteDatabase db) {
+        String addNew = "INSERT OR IGNORE INTO " + TABLE_DAY_SUMMARY +
+                " VALUES (new.user_id, new.start_day, 0, 0); " +
+                "UPDATE " + TABLE_DAY_SUMMARY + " SET event_count = event_count + 1, " +
+                "busy_minutes = busy_minutes + new.day_minutes " +
+                "WHERE user_id = new.user_id AND epoch_day = new.start_day; ";
+        String removeOld = "UPDATE " + TABLE_DAY_SUMMARY + " SET event_count = event_count - 1, " +
+                "busy_minutes = busy_minutes - old.day_minutes " +
+                "WHERE user_id = old.user_id AND epoch_day = old.start_day; " +
+                "DELETE FROM " + TABLE_DAY_SUMMARY + " WHERE user_id = old.user_id " +
+                "AND epoch_day = old.start_day AND event_count <= 0; ";
+        // Đổi tiêu đề, ghi chú hay nhắc nhở không đụng tới bảng tổng hợp
+        String updateOf = " AFTER UPDATE OF user_id, start_day, day_minutes, repeat_days ON " + TABLE_EVENT;
+        // UPDATE OF vẫn chạy khi DAO ghi lại đúng giá trị cũ, nên so sánh thêm từng cột
+        String changed = " AND (old.user_id IS NOT new.user_id OR old.start_day IS NOT new.start_day" +
+                " OR old.day_minutes IS NOT new.day_minutes OR old.repeat_days IS NOT new.repeat_days)";
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS day_summary_ai AFTER INSERT ON " + TABLE_EVENT +
+                " WHEN new.repeat_days IS NULL BEGIN " + addNew + "END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS day_summary_ad AFTER DELETE ON " + TABLE_EVENT +
+                " WHEN old.repeat_days IS NULL BEGIN " + removeOld + "END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS day_summary_au_old" + updateOf +
+                " WHEN old.repeat_days IS NULL" + changed + " BEGIN " + removeOld + "END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS day_summary_au_new" + updateOf +
+                " WHEN new.repeat_days IS NULL" + changed + " BEGIN " + addNew + "END");
+    }
+
+    /**
+     * Occurrences removed from a series. A series is one row in events (repeat_days not
+     * null); its occurrences are computed, so skipping one is recorded here by its
+     * original start time. Foreign keys are not enabled, hence the trigger.
+     */
+    private static void createExceptionTable(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_EVENT_EXCEPTIONS + " (" +
+                "event_id INTEGER NOT NULL, " +
+                "occurrence_start INTEGER NOT NULL, " +
+                "PRIMARY KEY(event_id, occurrence_start)" +
+                ") WITHOUT ROWID");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS event_exceptions_bd BEFORE DELETE ON " +
+                TABLE_EVENT + " BEGIN " +
+                "DELETE FROM " + TABLE_EVENT_EXCEPTIONS + " WHERE event_id = old.id; END");
+    }
+
+    /**
+     * Full-text index over events.title and events.note. The FTS table only stores the
+     * index (content=events, docid = events.id); triggers keep it in sync with the table.
+     */
+    private static void createSearchIndex(SQLiteDatabase db) {
+        db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS " + TABLE_EVENT_FTS + " USING fts4(" +
+                "content=\"" + TABLE_EVENT + "\", title, note, tokenize=unicode61)");
+
+        // DAO luôn ghi lại cả title và note; chỉ đánh chỉ mục lại khi nội dung thật sự đổi
+        String textChanged = " WHEN old.title IS NOT new.title OR old.note IS NOT new.note";
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS events_fts_bu BEFORE UPDATE OF title, note ON " +
+                TABLE_EVENT + textChanged + " BEGIN " +
+                "DELETE FROM " + TABLE_EVENT_FTS + " WHERE docid = old.id; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS events_fts_bd BEFORE DELETE ON " +
+                TABLE_EVENT + " BEGIN " +
+                "DELETE FROM " + TABLE_EVENT_FTS + " WHERE docid = old.id; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS events_fts_au AFTER UPDATE OF title, note ON " +
+                TABLE_EVENT + textChanged + " BEGIN " +
+                "INSERT INTO " + TABLE_EVENT_FTS + "(docid, title, note) " +
+                "VALUES (new.id, new.title, new.note); END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS events_fts_ai AFTER INSERT ON " +
+                TABLE_EVENT + " BEGIN " +
+                "INSERT INTO " + TABLE_EVENT_FTS + "(docid, title, note) " +
+                "VALUES (new.id, new.title, new.note); END");
     }
-}
\ No newline at end of file
+}
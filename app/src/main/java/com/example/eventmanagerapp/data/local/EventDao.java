@@ -1,18 +1,32 @@
 package com.example.eventmanagerapp.data.local;
 
-import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
+import android.database.SQLException;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
 
+import com.example.eventmanagerapp.domain.model.DaySummary;
 import com.example.eventmanagerapp.domain.model.Event;
+import com.example.eventmanagerapp.domain.model.Recurrence;
+import com.example.eventmanagerapp.domain.model.Reminder;
+import com.example.eventmanagerapp.utils.DateTimeHelper;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public class EventDao {
 
     private final AppDatabase dbHelper;
+    private final StatementCache statements;
 
     // Tên cột
     private static final String COL_ID = "id";
@@ -22,109 +36,722 @@ public class EventDao {
     private static final String COL_START_TIME = "start_time";
     private static final String COL_END_TIME = "end_time";
     private static final String COL_REMIND = "remind_before";
+    private static final String COL_REMINDER_AT = "reminder_at";
+    private static final String COL_REMINDER_FIRED = "reminder_fired";
+    private static final String COL_REPEAT_DAYS = "repeat_days";
+    private static final String COL_REPEAT_UNTIL = "repeat_until";
+    private static final String COL_START_DAY = "start_day";
+    private static final String COL_DAY_MINUTES = "day_minutes";
     private static final String TABLE_EVENT = "events";
 
+    // Dùng index idx_events_user_start (user_id, start_time); chuỗi lặp lại được mở rộng riêng
+    static final String QUERY_IN_RANGE =
+            "SELECT * FROM " + TABLE_EVENT +
+                    " WHERE " + COL_USER_ID + "=? AND " + COL_START_TIME + ">=? AND " + COL_START_TIME + "<?" +
+                    " AND " + COL_REPEAT_DAYS + " IS NULL" +
+                    " ORDER BY " + COL_START_TIME + " ASC";
+
+    // Chuỗi bắt đầu trước cuối khoảng và chưa kết thúc trước đầu khoảng; dùng partial
+    // index idx_events_series nên WHERE phải có repeat_days IS NOT NULL
+    static final String QUERY_SERIES_IN_RANGE =
+            "SELECT * FROM " + TABLE_EVENT +
+                    " WHERE " + COL_USER_ID + "=? AND " + COL_REPEAT_DAYS + " IS NOT NULL" +
+                    " AND " + COL_START_TIME + "<?" +
+                    " AND (" + COL_REPEAT_UNTIL + " IS NULL OR " + COL_REPEAT_UNTIL + ">?)" +
+                    " ORDER BY " + COL_START_TIME + " ASC";
+
+    // Sự kiện giao với [start, end): start_time < end và end_time > start. Cận dưới của
+    // start_time (start - thời lượng dài nhất) để quét được một khoảng trên idx_events_user_start
+    static final String QUERY_OVERLAPPING =
+            "SELECT * FROM " + TABLE_EVENT +
+                    " WHERE " + COL_USER_ID + "=? AND " + COL_START_TIME + ">? AND " + COL_START_TIME + "<?" +
+                    " AND " + COL_END_TIME + ">? AND " + COL_REPEAT_DAYS + " IS NULL" +
+                    " ORDER BY " + COL_START_TIME + " ASC";
+
+    static final String QUERY_MAX_DURATION =
+            "SELECT MAX(" + COL_END_TIME + " - " + COL_START_TIME + ") FROM " + TABLE_EVENT +
+                    " WHERE " + COL_USER_ID + "=?";
+
+    // Khoảng theo khóa chính (user_id, epoch_day), mỗi ngày một dòng
+    static final String QUERY_DAY_SUMMARIES =
+            "SELECT epoch_day, event_count, busy_minutes FROM " + AppDatabase.TABLE_DAY_SUMMARY +
+                    " WHERE user_id=? AND epoch_day>=? AND epoch_day<? ORDER BY epoch_day";
+    private static final String QUERY_DAY_COLUMNS =
+            "SELECT " + COL_ID + ", " + COL_START_TIME + ", " + COL_END_TIME + ", " +
+                    COL_START_DAY + ", " + COL_DAY_MINUTES + " FROM " + TABLE_EVENT;
+    private static final String SQL_SET_DAY =
+            "UPDATE " + TABLE_EVENT + " SET " + COL_START_DAY + "=?, " + COL_DAY_MINUTES + "=?" +
+                    " WHERE " + COL_ID + "=?";
+    private static final String SQL_AGGREGATE_DAYS =
+            "INSERT INTO " + AppDatabase.TABLE_DAY_SUMMARY +
+                    " (user_id, epoch_day, event_count, busy_minutes)" +
+                    " SELECT " + COL_USER_ID + ", " + COL_START_DAY + ", COUNT(*), SUM(" + COL_DAY_MINUTES + ")" +
+                    " FROM " + TABLE_EVENT + " WHERE " + COL_REPEAT_DAYS + " IS NULL" +
+                    " GROUP BY " + COL_USER_ID + ", " + COL_START_DAY;
+
+    private static final String QUERY_SKIPPED_OCCURRENCES =
+            "SELECT occurrence_start FROM " + AppDatabase.TABLE_EVENT_EXCEPTIONS +
+                    " WHERE event_id=? AND occurrence_start>=? AND occurrence_start<?";
+    private static final String SQL_INSERT_EXCEPTION =
+            "INSERT OR IGNORE INTO " + AppDatabase.TABLE_EVENT_EXCEPTIONS +
+                    " (event_id, occurrence_start) VALUES (?, ?)";
+    private static final String SQL_SET_REMINDER =
+            "UPDATE " + TABLE_EVENT + " SET " + COL_REMINDER_AT + "=?, " + COL_REMINDER_FIRED + "=?" +
+                    " WHERE " + COL_ID + "=?";
+
+    private static final String QUERY_BY_ID =
+            "SELECT * FROM " + TABLE_EVENT + " WHERE " + COL_ID + "=?";
+
+    private static final String QUERY_BY_USER =
+            "SELECT * FROM " + TABLE_EVENT +
+                    " WHERE " + COL_USER_ID + "=? ORDER BY " + COL_START_TIME + " ASC";
+
+    // Keyset (start_time, id) > (?, ?). Điều kiện start_time>=? để SQLite dùng được khoảng
+    // trên index (user_id, start_time); id là rowid nên đã nằm sẵn trong index.
+    // Chuỗi lặp lại được mở rộng riêng như QUERY_IN_RANGE
+    static final String QUERY_PAGE_AFTER =
+            "SELECT * FROM " + TABLE_EVENT +
+                    " WHERE " + COL_USER_ID + "=? AND " + COL_START_TIME + ">=?" +
+                    " AND (" + COL_START_TIME + ">? OR " + COL_ID + ">?)" +
+                    " AND " + COL_REPEAT_DAYS + " IS NULL" +
+                    " ORDER BY " + COL_START_TIME + " ASC, " + COL_ID + " ASC LIMIT ?";
+
+    static final String QUERY_PAGE_BEFORE =
+            "SELECT * FROM " + TABLE_EVENT +
+                    " WHERE " + COL_USER_ID + "=? AND " + COL_START_TIME + "<=?" +
+                    " AND (" + COL_START_TIME + "<? OR " + COL_ID + "<?)" +
+                    " AND " + COL_REPEAT_DAYS + " IS NULL" +
+                    " ORDER BY " + COL_START_TIME + " DESC, " + COL_ID + " DESC LIMIT ?";
+
+    // matchinfo 'pcnx': số phrase, số cột, tổng số dòng, rồi 3 giá trị cho mỗi (phrase, cột)
+    static final String QUERY_SEARCH =
+            "SELECT " + TABLE_EVENT + ".*, matchinfo(" + AppDatabase.TABLE_EVENT_FTS + ", 'pcnx')" +
+                    " FROM " + AppDatabase.TABLE_EVENT_FTS +
+                    " JOIN " + TABLE_EVENT + " ON " + TABLE_EVENT + "." + COL_ID + " = " +
+                    AppDatabase.TABLE_EVENT_FTS + ".docid" +
+                    " WHERE " + AppDatabase.TABLE_EVENT_FTS + " MATCH ? AND " +
+                    TABLE_EVENT + "." + COL_USER_ID + "=?";
+
+    // Trọng số theo thứ tự cột của events_fts: title, note
+    private static final double[] SEARCH_COLUMN_WEIGHTS = {2.0, 1.0};
+
+    // Câu lệnh biên dịch sẵn, mượn lại từ StatementCache cho mỗi lần ghi
+    private static final String SQL_INSERT =
+            "INSERT INTO " + TABLE_EVENT + " (" +
+                    COL_USER_ID + ", " + COL_TITLE + ", " + COL_NOTE + ", " +
+                    COL_START_TIME + ", " + COL_END_TIME + ", " + COL_REMIND + ", " + COL_REMINDER_AT + ", " +
+                    COL_REPEAT_DAYS + ", " + COL_REPEAT_UNTIL + ", " + COL_START_DAY + ", " + COL_DAY_MINUTES +
+                    ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_UPDATE =
+            "UPDATE " + TABLE_EVENT + " SET " +
+                    COL_USER_ID + "=?, " + COL_TITLE + "=?, " + COL_NOTE + "=?, " +
+                    COL_START_TIME + "=?, " + COL_END_TIME + "=?, " + COL_REMIND + "=?, " +
+                    COL_REMINDER_AT + "=?, " + COL_REPEAT_DAYS + "=?, " + COL_REPEAT_UNTIL + "=?, " +
+                    COL_START_DAY + "=?, " + COL_DAY_MINUTES + "=?, " + COL_REMINDER_FIRED + "=?" +
+                    " WHERE " + COL_ID + "=?";
+    private static final String SQL_DELETE =
+            "DELETE FROM " + TABLE_EVENT + " WHERE " + COL_ID + "=?";
+    // Chỉ đánh dấu nếu nhắc nhở chưa bị đổi giờ trong lúc đang báo
+    private static final String SQL_MARK_FIRED =
+            "UPDATE " + TABLE_EVENT + " SET " + COL_REMINDER_FIRED + "=1" +
+                    " WHERE " + COL_ID + "=? AND " + COL_REMINDER_AT + "=?";
+    // Điều kiện WHERE phải chứa điều kiện của partial index idx_events_pending_reminder
+    private static final String PENDING_REMINDER_WHERE =
+            " WHERE " + COL_REMINDER_FIRED + "=0 AND " + COL_REMINDER_AT + " IS NOT NULL";
+    private static final String QUERY_PENDING_REMINDERS =
+            "SELECT " + COL_ID + ", " + COL_TITLE + ", " + COL_REMINDER_AT + " FROM " + TABLE_EVENT +
+                    PENDING_REMINDER_WHERE;
+    // Chuỗi lặp lại không bị bỏ mà được ReminderEngine chuyển sang lần kế tiếp
+    private static final String SQL_EXPIRE_REMINDERS =
+            "UPDATE " + TABLE_EVENT + " SET " + COL_REMINDER_FIRED + "=1" +
+                    PENDING_REMINDER_WHERE + " AND " + COL_REMINDER_AT + "<?" +
+                    " AND " + COL_REPEAT_DAYS + " IS NULL";
+    static final String QUERY_DUE_REMINDERS =
+            QUERY_PENDING_REMINDERS +
+                    " AND " + COL_REMINDER_AT + ">=? AND " + COL_REMINDER_AT + "<?" +
+                    " ORDER BY " + COL_REMINDER_AT + " ASC LIMIT ?";
+
     public EventDao(Context context) {
         this.dbHelper = AppDatabase.getInstance(context);
+        this.statements = dbHelper.getStatementCache();
+    }
+
+    public StatementCache getStatementCache() {
+        return statements;
     }
 
     public long insert(Event event) {
-        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        try {
+            return statements.executeInsert(SQL_INSERT, statement -> bindEvent(statement, event));
+        } catch (SQLException e) {
+            // Giữ như db.insert: lỗi ràng buộc trả về -1
+            return -1;
+        }
+    }
 
-        ContentValues values = new ContentValues();
-        values.put(COL_USER_ID, event.getUserId()); 
-        values.put(COL_TITLE, event.getTitle());
-        values.put(COL_NOTE, event.getNote());
-        values.put(COL_START_TIME, event.getStartTime());
-        values.put(COL_END_TIME, event.getEndTime());
-        values.put(COL_REMIND, event.getRemindBefore());
+    public int update(Event event) {
+        return update(event, event.getReminderTime());
+    }
 
-        long id = db.insert(TABLE_EVENT, null, values);
-        db.close();
-        return id;
+    /**
+     * Updates an event together with its stored reminder, in one statement. Used for a
+     * series, whose reminder points at its next occurrence rather than its first start.
+     *
+     * @param reminderAt trigger time, or -1 when nothing is left to remind
+     */
+    public int update(Event event, long reminderAt) {
+        long now = System.currentTimeMillis();
+        return statements.executeUpdateDelete(SQL_UPDATE,
+                statement -> bindUpdate(statement, event, reminderAt, now));
     }
 
-    public int update(Event event) {
-        SQLiteDatabase db = dbHelper.getWritableDatabase();
+    public int delete(int eventId) {
+        return statements.executeUpdateDelete(SQL_DELETE, statement -> statement.bindLong(1, eventId));
+    }
 
-        ContentValues values = new ContentValues();
-        values.put(COL_USER_ID, event.getUserId());
-        values.put(COL_TITLE, event.getTitle());
-        values.put(COL_NOTE, event.getNote());
-        values.put(COL_START_TIME, event.getStartTime());
-        values.put(COL_END_TIME, event.getEndTime());
-        values.put(COL_REMIND, event.getRemindBefore());
+    /**
+     * Inserts all events in a single transaction.
+     *
+     * @return generated ids, in the same order as {@code events}
+     */
+    public long[] insertAll(List<Event> events) {
+        long[] ids = new long[events.size()];
+        SQLiteDatabase db = dbHelper.getDatabase();
 
-        int rows = db.update(
-                TABLE_EVENT,
-                values,
-                COL_ID + "=?",
-                new String[]{String.valueOf(event.getId())}
-        );
+        db.beginTransaction();
+        try {
+            for (int i = 0; i < events.size(); i++) {
+                Event event = events.get(i);
+                ids[i] = statements.executeInsert(SQL_INSERT, statement -> bindEvent(statement, event));
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return ids;
+    }
+
+    /**
+     * Updates all events in a single transaction.
+     *
+     * @return total number of rows updated
+     */
+    public int updateAll(List<Event> events) {
+        int rows = 0;
+        long now = System.currentTimeMillis();
+        SQLiteDatabase db = dbHelper.getDatabase();
 
-        db.close();
+        db.beginTransaction();
+        try {
+            for (Event event : events) {
+                rows += statements.executeUpdateDelete(SQL_UPDATE,
+                        statement -> bindUpdate(statement, event, event.getReminderTime(), now));
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
         return rows;
     }
 
-    public int delete(int eventId) {
-        SQLiteDatabase db = dbHelper.getWritableDatabase();
-        int rows = db.delete(
-                TABLE_EVENT,
-                COL_ID + "=?",
-                new String[]{String.valueOf(eventId)}
-        );
-        db.close();
+    /**
+     * Deletes the given events in a single transaction.
+     *
+     * @return total number of rows deleted
+     */
+    public int deleteByIds(int[] eventIds) {
+        int rows = 0;
+        SQLiteDatabase db = dbHelper.getDatabase();
+
+        db.beginTransaction();
+        try {
+            for (int eventId : eventIds) {
+                rows += statements.executeUpdateDelete(SQL_DELETE, statement -> statement.bindLong(1, eventId));
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
         return rows;
     }
 
-    public Event getById(int eventId) {
-        SQLiteDatabase db = dbHelper.getReadableDatabase();
+    /**
+     * Reminders that have not been delivered yet, in no particular order.
+     */
+    public List<Reminder> getPendingReminders() {
+        List<Reminder> list = new ArrayList<>();
+        SQLiteDatabase db = dbHelper.getDatabase();
 
-        Cursor cursor = db.query(
-                TABLE_EVENT,
-                null,
-                COL_ID + "=?",
-                new String[]{String.valueOf(eventId)},
-                null, null, null
-        );
+        Cursor cursor = db.rawQuery(QUERY_PENDING_REMINDERS, null);
+        while (cursor.moveToNext()) {
+            list.add(cursorToReminder(cursor));
+        }
+
+        cursor.close();
+        return list;
+    }
+
+    /**
+     * Pending reminders with a trigger time in [fromMillis, toMillis), earliest first,
+     * at most {@code limit} of them. Served by the partial index on reminder_at.
+     */
+    public List<Reminder> getDueReminders(long fromMillis, long toMillis, int limit) {
+        List<Reminder> list = new ArrayList<>();
+        SQLiteDatabase db = dbHelper.getDatabase();
 
-        Event event = null;
-        if (cursor != null && cursor.moveToFirst()) {
-            event = cursorToEvent(cursor);
+        Cursor cursor = db.rawQuery(QUERY_DUE_REMINDERS, new String[]{
+                String.valueOf(fromMillis),
+                String.valueOf(toMillis),
+                String.valueOf(limit)
+        });
+        while (cursor.moveToNext()) {
+            list.add(cursorToReminder(cursor));
+        }
+
+        cursor.close();
+        return list;
+    }
+
+    /**
+     * Marks the given reminders as delivered in a single transaction. A reminder whose
+     * trigger time was changed in the meantime is left pending.
+     *
+     * @return number of reminders marked
+     */
+    public int markRemindersFired(List<Reminder> reminders) {
+        int rows = 0;
+        SQLiteDatabase db = dbHelper.getDatabase();
+
+        db.beginTransaction();
+        try {
+            for (Reminder reminder : reminders) {
+                rows += statements.executeUpdateDelete(SQL_MARK_FIRED, statement -> {
+                    statement.bindLong(1, reminder.getEventId());
+                    statement.bindLong(2, reminder.getTriggerAt());
+                });
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return rows;
+    }
+
+    /**
+     * Marks every pending reminder of a single event that should have fired before
+     * {@code beforeMillis} as delivered, without showing it.
+     *
+     * @return number of reminders expired
+     */
+    public int expireRemindersBefore(long beforeMillis) {
+        return statements.executeUpdateDelete(SQL_EXPIRE_REMINDERS,
+                statement -> statement.bindLong(1, beforeMillis));
+    }
+
+    /**
+     * Repeating events of a user that may have an occurrence starting in
+     * [fromMillis, toMillis): the series started before {@code toMillis} and does not end
+     * before {@code fromMillis}. Their occurrences are expanded by the caller.
+     */
+    public List<Event> getSeriesInRange(int userId, long fromMillis, long toMillis) {
+        List<Event> list = new ArrayList<>();
+        SQLiteDatabase db = dbHelper.getDatabase();
+
+        Cursor cursor = db.rawQuery(QUERY_SERIES_IN_RANGE, new String[]{
+                String.valueOf(userId),
+                String.valueOf(toMillis),
+                String.valueOf(fromMillis)
+        });
+        try {
+            EventColumns columns = new EventColumns(cursor);
+            while (cursor.moveToNext()) {
+                list.add(columns.read(cursor, new Event()));
+            }
+        } finally {
+            cursor.close();
+        }
+        return list;
+    }
+
+    /**
+     * Original start times of the skipped occurrences of a series in [fromMillis, toMillis).
+     */
+    public Set<Long> getSkippedOccurrences(int eventId, long fromMillis, long toMillis) {
+        Set<Long> skipped = new HashSet<>();
+        SQLiteDatabase db = dbHelper.getDatabase();
+
+        Cursor cursor = db.rawQuery(QUERY_SKIPPED_OCCURRENCES, new String[]{
+                String.valueOf(eventId),
+                String.valueOf(fromMillis),
+                String.valueOf(toMillis)
+        });
+        try {
+            while (cursor.moveToNext()) {
+                skipped.add(cursor.getLong(0));
+            }
+        } finally {
             cursor.close();
         }
+        return skipped;
+    }
+
+    /**
+     * Removes one occurrence of a series, identified by its original start time.
+     *
+     * @return false if it was already skipped
+     */
+    public boolean skipOccurrence(int eventId, long occurrenceStart) {
+        return statements.executeInsert(SQL_INSERT_EXCEPTION, statement -> {
+            statement.bindLong(1, eventId);
+            statement.bindLong(2, occurrenceStart);
+        }) != -1;
+    }
 
-        db.close();
-        return event;
+    /**
+     * Points the stored reminder of an event at a new trigger time, e.g. the next
+     * occurrence of a series once the current one was delivered.
+     *
+     * @param reminderAt new trigger time, or -1 when nothing is left to remind
+     */
+    public int setReminder(int eventId, long reminderAt) {
+        return statements.executeUpdateDelete(SQL_SET_REMINDER, statement -> {
+            if (reminderAt < 0) {
+                statement.bindNull(1);
+                statement.bindLong(2, 1);
+            } else {
+                statement.bindLong(1, reminderAt);
+                statement.bindLong(2, 0);
+            }
+            statement.bindLong(3, eventId);
+        });
+    }
+
+    public Event getById(int eventId) {
+        SQLiteDatabase db = dbHelper.getDatabase();
+        Cursor cursor = db.rawQuery(QUERY_BY_ID, new String[]{String.valueOf(eventId)});
+        try {
+            return cursor.moveToFirst() ? new EventColumns(cursor).read(cursor, new Event()) : null;
+        } finally {
+            cursor.close();
+        }
     }
 
     public List<Event> getAllByUserId(int userId) {
         List<Event> list = new ArrayList<>();
-        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        SQLiteDatabase db = dbHelper.getDatabase();
 
-        Cursor cursor = db.query(
-                TABLE_EVENT,
-                null,
-                COL_USER_ID + "=?",
-                new String[]{String.valueOf(userId)},
-                null, null,
-                COL_START_TIME + " ASC"
-        );
+        Cursor cursor = db.rawQuery(QUERY_BY_USER, new String[]{String.valueOf(userId)});
+        try {
+            EventColumns columns = new EventColumns(cursor);
+            while (cursor.moveToNext()) {
+                list.add(columns.read(cursor, new Event()));
+            }
+        } finally {
+            cursor.close();
+        }
+        return list;
+    }
 
+    /**
+     * Single (non-repeating) events of a user whose start time falls in
+     * [fromMillis, toMillis), ordered by start time.
+     */
+    public List<Event> getEventsInRange(int userId, long fromMillis, long toMillis) {
+        List<Event> list = new ArrayList<>();
+        SQLiteDatabase db = dbHelper.getDatabase();
+
+        Cursor cursor = db.rawQuery(QUERY_IN_RANGE, new String[]{
+                String.valueOf(userId),
+                String.valueOf(fromMillis),
+                String.valueOf(toMillis)
+        });
+
+        EventColumns columns = new EventColumns(cursor);
         if (cursor.moveToFirst()) {
             do {
-                list.add(cursorToEvent(cursor));
+                list.add(columns.read(cursor, new Event()));
             } while (cursor.moveToNext());
         }
 
         cursor.close();
-        db.close();
         return list;
     }
 
+    /**
+     * Single events of a user that intersect [startMillis, endMillis), ordered by start time.
+     *
+     * @param maxDuration upper bound of {@code end_time - start_time} over the user's
+     *                    events (see {@link #getMaxDuration(int)}); events starting more
+     *                    than that before {@code startMillis} are not looked at
+     */
+    public List<Event> getOverlapping(int userId, long startMillis, long endMillis, long maxDuration) {
+        List<Event> list = new ArrayList<>();
+        SQLiteDatabase db = dbHelper.getDatabase();
+
+        Cursor cursor = db.rawQuery(QUERY_OVERLAPPING, new String[]{
+                String.valueOf(userId),
+                String.valueOf(startMillis - maxDuration),
+                String.valueOf(endMillis),
+                String.valueOf(startMillis)
+        });
+        try {
+            EventColumns columns = new EventColumns(cursor);
+            while (cursor.moveToNext()) {
+                list.add(columns.read(cursor, new Event()));
+            }
+        } finally {
+            cursor.close();
+        }
+        return list;
+    }
+
+    /**
+     * Longest duration among all events of a user, single or repeating; 0 if none.
+     * Answered by one seek on idx_events_user_duration, so a cold call costs the same
+     * however many events the user has; callers still cache it.
+     *
+     * It is an upper bound, not a per-window one: a single long event (a week-long trip)
+     * widens the lookback of every later overlap query of that user. The index range
+     * then covers that many more start times, which stays cheap for realistic calendars.
+     */
+    public long getMaxDuration(int userId) {
+        // MAX của tập rỗng là NULL, simpleQueryForLong trả về 0
+        return statements.simpleQueryForLong(QUERY_MAX_DURATION, statement -> statement.bindLong(1, userId));
+    }
+
+    /**
+     * Per local day in [firstDay, endDay): how many single events start on it and how many
+     * minutes they take up until midnight. Reads the day_summary table, which triggers on
+     * events keep current, so this is a range scan returning one row per day that has
+     * events.
+     */
+    public List<DaySummary> getDaySummaries(int userId, long firstDay, long endDay) {
+        List<DaySummary> list = new ArrayList<>();
+        SQLiteDatabase db = dbHelper.getDatabase();
+        Cursor cursor = db.rawQuery(QUERY_DAY_SUMMARIES, new String[]{
+                String.valueOf(userId),
+                String.valueOf(firstDay),
+                String.valueOf(endDay)
+        });
+        try {
+            while (cursor.moveToNext()) {
+                list.add(new DaySummary(cursor.getInt(0), cursor.getInt(1), cursor.getInt(2)));
+            }
+        } finally {
+            cursor.close();
+        }
+        return list;
+    }
+
+    /**
+     * Recomputes the local day of every event and rebuilds day_summary from scratch. Needed
+     * when the default time zone changes, since days are stored as local epoch days.
+     */
+    public void rebuildDaySummaries() {
+        rebuildDaySummaries(dbHelper.getDatabase());
+    }
+
+    static void rebuildDaySummaries(SQLiteDatabase db) {
+        db.beginTransaction();
+        try {
+            int changed = 0;
+            long[] ids;
+            long[] days;
+            int[] minutes;
+            Cursor cursor = db.rawQuery(QUERY_DAY_COLUMNS, null);
+            try {
+                ids = new long[cursor.getCount()];
+                days = new long[ids.length];
+                minutes = new int[ids.length];
+                while (cursor.moveToNext()) {
+                    long day = startDay(cursor.getLong(1));
+                    int dayMinutes = dayMinutes(cursor.getLong(1), cursor.getLong(2));
+                    // Chỉ ghi lại các dòng thực sự đổi ngày hoặc số phút
+                    if (cursor.isNull(3) || cursor.getLong(3) != day || cursor.getInt(4) != dayMinutes) {
+                        ids[changed] = cursor.getLong(0);
+                        days[changed] = day;
+                        minutes[changed] = dayMinutes;
+                        changed++;
+                    }
+                }
+            } finally {
+                cursor.close();
+            }
+
+            SQLiteStatement statement = db.compileStatement(SQL_SET_DAY);
+            try {
+                for (int i = 0; i < changed; i++) {
+                    statement.bindLong(1, days[i]);
+                    statement.bindLong(2, minutes[i]);
+                    statement.bindLong(3, ids[i]);
+                    statement.executeUpdateDelete();
+                }
+            } finally {
+                statement.close();
+            }
+
+            db.delete(AppDatabase.TABLE_DAY_SUMMARY, null, null);
+            db.execSQL(SQL_AGGREGATE_DAYS);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Streams the events of a user in [fromMillis, toMillis), ordered by start time,
+     * without building a list. The same {@link Event} instance is reused for every row,
+     * so the consumer must copy it ({@code new Event(event)}) if it keeps a reference.
+     *
+     * @return number of rows visited
+     */
+    public int forEachInRange(int userId, long fromMillis, long toMillis, Consumer<Event> consumer) {
+        SQLiteDatabase db = dbHelper.getDatabase();
+        Cursor cursor = db.rawQuery(QUERY_IN_RANGE, new String[]{
+                String.valueOf(userId),
+                String.valueOf(fromMillis),
+                String.valueOf(toMillis)
+        });
+        return forEach(cursor, consumer);
+    }
+
+    /**
+     * Streams all events of a user ordered by start time; see
+     * {@link #forEachInRange(int, long, long, Consumer)} for the reuse contract.
+     */
+    public int forEachByUserId(int userId, Consumer<Event> consumer) {
+        SQLiteDatabase db = dbHelper.getDatabase();
+        Cursor cursor = db.rawQuery(QUERY_BY_USER, new String[]{String.valueOf(userId)});
+        return forEach(cursor, consumer);
+    }
+
+    /**
+     * One page of a user's single (non-repeating) events that come strictly after the key
+     * ({@code afterStartTime}, {@code afterId}) in (start_time, id) order. Pass
+     * {@code Long.MIN_VALUE} and 0 for the first page.
+     *
+     * The key replaces an OFFSET, so a page deep into years of history costs the same as
+     * the first one and rows inserted meanwhile do not shift or duplicate later pages.
+     */
+    public List<Event> getPageAfter(int userId, long afterStartTime, int afterId, int limit) {
+        return getPage(QUERY_PAGE_AFTER, userId, afterStartTime, afterId, limit);
+    }
+
+    /**
+     * One page of a user's single events that come strictly before the key
+     * ({@code beforeStartTime}, {@code beforeId}), returned in ascending (start_time, id)
+     * order like {@link #getPageAfter(int, long, int, int)}.
+     */
+    public List<Event> getPageBefore(int userId, long beforeStartTime, int beforeId, int limit) {
+        List<Event> page = getPage(QUERY_PAGE_BEFORE, userId, beforeStartTime, beforeId, limit);
+        Collections.reverse(page);
+        return page;
+    }
+
+    /**
+     * Full-text search over title and note of a user's events.
+     *
+     * Every word of {@code query} must match the start of a word in the event (prefix
+     * search), case and diacritics are ignored. Results are ranked by a TF-IDF score with
+     * title hits weighted above note hits; ties go to the earlier event.
+     *
+     * @return at most {@code limit} events, best match first
+     */
+    public List<Event> searchEvents(int userId, String query, int limit) {
+        String match = toMatchQuery(query);
+        if (match == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        SQLiteDatabase db = dbHelper.getDatabase();
+        Cursor cursor = db.rawQuery(QUERY_SEARCH, new String[]{match, String.valueOf(userId)});
+
+        // Min-heap giữ limit kết quả tốt nhất, không cần sắp xếp toàn bộ
+        PriorityQueue<ScoredEvent> best = new PriorityQueue<>(limit + 1);
+        try {
+            EventColumns columns = new EventColumns(cursor);
+            int matchInfo = cursor.getColumnCount() - 1;
+            while (cursor.moveToNext()) {
+                double score = rank(cursor.getBlob(matchInfo));
+                long startTime = cursor.getLong(columns.startTime);
+                if (best.size() == limit && !best.peek().isWorseThan(score, startTime)) {
+                    continue;
+                }
+                best.add(new ScoredEvent(columns.read(cursor, new Event()), score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+
+        List<Event> result = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            result.add(best.poll().event);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Turns free text into an FTS MATCH expression: each word becomes a lower-case prefix
+     * term and all terms must match. Operators and quotes typed by the user are dropped.
+     *
+     * @return null if the text contains no searchable word
+     */
+    static String toMatchQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        StringBuilder match = new StringBuilder();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(c);
+            } else if (word.length() > 0) {
+                if (match.length() > 0) {
+                    match.append(' ');
+                }
+                // Chữ thường để "OR", "NOT"... không bị hiểu là toán tử
+                match.append(word.toString().toLowerCase(Locale.ROOT)).append('*');
+                word.setLength(0);
+            }
+        }
+        return match.length() == 0 ? null : match.toString();
+    }
+
+    /**
+     * Scores one row from its matchinfo('pcnx') blob.
+     */
+    static double rank(byte[] matchInfo) {
+        ByteBuffer buffer = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder());
+        int phrases = buffer.getInt(0);
+        int columns = buffer.getInt(4);
+        int totalRows = buffer.getInt(8);
+
+        double score = 0;
+        for (int phrase = 0; phrase < phrases; phrase++) {
+            for (int column = 0; column < columns; column++) {
+                int offset = 12 + 12 * (phrase * columns + column);
+                int hitsInRow = buffer.getInt(offset);
+                int rowsWithHits = buffer.getInt(offset + 8);
+                if (hitsInRow == 0) {
+                    continue;
+                }
+                double idf = Math.log(1.0 + (double) totalRows / Math.max(1, rowsWithHits));
+                double weight = column < SEARCH_COLUMN_WEIGHTS.length ? SEARCH_COLUMN_WEIGHTS[column] : 1.0;
+                score += weight * hitsInRow * idf;
+            }
+        }
+        return score;
+    }
+
     public List<Event> getAll() {
         List<Event> list = new ArrayList<>();
-        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        SQLiteDatabase db = dbHelper.getDatabase();
 
         Cursor cursor = db.query(
                 TABLE_EVENT,
@@ -132,38 +759,202 @@ public class EventDao {
                 COL_START_TIME + " ASC"
         );
 
+        EventColumns columns = new EventColumns(cursor);
         if (cursor.moveToFirst()) {
             do {
-                list.add(cursorToEvent(cursor));
+                list.add(columns.read(cursor, new Event()));
             } while (cursor.moveToNext());
         }
 
         cursor.close();
-        db.close();
         return list;
     }
 
     public void deleteAllByUserId(int userId) {
-        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        SQLiteDatabase db = dbHelper.getDatabase();
         db.delete(TABLE_EVENT, COL_USER_ID + "=?", new String[]{String.valueOf(userId)});
-        db.close();
     }
 
     public void deleteAll() {
-        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        SQLiteDatabase db = dbHelper.getDatabase();
         db.delete(TABLE_EVENT, null, null);
-        db.close();
     }
 
-    private Event cursorToEvent(Cursor cursor) {
-        Event event = new Event();
-        event.setId(cursor.getInt(cursor.getColumnIndexOrThrow(COL_ID)));
-        event.setUserId(cursor.getInt(cursor.getColumnIndexOrThrow(COL_USER_ID)));
-        event.setTitle(cursor.getString(cursor.getColumnIndexOrThrow(COL_TITLE)));
-        event.setNote(cursor.getString(cursor.getColumnIndexOrThrow(COL_NOTE)));
-        event.setStartTime(cursor.getLong(cursor.getColumnIndexOrThrow(COL_START_TIME)));
-        event.setEndTime(cursor.getLong(cursor.getColumnIndexOrThrow(COL_END_TIME)));
-        event.setRemindBefore(cursor.getInt(cursor.getColumnIndexOrThrow(COL_REMIND)));
-        return event;
+    private void bindEvent(SQLiteStatement statement, Event event) {
+        statement.bindLong(1, event.getUserId());
+        bindNullableString(statement, 2, event.getTitle());
+        bindNullableString(statement, 3, event.getNote());
+        statement.bindLong(4, event.getStartTime());
+        statement.bindLong(5, event.getEndTime());
+        statement.bindLong(6, event.getRemindBefore());
+        statement.bindLong(7, event.getReminderTime());
+        Recurrence recurrence = event.getRecurrence();
+        if (recurrence == null) {
+            statement.bindNull(8);
+            statement.bindNull(9);
+        } else {
+            statement.bindLong(8, recurrence.getIntervalDays());
+            if (recurrence.getUntilMillis() == Recurrence.FOREVER) {
+                statement.bindNull(9);
+            } else {
+                statement.bindLong(9, recurrence.getUntilMillis());
+            }
+        }
+        statement.bindLong(10, startDay(event.getStartTime()));
+        statement.bindLong(11, dayMinutes(event.getStartTime(), event.getEndTime()));
+    }
+
+    /**
+     * @return local epoch day an event starting at {@code startMillis} is counted on in
+     * day_summary
+     */
+    static long startDay(long startMillis) {
+        return DateTimeHelper.epochDay(startMillis);
+    }
+
+    /**
+     * @return minutes of [startMillis, endMillis) before the next local midnight
+     */
+    static int dayMinutes(long startMillis, long endMillis) {
+        long midnight = DateTimeHelper.toMillis(DateTimeHelper.epochDay(startMillis) + 1, 0);
+        return (int) (Math.max(0, Math.min(endMillis, midnight) - startMillis) / 60000);
+    }
+
+    /**
+     * Editing an event whose reminder time has already passed does not remind again.
+     */
+    private void bindUpdate(SQLiteStatement statement, Event event, long reminderAt, long now) {
+        bindEvent(statement, event);
+        if (reminderAt < 0) {
+            statement.bindNull(7);
+        } else {
+            statement.bindLong(7, reminderAt);
+        }
+        statement.bindLong(12, reminderAt > now ? 0 : 1);
+        statement.bindLong(13, event.getId());
+    }
+
+    private void bindNullableString(SQLiteStatement statement, int index, String value) {
+        if (value == null) {
+            statement.bindNull(index);
+        } else {
+            statement.bindString(index, value);
+        }
+    }
+
+    private List<Event> getPage(String sql, int userId, long startTime, int id, int limit) {
+        List<Event> list = new ArrayList<>();
+        if (limit <= 0) {
+            return list;
+        }
+
+        SQLiteDatabase db = dbHelper.getDatabase();
+        String key = String.valueOf(startTime);
+        Cursor cursor = db.rawQuery(sql, new String[]{
+                String.valueOf(userId),
+                key,
+                key,
+                String.valueOf(id),
+                String.valueOf(limit)
+        });
+        try {
+            EventColumns columns = new EventColumns(cursor);
+            while (cursor.moveToNext()) {
+                list.add(columns.read(cursor, new Event()));
+            }
+        } finally {
+            cursor.close();
+        }
+        return list;
+    }
+
+    private int forEach(Cursor cursor, Consumer<Event> consumer) {
+        int rows = 0;
+        try {
+            EventColumns columns = new EventColumns(cursor);
+            Event row = new Event();
+            while (cursor.moveToNext()) {
+                consumer.accept(columns.read(cursor, row));
+                rows++;
+            }
+        } finally {
+            cursor.close();
+        }
+        return rows;
+    }
+
+    // Cột theo thứ tự: id, title, reminder_at
+    private Reminder cursorToReminder(Cursor cursor) {
+        return new Reminder(cursor.getInt(0), cursor.getString(1), cursor.getLong(2));
+    }
+
+    private static final class ScoredEvent implements Comparable<ScoredEvent> {
+        final Event event;
+        final double score;
+
+        ScoredEvent(Event event, double score) {
+            this.event = event;
+            this.score = score;
+        }
+
+        boolean isWorseThan(double otherScore, long otherStartTime) {
+            if (score != otherScore) {
+                return score < otherScore;
+            }
+            return event.getStartTime() > otherStartTime;
+        }
+
+        // Phần tử "kém nhất" đứng đầu heap
+        @Override
+        public int compareTo(ScoredEvent other) {
+            if (score != other.score) {
+                return Double.compare(score, other.score);
+            }
+            return Long.compare(other.event.getStartTime(), event.getStartTime());
+        }
+    }
+
+    /**
+     * Column positions of an events cursor, looked up once per query instead of once per row.
+     */
+    private static final class EventColumns {
+        private final int id;
+        private final int userId;
+        private final int title;
+        private final int note;
+        private final int startTime;
+        private final int endTime;
+        private final int remind;
+        private final int repeatDays;
+        private final int repeatUntil;
+
+        EventColumns(Cursor cursor) {
+            id = cursor.getColumnIndexOrThrow(COL_ID);
+            userId = cursor.getColumnIndexOrThrow(COL_USER_ID);
+            title = cursor.getColumnIndexOrThrow(COL_TITLE);
+            note = cursor.getColumnIndexOrThrow(COL_NOTE);
+            startTime = cursor.getColumnIndexOrThrow(COL_START_TIME);
+            endTime = cursor.getColumnIndexOrThrow(COL_END_TIME);
+            remind = cursor.getColumnIndexOrThrow(COL_REMIND);
+            repeatDays = cursor.getColumnIndexOrThrow(COL_REPEAT_DAYS);
+            repeatUntil = cursor.getColumnIndexOrThrow(COL_REPEAT_UNTIL);
+        }
+
+        Event read(Cursor cursor, Event event) {
+            event.setId(cursor.getInt(id));
+            event.setUserId(cursor.getInt(userId));
+            event.setTitle(cursor.getString(title));
+            event.setNote(cursor.getString(note));
+            event.setStartTime(cursor.getLong(startTime));
+            event.setEndTime(cursor.getLong(endTime));
+            event.setRemindBefore(cursor.getInt(remind));
+            if (cursor.isNull(repeatDays)) {
+                event.setRecurrence(null);
+            } else {
+                long until = cursor.isNull(repeatUntil) ? Recurrence.FOREVER : cursor.getLong(repeatUntil);
+                event.setRecurrence(new Recurrence(cursor.getInt(repeatDays), until));
+            }
+            return event;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package com.example.eventmanagerapp.data.local;
+
+import android.database.sqlite.SQLiteDatabase;
+
+/**
+ * One step of the {@link AppDatabase} schema history: brings a database that is below
+ * {@link #version} up to it. Steps are listed in {@link AppDatabase#MIGRATIONS} in
+ * ascending order. All pending steps run inside the single transaction SQLiteOpenHelper
+ * opens for the upgrade; a step must not catch SQL errors, so a failed step rolls back
+ * every step before it and the database stays at the version it was opened with.
+ */
+abstract class Migration {
+
+    final int version;
+
+    Migration(int version) {
+        this.version = version;
+    }
+
+    abstract void migrate(SQLiteDatabase db);
+
+    @Override
+    public String toString() {
+        return "Migration{version=" + version + "}";
+    }
+}
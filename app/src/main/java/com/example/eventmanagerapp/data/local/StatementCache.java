@@ -0,0 +1,147 @@
+package com.example.eventmanagerapp.data.local;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compiled write and single-value statements shared by the DAOs, keyed by their SQL.
+ *
+ * A statement is borrowed for one execution, rebound by the caller and put back, so hot
+ * paths such as inserting, updating or deleting one event, or lookups that return one
+ * number (the username check, the longest event of a user), skip SQL parsing entirely
+ * and concurrent callers never share bindings. Row-returning queries cannot use
+ * SQLiteStatement; those use constant SQL strings instead, which hit the connection's
+ * own prepared-statement cache (sized in {@link AppDatabase#onConfigure}).
+ */
+public class StatementCache {
+
+    public interface Binder {
+        void bind(SQLiteStatement statement);
+    }
+
+    // Số statement rảnh giữ lại cho mỗi câu SQL; thường chỉ một luồng ghi
+    static final int MAX_IDLE_PER_SQL = 2;
+
+    private final AppDatabase dbHelper;
+    private final Map<String, ArrayDeque<SQLiteStatement>> idle = new HashMap<>();
+
+    // Tăng mỗi lần clear(): statement mượn trước đó sẽ bị đóng khi trả về
+    private int generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    StatementCache(AppDatabase dbHelper) {
+        this.dbHelper = dbHelper;
+    }
+
+    /**
+     * @return row id of the inserted row
+     * @throws android.database.SQLException if the insert failed
+     */
+    public long executeInsert(String sql, Binder binder) {
+        int borrowedIn = generationNow();
+        SQLiteStatement statement = acquire(sql);
+        try {
+            binder.bind(statement);
+            return statement.executeInsert();
+        } finally {
+            release(sql, statement, borrowedIn);
+        }
+    }
+
+    /**
+     * @return number of rows changed
+     */
+    public int executeUpdateDelete(String sql, Binder binder) {
+        int borrowedIn = generationNow();
+        SQLiteStatement statement = acquire(sql);
+        try {
+            binder.bind(statement);
+            return statement.executeUpdateDelete();
+        } finally {
+            release(sql, statement, borrowedIn);
+        }
+    }
+
+    /**
+     * @return first column of the first row; 0 for NULL
+     */
+    public long simpleQueryForLong(String sql, Binder binder) {
+        int borrowedIn = generationNow();
+        SQLiteStatement statement = acquire(sql);
+        try {
+            binder.bind(statement);
+            return statement.simpleQueryForLong();
+        } finally {
+            release(sql, statement, borrowedIn);
+        }
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Closes every idle statement; called before the database connection closes.
+     */
+    synchronized void clear() {
+        for (ArrayDeque<SQLiteStatement> statements : idle.values()) {
+            for (SQLiteStatement statement : statements) {
+                statement.close();
+            }
+        }
+        idle.clear();
+        generation++;
+    }
+
+    private synchronized int generationNow() {
+        return generation;
+    }
+
+    private SQLiteStatement acquire(String sql) {
+        synchronized (this) {
+            ArrayDeque<SQLiteStatement> statements = idle.get(sql);
+            SQLiteStatement statement = statements == null ? null : statements.pollFirst();
+            if (statement != null) {
+                hits++;
+                return statement;
+            }
+            misses++;
+        }
+        // Biên dịch ngoài lock, không chặn các luồng đang mượn câu SQL khác
+        SQLiteDatabase db = dbHelper.getDatabase();
+        return db.compileStatement(sql);
+    }
+
+    private void release(String sql, SQLiteStatement statement, int borrowedIn) {
+        statement.clearBindings();
+        synchronized (this) {
+            if (borrowedIn == generation) {
+                ArrayDeque<SQLiteStatement> statements = idle.get(sql);
+                if (statements == null) {
+                    statements = new ArrayDeque<>(MAX_IDLE_PER_SQL);
+                    idle.put(sql, statements);
+                }
+                if (statements.size() < MAX_IDLE_PER_SQL) {
+                    statements.addFirst(statement);
+                    return;
+                }
+                evictions++;
+            }
+        }
+        statement.close();
+    }
+}
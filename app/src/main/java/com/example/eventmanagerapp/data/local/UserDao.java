@@ -1,15 +1,17 @@
 package com.example.eventmanagerapp.data.local;
 
-import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
+import android.database.SQLException;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
 
 import com.example.eventmanagerapp.domain.model.User;
 
 public class UserDao {
 
     private final AppDatabase dbHelper;
+    private final StatementCache statements;
     private static final String TABLE_USER = "users";
 
     private static final String COL_ID = "id";
@@ -18,77 +20,74 @@ public class UserDao {
     private static final String COL_FULL_NAME = "full_name";
     private static final String COL_CREATED_AT = "created_at";
 
+    private static final String QUERY_BY_USERNAME =
+            "SELECT * FROM " + TABLE_USER + " WHERE " + COL_USERNAME + "=?";
+    private static final String QUERY_BY_ID =
+            "SELECT * FROM " + TABLE_USER + " WHERE " + COL_ID + "=?";
+    private static final String QUERY_USERNAME_EXISTS =
+            "SELECT EXISTS(SELECT 1 FROM " + TABLE_USER + " WHERE " + COL_USERNAME + "=?)";
+    private static final String SQL_INSERT =
+            "INSERT INTO " + TABLE_USER + " (" +
+                    COL_USERNAME + ", " + COL_PASSWORD + ", " + COL_FULL_NAME + ", " + COL_CREATED_AT +
+                    ") VALUES (?, ?, ?, ?)";
+
     public UserDao(Context context) {
         this.dbHelper = AppDatabase.getInstance(context);
+        this.statements = dbHelper.getStatementCache();
     }
 
     public long insert(User user) {
-        SQLiteDatabase db = dbHelper.getWritableDatabase();
-
-        ContentValues values = new ContentValues();
-        values.put(COL_USERNAME, user.getUsername());
-        values.put(COL_PASSWORD, user.getPassword());
-        values.put(COL_FULL_NAME, user.getFullName());
-        values.put(COL_CREATED_AT, user.getCreatedAt());
-
-        long id = db.insert(TABLE_USER, null, values);
-        db.close();
-        return id;
+        try {
+            return statements.executeInsert(SQL_INSERT, statement -> {
+                bindNullableString(statement, 1, user.getUsername());
+                bindNullableString(statement, 2, user.getPassword());
+                bindNullableString(statement, 3, user.getFullName());
+                statement.bindLong(4, user.getCreatedAt());
+            });
+        } catch (SQLException e) {
+            // Trùng username hoặc thiếu trường bắt buộc: trả về -1 như db.insert
+            return -1;
+        }
     }
 
     public User findByUsername(String username) {
-        SQLiteDatabase db = dbHelper.getReadableDatabase();
-
-        Cursor cursor = db.query(
-                TABLE_USER,
-                null,
-                COL_USERNAME + "=?",
-                new String[]{username},
-                null, null, null
-        );
-
-        User user = null;
-        if (cursor != null && cursor.moveToFirst()) {
-            user = cursorToUser(cursor);
-            cursor.close();
-        }
-
-        db.close();
-        return user;
+        return findOne(QUERY_BY_USERNAME, username);
     }
 
     public User getById(int userId) {
-        SQLiteDatabase db = dbHelper.getReadableDatabase();
-
-        Cursor cursor = db.query(
-                TABLE_USER,
-                null,
-                COL_ID + "=?",
-                new String[]{String.valueOf(userId)},
-                null, null, null
-        );
-
-        User user = null;
-        if (cursor != null && cursor.moveToFirst()) {
-            user = cursorToUser(cursor);
-            cursor.close();
-        }
-
-        db.close();
-        return user;
+        return findOne(QUERY_BY_ID, String.valueOf(userId));
     }
 
     public boolean isUsernameExists(String username) {
-        return findByUsername(username) != null;
+        // Chỉ cần một giá trị: dùng statement đã biên dịch, không tạo Cursor và User
+        return statements.simpleQueryForLong(QUERY_USERNAME_EXISTS,
+                statement -> bindNullableString(statement, 1, username)) != 0;
     }
 
     /**
      * Delete all users (for testing purposes)
      */
     public void deleteAll() {
-        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        SQLiteDatabase db = dbHelper.getDatabase();
         db.delete(TABLE_USER, null, null);
-        db.close();
+    }
+
+    private User findOne(String sql, String arg) {
+        SQLiteDatabase db = dbHelper.getDatabase();
+        Cursor cursor = db.rawQuery(sql, new String[]{arg});
+        try {
+            return cursor.moveToFirst() ? cursorToUser(cursor) : null;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private static void bindNullableString(SQLiteStatement statement, int index, String value) {
+        if (value == null) {
+            statement.bindNull(index);
+        } else {
+            statement.bindString(index, value);
+        }
     }
 
     private User cursorToUser(Cursor cursor) {
@@ -0,0 +1,285 @@
+package com.example.eventmanagerapp.data.local;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single writer thread for event mutations, with group commit.
+ *
+ * Writes are queued and applied in submission order. When several are waiting, the
+ * writer runs them together in one transaction (up to {@link #MAX_BATCH}), so a burst of
+ * N writes costs one commit instead of N. A write on its own is committed at once. The
+ * transaction is opened with beginTransactionNonExclusive, which under WAL leaves the
+ * reader connections free.
+ *
+ * Each caller gets a future that completes after its write was committed. If one write
+ * in a group throws, the group is rolled back and every write is retried in its own
+ * transaction, so only the failing caller sees the error. Anything else that goes wrong
+ * while committing a group (an Error, a failed commit) fails every future of that group.
+ *
+ * {@link #shutdown()} commits what was already queued and stops the thread; the next
+ * submit starts a new one, the same way SQLiteOpenHelper reopens after close. If the
+ * thread dies any other way, queued and later writes fail at once instead of waiting
+ * forever.
+ *
+ * UseCaseExecutor has a write thread of its own: that one orders whole use cases (the
+ * conflict check before an insert, for instance), this one groups their statements and
+ * those of receivers and alarms into shared commits. A use case waits for its commit,
+ * so it always sees its own writes.
+ */
+public class WriteQueue {
+
+    private static final String TAG = "WriteQueue";
+
+    public interface Write<T> {
+        T run();
+    }
+
+    static final int MAX_BATCH = 256;
+
+    // Khi đang có nhiều write dồn tới, chờ thêm tối đa chừng này để gom vào cùng nhóm
+    static final long GROUP_WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    // Đánh dấu dừng: writer commit mọi thứ đứng trước nó rồi thoát
+    private static final Pending<Void> STOP = new Pending<>(null);
+
+    private final AppDatabase dbHelper;
+    private Writer writer;
+    // Thread của writer gần nhất; writer mới chờ nó commit xong mới bắt đầu
+    private Thread lastThread;
+    // Lý do writer chết ngoài shutdown(); khác null thì submit thất bại ngay
+    private Throwable failure;
+
+    private long batches;
+    private long writes;
+
+    WriteQueue(AppDatabase dbHelper) {
+        this.dbHelper = dbHelper;
+    }
+
+    /**
+     * Queues a write. {@code write} runs on the writer thread inside a transaction, so it
+     * must only touch the database; side effects such as cache updates belong in a
+     * continuation of the returned future, which runs after the commit.
+     */
+    public <T> CompletableFuture<T> submit(Write<T> write) {
+        Pending<T> pending = new Pending<>(write);
+        synchronized (this) {
+            if (failure != null) {
+                pending.future.completeExceptionally(new IllegalStateException("Writer thread stopped", failure));
+                return pending.future;
+            }
+            if (writer == null) {
+                writer = new Writer(lastThread);
+                lastThread = writer.thread;
+                writer.thread.start();
+            }
+            writer.queue.add(pending);
+        }
+        return pending.future;
+    }
+
+    /** Number of transactions committed so far. */
+    public synchronized long getBatchCount() {
+        return batches;
+    }
+
+    /** Number of writes applied so far. */
+    public synchronized long getWriteCount() {
+        return writes;
+    }
+
+    /**
+     * Commits the writes queued so far and stops the writer thread; called by
+     * {@link AppDatabase#close()} before the connection closes. Must not be called while
+     * holding the AppDatabase lock, since the writer needs it to reach the database.
+     */
+    void shutdown() {
+        Writer stopping;
+        synchronized (this) {
+            stopping = writer;
+            writer = null;
+            failure = null;
+        }
+        if (stopping == null) {
+            return;
+        }
+        stopping.queue.add(STOP);
+        if (stopping.thread == Thread.currentThread()) {
+            return;
+        }
+        try {
+            stopping.thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized void stopped(Writer stopped, Throwable cause) {
+        if (cause == null) {
+            return;
+        }
+        Log.e(TAG, "Writer thread stopped", cause);
+        if (writer == stopped) {
+            writer = null;
+            failure = cause;
+        }
+        // Không ai còn lấy các write này ra nữa: báo lỗi thay vì để caller chờ mãi
+        IllegalStateException error = new IllegalStateException("Writer thread stopped", cause);
+        for (Pending<?> pending : stopped.queue) {
+            pending.future.completeExceptionally(error);
+        }
+        stopped.queue.clear();
+    }
+
+    private final class Writer implements Runnable {
+        final LinkedBlockingQueue<Pending<?>> queue = new LinkedBlockingQueue<>();
+        final Thread thread = new Thread(this, "db-writer");
+        private final Thread previous;
+
+        Writer(Thread previous) {
+            this.previous = previous;
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            Throwable cause = null;
+            try {
+                if (previous != null) {
+                    previous.join();
+                }
+                loop();
+            } catch (InterruptedException e) {
+                cause = e;
+                Thread.currentThread().interrupt();
+            } catch (Throwable t) {
+                cause = t;
+            } finally {
+                stopped(this, cause);
+            }
+        }
+
+        private void loop() throws InterruptedException {
+            List<Pending<?>> batch = new ArrayList<>();
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch, MAX_BATCH - batch.size());
+                // Chỉ chờ khi đang có loạt write; một write lẻ được commit ngay
+                if (batch.size() > 1 && !batch.contains(STOP)) {
+                    long deadline = System.nanoTime() + GROUP_WINDOW_NANOS;
+                    while (batch.size() < MAX_BATCH) {
+                        Pending<?> next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                        queue.drainTo(batch, MAX_BATCH - batch.size());
+                        if (batch.contains(STOP)) {
+                            break;
+                        }
+                    }
+                }
+                // Sau STOP không còn write nào: shutdown() đã gỡ queue này khỏi submit
+                int stop = batch.indexOf(STOP);
+                if (stop >= 0) {
+                    batch.subList(stop, batch.size()).clear();
+                }
+                if (!batch.isEmpty()) {
+                    commitGroup(batch);
+                }
+                if (stop >= 0) {
+                    return;
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private void commitGroup(List<Pending<?>> batch) {
+        try {
+            commit(batch);
+        } catch (Throwable t) {
+            // Lỗi ngoài từng write (vd. commit thất bại, Error): báo cho mọi caller còn chờ
+            Log.e(TAG, "Group of " + batch.size() + " writes failed", t);
+            for (Pending<?> pending : batch) {
+                pending.future.completeExceptionally(t);
+            }
+        }
+    }
+
+    private void commit(List<Pending<?>> batch) {
+        SQLiteDatabase db = dbHelper.getDatabase();
+        if (batch.size() > 1 && commitTogether(db, batch)) {
+            return;
+        }
+        for (Pending<?> pending : batch) {
+            db.beginTransactionNonExclusive();
+            try {
+                pending.run();
+                db.setTransactionSuccessful();
+            } catch (RuntimeException e) {
+                pending.error = e;
+            } finally {
+                db.endTransaction();
+            }
+            counted(1);
+            pending.complete();
+        }
+    }
+
+    private boolean commitTogether(SQLiteDatabase db, List<Pending<?>> batch) {
+        db.beginTransactionNonExclusive();
+        try {
+            for (Pending<?> pending : batch) {
+                pending.run();
+            }
+            db.setTransactionSuccessful();
+        } catch (RuntimeException e) {
+            // Cả nhóm đã rollback; chạy lại từng write để chỉ write lỗi nhận lỗi
+            Log.w(TAG, "Group of " + batch.size() + " writes failed, retrying one by one", e);
+            return false;
+        } finally {
+            db.endTransaction();
+        }
+        counted(batch.size());
+        for (Pending<?> pending : batch) {
+            pending.complete();
+        }
+        return true;
+    }
+
+    private synchronized void counted(int writesInBatch) {
+        batches++;
+        writes += writesInBatch;
+    }
+
+    private static final class Pending<T> {
+        final Write<T> write;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        T result;
+        RuntimeException error;
+
+        Pending(Write<T> write) {
+            this.write = write;
+        }
+
+        void run() {
+            result = write.run();
+        }
+
+        void complete() {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(result);
+            }
+        }
+    }
+}
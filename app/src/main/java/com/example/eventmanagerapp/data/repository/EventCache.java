@@ -0,0 +1,321 @@
+package com.example.eventmanagerapp.data.repository;
+
+import android.util.LruCache;
+
+import com.example.eventmanagerapp.domain.model.Event;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory cache in front of EventDao: a size-bounded LRU of events keyed by id and
+ * an LRU of loaded time windows (e.g. the weeks shown in MainActivity) per user.
+ *
+ * The repository keeps both up to date on every write, so repeated reads of the same
+ * event or week are served without touching SQLite. Cached objects are never handed
+ * out: callers always receive copies they are free to modify.
+ */
+class EventCache {
+
+    // Ước lượng theo byte: ~1 MB cho cache theo id
+    static final int MAX_EVENT_BYTES = 1024 * 1024;
+    // Tổng số event nằm trong các window đang cache
+    static final int MAX_WINDOW_EVENTS = 20000;
+
+    private final LruCache<Integer, Event> events;
+    private final LruCache<WindowKey, List<Event>> windows;
+    // userId -> thời lượng dài nhất; chỉ cần là cận trên nên xoá sự kiện không cập nhật
+    private final Map<Integer, Long> maxDurations = new HashMap<>();
+
+    private long eventHits;
+    private long eventMisses;
+    private long eventEvictions;
+    private long windowHits;
+    private long windowMisses;
+    private long windowEvictions;
+
+    // Tăng sau mỗi lần ghi, để bỏ kết quả đọc từ DB đã cũ trước khi đưa vào cache
+    private long version;
+
+    EventCache() {
+        this(MAX_EVENT_BYTES, MAX_WINDOW_EVENTS);
+    }
+
+    EventCache(int maxEventBytes, int maxWindowEvents) {
+        events = new LruCache<Integer, Event>(maxEventBytes) {
+            @Override
+            protected int sizeOf(Integer key, Event value) {
+                return estimateSize(value);
+            }
+
+            @Override
+            protected void entryRemoved(boolean evicted, Integer key, Event oldValue, Event newValue) {
+                if (evicted) {
+                    eventEvictions++;
+                }
+            }
+        };
+        windows = new LruCache<WindowKey, List<Event>>(maxWindowEvents) {
+            @Override
+            protected int sizeOf(WindowKey key, List<Event> value) {
+                return value.size() + 1;
+            }
+
+            @Override
+            protected void entryRemoved(boolean evicted, WindowKey key, List<Event> oldValue,
+                                        List<Event> newValue) {
+                if (evicted) {
+                    windowEvictions++;
+                }
+            }
+        };
+    }
+
+    static int estimateSize(Event event) {
+        // Object header + fields, chuỗi lưu UTF-16
+        int size = 64;
+        if (event.getTitle() != null) {
+            size += 2 * event.getTitle().length();
+        }
+        if (event.getNote() != null) {
+            size += 2 * event.getNote().length();
+        }
+        return size;
+    }
+
+    synchronized long getVersion() {
+        return version;
+    }
+
+    synchronized Event getEvent(int eventId) {
+        Event event = events.get(eventId);
+        if (event == null) {
+            eventMisses++;
+            return null;
+        }
+        eventHits++;
+        return new Event(event);
+    }
+
+    /**
+     * Stores an event read from the database, unless a write happened since the read
+     * started (its {@code loadVersion}).
+     */
+    synchronized void putEvent(Event event, long loadVersion) {
+        if (loadVersion == version) {
+            events.put(event.getId(), new Event(event));
+        }
+    }
+
+    /**
+     * @return an upper bound of the user's event durations, or -1 if not loaded
+     */
+    synchronized long getMaxDuration(int userId) {
+        Long maxDuration = maxDurations.get(userId);
+        return maxDuration != null ? maxDuration : -1;
+    }
+
+    synchronized void putMaxDuration(int userId, long maxDuration, long loadVersion) {
+        if (loadVersion == version) {
+            maxDurations.put(userId, maxDuration);
+        }
+    }
+
+    synchronized List<Event> getWindow(int userId, long fromMillis, long toMillis) {
+        List<Event> window = windows.get(new WindowKey(userId, fromMillis, toMillis));
+        if (window == null) {
+            windowMisses++;
+            return null;
+        }
+        windowHits++;
+        return copyOf(window);
+    }
+
+    synchronized void putWindow(int userId, long fromMillis, long toMillis,
+                                List<Event> loaded, long loadVersion) {
+        if (loadVersion != version) {
+            return;
+        }
+        List<Event> window = new ArrayList<>(loaded.size());
+        for (Event event : loaded) {
+            Event copy = new Event(event);
+            window.add(copy);
+            events.put(copy.getId(), copy);
+        }
+        windows.put(new WindowKey(userId, fromMillis, toMillis), window);
+    }
+
+    /**
+     * Write-through for a created or updated event: replaces it by id and moves it to
+     * the right position in every cached window of its user.
+     */
+    synchronized void onSaved(Event saved) {
+        version++;
+        Event copy = new Event(saved);
+        events.put(copy.getId(), copy);
+
+        Long maxDuration = maxDurations.get(copy.getUserId());
+        long duration = copy.getEndTime() - copy.getStartTime();
+        if (maxDuration != null && duration > maxDuration) {
+            maxDurations.put(copy.getUserId(), duration);
+        }
+
+        for (Map.Entry<WindowKey, List<Event>> entry : windows.snapshot().entrySet()) {
+            WindowKey key = entry.getKey();
+            List<Event> window = entry.getValue();
+            int index = indexOf(window, copy.getId());
+            // Window chỉ chứa sự kiện đơn lẻ; chuỗi lặp lại được mở rộng ở OccurrenceEngine
+            boolean belongs = !copy.isRecurring()
+                    && key.userId == copy.getUserId() && key.contains(copy.getStartTime());
+            if (index < 0 && !belongs) {
+                continue;
+            }
+
+            // Không sửa list đang nằm trong LruCache, nếu không kích thước bị tính sai
+            List<Event> updated = new ArrayList<>(window);
+            if (index >= 0) {
+                updated.remove(index);
+            }
+            if (belongs) {
+                updated.add(insertionPoint(updated, copy.getStartTime()), copy);
+            }
+            windows.put(key, updated);
+        }
+    }
+
+    synchronized void onDeleted(int eventId) {
+        version++;
+        events.remove(eventId);
+
+        for (Map.Entry<WindowKey, List<Event>> entry : windows.snapshot().entrySet()) {
+            int index = indexOf(entry.getValue(), eventId);
+            if (index >= 0) {
+                List<Event> updated = new ArrayList<>(entry.getValue());
+                updated.remove(index);
+                windows.put(entry.getKey(), updated);
+            }
+        }
+    }
+
+    /**
+     * Drops everything cached for one user, used by bulk writes where patching
+     * each window would cost more than reloading it.
+     */
+    synchronized void invalidateUser(int userId) {
+        version++;
+        maxDurations.remove(userId);
+        for (Map.Entry<Integer, Event> entry : events.snapshot().entrySet()) {
+            if (entry.getValue().getUserId() == userId) {
+                events.remove(entry.getKey());
+            }
+        }
+        for (WindowKey key : windows.snapshot().keySet()) {
+            if (key.userId == userId) {
+                windows.remove(key);
+            }
+        }
+    }
+
+    synchronized void invalidateEvents(int[] eventIds) {
+        version++;
+        for (int eventId : eventIds) {
+            events.remove(eventId);
+        }
+        removeAllWindows();
+    }
+
+    synchronized void clear() {
+        version++;
+        // evictAll() sẽ được tính là eviction, nên xoá từng key
+        for (Integer eventId : events.snapshot().keySet()) {
+            events.remove(eventId);
+        }
+        removeAllWindows();
+        maxDurations.clear();
+    }
+
+    private void removeAllWindows() {
+        for (WindowKey key : windows.snapshot().keySet()) {
+            windows.remove(key);
+        }
+    }
+
+    synchronized CacheStats getEventStats() {
+        return new CacheStats(eventHits, eventMisses, eventEvictions);
+    }
+
+    synchronized CacheStats getWindowStats() {
+        return new CacheStats(windowHits, windowMisses, windowEvictions);
+    }
+
+    private static List<Event> copyOf(List<Event> source) {
+        List<Event> copy = new ArrayList<>(source.size());
+        for (int i = 0, n = source.size(); i < n; i++) {
+            copy.add(new Event(source.get(i)));
+        }
+        return copy;
+    }
+
+    private static int indexOf(List<Event> window, int eventId) {
+        for (int i = 0, n = window.size(); i < n; i++) {
+            if (window.get(i).getId() == eventId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Index after the last event starting at or before {@code startTime}, keeping the
+     * window in the same order as EventDao.getEventsInRange.
+     */
+    private static int insertionPoint(List<Event> window, long startTime) {
+        int low = 0;
+        int high = window.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (window.get(mid).getStartTime() <= startTime) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static final class WindowKey {
+        final int userId;
+        final long fromMillis;
+        final long toMillis;
+
+        WindowKey(int userId, long fromMillis, long toMillis) {
+            this.userId = userId;
+            this.fromMillis = fromMillis;
+            this.toMillis = toMillis;
+        }
+
+        boolean contains(long millis) {
+            return millis >= fromMillis && millis < toMillis;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof WindowKey)) return false;
+            WindowKey other = (WindowKey) o;
+            return userId == other.userId
+                    && fromMillis == other.fromMillis
+                    && toMillis == other.toMillis;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = userId;
+            result = 31 * result + Long.hashCode(fromMillis);
+            result = 31 * result + Long.hashCode(toMillis);
+            return result;
+        }
+    }
+}
@@ -2,19 +2,32 @@ package com.example.eventmanagerapp.data.repository;
 
 import android.content.Context;
 
+import com.example.eventmanagerapp.data.local.AppDatabase;
 import com.example.eventmanagerapp.data.local.EventDao;
+import com.example.eventmanagerapp.data.local.StatementCache;
+import com.example.eventmanagerapp.data.local.WriteQueue;
+import com.example.eventmanagerapp.domain.model.DaySummary;
 import com.example.eventmanagerapp.domain.model.Event;
+import com.example.eventmanagerapp.domain.model.Reminder;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
 public class EventRepository {
 
     private final EventDao eventDao;
+    private final EventCache cache = new EventCache();
+    private final WriteQueue writeQueue;
 
     private static EventRepository instance;
 
     private EventRepository(Context context) {
         this.eventDao = new EventDao(context);
+        this.writeQueue = AppDatabase.getInstance(context).getWriteQueue();
     }
 
     public static synchronized EventRepository getInstance(Context context) {
@@ -24,35 +37,295 @@ public class EventRepository {
         return instance;
     }
 
+    /**
+     * Creates an event and waits for the commit. Like every mutation here it goes through
+     * the single writer queue, so concurrent callers share commits.
+     */
     public long createEvent(Event event) {
-        return eventDao.insert(event);
+        return await(createEventAsync(event));
     }
 
     public boolean updateEvent(Event event) {
-        return eventDao.update(event) > 0;
+        return await(updateEventAsync(event));
+    }
+
+    /**
+     * Updates an event and points its stored reminder at {@code reminderAt} in the same
+     * write; see {@link EventDao#update(Event, long)}.
+     */
+    public boolean updateEvent(Event event, long reminderAt) {
+        return await(updateEventAsync(event, reminderAt));
     }
 
     public boolean deleteEvent(int eventId) {
-        return eventDao.delete(eventId) > 0;
+        return await(deleteEventAsync(eventId));
+    }
+
+    /**
+     * Queues an insert without waiting, e.g. for sync or import code that submits many
+     * events in a row; those end up grouped into a few transactions.
+     *
+     * @return future of the new id, or -1 if the insert failed
+     */
+    public CompletableFuture<Long> createEventAsync(Event event) {
+        Event copy = new Event(event);
+        return writeQueue.submit(() -> eventDao.insert(copy)).thenApply(id -> {
+            if (id > 0) {
+                copy.setId((int) (long) id);
+                cache.onSaved(copy);
+            }
+            return id;
+        });
+    }
+
+    public CompletableFuture<Boolean> updateEventAsync(Event event) {
+        return updateEventAsync(event, event.getReminderTime());
+    }
+
+    public CompletableFuture<Boolean> updateEventAsync(Event event, long reminderAt) {
+        Event copy = new Event(event);
+        return writeQueue.submit(() -> eventDao.update(copy, reminderAt) > 0).thenApply(updated -> {
+            if (updated) {
+                cache.onSaved(copy);
+            }
+            return updated;
+        });
+    }
+
+    public CompletableFuture<Boolean> deleteEventAsync(int eventId) {
+        return writeQueue.submit(() -> eventDao.delete(eventId) > 0).thenApply(deleted -> {
+            if (deleted) {
+                cache.onDeleted(eventId);
+            }
+            return deleted;
+        });
+    }
+
+    public long[] createEvents(List<Event> events) {
+        long[] ids = await(writeQueue.submit(() -> eventDao.insertAll(events)));
+        invalidateUsers(events);
+        return ids;
+    }
+
+    public int updateEvents(List<Event> events) {
+        int updated = await(writeQueue.submit(() -> eventDao.updateAll(events)));
+        invalidateUsers(events);
+        return updated;
+    }
+
+    public int deleteEvents(int[] eventIds) {
+        int deleted = await(writeQueue.submit(() -> eventDao.deleteByIds(eventIds)));
+        cache.invalidateEvents(eventIds);
+        return deleted;
     }
 
     public Event getEventById(int eventId) {
-        return eventDao.getById(eventId);
+        Event cached = cache.getEvent(eventId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long version = cache.getVersion();
+        Event event = eventDao.getById(eventId);
+        if (event != null) {
+            cache.putEvent(event, version);
+        }
+        return event;
     }
 
     public List<Event> getEventsByUserId(int userId) {
         return eventDao.getAllByUserId(userId);
     }
 
+    public List<Event> getEventsInRange(int userId, long fromMillis, long toMillis) {
+        List<Event> cached = cache.getWindow(userId, fromMillis, toMillis);
+        if (cached != null) {
+            return cached;
+        }
+
+        long version = cache.getVersion();
+        List<Event> events = eventDao.getEventsInRange(userId, fromMillis, toMillis);
+        cache.putWindow(userId, fromMillis, toMillis, events, version);
+        return events;
+    }
+
+    /**
+     * Repeating events that may occur in the window; not cached here, see OccurrenceEngine.
+     */
+    public List<Event> getSeriesInRange(int userId, long fromMillis, long toMillis) {
+        return eventDao.getSeriesInRange(userId, fromMillis, toMillis);
+    }
+
+    public Set<Long> getSkippedOccurrences(int eventId, long fromMillis, long toMillis) {
+        return eventDao.getSkippedOccurrences(eventId, fromMillis, toMillis);
+    }
+
+    public boolean skipOccurrence(int eventId, long occurrenceStart) {
+        boolean skipped = await(writeQueue.submit(() -> eventDao.skipOccurrence(eventId, occurrenceStart)));
+        if (skipped) {
+            cache.invalidateEvents(new int[]{eventId});
+        }
+        return skipped;
+    }
+
+    /**
+     * @see EventDao#setReminder(int, long)
+     */
+    public boolean setReminder(int eventId, long reminderAt) {
+        return await(writeQueue.submit(() -> eventDao.setReminder(eventId, reminderAt) > 0));
+    }
+
+    /**
+     * Single events of a user intersecting [startMillis, endMillis), ordered by start time.
+     */
+    public List<Event> getOverlappingEvents(int userId, long startMillis, long endMillis) {
+        return eventDao.getOverlapping(userId, startMillis, endMillis, getMaxEventDuration(userId));
+    }
+
+    /**
+     * Upper bound of the duration of the user's events, loaded once and kept in the cache.
+     */
+    public long getMaxEventDuration(int userId) {
+        long cached = cache.getMaxDuration(userId);
+        if (cached >= 0) {
+            return cached;
+        }
+
+        long version = cache.getVersion();
+        long maxDuration = eventDao.getMaxDuration(userId);
+        cache.putMaxDuration(userId, maxDuration, version);
+        return maxDuration;
+    }
+
+    public List<DaySummary> getDaySummaries(int userId, long firstDay, long endDay) {
+        return eventDao.getDaySummaries(userId, firstDay, endDay);
+    }
+
+    /**
+     * Recomputes the per-day totals for the current default time zone.
+     */
+    public void rebuildDaySummaries() {
+        await(writeQueue.submit(() -> {
+            eventDao.rebuildDaySummaries();
+            return null;
+        }));
+    }
+
+    public List<Event> getEventPageAfter(int userId, long afterStartTime, int afterId, int limit) {
+        return eventDao.getPageAfter(userId, afterStartTime, afterId, limit);
+    }
+
+    public List<Event> getEventPageBefore(int userId, long beforeStartTime, int beforeId, int limit) {
+        return eventDao.getPageBefore(userId, beforeStartTime, beforeId, limit);
+    }
+
+    public List<Event> searchEvents(int userId, String query, int limit) {
+        return eventDao.searchEvents(userId, query, limit);
+    }
+
+    public List<Reminder> getPendingReminders() {
+        return eventDao.getPendingReminders();
+    }
+
+    public List<Reminder> getDueReminders(long fromMillis, long toMillis, int limit) {
+        return eventDao.getDueReminders(fromMillis, toMillis, limit);
+    }
+
+    public int markRemindersFired(List<Reminder> reminders) {
+        return await(writeQueue.submit(() -> eventDao.markRemindersFired(reminders)));
+    }
+
+    public int expireRemindersBefore(long beforeMillis) {
+        return await(writeQueue.submit(() -> eventDao.expireRemindersBefore(beforeMillis)));
+    }
+
+    /**
+     * Streams events straight from the database, bypassing the cache; the consumer
+     * receives one reused instance (see EventDao#forEachInRange).
+     */
+    public int forEachEventInRange(int userId, long fromMillis, long toMillis, Consumer<Event> consumer) {
+        return eventDao.forEachInRange(userId, fromMillis, toMillis, consumer);
+    }
+
+    public int forEachEventByUserId(int userId, Consumer<Event> consumer) {
+        return eventDao.forEachByUserId(userId, consumer);
+    }
+
     public List<Event> getAllEvents() {
         return eventDao.getAll();
     }
 
     public void clearAllByUserId(int userId) {
-        eventDao.deleteAllByUserId(userId);
+        await(writeQueue.submit(() -> {
+            eventDao.deleteAllByUserId(userId);
+            return null;
+        }));
+        cache.invalidateUser(userId);
     }
 
     public void clearAll() {
-        eventDao.deleteAll();
+        await(writeQueue.submit(() -> {
+            eventDao.deleteAll();
+            return null;
+        }));
+        cache.clear();
+    }
+
+    /**
+     * Drops the in-memory cache without touching the database, e.g. when the system
+     * asks the app to trim memory.
+     */
+    public void clearCache() {
+        cache.clear();
+    }
+
+    /**
+     * Counter that changes on every write through this repository. Screens that keep query
+     * results of their own compare it to know whether those results are still current.
+     */
+    public long getDataVersion() {
+        return cache.getVersion();
+    }
+
+    public CacheStats getEventCacheStats() {
+        return cache.getEventStats();
+    }
+
+    /**
+     * Reuse of compiled statements by the DAOs; evictions count statements closed because
+     * more callers than {@code MAX_IDLE_PER_SQL} used the same SQL at once.
+     */
+    public CacheStats getStatementCacheStats() {
+        StatementCache statements = eventDao.getStatementCache();
+        return new CacheStats(statements.getHits(), statements.getMisses(), statements.getEvictions());
+    }
+
+    public CacheStats getWindowCacheStats() {
+        return cache.getWindowStats();
+    }
+
+    // Chờ write được commit; lỗi của write được ném lại nguyên dạng
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void invalidateUsers(List<Event> events) {
+        Set<Integer> userIds = new HashSet<>();
+        for (Event event : events) {
+            userIds.add(event.getUserId());
+        }
+        for (int userId : userIds) {
+            cache.invalidateUser(userId);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.example.eventmanagerapp.domain.model;
+
+/**
+ * How busy one local day is: number of events starting on it and the minutes they
+ * occupy until midnight.
+ */
+public class DaySummary {
+
+    private final int epochDay;
+    private final int eventCount;
+    private final int busyMinutes;
+
+    public DaySummary(int epochDay, int eventCount, int busyMinutes) {
+        this.epochDay = epochDay;
+        this.eventCount = eventCount;
+        this.busyMinutes = busyMinutes;
+    }
+
+    public int getEpochDay() {
+        return epochDay;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    public int getBusyMinutes() {
+        return busyMinutes;
+    }
+
+    @Override
+    public String toString() {
+        return "DaySummary{day=" + epochDay + ", count=" + eventCount + ", busy=" + busyMinutes + "}";
+    }
+}
@@ -9,6 +9,8 @@ public class Event {
     private long startTime;
     private long endTime;
     private int remindBefore;
+    // null: sự kiện đơn lẻ
+    private Recurrence recurrence;
 
     public Event() {
     }
@@ -24,6 +26,12 @@ public class Event {
         this.remindBefore = remindBefore;
     }
 
+    public Event(Event other) {
+        this(other.id, other.userId, other.title, other.note,
+                other.startTime, other.endTime, other.remindBefore);
+        this.recurrence = other.recurrence;
+    }
+
     public int getId() {
         return id;
     }
@@ -80,6 +88,25 @@ public class Event {
         this.remindBefore = remindBefore;
     }
 
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
+
+    public void setRecurrence(Recurrence recurrence) {
+        this.recurrence = recurrence;
+    }
+
+    public boolean isRecurring() {
+        return recurrence != null;
+    }
+
+    /**
+     * Time the reminder notification should fire: remindBefore minutes before the start.
+     */
+    public long getReminderTime() {
+        return startTime - remindBefore * 60 * 1000L;
+    }
+
     @Override
     public String toString() {
         return "Event{id=" + id + ", userId=" + userId + ", title='" + title + "'}";
@@ -0,0 +1,163 @@
+package com.example.eventmanagerapp.domain.model;
+
+import com.example.eventmanagerapp.utils.DateTimeHelper;
+
+import java.util.Calendar;
+
+/**
+ * A calendar date without time or zone, stored as days since 1970-01-01.
+ *
+ * This is how dates move between screens, use cases and queries; the "yyyy-MM-dd" and
+ * "dd/MM/yyyy" strings are only built for display. Year, month and day are computed from
+ * the epoch day with integer arithmetic (proleptic Gregorian calendar) when asked for.
+ */
+public final class LocalDay implements Comparable<LocalDay> {
+
+    // 1970-01-01 là thứ 5
+    private static final int EPOCH_DAY_OF_WEEK_OFFSET = 4;
+
+    private final int epochDay;
+
+    private LocalDay(int epochDay) {
+        this.epochDay = epochDay;
+    }
+
+    public static LocalDay ofEpochDay(int epochDay) {
+        return new LocalDay(epochDay);
+    }
+
+    /**
+     * @param month 1..12
+     * @throws IllegalArgumentException if the date does not exist
+     */
+    public static LocalDay of(int year, int month, int dayOfMonth) {
+        if (month < 1 || month > 12 || dayOfMonth < 1
+                || dayOfMonth > lengthOfMonth(year, month)) {
+            throw new IllegalArgumentException(
+                    "Invalid date " + year + "-" + month + "-" + dayOfMonth);
+        }
+        return new LocalDay(daysFromCivil(year, month, dayOfMonth));
+    }
+
+    /**
+     * @return the local date of {@code millis} in the default time zone
+     */
+    public static LocalDay fromMillis(long millis) {
+        return new LocalDay((int) DateTimeHelper.epochDay(millis));
+    }
+
+    public static LocalDay fromCalendar(Calendar calendar) {
+        return of(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1,
+                calendar.get(Calendar.DAY_OF_MONTH));
+    }
+
+    public static LocalDay today() {
+        return fromMillis(System.currentTimeMillis());
+    }
+
+    public int getEpochDay() {
+        return epochDay;
+    }
+
+    public int getYear() {
+        return civilFromDays(epochDay) / 10000;
+    }
+
+    /**
+     * @return 1..12
+     */
+    public int getMonth() {
+        return civilFromDays(epochDay) / 100 % 100;
+    }
+
+    public int getDayOfMonth() {
+        return civilFromDays(epochDay) % 100;
+    }
+
+    /**
+     * @return one of {@link Calendar#SUNDAY} .. {@link Calendar#SATURDAY}
+     */
+    public int getDayOfWeek() {
+        return Math.floorMod(epochDay + EPOCH_DAY_OF_WEEK_OFFSET, 7) + 1;
+    }
+
+    public LocalDay plusDays(int days) {
+        return days == 0 ? this : new LocalDay(epochDay + days);
+    }
+
+    /**
+     * @return the Monday on or before this day
+     */
+    public LocalDay weekStart() {
+        // Số ngày kể từ thứ 2: thứ 2 -> 0 ... CN -> 6
+        return plusDays(-Math.floorMod(epochDay + EPOCH_DAY_OF_WEEK_OFFSET - 1, 7));
+    }
+
+    /**
+     * @return the first instant of this day in the default time zone
+     */
+    public long startMillis() {
+        return DateTimeHelper.toMillis(epochDay, 0);
+    }
+
+    /**
+     * @param minuteOfDay 0..1439
+     * @return the instant at that local time on this day in the default time zone
+     */
+    public long atMinute(int minuteOfDay) {
+        return DateTimeHelper.toMillis(epochDay, minuteOfDay);
+    }
+
+    @Override
+    public int compareTo(LocalDay other) {
+        return Integer.compare(epochDay, other.epochDay);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof LocalDay && ((LocalDay) o).epochDay == epochDay;
+    }
+
+    @Override
+    public int hashCode() {
+        return epochDay;
+    }
+
+    @Override
+    public String toString() {
+        return DateTimeHelper.formatTagDate(this);
+    }
+
+    /**
+     * @return the date packed as yyyyMMdd (H. Hinnant's civil_from_days)
+     */
+    static int civilFromDays(int epochDay) {
+        int z = epochDay + 719468;
+        int era = Math.floorDiv(z, 146097);
+        int doe = z - era * 146097;
+        int yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        int mp = (5 * doy + 2) / 153;
+        int day = doy - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+        return year * 10000 + month * 100 + day;
+    }
+
+    private static int daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yoe = y - era * 400;
+        int doy = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        if (month == 2) {
+            boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+            return leap ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.eventmanagerapp.domain.model;
+
+import com.example.eventmanagerapp.utils.DateTimeHelper;
+
+/**
+ * Repeat rule of an event series: every {@code intervalDays} days (1 = daily, 7 = weekly)
+ * from the series' first occurrence, optionally until a given instant.
+ *
+ * Occurrences keep the local wall-clock time of the first one, so a 09:00 weekly meeting
+ * stays at 09:00 across DST switches. Occurrence {@code index} is addressed directly by
+ * day arithmetic; nothing is enumerated from the start of the series.
+ */
+public final class Recurrence {
+
+    public static final int DAILY = 1;
+    public static final int WEEKLY = 7;
+
+    /** No end date. */
+    public static final long FOREVER = Long.MAX_VALUE;
+
+    private final int intervalDays;
+    private final long untilMillis;
+
+    /**
+     * @param untilMillis occurrences must start before this instant, or {@link #FOREVER}
+     */
+    public Recurrence(int intervalDays, long untilMillis) {
+        if (intervalDays < 1) {
+            throw new IllegalArgumentException("intervalDays must be positive: " + intervalDays);
+        }
+        this.intervalDays = intervalDays;
+        this.untilMillis = untilMillis;
+    }
+
+    public int getIntervalDays() {
+        return intervalDays;
+    }
+
+    public long getUntilMillis() {
+        return untilMillis;
+    }
+
+    /**
+     * @return start of occurrence {@code index} (0 = the series' own start)
+     */
+    public long occurrenceStart(long seriesStart, int index) {
+        if (index == 0) {
+            return seriesStart;
+        }
+        long firstDay = DateTimeHelper.epochDay(seriesStart);
+        return DateTimeHelper.toMillis(firstDay + (long) index * intervalDays,
+                DateTimeHelper.minuteOfDay(seriesStart));
+    }
+
+    /**
+     * @return index of the first occurrence starting at or after {@code millis}; may point
+     * past {@link #getUntilMillis()}, check with {@link #hasOccurrence(long, int)}
+     */
+    public int firstIndexFrom(long seriesStart, long millis) {
+        if (millis <= seriesStart) {
+            return 0;
+        }
+        long days = DateTimeHelper.epochDay(millis) - DateTimeHelper.epochDay(seriesStart);
+        int index = (int) Math.max(0, days / intervalDays);
+        // Ước lượng theo ngày có thể lệch một lần lặp do giờ trong ngày
+        while (index > 0 && occurrenceStart(seriesStart, index - 1) >= millis) {
+            index--;
+        }
+        while (occurrenceStart(seriesStart, index) < millis) {
+            index++;
+        }
+        return index;
+    }
+
+    public boolean hasOccurrence(long seriesStart, int index) {
+        return index >= 0 && occurrenceStart(seriesStart, index) < untilMillis;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Recurrence)) {
+            return false;
+        }
+        Recurrence other = (Recurrence) o;
+        return intervalDays == other.intervalDays && untilMillis == other.untilMillis;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * intervalDays + Long.hashCode(untilMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "Recurrence{intervalDays=" + intervalDays + ", until=" + untilMillis + "}";
+    }
+}
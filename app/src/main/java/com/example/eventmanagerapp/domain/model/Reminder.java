@@ -0,0 +1,31 @@
+package com.example.eventmanagerapp.domain.model;
+
+public class Reminder {
+
+    private final int eventId;
+    private final String title;
+    private final long triggerAt;
+
+    public Reminder(int eventId, String title, long triggerAt) {
+        this.eventId = eventId;
+        this.title = title;
+        this.triggerAt = triggerAt;
+    }
+
+    public int getEventId() {
+        return eventId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public long getTriggerAt() {
+        return triggerAt;
+    }
+
+    @Override
+    public String toString() {
+        return "Reminder{eventId=" + eventId + ", triggerAt=" + triggerAt + "}";
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.eventmanagerapp.domain.model;
+
+/**
+ * A time range [startTime, endTime) in epoch milliseconds.
+ */
+public class TimeSlot {
+
+    private final long startTime;
+    private final long endTime;
+
+    public TimeSlot(long startTime, long endTime) {
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public long getEndTime() {
+        return endTime;
+    }
+
+    public long getDurationMillis() {
+        return endTime - startTime;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof TimeSlot)) return false;
+        TimeSlot other = (TimeSlot) o;
+        return startTime == other.startTime && endTime == other.endTime;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(startTime) + Long.hashCode(endTime);
+    }
+
+    @Override
+    public String toString() {
+        return "TimeSlot{start=" + startTime + ", end=" + endTime + "}";
+    }
+}
@@ -4,47 +4,61 @@ import android.content.Context;
 
 import com.example.eventmanagerapp.data.repository.EventRepository;
 import com.example.eventmanagerapp.domain.model.Event;
-import com.example.eventmanagerapp.utils.AlarmScheduler;
-import com.example.eventmanagerapp.utils.DateTimeHelper;
+import com.example.eventmanagerapp.domain.model.LocalDay;
+import com.example.eventmanagerapp.domain.model.Recurrence;
+import com.example.eventmanagerapp.utils.ConflictDetector;
+import com.example.eventmanagerapp.utils.ReminderEngine;
 import com.example.eventmanagerapp.utils.SessionManager;
 import com.example.eventmanagerapp.utils.Validator;
 
-import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
 
 public class CreateEventUseCase {
 
     private final EventRepository repository;
-    private final AlarmScheduler alarmScheduler;
+    private final ReminderEngine reminderEngine;
+    private final ConflictDetector conflictDetector;
     private final SessionManager sessionManager;
 
     public CreateEventUseCase(Context context) {
         this.repository = EventRepository.getInstance(context);
-        this.alarmScheduler = new AlarmScheduler(context);
+        this.reminderEngine = ReminderEngine.getInstance(context);
+        this.conflictDetector = new ConflictDetector(context);
         this.sessionManager = new SessionManager(context);
     }
 
-    public Result execute(String title, String note, String dateTag,
+    public Result execute(String title, String note, LocalDay day,
                           int startHour, int startMinute,
                           int endHour, int endMinute,
                           int remindBefore) {
+        return execute(title, note, day, startHour, startMinute, endHour, endMinute,
+                remindBefore, 0);
+    }
+
+    /**
+     * @param repeatDays 0 for a single event, otherwise repeat every that many days
+     *                   ({@link Recurrence#DAILY}, {@link Recurrence#WEEKLY}) with no end
+     */
+    public Result execute(String title, String note, LocalDay day,
+                          int startHour, int startMinute,
+                          int endHour, int endMinute,
+                          int remindBefore, int repeatDays) {
 
         int userId = sessionManager.getUserId();
         if (userId == -1) {
             return Result.error("Vui lòng đăng nhập lại");
         }
 
-        String error = validateInput(title, dateTag, startHour, startMinute,
+        String error = validateInput(title, day, startHour, startMinute,
                 endHour, endMinute);
         if (error != null) {
             return Result.error(error);
         }
 
         try {
-            Calendar startCal = DateTimeHelper.createDateTime(dateTag, startHour, startMinute);
-            Calendar endCal = DateTimeHelper.createDateTime(dateTag, endHour, endMinute);
-
-            long startMillis = startCal.getTimeInMillis();
-            long endMillis = endCal.getTimeInMillis();
+            long startMillis = day.atMinute(startHour * 60 + startMinute);
+            long endMillis = day.atMinute(endHour * 60 + endMinute);
 
             error = Validator.validateTimeRange(startMillis, endMillis);
             if (error != null) {
@@ -56,6 +70,9 @@ public class CreateEventUseCase {
                 return Result.error(error);
             }
 
+            // Trùng giờ chỉ là cảnh báo, vẫn lưu sự kiện
+            List<Event> conflicts = conflictDetector.findConflicts(userId, startMillis, endMillis, -1);
+
             Event event = new Event();
             event.setUserId(userId);
             event.setTitle(title);
@@ -63,39 +80,40 @@ public class CreateEventUseCase {
             event.setStartTime(startMillis);
             event.setEndTime(endMillis);
             event.setRemindBefore(remindBefore);
+            if (repeatDays > 0) {
+                event.setRecurrence(new Recurrence(repeatDays, Recurrence.FOREVER));
+            }
 
             long eventId = repository.createEvent(event);
             if (eventId <= 0) {
                 return Result.error("Không thể lưu sự kiện");
             }
 
-            long alarmTime = startMillis - (remindBefore * 60 * 1000L);
-
-            boolean alarmSet = alarmScheduler.scheduleAlarm(
+            boolean alarmSet = reminderEngine.schedule(
                     (int) eventId,
                     title,
-                    alarmTime
+                    event.getReminderTime()
             );
 
             if (!alarmSet) {
                 return Result.errorNeedPermission("Cần quyền 'Báo chính xác' để đặt nhắc nhở");
             }
 
-            return Result.success((int) eventId);
+            return Result.success((int) eventId, conflicts);
 
         } catch (Exception e) {
             return Result.error("Lỗi: " + e.getMessage());
         }
     }
 
-    private String validateInput(String title, String dateTag,
+    private String validateInput(String title, LocalDay day,
                                  int startHour, int startMinute,
                                  int endHour, int endMinute) {
 
         String error = Validator.validateTitle(title);
         if (error != null) return error;
 
-        error = Validator.validateDateFormat(dateTag);
+        error = Validator.validateDay(day);
         if (error != null) return error;
 
         error = Validator.validateStartTime(startHour, startMinute);
@@ -115,24 +133,31 @@ public class CreateEventUseCase {
         private final String errorMessage;
         private final int eventId;
         private final boolean needPermission;
+        private final List<Event> conflicts;
 
-        private Result(boolean success, String errorMessage, int eventId, boolean needPermission) {
+        private Result(boolean success, String errorMessage, int eventId, boolean needPermission,
+                       List<Event> conflicts) {
             this.success = success;
             this.errorMessage = errorMessage;
             this.eventId = eventId;
             this.needPermission = needPermission;
+            this.conflicts = conflicts;
         }
 
         public static Result success(int eventId) {
-            return new Result(true, null, eventId, false);
+            return success(eventId, Collections.emptyList());
+        }
+
+        public static Result success(int eventId, List<Event> conflicts) {
+            return new Result(true, null, eventId, false, conflicts);
         }
 
         public static Result error(String message) {
-            return new Result(false, message, -1, false);
+            return new Result(false, message, -1, false, Collections.emptyList());
         }
 
         public static Result errorNeedPermission(String message) {
-            return new Result(false, message, -1, true);
+            return new Result(false, message, -1, true, Collections.emptyList());
         }
 
         public boolean isSuccess() {
@@ -150,5 +175,16 @@ public class CreateEventUseCase {
         public boolean needPermission() {
             return needPermission;
         }
+
+        /**
+         * Existing events overlapping the new one, by start time; empty if none.
+         */
+        public List<Event> getConflicts() {
+            return conflicts;
+        }
+
+        public boolean hasConflicts() {
+            return !conflicts.isEmpty();
+        }
     }
 }
\ No newline at end of file
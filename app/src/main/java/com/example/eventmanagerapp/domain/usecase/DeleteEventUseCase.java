@@ -4,18 +4,20 @@ import android.content.Context;
 
 import com.example.eventmanagerapp.data.repository.EventRepository;
 import com.example.eventmanagerapp.domain.model.Event;
-import com.example.eventmanagerapp.utils.AlarmScheduler;
+import com.example.eventmanagerapp.domain.model.Recurrence;
+import com.example.eventmanagerapp.utils.OccurrenceEngine;
+import com.example.eventmanagerapp.utils.ReminderEngine;
 import com.example.eventmanagerapp.utils.SessionManager;
 
 public class DeleteEventUseCase {
 
     private final EventRepository repository;
-    private final AlarmScheduler alarmScheduler;
+    private final ReminderEngine reminderEngine;
     private final SessionManager sessionManager;
 
     public DeleteEventUseCase(Context context) {
         this.repository = EventRepository.getInstance(context);
-        this.alarmScheduler = new AlarmScheduler(context);
+        this.reminderEngine = ReminderEngine.getInstance(context);
         this.sessionManager = new SessionManager(context);
     }
 
@@ -34,14 +36,54 @@ public class DeleteEventUseCase {
             return Result.error("Bạn không có quyền xóa sự kiện này");
         }
 
-        alarmScheduler.cancelAlarm(eventId);
-
         boolean deleted = repository.deleteEvent(eventId);
 
         if (!deleted) {
             return Result.error("Không thể xoá sự kiện");
         }
 
+        reminderEngine.cancel(eventId);
+
+        return Result.success();
+    }
+
+    /**
+     * Deletes one occurrence of a repeating event, keeping the rest of the series.
+     *
+     * @param occurrenceStart start time of the occurrence as expanded by OccurrenceEngine
+     */
+    public Result deleteOccurrence(int eventId, long occurrenceStart) {
+        int userId = sessionManager.getUserId();
+        if (userId == -1) {
+            return Result.error("Vui lòng đăng nhập lại");
+        }
+
+        Event event = repository.getEventById(eventId);
+        if (event == null) {
+            return Result.error("Sự kiện không tồn tại");
+        }
+
+        if (event.getUserId() != userId) {
+            return Result.error("Bạn không có quyền xóa sự kiện này");
+        }
+
+        if (!event.isRecurring()) {
+            return execute(eventId);
+        }
+
+        repository.skipOccurrence(eventId, occurrenceStart);
+
+        // Lần bị xoá có thể chính là lần đang được nhắc
+        long now = System.currentTimeMillis();
+        long alarmTime = OccurrenceEngine.nextReminderTime(event,
+                repository.getSkippedOccurrences(eventId, now, Recurrence.FOREVER), now);
+        repository.setReminder(eventId, alarmTime);
+        if (alarmTime > now) {
+            reminderEngine.schedule(eventId, event.getTitle(), alarmTime);
+        } else {
+            reminderEngine.cancel(eventId);
+        }
+
         return Result.success();
     }
 
@@ -0,0 +1,151 @@
+package com.example.eventmanagerapp.domain.usecase;
+
+import android.content.Context;
+
+import com.example.eventmanagerapp.data.repository.EventRepository;
+import com.example.eventmanagerapp.domain.model.Event;
+import com.example.eventmanagerapp.domain.model.LocalDay;
+import com.example.eventmanagerapp.domain.model.TimeSlot;
+import com.example.eventmanagerapp.utils.OccurrenceEngine;
+import com.example.eventmanagerapp.utils.SessionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Free time of the logged-in user inside working hours, e.g. to suggest meeting times.
+ *
+ * Events are streamed from the database in start order (EventDao#forEachInRange) and
+ * merged with the occurrences of repeating events in one pass; nothing is sorted and no
+ * event is kept in memory. The lookback before the first day uses the same longest-event
+ * bound as ConflictDetector, so an event running into the range still counts as busy.
+ */
+public class FindFreeSlotsUseCase {
+
+    private final EventRepository repository;
+    private final OccurrenceEngine occurrenceEngine;
+    private final SessionManager sessionManager;
+
+    public FindFreeSlotsUseCase(Context context) {
+        this.repository = EventRepository.getInstance(context);
+        this.occurrenceEngine = OccurrenceEngine.getInstance(context);
+        this.sessionManager = new SessionManager(context);
+    }
+
+    /**
+     * @param workStartMinute start of working hours, minute of day (e.g. 8 * 60)
+     * @param workEndMinute   end of working hours, minute of day, after the start
+     * @param minMinutes      shortest slot worth returning
+     * @return free slots in the {@code days} days from {@code first} on, by start time
+     */
+    public List<TimeSlot> execute(LocalDay first, int days,
+                                  int workStartMinute, int workEndMinute, int minMinutes) {
+        int userId = sessionManager.getUserId();
+        if (userId == -1 || days <= 0 || workEndMinute <= workStartMinute) {
+            return new ArrayList<>();
+        }
+
+        long[] windowStarts = new long[days];
+        long[] windowEnds = new long[days];
+        for (int i = 0; i < days; i++) {
+            LocalDay day = first.plusDays(i);
+            windowStarts[i] = day.atMinute(workStartMinute);
+            windowEnds[i] = day.atMinute(workEndMinute);
+        }
+        long fromMillis = windowStarts[0];
+        long toMillis = windowEnds[days - 1];
+        long lookback = repository.getMaxEventDuration(userId);
+
+        SlotCollector collector = new SlotCollector(windowStarts, windowEnds, minMinutes * 60 * 1000L);
+        List<Event> occurrences = occurrenceEngine.getOccurrences(userId, fromMillis - lookback, toMillis);
+        MergingConsumer merged = new MergingConsumer(occurrences, collector);
+
+        repository.forEachEventInRange(userId, fromMillis - lookback, toMillis, merged);
+        merged.drain(Long.MAX_VALUE);
+        return collector.finish();
+    }
+
+    /**
+     * Feeds the streamed events and the (already sorted) occurrences to the collector
+     * in start order.
+     */
+    private static final class MergingConsumer implements Consumer<Event> {
+        private final List<Event> occurrences;
+        private final SlotCollector collector;
+        private int next;
+
+        MergingConsumer(List<Event> occurrences, SlotCollector collector) {
+            this.occurrences = occurrences;
+            this.collector = collector;
+        }
+
+        @Override
+        public void accept(Event event) {
+            drain(event.getStartTime());
+            collector.accept(event);
+        }
+
+        void drain(long untilStart) {
+            while (next < occurrences.size() && occurrences.get(next).getStartTime() <= untilStart) {
+                collector.accept(occurrences.get(next++));
+            }
+        }
+    }
+
+    /**
+     * Turns busy intervals, received in start order, into the free parts of the given
+     * working windows. Windows must be sorted and must not overlap.
+     */
+    static final class SlotCollector implements Consumer<Event> {
+        private final long[] windowStarts;
+        private final long[] windowEnds;
+        private final long minDuration;
+        private final List<TimeSlot> slots = new ArrayList<>();
+
+        // Mọi thời điểm trước busyUntil đều đã bận hoặc đã xét
+        private long busyUntil;
+        private int window;
+
+        SlotCollector(long[] windowStarts, long[] windowEnds, long minDuration) {
+            this.windowStarts = windowStarts;
+            this.windowEnds = windowEnds;
+            this.minDuration = Math.max(1, minDuration);
+            this.busyUntil = windowStarts.length > 0 ? windowStarts[0] : Long.MAX_VALUE;
+        }
+
+        @Override
+        public void accept(Event event) {
+            long start = event.getStartTime();
+            long end = event.getEndTime();
+            if (end <= busyUntil) {
+                return;
+            }
+            if (start > busyUntil) {
+                addFree(busyUntil, start);
+            }
+            busyUntil = end;
+        }
+
+        List<TimeSlot> finish() {
+            if (windowEnds.length > 0 && busyUntil < windowEnds[windowEnds.length - 1]) {
+                addFree(busyUntil, windowEnds[windowEnds.length - 1]);
+                busyUntil = windowEnds[windowEnds.length - 1];
+            }
+            return slots;
+        }
+
+        private void addFree(long from, long to) {
+            while (window < windowEnds.length && windowEnds[window] <= from) {
+                window++;
+            }
+            for (int i = window; i < windowStarts.length && windowStarts[i] < to; i++) {
+                long start = Math.max(from, windowStarts[i]);
+                long end = Math.min(to, windowEnds[i]);
+                if (end - start >= minDuration) {
+                    slots.add(new TimeSlot(start, end));
+                }
+            }
+        }
+    }
+}
@@ -3,7 +3,10 @@ package com.example.eventmanagerapp.domain.usecase;
 import android.content.Context;
 
 import com.example.eventmanagerapp.data.repository.EventRepository;
+import com.example.eventmanagerapp.domain.model.DaySummary;
 import com.example.eventmanagerapp.domain.model.Event;
+import com.example.eventmanagerapp.domain.model.LocalDay;
+import com.example.eventmanagerapp.utils.OccurrenceEngine;
 import com.example.eventmanagerapp.utils.SessionManager;
 
 import java.util.ArrayList;
@@ -11,23 +14,192 @@ import java.util.List;
 
 public class GetEventsUseCase {
 
+    // Chuỗi không có ngày kết thúc: getAllEvents chỉ mở rộng tới chừng này sau hiện tại
+    static final long SERIES_HORIZON = 366L * 24 * 60 * 60 * 1000;
+
     private final EventRepository repository;
+    private final OccurrenceEngine occurrenceEngine;
     private final SessionManager sessionManager;
 
     public GetEventsUseCase(Context context) {
         this.repository = EventRepository.getInstance(context);
+        this.occurrenceEngine = OccurrenceEngine.getInstance(context);
         this.sessionManager = new SessionManager(context);
     }
 
+    /**
+     * All events of the user ordered by start time, with repeating events expanded into
+     * their occurrences up to {@link #SERIES_HORIZON} from now.
+     */
     public List<Event> getAllEvents() {
         int userId = sessionManager.getUserId();
         if (userId == -1) {
             return new ArrayList<>();
         }
-        return repository.getEventsByUserId(userId);
+        List<Event> singles = new ArrayList<>();
+        for (Event event : repository.getEventsByUserId(userId)) {
+            if (!event.isRecurring()) {
+                singles.add(event);
+            }
+        }
+        List<Event> occurrences = occurrenceEngine.getOccurrencesAfter(userId, Long.MIN_VALUE, 0,
+                System.currentTimeMillis() + SERIES_HORIZON, Integer.MAX_VALUE);
+        if (occurrences.isEmpty()) {
+            return singles;
+        }
+        return merge(singles, occurrences);
+    }
+
+    /**
+     * Events starting in [fromMillis, toMillis) ordered by start time, including the
+     * occurrences of repeating events that fall in the window.
+     */
+    public List<Event> getEventsInRange(long fromMillis, long toMillis) {
+        int userId = sessionManager.getUserId();
+        if (userId == -1) {
+            return new ArrayList<>();
+        }
+        List<Event> singles = repository.getEventsInRange(userId, fromMillis, toMillis);
+        List<Event> occurrences = occurrenceEngine.getOccurrences(userId, fromMillis, toMillis);
+        if (occurrences.isEmpty()) {
+            return singles;
+        }
+        return merge(singles, occurrences);
+    }
+
+    /**
+     * Events starting on the {@code days} local days from {@code first} on.
+     */
+    public List<Event> getEventsInDays(LocalDay first, int days) {
+        return getEventsInRange(first.startMillis(), first.plusDays(days).startMillis());
+    }
+
+    /**
+     * Next page of the agenda: events and occurrences after {@code last} in (start time, id)
+     * order, or the first page when {@code last} is null.
+     */
+    public List<Event> getEventsAfter(Event last, int limit) {
+        int userId = sessionManager.getUserId();
+        if (userId == -1) {
+            return new ArrayList<>();
+        }
+        long afterStart = last == null ? Long.MIN_VALUE : last.getStartTime();
+        int afterId = last == null ? 0 : last.getId();
+
+        List<Event> singles = repository.getEventPageAfter(userId, afterStart, afterId, limit);
+        // Trang đầy: lần lặp sau sự kiện cuối thuộc về trang sau
+        long toMillis = singles.size() == limit
+                ? singles.get(limit - 1).getStartTime() + 1
+                : Long.MAX_VALUE;
+        List<Event> occurrences = occurrenceEngine.getOccurrencesAfter(
+                userId, afterStart, afterId, toMillis, limit);
+        if (occurrences.isEmpty()) {
+            return singles;
+        }
+        List<Event> page = mergeByKey(singles, occurrences);
+        return page.size() > limit ? new ArrayList<>(page.subList(0, limit)) : page;
+    }
+
+    /**
+     * Previous page of the agenda: events and occurrences before {@code first}, in
+     * ascending order.
+     */
+    public List<Event> getEventsBefore(Event first, int limit) {
+        int userId = sessionManager.getUserId();
+        if (userId == -1) {
+            return new ArrayList<>();
+        }
+        List<Event> singles = repository.getEventPageBefore(userId, first.getStartTime(), first.getId(), limit);
+        long fromMillis = singles.size() == limit ? singles.get(0).getStartTime() : Long.MIN_VALUE;
+        List<Event> occurrences = occurrenceEngine.getOccurrencesBefore(
+                userId, first.getStartTime(), first.getId(), fromMillis, limit);
+        if (occurrences.isEmpty()) {
+            return singles;
+        }
+        List<Event> page = mergeByKey(singles, occurrences);
+        return page.size() > limit ? new ArrayList<>(page.subList(page.size() - limit, page.size())) : page;
+    }
+
+    /**
+     * @see EventRepository#getDataVersion()
+     */
+    public long getDataVersion() {
+        return repository.getDataVersion();
+    }
+
+    /**
+     * Event count and busy minutes of each of the {@code days} days from {@code first}
+     * on; element i is {@code first.plusDays(i)}. Single events are aggregated by the
+     * database, occurrences of repeating events are added here.
+     */
+    public DaySummary[] getDaySummaries(LocalDay first, int days) {
+        int[] counts = new int[days];
+        long[] busyMillis = new long[days];
+
+        int userId = sessionManager.getUserId();
+        if (userId != -1) {
+            long fromMillis = first.startMillis();
+            long toMillis = first.plusDays(days).startMillis();
+
+            for (DaySummary summary : repository.getDaySummaries(userId, first.getEpochDay(),
+                    first.getEpochDay() + days)) {
+                int index = summary.getEpochDay() - first.getEpochDay();
+                if (index >= 0 && index < days) {
+                    counts[index] += summary.getEventCount();
+                    busyMillis[index] += summary.getBusyMinutes() * 60000L;
+                }
+            }
+            for (Event occurrence : occurrenceEngine.getOccurrences(userId, fromMillis, toMillis)) {
+                LocalDay day = LocalDay.fromMillis(occurrence.getStartTime());
+                int index = day.getEpochDay() - first.getEpochDay();
+                counts[index]++;
+                busyMillis[index] += Math.min(occurrence.getEndTime(), day.plusDays(1).startMillis())
+                        - occurrence.getStartTime();
+            }
+        }
+
+        DaySummary[] summaries = new DaySummary[days];
+        for (int i = 0; i < days; i++) {
+            summaries[i] = new DaySummary(first.getEpochDay() + i, counts[i], (int) (busyMillis[i] / 60000));
+        }
+        return summaries;
     }
 
     public Event getEventById(int eventId) {
         return repository.getEventById(eventId);
     }
+
+    // Trộn hai danh sách đã sắp theo giờ bắt đầu
+    private static List<Event> merge(List<Event> a, List<Event> b) {
+        List<Event> merged = new ArrayList<>(a.size() + b.size());
+        int i = 0;
+        int j = 0;
+        while (i < a.size() && j < b.size()) {
+            if (a.get(i).getStartTime() <= b.get(j).getStartTime()) {
+                merged.add(a.get(i++));
+            } else {
+                merged.add(b.get(j++));
+            }
+        }
+        merged.addAll(a.subList(i, a.size()));
+        merged.addAll(b.subList(j, b.size()));
+        return merged;
+    }
+
+    // Như merge nhưng theo khóa (giờ bắt đầu, id) của agenda
+    private static List<Event> mergeByKey(List<Event> a, List<Event> b) {
+        List<Event> merged = new ArrayList<>(a.size() + b.size());
+        int i = 0;
+        int j = 0;
+        while (i < a.size() && j < b.size()) {
+            if (OccurrenceEngine.BY_START_AND_ID.compare(a.get(i), b.get(j)) <= 0) {
+                merged.add(a.get(i++));
+            } else {
+                merged.add(b.get(j++));
+            }
+        }
+        merged.addAll(a.subList(i, a.size()));
+        merged.addAll(b.subList(j, b.size()));
+        return merged;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.example.eventmanagerapp.domain.usecase;
+
+import android.content.Context;
+
+import com.example.eventmanagerapp.data.repository.EventRepository;
+import com.example.eventmanagerapp.domain.model.Event;
+import com.example.eventmanagerapp.domain.model.Recurrence;
+import com.example.eventmanagerapp.utils.OccurrenceEngine;
+import com.example.eventmanagerapp.utils.SessionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SearchEventsUseCase {
+
+    public static final int DEFAULT_LIMIT = 50;
+
+    private final EventRepository repository;
+    private final SessionManager sessionManager;
+
+    public SearchEventsUseCase(Context context) {
+        this.repository = EventRepository.getInstance(context);
+        this.sessionManager = new SessionManager(context);
+    }
+
+    public Result execute(String query) {
+        return execute(query, DEFAULT_LIMIT);
+    }
+
+    public Result execute(String query, int limit) {
+        int userId = sessionManager.getUserId();
+        if (userId == -1) {
+            return Result.error("Vui lòng đăng nhập lại");
+        }
+
+        if (query == null || query.trim().isEmpty()) {
+            return Result.success(new ArrayList<>());
+        }
+
+        List<Event> events = repository.searchEvents(userId, query.trim(), limit);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < events.size(); i++) {
+            Event event = events.get(i);
+            if (event.isRecurring()) {
+                events.set(i, upcoming(event, now));
+            }
+        }
+        return Result.success(events);
+    }
+
+    /**
+     * The occurrence of a matching series the user most likely looks for: the next one,
+     * or the series' first one once it has ended.
+     */
+    private Event upcoming(Event series, long now) {
+        Event next = OccurrenceEngine.nextOccurrence(series,
+                repository.getSkippedOccurrences(series.getId(), now, Recurrence.FOREVER), now);
+        return next != null ? next : series;
+    }
+
+    public static class Result {
+        private final boolean success;
+        private final String errorMessage;
+        private final List<Event> events;
+
+        private Result(boolean success, String errorMessage, List<Event> events) {
+            this.success = success;
+            this.errorMessage = errorMessage;
+            this.events = events;
+        }
+
+        public static Result success(List<Event> events) {
+            return new Result(true, null, events);
+        }
+
+        public static Result error(String message) {
+            return new Result(false, message, new ArrayList<>());
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public String getErrorMessage() {
+            return errorMessage;
+        }
+
+        /**
+         * Matching events, best match first.
+         */
+        public List<Event> getEvents() {
+            return events;
+        }
+    }
+}
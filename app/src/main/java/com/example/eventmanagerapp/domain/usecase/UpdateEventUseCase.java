@@ -4,19 +4,27 @@ import android.content.Context;
 
 import com.example.eventmanagerapp.data.repository.EventRepository;
 import com.example.eventmanagerapp.domain.model.Event;
-import com.example.eventmanagerapp.utils.AlarmScheduler;
+import com.example.eventmanagerapp.domain.model.Recurrence;
+import com.example.eventmanagerapp.utils.ConflictDetector;
+import com.example.eventmanagerapp.utils.OccurrenceEngine;
+import com.example.eventmanagerapp.utils.ReminderEngine;
 import com.example.eventmanagerapp.utils.SessionManager;
 import com.example.eventmanagerapp.utils.Validator;
 
+import java.util.Collections;
+import java.util.List;
+
 public class UpdateEventUseCase {
 
     private final EventRepository repository;
-    private final AlarmScheduler alarmScheduler;
+    private final ReminderEngine reminderEngine;
+    private final ConflictDetector conflictDetector;
     private final SessionManager sessionManager;
 
     public UpdateEventUseCase(Context context) {
         this.repository = EventRepository.getInstance(context);
-        this.alarmScheduler = new AlarmScheduler(context);
+        this.reminderEngine = ReminderEngine.getInstance(context);
+        this.conflictDetector = new ConflictDetector(context);
         this.sessionManager = new SessionManager(context);
     }
 
@@ -42,23 +50,34 @@ public class UpdateEventUseCase {
             return Result.error("Bạn không có quyền sửa sự kiện này");
         }
 
+        List<Event> conflicts = conflictDetector.findConflicts(userId, startMillis, endMillis, eventId);
+
         event.setTitle(title);
         event.setNote(note);
         event.setStartTime(startMillis);
         event.setEndTime(endMillis);
         event.setRemindBefore(remindBefore);
 
-        boolean updated = repository.updateEvent(event);
+        long now = System.currentTimeMillis();
+        long alarmTime = event.getReminderTime();
+        if (event.isRecurring()) {
+            // Chuỗi lặp lại: nhắc cho lần kế tiếp chưa tới giờ nhắc, ghi cùng lệnh UPDATE
+            alarmTime = OccurrenceEngine.nextReminderTime(event,
+                    repository.getSkippedOccurrences(eventId, now, Recurrence.FOREVER), now);
+        }
+
+        boolean updated = repository.updateEvent(event, alarmTime);
         if (!updated) {
             return Result.error("Không thể cập nhật sự kiện");
         }
 
-        long alarmTime = startMillis - (remindBefore * 60 * 1000L);
-        if (alarmTime > System.currentTimeMillis()) {
-            alarmScheduler.rescheduleAlarm(eventId, title, alarmTime);
+        if (alarmTime > now) {
+            reminderEngine.schedule(eventId, title, alarmTime);
+        } else {
+            reminderEngine.cancel(eventId);
         }
 
-        return Result.success();
+        return Result.success(conflicts);
     }
 
     private String validateInput(String title, long startMillis, long endMillis) {
@@ -74,18 +93,24 @@ public class UpdateEventUseCase {
     public static class Result {
         private final boolean success;
         private final String errorMessage;
+        private final List<Event> conflicts;
 
-        private Result(boolean success, String errorMessage) {
+        private Result(boolean success, String errorMessage, List<Event> conflicts) {
             this.success = success;
             this.errorMessage = errorMessage;
+            this.conflicts = conflicts;
         }
 
         public static Result success() {
-            return new Result(true, null);
+            return success(Collections.emptyList());
+        }
+
+        public static Result success(List<Event> conflicts) {
+            return new Result(true, null, conflicts);
         }
 
         public static Result error(String message) {
-            return new Result(false, message);
+            return new Result(false, message, Collections.emptyList());
         }
 
         public boolean isSuccess() {
@@ -95,5 +120,16 @@ public class UpdateEventUseCase {
         public String getErrorMessage() {
             return errorMessage;
         }
+
+        /**
+         * Other events overlapping the new time of the event, by start time; empty if none.
+         */
+        public List<Event> getConflicts() {
+            return conflicts;
+        }
+
+        public boolean hasConflicts() {
+            return !conflicts.isEmpty();
+        }
     }
 }
\ No newline at end of file
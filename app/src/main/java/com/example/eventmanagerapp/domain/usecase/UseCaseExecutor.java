@@ -0,0 +1,221 @@
+package com.example.eventmanagerapp.domain.usecase;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.util.Log;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs use cases off the main thread and delivers their results back on it.
+ *
+ * Reads share a small bounded pool; writes go through a single thread so mutations
+ * are applied in the order they were submitted. That thread orders whole use cases;
+ * the statements they run are committed by the database's own writer thread
+ * ({@code WriteQueue}), which groups them with writes from receivers and alarms.
+ * Activities register their work in a {@link Scope} and cancel it in onDestroy, after
+ * which no callback reaches them.
+ *
+ * A use case that throws reports the exception to its {@link ErrorCallback} on the main
+ * thread, so the screen can re-enable its buttons; without one the failure is only logged.
+ */
+public class UseCaseExecutor {
+
+    private static final String TAG = "UseCaseExecutor";
+
+    private static final int READ_THREADS =
+            Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    public interface Callback<T> {
+        void onResult(T result);
+    }
+
+    public interface ErrorCallback {
+        void onError(Exception error);
+    }
+
+    private static UseCaseExecutor instance;
+
+    private final ExecutorService readExecutor;
+    private final ExecutorService writeExecutor;
+    private final Executor mainThread;
+
+    UseCaseExecutor(ExecutorService readExecutor, ExecutorService writeExecutor, Executor mainThread) {
+        this.readExecutor = readExecutor;
+        this.writeExecutor = writeExecutor;
+        this.mainThread = mainThread;
+    }
+
+    public static synchronized UseCaseExecutor getInstance() {
+        if (instance == null) {
+            ThreadPoolExecutor readPool = new ThreadPoolExecutor(
+                    READ_THREADS, READ_THREADS,
+                    30, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(),
+                    new BackgroundThreadFactory("usecase-read")
+            );
+            readPool.allowCoreThreadTimeOut(true);
+
+            Handler handler = new Handler(Looper.getMainLooper());
+            instance = new UseCaseExecutor(
+                    readPool,
+                    Executors.newSingleThreadExecutor(new BackgroundThreadFactory("usecase-write")),
+                    handler::post
+            );
+        }
+        return instance;
+    }
+
+    /**
+     * Runs a read-only use case on the read pool.
+     */
+    public <T> Task read(Scope scope, Callable<T> work, Callback<T> callback) {
+        return read(scope, work, callback, null);
+    }
+
+    /**
+     * Same as {@link #read(Scope, Callable, Callback)}, with {@code onError} called on the
+     * main thread if the use case throws.
+     */
+    public <T> Task read(Scope scope, Callable<T> work, Callback<T> callback, ErrorCallback onError) {
+        return submit(readExecutor, scope, work, callback, onError, true);
+    }
+
+    /**
+     * Runs a mutating use case on the single writer thread. Cancelling the task
+     * only drops its callback: a write that was accepted is always applied.
+     */
+    public <T> Task write(Scope scope, Callable<T> work, Callback<T> callback) {
+        return write(scope, work, callback, null);
+    }
+
+    /**
+     * Same as {@link #write(Scope, Callable, Callback)}, with {@code onError} called on the
+     * main thread if the use case throws.
+     */
+    public <T> Task write(Scope scope, Callable<T> work, Callback<T> callback, ErrorCallback onError) {
+        return submit(writeExecutor, scope, work, callback, onError, false);
+    }
+
+    private <T> Task submit(ExecutorService executor, Scope scope, Callable<T> work,
+                            Callback<T> callback, ErrorCallback onError, boolean interruptible) {
+        Task task = new Task(interruptible);
+        if (!scope.add(task)) {
+            return task;
+        }
+
+        task.future = executor.submit(() -> {
+            if (task.isCancelled() && interruptible) {
+                return;
+            }
+
+            T result;
+            try {
+                result = work.call();
+            } catch (Exception e) {
+                Log.e(TAG, "Use case failed", e);
+                mainThread.execute(() -> {
+                    scope.remove(task);
+                    if (onError != null && !task.isCancelled()) {
+                        onError.onError(e);
+                    }
+                });
+                return;
+            }
+
+            mainThread.execute(() -> {
+                scope.remove(task);
+                if (!task.isCancelled()) {
+                    callback.onResult(result);
+                }
+            });
+        });
+        return task;
+    }
+
+    public static class Task {
+        private final boolean interruptible;
+        private volatile boolean cancelled;
+        private volatile Future<?> future;
+
+        Task(boolean interruptible) {
+            this.interruptible = interruptible;
+        }
+
+        public void cancel() {
+            cancelled = true;
+            Future<?> f = future;
+            if (interruptible && f != null) {
+                f.cancel(false);
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    /**
+     * Groups the tasks started by one screen so they can be cancelled together.
+     */
+    public static class Scope {
+        private final Set<Task> tasks = new HashSet<>();
+        private boolean cancelled;
+
+        synchronized boolean add(Task task) {
+            if (cancelled) {
+                task.cancel();
+                return false;
+            }
+            tasks.add(task);
+            return true;
+        }
+
+        synchronized void remove(Task task) {
+            tasks.remove(task);
+        }
+
+        public synchronized void cancelAll() {
+            cancelled = true;
+            for (Task task : tasks) {
+                task.cancel();
+            }
+            tasks.clear();
+        }
+
+        public synchronized boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private static class BackgroundThreadFactory implements ThreadFactory {
+        private final String name;
+        private final AtomicInteger count = new AtomicInteger();
+
+        BackgroundThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(() -> {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+            }, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
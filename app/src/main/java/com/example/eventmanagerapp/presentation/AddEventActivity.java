@@ -13,7 +13,9 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.eventmanagerapp.R;
+import com.example.eventmanagerapp.domain.model.LocalDay;
 import com.example.eventmanagerapp.domain.usecase.CreateEventUseCase;
+import com.example.eventmanagerapp.domain.usecase.UseCaseExecutor;
 import com.example.eventmanagerapp.utils.AlarmScheduler;
 import com.example.eventmanagerapp.utils.DateTimeHelper;
 import com.example.eventmanagerapp.utils.Validator;
@@ -25,16 +27,20 @@ public class AddEventActivity extends AppCompatActivity {
     private TextView tvDate;
     private Button btnPickStart, btnPickEnd, btnSave;
     private EditText edtTitle, edtNote;
-    private Spinner spinnerRemind;
+    private Spinner spinnerRemind, spinnerRepeat;
 
-    private String selectedDate; // yyyy-MM-dd
+    private LocalDay selectedDate;
     private int startHour = -1, startMinute = -1;
     private int endHour = -1, endMinute = -1;
     private int[] remindValues; // Mảng giá trị remind (phút)
+    private int[] repeatValues; // Số ngày giữa hai lần lặp, 0 = không lặp
 
     private CreateEventUseCase createEventUseCase;
     private AlarmScheduler alarmScheduler;
 
+    private UseCaseExecutor useCaseExecutor;
+    private final UseCaseExecutor.Scope scope = new UseCaseExecutor.Scope();
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -45,6 +51,12 @@ public class AddEventActivity extends AppCompatActivity {
         setupListeners();
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        scope.cancelAll();
+    }
+
     private void initViews() {
         tvDate = findViewById(R.id.tvDate);
         btnPickStart = findViewById(R.id.btnPickStart);
@@ -53,8 +65,10 @@ public class AddEventActivity extends AppCompatActivity {
         edtTitle = findViewById(R.id.edtTitle);
         edtNote = findViewById(R.id.edtNote);
         spinnerRemind = findViewById(R.id.spinnerRemind);
+        spinnerRepeat = findViewById(R.id.spinnerRepeat);
 
         setupRemindSpinner();
+        setupRepeatSpinner();
     }
 
     private void setupRemindSpinner() {
@@ -72,20 +86,37 @@ public class AddEventActivity extends AppCompatActivity {
         spinnerRemind.setSelection(0);
     }
 
+    private void setupRepeatSpinner() {
+        String[] options = getResources().getStringArray(R.array.repeat_options);
+        repeatValues = getResources().getIntArray(R.array.repeat_values);
+
+        android.widget.ArrayAdapter<String> adapter = new android.widget.ArrayAdapter<>(
+                this,
+                android.R.layout.simple_spinner_item,
+                options
+        );
+        adapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        spinnerRepeat.setAdapter(adapter);
+
+        spinnerRepeat.setSelection(0);
+    }
+
     private void initData() {
         createEventUseCase = new CreateEventUseCase(this);
         alarmScheduler = new AlarmScheduler(this);
+        useCaseExecutor = UseCaseExecutor.getInstance();
 
-        selectedDate = getIntent().getStringExtra("date");
+        int epochDay = getIntent().getIntExtra("date", Integer.MIN_VALUE);
+        selectedDate = epochDay == Integer.MIN_VALUE ? null : LocalDay.ofEpochDay(epochDay);
 
-        String error = Validator.validateDateFormat(selectedDate);
+        String error = Validator.validateDay(selectedDate);
         if (error != null) {
             Toast.makeText(this, error, Toast.LENGTH_SHORT).show();
             finish();
             return;
         }
 
-        tvDate.setText("Ngày: " + selectedDate);
+        tvDate.setText("Ngày: " + DateTimeHelper.formatTagDate(selectedDate));
     }
 
     private void setupListeners() {
@@ -96,24 +127,17 @@ public class AddEventActivity extends AppCompatActivity {
     }
 
     private void openDatePicker() {
-        try {
-            Calendar cal = DateTimeHelper.parseTagDate(selectedDate);
-
-            DatePickerDialog dialog = new DatePickerDialog(
-                    this,
-                    (view, year, month, day) -> {
-                        selectedDate = String.format("%04d-%02d-%02d", year, month + 1, day);
-                        tvDate.setText("Ngày: " + selectedDate);
-                    },
-                    cal.get(Calendar.YEAR),
-                    cal.get(Calendar.MONTH),
-                    cal.get(Calendar.DAY_OF_MONTH)
-            );
-            dialog.show();
-
-        } catch (Exception e) {
-            Toast.makeText(this, "Lỗi định dạng ngày", Toast.LENGTH_SHORT).show();
-        }
+        DatePickerDialog dialog = new DatePickerDialog(
+                this,
+                (view, year, month, day) -> {
+                    selectedDate = LocalDay.of(year, month + 1, day);
+                    tvDate.setText("Ngày: " + DateTimeHelper.formatTagDate(selectedDate));
+                },
+                selectedDate.getYear(),
+                selectedDate.getMonth() - 1,
+                selectedDate.getDayOfMonth()
+        );
+        dialog.show();
     }
 
     private void openStartTimePicker() {
@@ -154,19 +178,38 @@ public class AddEventActivity extends AppCompatActivity {
 
         int selectedPosition = spinnerRemind.getSelectedItemPosition();
         int remindBefore = remindValues[selectedPosition];
+        int repeatDays = repeatValues[spinnerRepeat.getSelectedItemPosition()];
+
+        LocalDay date = selectedDate;
+        int sHour = startHour, sMinute = startMinute;
+        int eHour = endHour, eMinute = endMinute;
+
+        btnSave.setEnabled(false);
+        useCaseExecutor.write(scope, () -> createEventUseCase.execute(
+                title, note, date,
+                sHour, sMinute,
+                eHour, eMinute,
+                remindBefore, repeatDays
+        ), this::onSaved, this::onSaveFailed);
+    }
 
-        CreateEventUseCase.Result result = createEventUseCase.execute(
-                title, note, selectedDate,
-                startHour, startMinute,
-                endHour, endMinute,
-                remindBefore
-        );
+    private void onSaved(CreateEventUseCase.Result result) {
+        btnSave.setEnabled(true);
 
         if (result.isSuccess()) {
-            Toast.makeText(this, "Đã tạo sự kiện", Toast.LENGTH_SHORT).show();
+            String message = "Đã tạo sự kiện";
+            if (result.hasConflicts()) {
+                message += " (trùng giờ với " + result.getConflicts().size() + " sự kiện)";
+            }
+            Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
             finish();
         } else {
             Toast.makeText(this, result.getErrorMessage(), Toast.LENGTH_SHORT).show();
         }
     }
+
+    private void onSaveFailed(Exception error) {
+        btnSave.setEnabled(true);
+        Toast.makeText(this, "Không thể lưu sự kiện, vui lòng thử lại", Toast.LENGTH_SHORT).show();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,181 @@
+package com.example.eventmanagerapp.presentation;
+
+import android.os.Bundle;
+import android.util.Log;
+import android.view.View;
+import android.widget.ImageButton;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.eventmanagerapp.R;
+import com.example.eventmanagerapp.adapter.EventAdapter;
+import com.example.eventmanagerapp.domain.model.Event;
+import com.example.eventmanagerapp.domain.usecase.GetEventsUseCase;
+import com.example.eventmanagerapp.domain.usecase.UseCaseExecutor;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Lists all events of the user in start time order, loading pages on demand while
+ * scrolling (see {@link AgendaPager}).
+ */
+public class AgendaActivity extends AppCompatActivity {
+
+    private static final String TAG = "AgendaActivity";
+
+    private static final int PAGE_SIZE = 50;
+    // Còn ít hơn chừng này dòng tới mép danh sách thì tải trước trang kế
+    private static final int PREFETCH_DISTANCE = 20;
+    // Giữ tối đa 6 trang (300 sự kiện) trong adapter
+    private static final int MAX_PAGES = 6;
+
+    private ImageButton btnBack;
+    private TextView tvEmpty;
+    private RecyclerView recyclerAgenda;
+    private LinearLayoutManager layoutManager;
+    private EventAdapter adapter;
+
+    private GetEventsUseCase getEventsUseCase;
+    private AgendaPager pager;
+
+    private UseCaseExecutor useCaseExecutor;
+    private final UseCaseExecutor.Scope scope = new UseCaseExecutor.Scope();
+    private UseCaseExecutor.Task loadTask;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_agenda);
+
+        initViews();
+        initData();
+        setupListeners();
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        // Sự kiện có thể đã được thêm/sửa/xoá ở màn hình khác
+        reload();
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        scope.cancelAll();
+    }
+
+    private void initViews() {
+        btnBack = findViewById(R.id.btnBack);
+        tvEmpty = findViewById(R.id.tvEmpty);
+        recyclerAgenda = findViewById(R.id.recyclerAgenda);
+
+        adapter = new EventAdapter();
+        layoutManager = new LinearLayoutManager(this);
+        recyclerAgenda.setLayoutManager(layoutManager);
+        recyclerAgenda.setAdapter(adapter);
+    }
+
+    private void initData() {
+        getEventsUseCase = new GetEventsUseCase(this);
+        useCaseExecutor = UseCaseExecutor.getInstance();
+
+        pager = new AgendaPager(new AgendaPager.PageSource() {
+            @Override
+            public List<Event> loadAfter(Event last, int limit) {
+                return getEventsUseCase.getEventsAfter(last, limit);
+            }
+
+            @Override
+            public List<Event> loadBefore(Event first, int limit) {
+                return getEventsUseCase.getEventsBefore(first, limit);
+            }
+        }, PAGE_SIZE, PREFETCH_DISTANCE, MAX_PAGES);
+    }
+
+    private void setupListeners() {
+        btnBack.setOnClickListener(v -> finish());
+
+        // Cũng được gọi với dy = 0 sau mỗi lần layout, nên trang đầu chưa lấp đầy màn hình
+        // cũng kéo theo trang kế
+        recyclerAgenda.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                loadIfNeeded(dy);
+            }
+        });
+    }
+
+    private void reload() {
+        if (loadTask != null) {
+            loadTask.cancel();
+        }
+        pager.reset();
+        adapter.clear();
+        loadNext();
+    }
+
+    private void loadIfNeeded(int dy) {
+        if (dy >= 0 && pager.shouldLoadNext(layoutManager.findLastVisibleItemPosition())) {
+            loadNext();
+        } else if (dy <= 0 && pager.shouldLoadPrevious(layoutManager.findFirstVisibleItemPosition())) {
+            loadPrevious();
+        }
+    }
+
+    private void loadNext() {
+        Callable<List<Event>> loader = pager.nextPageLoader();
+        if (loader == null) return;
+
+        loadTask = useCaseExecutor.read(scope, () -> load(loader), page -> {
+            if (page == null) {
+                pager.onLoadAborted();
+                return;
+            }
+            int dropped = pager.applyNext(page);
+            adapter.appendData(page);
+            if (dropped > 0) {
+                adapter.removeFirst(dropped);
+            }
+            updateEmptyState();
+        });
+    }
+
+    private void loadPrevious() {
+        Callable<List<Event>> loader = pager.previousPageLoader();
+        if (loader == null) return;
+
+        loadTask = useCaseExecutor.read(scope, () -> load(loader), page -> {
+            if (page == null) {
+                pager.onLoadAborted();
+                return;
+            }
+            int dropped = pager.applyPrevious(page);
+            if (dropped > 0) {
+                adapter.removeLast(dropped);
+            }
+            adapter.prependData(page);
+            updateEmptyState();
+        });
+    }
+
+    private void updateEmptyState() {
+        boolean empty = pager.getItemCount() == 0 && !pager.isLoading();
+        tvEmpty.setVisibility(empty ? View.VISIBLE : View.GONE);
+    }
+
+    // Lỗi thì trả null để lần cuộn sau thử lại, thay vì kẹt ở trạng thái đang tải
+    private static List<Event> load(Callable<List<Event>> loader) {
+        try {
+            return loader.call();
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to load agenda page", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.eventmanagerapp.presentation;
+
+import com.example.eventmanagerapp.domain.model.Event;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Paging state of the agenda list.
+ *
+ * Pages are fetched by key, i.e. after the last (or before the first) event currently
+ * held, never by offset. At most {@code maxPages} pages are held: loading past that drops
+ * the page at the opposite end, and that page is fetched again by key once the user
+ * scrolls back to it. Each load asks for one extra row so the ends of the list are known
+ * without a trailing empty query. Only one page is loaded at a time.
+ *
+ * Not thread-safe: call everything on the main thread and run only the returned loaders
+ * in the background.
+ */
+class AgendaPager {
+
+    interface PageSource {
+        /**
+         * @param last null for the first page
+         */
+        List<Event> loadAfter(Event last, int limit);
+
+        List<Event> loadBefore(Event first, int limit);
+    }
+
+    private final PageSource source;
+    private final int pageSize;
+    private final int prefetchDistance;
+    private final int maxPages;
+
+    private final ArrayDeque<List<Event>> pages = new ArrayDeque<>();
+    private int itemCount;
+    private boolean reachedStart;
+    private boolean reachedEnd;
+    private boolean loading;
+
+    AgendaPager(PageSource source, int pageSize, int prefetchDistance, int maxPages) {
+        this.source = source;
+        this.pageSize = pageSize;
+        this.prefetchDistance = prefetchDistance;
+        this.maxPages = Math.max(2, maxPages);
+        reset();
+    }
+
+    /**
+     * Forgets every page; the next load starts again from the first event.
+     */
+    void reset() {
+        pages.clear();
+        itemCount = 0;
+        reachedStart = true;
+        reachedEnd = false;
+        loading = false;
+    }
+
+    int getItemCount() {
+        return itemCount;
+    }
+
+    boolean isLoading() {
+        return loading;
+    }
+
+    boolean shouldLoadNext(int lastVisiblePosition) {
+        return !loading && !reachedEnd && lastVisiblePosition >= itemCount - 1 - prefetchDistance;
+    }
+
+    boolean shouldLoadPrevious(int firstVisiblePosition) {
+        return !loading && !reachedStart && firstVisiblePosition >= 0
+                && firstVisiblePosition <= prefetchDistance;
+    }
+
+    /**
+     * Marks a load in progress and returns the work to run in the background, with the
+     * key captured now so later changes to the pager do not affect it.
+     *
+     * @return null if a load is already running or there is nothing after the last page
+     */
+    Callable<List<Event>> nextPageLoader() {
+        if (loading || reachedEnd) {
+            return null;
+        }
+        loading = true;
+        Event last = pages.isEmpty() ? null : lastOf(pages.peekLast());
+        return () -> source.loadAfter(last, pageSize + 1);
+    }
+
+    Callable<List<Event>> previousPageLoader() {
+        if (loading || reachedStart || pages.isEmpty()) {
+            return null;
+        }
+        loading = true;
+        Event first = pages.peekFirst().get(0);
+        return () -> source.loadBefore(first, pageSize + 1);
+    }
+
+    /**
+     * Appends a page returned by a {@link #nextPageLoader()} loader. The extra look-ahead
+     * row is removed from {@code page}, which then holds exactly the events to show.
+     *
+     * @return number of events dropped from the start to stay within the page limit
+     */
+    int applyNext(List<Event> page) {
+        loading = false;
+        if (page.size() > pageSize) {
+            page.remove(page.size() - 1);
+        } else {
+            reachedEnd = true;
+        }
+        if (page.isEmpty()) {
+            return 0;
+        }
+
+        pages.addLast(page);
+        itemCount += page.size();
+
+        int dropped = 0;
+        if (pages.size() > maxPages) {
+            dropped = pages.pollFirst().size();
+            itemCount -= dropped;
+            reachedStart = false;
+        }
+        return dropped;
+    }
+
+    /**
+     * Prepends a page returned by a {@link #previousPageLoader()} loader, removing the
+     * look-ahead row (its earliest event) like {@link #applyNext(List)}.
+     *
+     * @return number of events dropped from the end to stay within the page limit
+     */
+    int applyPrevious(List<Event> page) {
+        loading = false;
+        if (page.size() > pageSize) {
+            page.remove(0);
+        } else {
+            reachedStart = true;
+        }
+        if (page.isEmpty()) {
+            return 0;
+        }
+
+        pages.addFirst(page);
+        itemCount += page.size();
+
+        int dropped = 0;
+        if (pages.size() > maxPages) {
+            dropped = pages.pollLast().size();
+            itemCount -= dropped;
+            reachedEnd = false;
+        }
+        return dropped;
+    }
+
+    /**
+     * Called when a load failed or was cancelled, so the next scroll can retry it.
+     */
+    void onLoadAborted() {
+        loading = false;
+    }
+
+    private static Event lastOf(List<Event> page) {
+        return page.get(page.size() - 1);
+    }
+}
@@ -15,6 +15,7 @@ import com.example.eventmanagerapp.R;
 import com.example.eventmanagerapp.domain.model.Event;
 import com.example.eventmanagerapp.domain.usecase.GetEventsUseCase;
 import com.example.eventmanagerapp.domain.usecase.UpdateEventUseCase;
+import com.example.eventmanagerapp.domain.usecase.UseCaseExecutor;
 import com.example.eventmanagerapp.utils.DateTimeHelper;
 
 import java.util.Calendar;
@@ -33,6 +34,9 @@ public class EditEventActivity extends AppCompatActivity {
     private GetEventsUseCase getEventsUseCase;
     private UpdateEventUseCase updateEventUseCase;
 
+    private UseCaseExecutor useCaseExecutor;
+    private final UseCaseExecutor.Scope scope = new UseCaseExecutor.Scope();
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -40,7 +44,12 @@ public class EditEventActivity extends AppCompatActivity {
 
         initViews();
         initData();
-        setupListeners();
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        scope.cancelAll();
     }
 
     private void initViews() {
@@ -71,6 +80,7 @@ public class EditEventActivity extends AppCompatActivity {
     private void initData() {
         getEventsUseCase = new GetEventsUseCase(this);
         updateEventUseCase = new UpdateEventUseCase(this);
+        useCaseExecutor = UseCaseExecutor.getInstance();
 
         int eventId = getIntent().getIntExtra("event_id", -1);
         if (eventId == -1) {
@@ -78,7 +88,12 @@ public class EditEventActivity extends AppCompatActivity {
             return;
         }
 
-        event = getEventsUseCase.getEventById(eventId);
+        useCaseExecutor.read(scope, () -> getEventsUseCase.getEventById(eventId), this::onEventLoaded,
+                this::onLoadFailed);
+    }
+
+    private void onEventLoaded(Event loaded) {
+        event = loaded;
         if (event == null) {
             finish();
             return;
@@ -90,6 +105,8 @@ public class EditEventActivity extends AppCompatActivity {
         endCal.setTimeInMillis(event.getEndTime());
 
         bindData();
+        // Chỉ cho thao tác khi đã có dữ liệu sự kiện
+        setupListeners();
     }
 
     private void bindData() {
@@ -162,20 +179,43 @@ public class EditEventActivity extends AppCompatActivity {
         int selectedPosition = spinnerRemind.getSelectedItemPosition();
         int remindBefore = remindValues[selectedPosition];
 
-        UpdateEventUseCase.Result result = updateEventUseCase.execute(
-                event.getId(),
+        int eventId = event.getId();
+        long startMillis = startCal.getTimeInMillis();
+        long endMillis = endCal.getTimeInMillis();
+
+        btnSave.setEnabled(false);
+        useCaseExecutor.write(scope, () -> updateEventUseCase.execute(
+                eventId,
                 title,
                 note,
-                startCal.getTimeInMillis(),
-                endCal.getTimeInMillis(),
+                startMillis,
+                endMillis,
                 remindBefore
-        );
+        ), this::onSaved, this::onSaveFailed);
+    }
+
+    private void onSaved(UpdateEventUseCase.Result result) {
+        btnSave.setEnabled(true);
 
         if (result.isSuccess()) {
-            Toast.makeText(this, "Đã cập nhật sự kiện", Toast.LENGTH_SHORT).show();
+            String message = "Đã cập nhật sự kiện";
+            if (result.hasConflicts()) {
+                message += " (trùng giờ với " + result.getConflicts().size() + " sự kiện)";
+            }
+            Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
             finish();
         } else {
             Toast.makeText(this, result.getErrorMessage(), Toast.LENGTH_SHORT).show();
         }
     }
+
+    private void onLoadFailed(Exception error) {
+        Toast.makeText(this, "Không thể tải sự kiện", Toast.LENGTH_SHORT).show();
+        finish();
+    }
+
+    private void onSaveFailed(Exception error) {
+        btnSave.setEnabled(true);
+        Toast.makeText(this, "Không thể lưu sự kiện, vui lòng thử lại", Toast.LENGTH_SHORT).show();
+    }
 }
\ No newline at end of file
@@ -14,6 +14,7 @@ import com.example.eventmanagerapp.R;
 import com.example.eventmanagerapp.domain.model.Event;
 import com.example.eventmanagerapp.domain.usecase.DeleteEventUseCase;
 import com.example.eventmanagerapp.domain.usecase.GetEventsUseCase;
+import com.example.eventmanagerapp.domain.usecase.UseCaseExecutor;
 import com.example.eventmanagerapp.utils.DateTimeHelper;
 
 public class EventDetailActivity extends AppCompatActivity {
@@ -24,10 +25,14 @@ public class EventDetailActivity extends AppCompatActivity {
 
     private Event event;
     private int eventId;
+    private long occurrenceStart;
 
     private GetEventsUseCase getEventsUseCase;
     private DeleteEventUseCase deleteEventUseCase;
 
+    private UseCaseExecutor useCaseExecutor;
+    private final UseCaseExecutor.Scope scope = new UseCaseExecutor.Scope();
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -44,6 +49,12 @@ public class EventDetailActivity extends AppCompatActivity {
         loadEventAndShow();
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        scope.cancelAll();
+    }
+
     private void initViews() {
         tvTitle = findViewById(R.id.tvTitle);
         tvDateTime = findViewById(R.id.tvDateTime);
@@ -57,19 +68,26 @@ public class EventDetailActivity extends AppCompatActivity {
     private void initData() {
         getEventsUseCase = new GetEventsUseCase(this);
         deleteEventUseCase = new DeleteEventUseCase(this);
+        useCaseExecutor = UseCaseExecutor.getInstance();
 
         eventId = getIntent().getIntExtra("event_id", -1);
+        occurrenceStart = getIntent().getLongExtra("occurrence_start", -1);
         if (eventId == -1) {
             Toast.makeText(this, "Thiếu event_id", Toast.LENGTH_SHORT).show();
             finish();
-            return;
         }
-
-        loadEventAndShow();
+        // Sự kiện được load trong onResume
     }
 
     private void loadEventAndShow() {
-        event = getEventsUseCase.getEventById(eventId);
+        if (eventId == -1) return;
+
+        useCaseExecutor.read(scope, () -> getEventsUseCase.getEventById(eventId), this::onEventLoaded,
+                this::onLoadFailed);
+    }
+
+    private void onEventLoaded(Event loaded) {
+        event = loaded;
 
         if (event == null) {
             Toast.makeText(this, "Sự kiện không tồn tại", Toast.LENGTH_SHORT).show();
@@ -77,6 +95,13 @@ public class EventDetailActivity extends AppCompatActivity {
             return;
         }
 
+        if (event.isRecurring() && occurrenceStart != -1) {
+            // Hiển thị đúng lần được chọn thay vì lần đầu của chuỗi
+            long duration = event.getEndTime() - event.getStartTime();
+            event.setStartTime(occurrenceStart);
+            event.setEndTime(occurrenceStart + duration);
+        }
+
         showEventDetail();
     }
 
@@ -123,6 +148,16 @@ public class EventDetailActivity extends AppCompatActivity {
     }
 
     private void confirmDelete() {
+        if (event != null && event.isRecurring() && occurrenceStart != -1) {
+            new AlertDialog.Builder(this)
+                    .setTitle("Xoá sự kiện lặp lại")
+                    .setMessage("Xoá riêng lần này hay toàn bộ chuỗi?")
+                    .setPositiveButton("Chỉ lần này", (dialog, which) -> deleteOccurrence())
+                    .setNeutralButton("Cả chuỗi", (dialog, which) -> deleteEvent())
+                    .setNegativeButton("Huỷ", null)
+                    .show();
+            return;
+        }
         new AlertDialog.Builder(this)
                 .setTitle("Xoá sự kiện")
                 .setMessage("Bạn có chắc muốn xoá sự kiện này?")
@@ -132,7 +167,20 @@ public class EventDetailActivity extends AppCompatActivity {
     }
 
     private void deleteEvent() {
-        DeleteEventUseCase.Result result = deleteEventUseCase.execute(eventId);
+        btnDelete.setEnabled(false);
+        useCaseExecutor.write(scope, () -> deleteEventUseCase.execute(eventId), this::onDeleted,
+                this::onDeleteFailed);
+    }
+
+    private void deleteOccurrence() {
+        btnDelete.setEnabled(false);
+        long start = occurrenceStart;
+        useCaseExecutor.write(scope, () -> deleteEventUseCase.deleteOccurrence(eventId, start),
+                this::onDeleted, this::onDeleteFailed);
+    }
+
+    private void onDeleted(DeleteEventUseCase.Result result) {
+        btnDelete.setEnabled(true);
 
         if (result.isSuccess()) {
             Toast.makeText(this, "Đã xoá sự kiện", Toast.LENGTH_SHORT).show();
@@ -141,4 +189,14 @@ public class EventDetailActivity extends AppCompatActivity {
             Toast.makeText(this, result.getErrorMessage(), Toast.LENGTH_SHORT).show();
         }
     }
+
+    private void onLoadFailed(Exception error) {
+        Toast.makeText(this, "Không thể tải sự kiện", Toast.LENGTH_SHORT).show();
+        finish();
+    }
+
+    private void onDeleteFailed(Exception error) {
+        btnDelete.setEnabled(true);
+        Toast.makeText(this, "Không thể xoá sự kiện, vui lòng thử lại", Toast.LENGTH_SHORT).show();
+    }
 }
\ No newline at end of file
@@ -9,51 +9,67 @@ import android.os.Bundle;
 import android.widget.Button;
 import android.widget.EditText;
 import android.widget.ImageButton;
-import android.widget.TextView;
 import android.widget.Toast;
 
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.app.ActivityCompat;
 import androidx.core.content.ContextCompat;
-import androidx.recyclerview.widget.LinearLayoutManager;
-import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.eventmanagerapp.R;
 import com.example.eventmanagerapp.domain.model.Event;
+import com.example.eventmanagerapp.domain.model.LocalDay;
 import com.example.eventmanagerapp.domain.usecase.GetEventsUseCase;
+import com.example.eventmanagerapp.domain.usecase.UseCaseExecutor;
 import com.example.eventmanagerapp.presentation.auth.LoginActivity;
-import com.example.eventmanagerapp.adapter.EventAdapter;
 import com.example.eventmanagerapp.utils.AlarmScheduler;
 import com.example.eventmanagerapp.utils.DateTimeHelper;
 import com.example.eventmanagerapp.utils.SessionManager;
+import com.example.eventmanagerapp.utils.WeekBucketer;
 
-import java.util.Calendar;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.TimeZone;
 
 public class MainActivity extends AppCompatActivity {
 
     private EditText edtDate;
-    private ImageButton btnPickDate, btnLogout;
+    private ImageButton btnPickDate, btnLogout, btnAgenda, btnMonth;
     private Button btnAddEvent;
 
-    private TextView[] headerDays = new TextView[7];
+    private WeekCanvasView weekCanvas;
 
-    private RecyclerView[] morningCells = new RecyclerView[7];
-    private RecyclerView[] afternoonCells = new RecyclerView[7];
-
-    private EventAdapter[] morningAdapters = new EventAdapter[7];
-    private EventAdapter[] afternoonAdapters = new EventAdapter[7];
-
-    private Calendar selectedDate;
-    private Calendar weekStart;
-    private String pendingDateToCreate;
+    private LocalDay selectedDate;
+    private LocalDay weekStart;
+    private LocalDay pendingDateToCreate;
 
     private GetEventsUseCase getEventsUseCase;
     private AlarmScheduler alarmScheduler;
     private SessionManager sessionManager;
 
+    private UseCaseExecutor useCaseExecutor;
+    private final UseCaseExecutor.Scope scope = new UseCaseExecutor.Scope();
+    private UseCaseExecutor.Task loadTask;
+
+    private final WeekCache weekCache = new WeekCache();
+    // Tuần kề bên đang được tải trước, để không gửi trùng khi vuốt liên tục
+    private final Set<LocalDay> prefetching = new HashSet<>();
+
     private static final int REQUEST_NOTIFICATION_PERMISSION = 1001;
 
+    // Ngày được chọn ở màn hình tháng; onResume sẽ vẽ lại tuần
+    private final ActivityResultLauncher<Intent> pickDayLauncher = registerForActivityResult(
+            new ActivityResultContracts.StartActivityForResult(), result -> {
+                Intent data = result.getData();
+                if (result.getResultCode() == RESULT_OK && data != null) {
+                    selectedDate = LocalDay.ofEpochDay(data.getIntExtra("date", selectedDate.getEpochDay()));
+                    edtDate.setText(DateTimeHelper.formatDisplayDate(selectedDate));
+                    weekStart = selectedDate.weekStart();
+                }
+            });
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -88,73 +104,65 @@ public class MainActivity extends AppCompatActivity {
         }
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        scope.cancelAll();
+    }
+
     private void initViews() {
         edtDate = findViewById(R.id.edtDate);
         btnPickDate = findViewById(R.id.btnPickDate);
         btnAddEvent = findViewById(R.id.btnAddEvent);
         btnLogout = findViewById(R.id.btnLogout);
+        btnAgenda = findViewById(R.id.btnAgenda);
+        btnMonth = findViewById(R.id.btnMonth);
 
-        bindWeekCalendarViews();
-    }
-
-    private void bindWeekCalendarViews() {
-        headerDays[0] = findViewById(R.id.headerDay1);
-        headerDays[1] = findViewById(R.id.headerDay2);
-        headerDays[2] = findViewById(R.id.headerDay3);
-        headerDays[3] = findViewById(R.id.headerDay4);
-        headerDays[4] = findViewById(R.id.headerDay5);
-        headerDays[5] = findViewById(R.id.headerDay6);
-        headerDays[6] = findViewById(R.id.headerDay7);
-
-        morningCells[0] = findViewById(R.id.morningCell1);
-        morningCells[1] = findViewById(R.id.morningCell2);
-        morningCells[2] = findViewById(R.id.morningCell3);
-        morningCells[3] = findViewById(R.id.morningCell4);
-        morningCells[4] = findViewById(R.id.morningCell5);
-        morningCells[5] = findViewById(R.id.morningCell6);
-        morningCells[6] = findViewById(R.id.morningCell7);
-
-        afternoonCells[0] = findViewById(R.id.afternoonCell1);
-        afternoonCells[1] = findViewById(R.id.afternoonCell2);
-        afternoonCells[2] = findViewById(R.id.afternoonCell3);
-        afternoonCells[3] = findViewById(R.id.afternoonCell4);
-        afternoonCells[4] = findViewById(R.id.afternoonCell5);
-        afternoonCells[5] = findViewById(R.id.afternoonCell6);
-        afternoonCells[6] = findViewById(R.id.afternoonCell7);
-
-        for (int i = 0; i < 7; i++) {
-            morningAdapters[i] = new EventAdapter();
-            afternoonAdapters[i] = new EventAdapter();
-
-            morningCells[i].setLayoutManager(new LinearLayoutManager(this));
-            afternoonCells[i].setLayoutManager(new LinearLayoutManager(this));
-
-            morningCells[i].setAdapter(morningAdapters[i]);
-            afternoonCells[i].setAdapter(afternoonAdapters[i]);
-        }
+        weekCanvas = findViewById(R.id.weekCanvas);
     }
 
     private void initData() {
         getEventsUseCase = new GetEventsUseCase(this);
         alarmScheduler = new AlarmScheduler(this);
+        useCaseExecutor = UseCaseExecutor.getInstance();
 
-        selectedDate = Calendar.getInstance();
-        weekStart = DateTimeHelper.getWeekStart(selectedDate);
+        selectedDate = LocalDay.today();
+        weekStart = selectedDate.weekStart();
 
         edtDate.setText(DateTimeHelper.formatDisplayDate(selectedDate));
-        renderWeek();
+        // Tuần được vẽ trong onResume
     }
 
     private void setupListeners() {
         edtDate.setOnClickListener(v -> openDatePicker());
         btnPickDate.setOnClickListener(v -> openDatePicker());
 
-        btnAddEvent.setOnClickListener(v -> {
-            String dateTag = DateTimeHelper.formatTagDate(selectedDate);
-            checkPermissionAndOpenAddEvent(dateTag);
-        });
+        btnAddEvent.setOnClickListener(v -> checkPermissionAndOpenAddEvent(selectedDate));
 
         btnLogout.setOnClickListener(v -> showLogoutDialog());
+        btnAgenda.setOnClickListener(v -> startActivity(new Intent(this, AgendaActivity.class)));
+        btnMonth.setOnClickListener(v -> {
+            Intent intent = new Intent(this, MonthActivity.class);
+            intent.putExtra("date", selectedDate.getEpochDay());
+            pickDayLauncher.launch(intent);
+        });
+
+        weekCanvas.setOnWeekClickListener(new WeekCanvasView.OnWeekClickListener() {
+            @Override
+            public void onEventClick(Event event) {
+                Intent intent = new Intent(MainActivity.this, EventDetailActivity.class);
+                intent.putExtra("event_id", event.getId());
+                // Với chuỗi lặp lại: lần được chọn
+                intent.putExtra("occurrence_start", event.getStartTime());
+                startActivity(intent);
+            }
+
+            @Override
+            public void onCellClick(int dayIndex, boolean morning) {
+                checkPermissionAndOpenAddEvent(weekStart.plusDays(dayIndex));
+            }
+        });
+        weekCanvas.setOnWeekSwipeListener(this::moveWeek);
     }
 
     private void showLogoutDialog() {
@@ -181,74 +189,82 @@ public class MainActivity extends AppCompatActivity {
         new DatePickerDialog(
                 this,
                 (view, year, month, day) -> {
-                    selectedDate.set(year, month, day);
+                    selectedDate = LocalDay.of(year, month + 1, day);
                     edtDate.setText(DateTimeHelper.formatDisplayDate(selectedDate));
-                    weekStart = DateTimeHelper.getWeekStart(selectedDate);
+                    weekStart = selectedDate.weekStart();
                     renderWeek();
                 },
-                selectedDate.get(Calendar.YEAR),
-                selectedDate.get(Calendar.MONTH),
-                selectedDate.get(Calendar.DAY_OF_MONTH)
+                selectedDate.getYear(),
+                selectedDate.getMonth() - 1,
+                selectedDate.getDayOfMonth()
         ).show();
     }
 
-    private void renderWeek() {
-        renderHeaderAndCellTags();
-        clearAllCells();
-        loadEventsToCells();
+    private void moveWeek(int weeks) {
+        selectedDate = selectedDate.plusDays(7 * weeks);
+        edtDate.setText(DateTimeHelper.formatDisplayDate(selectedDate));
+        weekStart = selectedDate.weekStart();
+        renderWeek();
     }
 
-    private void renderHeaderAndCellTags() {
-        Calendar cursor = (Calendar) weekStart.clone();
-
-        for (int i = 0; i < 7; i++) {
-            String dateTag = DateTimeHelper.formatTagDate(cursor);
-            String headerText = DateTimeHelper.formatWeekHeader(cursor);
-
-            headerDays[i].setText(headerText);
-
-            morningCells[i].setTag(dateTag);
-            afternoonCells[i].setTag(dateTag);
-
-            final String finalDateTag = dateTag;
-            morningCells[i].setOnClickListener(v -> checkPermissionAndOpenAddEvent(finalDateTag));
-            afternoonCells[i].setOnClickListener(v -> checkPermissionAndOpenAddEvent(finalDateTag));
+    private void renderWeek() {
+        weekCanvas.setWeekStart(weekStart);
 
-            cursor.add(Calendar.DAY_OF_MONTH, 1);
+        // Bỏ kết quả của lần load trước nếu người dùng đã đổi tuần
+        if (loadTask != null) {
+            loadTask.cancel();
+            loadTask = null;
         }
-    }
 
-    private void clearAllCells() {
-        for (int i = 0; i < 7; i++) {
-            morningAdapters[i].clear();
-            afternoonAdapters[i].clear();
+        List<List<Event>> cached = weekCache.get(weekStart, getEventsUseCase.getDataVersion());
+        if (cached != null) {
+            weekCanvas.setEvents(cached);
+        } else {
+            loadTask = loadWeek(weekStart, weekCanvas::setEvents, this::onWeekLoadFailed);
         }
+
+        prefetchWeek(-1);
+        prefetchWeek(1);
     }
 
-    private void loadEventsToCells() {
-        List<Event> events = getEventsUseCase.getAllEvents();
+    /**
+     * Loads and buckets one week on the read pool and stores it in {@link #weekCache}.
+     */
+    private UseCaseExecutor.Task loadWeek(LocalDay start, UseCaseExecutor.Callback<List<List<Event>>> callback,
+                                          UseCaseExecutor.ErrorCallback onError) {
+        return useCaseExecutor.read(scope, () -> {
+            // Lấy version trước khi query: nếu có ghi xen vào, entry sẽ bị coi là cũ
+            long version = getEventsUseCase.getDataVersion();
+            List<Event> events = getEventsUseCase.getEventsInDays(start, WeekBucketer.DAYS);
+            List<List<Event>> cells = new WeekBucketer(start, TimeZone.getDefault()).bucket(events);
+            weekCache.put(start, cells, version);
+            return cells;
+        }, callback, onError);
+    }
 
-        for (Event event : events) {
-            String eventDate = DateTimeHelper.formatTagDate(event.getStartTime());
-            boolean isMorning = DateTimeHelper.isMorning(event.getStartTime());
+    private void onWeekLoadFailed(Exception error) {
+        loadTask = null;
+        // Không để lại thẻ của tuần trước dưới tiêu đề của tuần mới
+        weekCanvas.clearEvents();
+        Toast.makeText(this, "Không thể tải sự kiện của tuần", Toast.LENGTH_SHORT).show();
+    }
 
-            RecyclerView[] targetRow = isMorning ? morningCells : afternoonCells;
-            EventAdapter[] targetAdapters = isMorning ? morningAdapters : afternoonAdapters;
+    private void prefetchWeek(int offset) {
+        LocalDay start = weekStart.plusDays(7 * offset);
 
-            for (int i = 0; i < 7; i++) {
-                String cellTag = (String) targetRow[i].getTag();
-                if (eventDate.equals(cellTag)) {
-                    targetAdapters[i].addEvent(event);
-                }
-            }
+        if (weekCache.get(start, getEventsUseCase.getDataVersion()) != null
+                || !prefetching.add(start)) {
+            return;
         }
+        // Bỏ đánh dấu ở cả hai nhánh, để tuần tải lỗi còn được tải trước lần sau
+        loadWeek(start, cells -> prefetching.remove(start), error -> prefetching.remove(start));
     }
 
-    private void checkPermissionAndOpenAddEvent(String dateTag) {
+    private void checkPermissionAndOpenAddEvent(LocalDay day) {
         if (alarmScheduler.canScheduleExactAlarms()) {
-            openAddEventActivity(dateTag);
+            openAddEventActivity(day);
         } else {
-            pendingDateToCreate = dateTag;
+            pendingDateToCreate = day;
             Toast.makeText(
                     this,
                     "Vui lòng bật quyền 'Alarms & reminders' để tạo sự kiện",
@@ -258,9 +274,9 @@ public class MainActivity extends AppCompatActivity {
         }
     }
 
-    private void openAddEventActivity(String dateTag) {
+    private void openAddEventActivity(LocalDay day) {
         Intent intent = new Intent(this, AddEventActivity.class);
-        intent.putExtra("date", dateTag);
+        intent.putExtra("date", day.getEpochDay());
         startActivity(intent);
     }
 
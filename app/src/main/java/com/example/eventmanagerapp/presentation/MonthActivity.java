@@ -0,0 +1,112 @@
+package com.example.eventmanagerapp.presentation;
+
+import android.content.Intent;
+import android.os.Bundle;
+import android.widget.ImageButton;
+import android.widget.TextView;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.example.eventmanagerapp.R;
+import com.example.eventmanagerapp.domain.model.DaySummary;
+import com.example.eventmanagerapp.domain.model.LocalDay;
+import com.example.eventmanagerapp.domain.usecase.GetEventsUseCase;
+import com.example.eventmanagerapp.domain.usecase.UseCaseExecutor;
+
+/**
+ * Month overview: how many events and how many busy minutes each day has, as a heatmap.
+ * Tapping a day returns it to the caller as an epoch day in the "date" extra.
+ */
+public class MonthActivity extends AppCompatActivity {
+
+    private ImageButton btnBack, btnPrevMonth, btnNextMonth;
+    private TextView tvMonth;
+    private MonthHeatmapView monthHeatmap;
+
+    private LocalDay firstOfMonth;
+
+    private GetEventsUseCase getEventsUseCase;
+
+    private UseCaseExecutor useCaseExecutor;
+    private final UseCaseExecutor.Scope scope = new UseCaseExecutor.Scope();
+    private UseCaseExecutor.Task loadTask;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_month);
+
+        initViews();
+        initData();
+        setupListeners();
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        renderMonth();
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        scope.cancelAll();
+    }
+
+    private void initViews() {
+        btnBack = findViewById(R.id.btnBack);
+        btnPrevMonth = findViewById(R.id.btnPrevMonth);
+        btnNextMonth = findViewById(R.id.btnNextMonth);
+        tvMonth = findViewById(R.id.tvMonth);
+        monthHeatmap = findViewById(R.id.monthHeatmap);
+    }
+
+    private void initData() {
+        getEventsUseCase = new GetEventsUseCase(this);
+        useCaseExecutor = UseCaseExecutor.getInstance();
+
+        int epochDay = getIntent().getIntExtra("date", Integer.MIN_VALUE);
+        LocalDay day = epochDay != Integer.MIN_VALUE ? LocalDay.ofEpochDay(epochDay) : LocalDay.today();
+        firstOfMonth = LocalDay.of(day.getYear(), day.getMonth(), 1);
+    }
+
+    private void setupListeners() {
+        btnBack.setOnClickListener(v -> finish());
+        btnPrevMonth.setOnClickListener(v -> moveMonth(-1));
+        btnNextMonth.setOnClickListener(v -> moveMonth(1));
+
+        monthHeatmap.setOnDayClickListener(day -> {
+            Intent result = new Intent();
+            result.putExtra("date", day.getEpochDay());
+            setResult(RESULT_OK, result);
+            finish();
+        });
+    }
+
+    private void moveMonth(int months) {
+        int index = firstOfMonth.getYear() * 12 + firstOfMonth.getMonth() - 1 + months;
+        firstOfMonth = LocalDay.of(index / 12, index % 12 + 1, 1);
+        renderMonth();
+    }
+
+    private void renderMonth() {
+        tvMonth.setText("Tháng " + firstOfMonth.getMonth() + "/" + firstOfMonth.getYear());
+        monthHeatmap.setMonth(firstOfMonth, new DaySummary[0]);
+
+        // Bỏ kết quả của tháng trước nếu người dùng đã chuyển tháng
+        if (loadTask != null) {
+            loadTask.cancel();
+        }
+        LocalDay month = firstOfMonth;
+        int days = lengthOfMonth(month);
+        loadTask = useCaseExecutor.read(scope, () -> getEventsUseCase.getDaySummaries(month, days),
+                summaries -> monthHeatmap.setMonth(month, summaries));
+    }
+
+    private static int lengthOfMonth(LocalDay firstOfMonth) {
+        LocalDay next = firstOfMonth.getMonth() == 12
+                ? LocalDay.of(firstOfMonth.getYear() + 1, 1, 1)
+                : LocalDay.of(firstOfMonth.getYear(), firstOfMonth.getMonth() + 1, 1);
+        return next.getEpochDay() - firstOfMonth.getEpochDay();
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.eventmanagerapp.presentation;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.RectF;
+import android.graphics.Typeface;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.MotionEvent;
+import android.view.View;
+
+import com.example.eventmanagerapp.domain.model.DaySummary;
+import com.example.eventmanagerapp.domain.model.LocalDay;
+
+/**
+ * Month grid (6 weeks, Monday first) where each day of the month is tinted by how busy
+ * it is and shows its number of events. Data comes from
+ * {@code GetEventsUseCase.getDaySummaries}; days outside the month are drawn dimmed.
+ */
+public class MonthHeatmapView extends View {
+
+    public interface OnDayClickListener {
+        void onDayClick(LocalDay day);
+    }
+
+    private static final String[] WEEKDAYS = {"T2", "T3", "T4", "T5", "T6", "T7", "CN"};
+    private static final int ROWS = 6;
+    // Bận từ 8 giờ trở lên thì tô đậm nhất
+    private static final int FULL_BUSY_MINUTES = 8 * 60;
+    private static final int MAX_ALPHA = 200;
+
+    private final float headerHeight;
+    private final float cellPadding;
+
+    private final Paint heatPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint gridPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint headerPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint dayPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint otherMonthPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint countPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final RectF rect = new RectF();
+
+    private LocalDay firstOfMonth = LocalDay.today();
+    private LocalDay gridStart = firstOfMonth.weekStart();
+    private DaySummary[] summaries = new DaySummary[0];
+    private OnDayClickListener listener;
+
+    public MonthHeatmapView(Context context) {
+        this(context, null);
+    }
+
+    public MonthHeatmapView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+
+        headerHeight = dp(28);
+        cellPadding = dp(4);
+
+        heatPaint.setColor(Color.parseColor("#1E88E5"));
+        gridPaint.setColor(Color.parseColor("#E0E0E0"));
+        gridPaint.setStyle(Paint.Style.STROKE);
+        gridPaint.setStrokeWidth(dp(0.5f));
+        headerPaint.setColor(Color.parseColor("#000000"));
+        headerPaint.setTextSize(sp(12));
+        headerPaint.setTypeface(Typeface.DEFAULT_BOLD);
+        headerPaint.setTextAlign(Paint.Align.CENTER);
+        dayPaint.setColor(Color.parseColor("#111111"));
+        dayPaint.setTextSize(sp(13));
+        otherMonthPaint.setColor(Color.parseColor("#BDBDBD"));
+        otherMonthPaint.setTextSize(sp(13));
+        countPaint.setColor(Color.parseColor("#0D47A1"));
+        countPaint.setTextSize(sp(11));
+        countPaint.setTypeface(Typeface.DEFAULT_BOLD);
+        countPaint.setTextAlign(Paint.Align.RIGHT);
+    }
+
+    public void setOnDayClickListener(OnDayClickListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * @param summaries one entry per day of the month, or an empty array while loading
+     */
+    public void setMonth(LocalDay firstOfMonth, DaySummary[] summaries) {
+        this.firstOfMonth = firstOfMonth;
+        this.gridStart = firstOfMonth.weekStart();
+        this.summaries = summaries;
+        invalidate();
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        float columnWidth = getWidth() / 7f;
+        float rowHeight = (getHeight() - headerHeight) / ROWS;
+
+        Paint.FontMetrics header = headerPaint.getFontMetrics();
+        float headerBaseline = (headerHeight - header.ascent - header.descent) / 2;
+        for (int column = 0; column < 7; column++) {
+            canvas.drawText(WEEKDAYS[column], (column + 0.5f) * columnWidth, headerBaseline, headerPaint);
+        }
+
+        float dayBaseline = cellPadding - dayPaint.getFontMetrics().ascent;
+        for (int cell = 0; cell < ROWS * 7; cell++) {
+            LocalDay day = gridStart.plusDays(cell);
+            rect.left = (cell % 7) * columnWidth;
+            rect.top = headerHeight + (cell / 7) * rowHeight;
+            rect.right = rect.left + columnWidth;
+            rect.bottom = rect.top + rowHeight;
+
+            DaySummary summary = summaryOf(day);
+            boolean inMonth = day.getMonth() == firstOfMonth.getMonth();
+            if (summary != null && summary.getBusyMinutes() > 0) {
+                int busy = Math.min(summary.getBusyMinutes(), FULL_BUSY_MINUTES);
+                heatPaint.setAlpha(24 + (MAX_ALPHA - 24) * busy / FULL_BUSY_MINUTES);
+                canvas.drawRect(rect, heatPaint);
+            }
+            canvas.drawRect(rect, gridPaint);
+
+            canvas.drawText(String.valueOf(day.getDayOfMonth()), rect.left + cellPadding,
+                    rect.top + dayBaseline, inMonth ? dayPaint : otherMonthPaint);
+            if (summary != null && summary.getEventCount() > 0) {
+                canvas.drawText(String.valueOf(summary.getEventCount()), rect.right - cellPadding,
+                        rect.bottom - cellPadding, countPaint);
+            }
+        }
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if (event.getActionMasked() == MotionEvent.ACTION_DOWN) {
+            return true;
+        }
+        if (event.getActionMasked() != MotionEvent.ACTION_UP || event.getY() < headerHeight) {
+            return false;
+        }
+
+        int column = Math.min(6, (int) (event.getX() / (getWidth() / 7f)));
+        int row = Math.min(ROWS - 1, (int) ((event.getY() - headerHeight) / ((getHeight() - headerHeight) / ROWS)));
+        if (listener != null) {
+            listener.onDayClick(gridStart.plusDays(row * 7 + column));
+        }
+        return performClick();
+    }
+
+    @Override
+    public boolean performClick() {
+        return super.performClick();
+    }
+
+    private DaySummary summaryOf(LocalDay day) {
+        int index = day.getEpochDay() - firstOfMonth.getEpochDay();
+        return index >= 0 && index < summaries.length ? summaries[index] : null;
+    }
+
+    private float dp(float value) {
+        return TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, value,
+                getResources().getDisplayMetrics());
+    }
+
+    private float sp(float value) {
+        return TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, value,
+                getResources().getDisplayMetrics());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.eventmanagerapp.presentation;
+
+import android.util.LruCache;
+
+import com.example.eventmanagerapp.domain.model.Event;
+import com.example.eventmanagerapp.domain.model.LocalDay;
+
+import java.util.List;
+
+/**
+ * The last few weeks shown (or prefetched) by MainActivity, already split into the 14
+ * cells of the grid and keyed by the week's start. Swiping to a week found here draws it
+ * at once, without a trip to the database.
+ *
+ * Each entry keeps the repository data version it was loaded at and is treated as
+ * missing once any event has been written since.
+ */
+class WeekCache {
+
+    // Tuần hiện tại, hai tuần kề bên và chút dư khi vuốt qua lại
+    static final int MAX_WEEKS = 5;
+
+    private final LruCache<LocalDay, Entry> weeks;
+
+    WeekCache() {
+        this(MAX_WEEKS);
+    }
+
+    WeekCache(int maxWeeks) {
+        weeks = new LruCache<>(maxWeeks);
+    }
+
+    /**
+     * @return the cells of the week, or null if it was never loaded or is out of date
+     */
+    List<List<Event>> get(LocalDay weekStart, long currentVersion) {
+        Entry entry = weeks.get(weekStart);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.version != currentVersion) {
+            weeks.remove(weekStart);
+            return null;
+        }
+        return entry.cells;
+    }
+
+    /**
+     * @param loadVersion data version read before the week was queried
+     */
+    void put(LocalDay weekStart, List<List<Event>> cells, long loadVersion) {
+        weeks.put(weekStart, new Entry(cells, loadVersion));
+    }
+
+    void clear() {
+        weeks.evictAll();
+    }
+
+    private static final class Entry {
+        final List<List<Event>> cells;
+        final long version;
+
+        Entry(List<List<Event>> cells, long version) {
+            this.cells = cells;
+            this.version = version;
+        }
+    }
+}
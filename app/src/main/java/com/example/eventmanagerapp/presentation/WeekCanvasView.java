@@ -0,0 +1,485 @@
+package com.example.eventmanagerapp.presentation;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Typeface;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.GestureDetector;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.ViewTreeObserver;
+
+import com.example.eventmanagerapp.domain.model.Event;
+import com.example.eventmanagerapp.domain.model.LocalDay;
+import com.example.eventmanagerapp.utils.DateTimeHelper;
+import com.example.eventmanagerapp.utils.WeekBucketer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Draws the whole week grid (header, morning/afternoon rows, event cards) in one view
+ * instead of 14 nested RecyclerViews.
+ *
+ * Card text is measured and ellipsized once, when the events or the width change, so
+ * onDraw only draws ready-made strings. Cards are culled against the part of the view the
+ * surrounding ScrollView shows, plus one screen above and below; with hardware
+ * acceleration the recorded drawing is replayed while scrolling, so the view only
+ * redraws once the visible part leaves that band. Taps are resolved with
+ * {@link WeekGridLayout} arithmetic. A horizontal fling, or a drag over a quarter of the
+ * width, asks the listener to change the week.
+ */
+public class WeekCanvasView extends View {
+
+    public interface OnWeekClickListener {
+        void onEventClick(Event event);
+
+        void onCellClick(int dayIndex, boolean morning);
+    }
+
+    public interface OnWeekSwipeListener {
+        /**
+         * @param weeks +1 for the next week (swipe left), -1 for the previous one
+         */
+        void onWeekSwipe(int weeks);
+    }
+
+    private static final String[] ROW_LABELS = {"Sáng", "Chiều"};
+
+    private final WeekGridLayout layout;
+    private final float cardPadding;
+    private final float cornerRadius;
+
+    private final Paint cellPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint gridPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint cardPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint cardStrokePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint pressedPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final TextPaint headerPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final TextPaint titlePaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final TextPaint timePaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+
+    // Khoảng cách từ đỉnh thẻ tới baseline của từng dòng, tính một lần
+    private final float titleBaseline;
+    private final float timeBaseline;
+    private final float headerLineHeight;
+    private final float headerAscent;
+
+    private final RectF rect = new RectF();
+    private final Rect visible = new Rect();
+
+    // Dải dọc đã vẽ ở lần onDraw gần nhất
+    private float drawnTop;
+    private float drawnBottom;
+    private final ViewTreeObserver.OnScrollChangedListener scrollListener = this::onScrollChanged;
+
+    private final String[] headerDays = new String[WeekBucketer.DAYS];
+    private final String[] headerDates = new String[WeekBucketer.DAYS];
+    private List<List<Event>> cells = emptyCells();
+    private String[][] titles = new String[WeekBucketer.CELL_COUNT][0];
+    private String[][] times = new String[WeekBucketer.CELL_COUNT][0];
+    private float preparedColumnWidth = -1;
+
+    private int pressedCell = -1;
+    private int pressedCard = -1;
+    private OnWeekClickListener listener;
+    private OnWeekSwipeListener swipeListener;
+
+    private final GestureDetector gestureDetector;
+    private final int touchSlop;
+    private float downX;
+    private float downY;
+    private boolean draggingHorizontally;
+
+    public WeekCanvasView(Context context) {
+        this(context, null);
+    }
+
+    public WeekCanvasView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+
+        layout = new WeekGridLayout(dp(48), dp(44), dp(160), dp(4), dp(38), dp(4));
+        cardPadding = dp(4);
+        cornerRadius = dp(6);
+
+        cellPaint.setColor(Color.parseColor("#FAFAFA"));
+        gridPaint.setColor(Color.parseColor("#E0E0E0"));
+        gridPaint.setStyle(Paint.Style.STROKE);
+        gridPaint.setStrokeWidth(dp(0.5f));
+        cardPaint.setColor(Color.parseColor("#EEF4FA"));
+        cardStrokePaint.setColor(Color.parseColor("#90CAF9"));
+        cardStrokePaint.setStyle(Paint.Style.STROKE);
+        cardStrokePaint.setStrokeWidth(dp(1));
+        pressedPaint.setColor(Color.parseColor("#3390CAF9"));
+
+        headerPaint.setColor(Color.parseColor("#000000"));
+        headerPaint.setTextSize(sp(12));
+        headerPaint.setTypeface(Typeface.DEFAULT_BOLD);
+        headerPaint.setTextAlign(Paint.Align.CENTER);
+        titlePaint.setColor(Color.parseColor("#111111"));
+        titlePaint.setTextSize(sp(12));
+        titlePaint.setTypeface(Typeface.DEFAULT_BOLD);
+        timePaint.setColor(Color.parseColor("#444444"));
+        timePaint.setTextSize(sp(10));
+
+        Paint.FontMetrics title = titlePaint.getFontMetrics();
+        Paint.FontMetrics time = timePaint.getFontMetrics();
+        Paint.FontMetrics header = headerPaint.getFontMetrics();
+        titleBaseline = cardPadding - title.ascent;
+        timeBaseline = titleBaseline + title.descent + dp(2) - time.ascent;
+        headerLineHeight = header.descent - header.ascent;
+        headerAscent = -header.ascent;
+
+        touchSlop = ViewConfiguration.get(context).getScaledTouchSlop();
+        gestureDetector = new GestureDetector(context, new GestureDetector.SimpleOnGestureListener() {
+            @Override
+            public boolean onDown(MotionEvent e) {
+                return true;
+            }
+
+            @Override
+            public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX, float velocityY) {
+                if (!draggingHorizontally || Math.abs(velocityX) <= Math.abs(velocityY)) {
+                    return false;
+                }
+                return swipe(velocityX < 0 ? 1 : -1);
+            }
+        });
+    }
+
+    public void setOnWeekClickListener(OnWeekClickListener listener) {
+        this.listener = listener;
+    }
+
+    public void setOnWeekSwipeListener(OnWeekSwipeListener listener) {
+        this.swipeListener = listener;
+    }
+
+    /**
+     * @param weekStart first day (Monday) of the week to show
+     */
+    public void setWeekStart(LocalDay weekStart) {
+        for (int i = 0; i < WeekBucketer.DAYS; i++) {
+            LocalDay day = weekStart.plusDays(i);
+            headerDays[i] = DateTimeHelper.getDayName(day.getDayOfWeek());
+            headerDates[i] = DateTimeHelper.formatDayMonth(day);
+        }
+        invalidate();
+    }
+
+    /**
+     * @param cells events per cell as produced by {@link WeekBucketer#bucket(List)}
+     */
+    public void setEvents(List<List<Event>> cells) {
+        this.cells = cells;
+        clearPressed();
+
+        float oldHeight = layout.getHeight();
+        layout.update(getWidth(), counts());
+        prepareText();
+
+        if (layout.getHeight() != oldHeight) {
+            requestLayout();
+        }
+        invalidate();
+    }
+
+    /**
+     * Shows the week without any event, e.g. when loading it failed.
+     */
+    public void clearEvents() {
+        setEvents(emptyCells());
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = MeasureSpec.getSize(widthMeasureSpec);
+        layout.update(width, counts());
+        int height = resolveSize((int) Math.ceil(layout.getHeight()), heightMeasureSpec);
+        setMeasuredDimension(width, height);
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        layout.update(w, counts());
+        // Chiều cao đổi theo số thẻ; chỉ cần cắt lại chữ khi độ rộng cột đổi
+        if (layout.getColumnWidth() != preparedColumnWidth) {
+            prepareText();
+        }
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        getViewTreeObserver().addOnScrollChangedListener(scrollListener);
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        getViewTreeObserver().removeOnScrollChangedListener(scrollListener);
+        super.onDetachedFromWindow();
+    }
+
+    private void onScrollChanged() {
+        // Vẫn nằm trong dải đã vẽ: display list cũ còn dùng được
+        if (getLocalVisibleRect(visible)
+                && (visible.top < drawnTop || visible.bottom > drawnBottom)) {
+            invalidate();
+        }
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        if (layout.getColumnWidth() <= 0) {
+            return;
+        }
+        if (getLocalVisibleRect(visible)) {
+            int margin = visible.height();
+            drawnTop = Math.max(0, visible.top - margin);
+            drawnBottom = Math.min(getHeight(), visible.bottom + margin);
+        } else {
+            drawnTop = 0;
+            drawnBottom = getHeight();
+        }
+
+        if (drawnTop < layout.getHeaderHeight()) {
+            drawHeader(canvas);
+        }
+        for (int row = 0; row < WeekGridLayout.ROWS; row++) {
+            if (layout.rowBottom(row) <= drawnTop || layout.rowTop(row) >= drawnBottom) {
+                continue;
+            }
+            drawRowLabel(canvas, row);
+            for (int day = 0; day < WeekBucketer.DAYS; day++) {
+                drawCell(canvas, day, row);
+            }
+        }
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        // onFling được gọi ngay trong lúc xử lý ACTION_UP
+        boolean flung = gestureDetector.onTouchEvent(event);
+        float dx = event.getX() - downX;
+        float dy = event.getY() - downY;
+
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                downX = event.getX();
+                downY = event.getY();
+                draggingHorizontally = false;
+                press(downX, downY);
+                return true;
+
+            case MotionEvent.ACTION_MOVE:
+                if (!draggingHorizontally && Math.abs(dx) > touchSlop && Math.abs(dx) > Math.abs(dy)) {
+                    // Vuốt ngang là đổi tuần, không để ScrollView cướp cử chỉ
+                    draggingHorizontally = true;
+                    clearPressed();
+                    if (getParent() != null) {
+                        getParent().requestDisallowInterceptTouchEvent(true);
+                    }
+                } else if (Math.abs(dy) > touchSlop) {
+                    clearPressed();
+                }
+                return true;
+
+            case MotionEvent.ACTION_UP:
+                if (draggingHorizontally) {
+                    draggingHorizontally = false;
+                    // Kéo chậm nhưng đủ xa cũng tính là vuốt
+                    if (!flung && Math.abs(dx) > getWidth() / 4f) {
+                        swipe(dx < 0 ? 1 : -1);
+                    }
+                    return true;
+                }
+                if (pressedCell < 0) {
+                    return true;
+                }
+                int cell = pressedCell;
+                int card = pressedCard;
+                clearPressed();
+                performClick();
+                dispatchClick(cell, card);
+                return true;
+
+            case MotionEvent.ACTION_CANCEL:
+                // ScrollView đã nhận cử chỉ cuộn
+                draggingHorizontally = false;
+                clearPressed();
+                return true;
+
+            default:
+                return true;
+        }
+    }
+
+    private boolean swipe(int weeks) {
+        if (swipeListener != null) {
+            swipeListener.onWeekSwipe(weeks);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean performClick() {
+        return super.performClick();
+    }
+
+    private void press(float x, float y) {
+        int day = layout.dayAt(x);
+        int row = layout.rowAt(y);
+        if (day < 0 || row < 0) {
+            return;
+        }
+        pressedCell = WeekGridLayout.cellIndex(day, row);
+        pressedCard = layout.cardAt(day, row, y);
+        invalidate();
+    }
+
+    private void clearPressed() {
+        if (pressedCell >= 0) {
+            invalidate();
+        }
+        pressedCell = -1;
+        pressedCard = -1;
+    }
+
+    private void dispatchClick(int cell, int card) {
+        if (listener == null) {
+            return;
+        }
+        int day = cell / 2;
+        boolean morning = cell % 2 == 0;
+        List<Event> events = cells.get(cell);
+        if (card >= 0 && card < events.size()) {
+            listener.onEventClick(events.get(card));
+        } else {
+            listener.onCellClick(day, morning);
+        }
+    }
+
+    private void drawHeader(Canvas canvas) {
+        float lineTop = (layout.getHeaderHeight() - 2 * headerLineHeight) / 2;
+        for (int day = 0; day < WeekBucketer.DAYS; day++) {
+            float left = layout.columnLeft(day);
+            rect.set(left, 0, left + layout.getColumnWidth(), layout.getHeaderHeight());
+            canvas.drawRect(rect, cellPaint);
+            canvas.drawRect(rect, gridPaint);
+
+            if (headerDays[day] == null) {
+                continue;
+            }
+            float centerX = rect.centerX();
+            canvas.drawText(headerDays[day], centerX, lineTop + headerAscent, headerPaint);
+            canvas.drawText(headerDates[day], centerX, lineTop + headerLineHeight + headerAscent, headerPaint);
+        }
+    }
+
+    private void drawRowLabel(Canvas canvas, int row) {
+        rect.set(0, layout.rowTop(row), layout.getLabelWidth(), layout.rowBottom(row));
+        canvas.drawRect(rect, cellPaint);
+        canvas.drawRect(rect, gridPaint);
+        float baseline = rect.centerY() - headerLineHeight / 2 + headerAscent;
+        canvas.drawText(ROW_LABELS[row], rect.centerX(), baseline, headerPaint);
+    }
+
+    private void drawCell(Canvas canvas, int day, int row) {
+        int cell = WeekGridLayout.cellIndex(day, row);
+        float left = layout.columnLeft(day);
+        rect.set(left, layout.rowTop(row), left + layout.getColumnWidth(), layout.rowBottom(row));
+        canvas.drawRect(rect, cellPaint);
+        canvas.drawRect(rect, gridPaint);
+        if (cell == pressedCell && pressedCard < 0) {
+            canvas.drawRect(rect, pressedPaint);
+        }
+
+        int count = layout.getCount(day, row);
+        int first = layout.firstVisibleCard(row, drawnTop);
+        int last = Math.min(count - 1, layout.lastVisibleCard(row, drawnBottom));
+        float cardLeft = layout.cardLeft(day);
+        float cardRight = layout.cardRight(day);
+        for (int i = first; i <= last; i++) {
+            float top = layout.cardTop(row, i);
+            rect.set(cardLeft, top, cardRight, top + layout.getCardHeight());
+            canvas.drawRoundRect(rect, cornerRadius, cornerRadius, cardPaint);
+            canvas.drawRoundRect(rect, cornerRadius, cornerRadius, cardStrokePaint);
+            if (cell == pressedCell && i == pressedCard) {
+                canvas.drawRoundRect(rect, cornerRadius, cornerRadius, pressedPaint);
+            }
+
+            float textLeft = cardLeft + cardPadding;
+            canvas.drawText(titles[cell][i], textLeft, top + titleBaseline, titlePaint);
+            canvas.drawText(times[cell][i], textLeft, top + timeBaseline, timePaint);
+        }
+    }
+
+    /**
+     * Ellipsizes every title and picks a time label that fits the card width. Runs when
+     * the events or the column width change, never from onDraw.
+     */
+    private void prepareText() {
+        float columnWidth = layout.getColumnWidth();
+        float textWidth = Math.max(0, columnWidth - 2 * dp(4) - 2 * cardPadding);
+        String[][] newTitles = new String[WeekBucketer.CELL_COUNT][];
+        String[][] newTimes = new String[WeekBucketer.CELL_COUNT][];
+
+        for (int cell = 0; cell < WeekBucketer.CELL_COUNT; cell++) {
+            List<Event> events = cells.get(cell);
+            newTitles[cell] = new String[events.size()];
+            newTimes[cell] = new String[events.size()];
+            for (int i = 0; i < events.size(); i++) {
+                Event event = events.get(i);
+                String title = event.getTitle() == null ? "" : event.getTitle();
+                newTitles[cell][i] = TextUtils.ellipsize(
+                        title, titlePaint, textWidth, TextUtils.TruncateAt.END).toString();
+
+                // Cột hẹp thì chỉ hiện giờ bắt đầu
+                String range = DateTimeHelper.formatTimeRange(event.getStartTime(), event.getEndTime());
+                newTimes[cell][i] = timePaint.measureText(range) <= textWidth
+                        ? range
+                        : DateTimeHelper.formatTime(event.getStartTime());
+            }
+        }
+
+        titles = newTitles;
+        times = newTimes;
+        preparedColumnWidth = columnWidth;
+    }
+
+    private int[] counts() {
+        int[] counts = new int[WeekBucketer.CELL_COUNT];
+        for (int cell = 0; cell < WeekBucketer.CELL_COUNT; cell++) {
+            counts[cell] = cells.get(cell).size();
+        }
+        return counts;
+    }
+
+    private static List<List<Event>> emptyCells() {
+        List<List<Event>> cells = new ArrayList<>(WeekBucketer.CELL_COUNT);
+        for (int i = 0; i < WeekBucketer.CELL_COUNT; i++) {
+            cells.add(new ArrayList<>());
+        }
+        return cells;
+    }
+
+    private float dp(float value) {
+        return TypedValue.applyDimension(
+                TypedValue.COMPLEX_UNIT_DIP, value, getResources().getDisplayMetrics());
+    }
+
+    private float sp(float value) {
+        return TypedValue.applyDimension(
+                TypedValue.COMPLEX_UNIT_SP, value, getResources().getDisplayMetrics());
+    }
+}
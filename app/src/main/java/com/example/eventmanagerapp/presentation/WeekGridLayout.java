@@ -0,0 +1,187 @@
+package com.example.eventmanagerapp.presentation;
+
+import com.example.eventmanagerapp.utils.WeekBucketer;
+
+/**
+ * Geometry of the week canvas: a header row, a label column on the left, then 7 day
+ * columns that share the remaining width and 2 rows (morning, afternoon) of cells.
+ *
+ * Each cell stacks its event cards from the top and a row is as tall as its fullest cell,
+ * but never shorter than {@code minRowHeight}. Every position is computed from the card
+ * counts, so hit-testing a tap or finding the cards inside a clip rectangle is plain
+ * arithmetic with no per-card bookkeeping.
+ */
+class WeekGridLayout {
+
+    static final int ROWS = 2;
+
+    private final float labelWidth;
+    private final float headerHeight;
+    private final float minRowHeight;
+    private final float cellPadding;
+    private final float cardHeight;
+    private final float cardGap;
+
+    private float width;
+    private float columnWidth;
+    private final int[] counts = new int[WeekBucketer.CELL_COUNT];
+    // rowTops[ROWS] là đáy của hàng cuối, tức chiều cao toàn bộ
+    private final float[] rowTops = new float[ROWS + 1];
+
+    WeekGridLayout(float labelWidth, float headerHeight, float minRowHeight,
+                   float cellPadding, float cardHeight, float cardGap) {
+        this.labelWidth = labelWidth;
+        this.headerHeight = headerHeight;
+        this.minRowHeight = minRowHeight;
+        this.cellPadding = cellPadding;
+        this.cardHeight = cardHeight;
+        this.cardGap = cardGap;
+        update(0, counts);
+    }
+
+    /**
+     * @param cellCounts number of events per cell, indexed by
+     *                   {@link WeekBucketer#cellIndex(int, boolean)}
+     */
+    void update(float width, int[] cellCounts) {
+        this.width = width;
+        this.columnWidth = Math.max(0, (width - labelWidth) / WeekBucketer.DAYS);
+        System.arraycopy(cellCounts, 0, counts, 0, counts.length);
+
+        rowTops[0] = headerHeight;
+        for (int row = 0; row < ROWS; row++) {
+            int fullest = 0;
+            for (int day = 0; day < WeekBucketer.DAYS; day++) {
+                fullest = Math.max(fullest, counts[cellIndex(day, row)]);
+            }
+            rowTops[row + 1] = rowTops[row] + Math.max(minRowHeight, contentHeight(fullest));
+        }
+    }
+
+    static int cellIndex(int day, int row) {
+        return WeekBucketer.cellIndex(day, row == 0);
+    }
+
+    float getWidth() {
+        return width;
+    }
+
+    float getHeight() {
+        return rowTops[ROWS];
+    }
+
+    float getLabelWidth() {
+        return labelWidth;
+    }
+
+    float getHeaderHeight() {
+        return headerHeight;
+    }
+
+    float getColumnWidth() {
+        return columnWidth;
+    }
+
+    float getCardHeight() {
+        return cardHeight;
+    }
+
+    int getCount(int day, int row) {
+        return counts[cellIndex(day, row)];
+    }
+
+    float columnLeft(int day) {
+        return labelWidth + day * columnWidth;
+    }
+
+    float rowTop(int row) {
+        return rowTops[row];
+    }
+
+    float rowBottom(int row) {
+        return rowTops[row + 1];
+    }
+
+    float cardLeft(int day) {
+        return columnLeft(day) + cellPadding;
+    }
+
+    float cardRight(int day) {
+        return columnLeft(day) + columnWidth - cellPadding;
+    }
+
+    float cardTop(int row, int index) {
+        return rowTops[row] + cellPadding + index * (cardHeight + cardGap);
+    }
+
+    /**
+     * @return the day column at {@code x}, or -1 over the label column or outside
+     */
+    int dayAt(float x) {
+        if (x < labelWidth || columnWidth <= 0) {
+            return -1;
+        }
+        int day = (int) ((x - labelWidth) / columnWidth);
+        return day < WeekBucketer.DAYS ? day : -1;
+    }
+
+    /**
+     * @return the row at {@code y}, or -1 over the header or below the grid
+     */
+    int rowAt(float y) {
+        for (int row = 0; row < ROWS; row++) {
+            if (y >= rowTops[row] && y < rowTops[row + 1]) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the card of cell (day, row) under {@code y}, or -1 if {@code y} falls on the
+     * padding, a gap between cards or the empty space below them
+     */
+    int cardAt(int day, int row, float y) {
+        float offset = y - rowTops[row] - cellPadding;
+        if (offset < 0) {
+            return -1;
+        }
+        float pitch = cardHeight + cardGap;
+        int index = (int) (offset / pitch);
+        if (index >= counts[cellIndex(day, row)] || offset - index * pitch >= cardHeight) {
+            return -1;
+        }
+        return index;
+    }
+
+    /**
+     * First card of a cell in the given row that reaches below {@code clipTop}.
+     */
+    int firstVisibleCard(int row, float clipTop) {
+        float offset = clipTop - rowTops[row] - cellPadding;
+        if (offset <= 0) {
+            return 0;
+        }
+        // Thẻ index kết thúc tại index*pitch + cardHeight
+        return (int) Math.max(0, Math.floor((offset - cardHeight) / (cardHeight + cardGap)) + 1);
+    }
+
+    /**
+     * Last card index of a cell in the given row that starts above {@code clipBottom};
+     * may exceed the number of cards, callers clamp it to the cell's count.
+     */
+    int lastVisibleCard(int row, float clipBottom) {
+        float offset = clipBottom - rowTops[row] - cellPadding;
+        if (offset <= 0) {
+            return -1;
+        }
+        return (int) Math.ceil(offset / (cardHeight + cardGap)) - 1;
+    }
+
+    private float contentHeight(int cards) {
+        if (cards == 0) {
+            return 0;
+        }
+        return 2 * cellPadding + cards * cardHeight + (cards - 1) * cardGap;
+    }
+}
@@ -11,6 +11,7 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.eventmanagerapp.R;
 import com.example.eventmanagerapp.domain.usecase.LoginUseCase;
+import com.example.eventmanagerapp.domain.usecase.UseCaseExecutor;
 import com.example.eventmanagerapp.presentation.MainActivity;
 import com.example.eventmanagerapp.utils.SessionManager;
 
@@ -23,6 +24,9 @@ public class LoginActivity extends AppCompatActivity {
     private LoginUseCase loginUseCase;
     private SessionManager sessionManager;
 
+    private UseCaseExecutor useCaseExecutor;
+    private final UseCaseExecutor.Scope scope = new UseCaseExecutor.Scope();
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -40,6 +44,12 @@ public class LoginActivity extends AppCompatActivity {
         setupListeners();
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        scope.cancelAll();
+    }
+
     private void initViews() {
         edtUsername = findViewById(R.id.edtUsername);
         edtPassword = findViewById(R.id.edtPassword);
@@ -49,6 +59,7 @@ public class LoginActivity extends AppCompatActivity {
 
     private void initData() {
         loginUseCase = new LoginUseCase(this);
+        useCaseExecutor = UseCaseExecutor.getInstance();
     }
 
     private void setupListeners() {
@@ -64,7 +75,13 @@ public class LoginActivity extends AppCompatActivity {
         String username = edtUsername.getText().toString().trim();
         String password = edtPassword.getText().toString();
 
-        LoginUseCase.Result result = loginUseCase.execute(username, password);
+        btnLogin.setEnabled(false);
+        useCaseExecutor.read(scope, () -> loginUseCase.execute(username, password), this::onLoginResult,
+                this::onLoginFailed);
+    }
+
+    private void onLoginResult(LoginUseCase.Result result) {
+        btnLogin.setEnabled(true);
 
         if (result.isSuccess()) {
             Toast.makeText(this, "Đăng nhập thành công!", Toast.LENGTH_SHORT).show();
@@ -74,6 +91,11 @@ public class LoginActivity extends AppCompatActivity {
         }
     }
 
+    private void onLoginFailed(Exception error) {
+        btnLogin.setEnabled(true);
+        Toast.makeText(this, "Đăng nhập thất bại, vui lòng thử lại", Toast.LENGTH_SHORT).show();
+    }
+
     private void navigateToMain() {
         Intent intent = new Intent(this, MainActivity.class);
         intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
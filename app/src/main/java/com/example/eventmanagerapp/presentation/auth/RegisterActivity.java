@@ -11,6 +11,7 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.eventmanagerapp.R;
 import com.example.eventmanagerapp.domain.usecase.RegisterUseCase;
+import com.example.eventmanagerapp.domain.usecase.UseCaseExecutor;
 import com.example.eventmanagerapp.presentation.MainActivity;
 
 public class RegisterActivity extends AppCompatActivity {
@@ -21,6 +22,9 @@ public class RegisterActivity extends AppCompatActivity {
 
     private RegisterUseCase registerUseCase;
 
+    private UseCaseExecutor useCaseExecutor;
+    private final UseCaseExecutor.Scope scope = new UseCaseExecutor.Scope();
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -31,6 +35,12 @@ public class RegisterActivity extends AppCompatActivity {
         setupListeners();
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        scope.cancelAll();
+    }
+
     private void initViews() {
         edtFullName = findViewById(R.id.edtFullName);
         edtUsername = findViewById(R.id.edtUsername);
@@ -42,6 +52,7 @@ public class RegisterActivity extends AppCompatActivity {
 
     private void initData() {
         registerUseCase = new RegisterUseCase(this);
+        useCaseExecutor = UseCaseExecutor.getInstance();
     }
 
     private void setupListeners() {
@@ -56,9 +67,14 @@ public class RegisterActivity extends AppCompatActivity {
         String password = edtPassword.getText().toString();
         String confirmPassword = edtConfirmPassword.getText().toString();
 
-        RegisterUseCase.Result result = registerUseCase.execute(
+        btnRegister.setEnabled(false);
+        useCaseExecutor.write(scope, () -> registerUseCase.execute(
                 username, password, confirmPassword, fullName
-        );
+        ), this::onRegisterResult, this::onRegisterFailed);
+    }
+
+    private void onRegisterResult(RegisterUseCase.Result result) {
+        btnRegister.setEnabled(true);
 
         if (result.isSuccess()) {
             Toast.makeText(this, "Đăng ký thành công!", Toast.LENGTH_SHORT).show();
@@ -68,6 +84,11 @@ public class RegisterActivity extends AppCompatActivity {
         }
     }
 
+    private void onRegisterFailed(Exception error) {
+        btnRegister.setEnabled(true);
+        Toast.makeText(this, "Đăng ký thất bại, vui lòng thử lại", Toast.LENGTH_SHORT).show();
+    }
+
     private void navigateToMain() {
         Intent intent = new Intent(this, MainActivity.class);
         intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
@@ -10,16 +10,40 @@ import android.os.Build;
 
 import androidx.core.app.NotificationCompat;
 
+import com.example.eventmanagerapp.domain.model.Reminder;
 import com.example.eventmanagerapp.presentation.EventDetailActivity;
 
+import java.util.List;
+
 public class AlarmReceiver extends BroadcastReceiver {
 
     public static final String CHANNEL_ID = "event_reminders";
 
+    public static final String ACTION_REMINDER = "com.example.eventmanagerapp.action.REMINDER";
+
     @Override
     public void onReceive(Context context, Intent intent) {
-        int eventId = intent.getIntExtra("event_id", -1);
-        String title = intent.getStringExtra("title");
+        if (!ACTION_REMINDER.equals(intent.getAction())) {
+            return;
+        }
+
+        // Đọc/ghi DB không chạy trên main thread
+        Context appContext = context.getApplicationContext();
+        PendingResult pendingResult = goAsync();
+        new Thread(() -> {
+            try {
+                List<Reminder> due = ReminderEngine.getInstance(appContext)
+                        .takeDue(System.currentTimeMillis());
+                for (Reminder reminder : due) {
+                    showNotification(appContext, reminder.getEventId(), reminder.getTitle());
+                }
+            } finally {
+                pendingResult.finish();
+            }
+        }, "reminder-delivery").start();
+    }
+
+    private void showNotification(Context context, int eventId, String title) {
         if (title == null || title.trim().isEmpty()) title = "Nhắc nhở sự kiện";
 
         Intent open = new Intent(context, EventDetailActivity.class);
@@ -20,7 +20,11 @@ public class AlarmScheduler {
         this.alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
     }
 
-    public boolean scheduleAlarm(int eventId, String title, long triggerAtMillis) {
+    /**
+     * Arms the single reminder alarm, replacing any previously armed time.
+     * ReminderEngine only ever asks for its earliest pending reminder.
+     */
+    public boolean armReminderAlarm(long triggerAtMillis) {
         if (alarmManager == null) {
             return false;
         }
@@ -31,16 +35,7 @@ public class AlarmScheduler {
             }
         }
 
-        Intent intent = new Intent(context, AlarmReceiver.class);
-        intent.putExtra("event_id", eventId);
-        intent.putExtra("title", title);
-
-        PendingIntent pendingIntent = PendingIntent.getBroadcast(
-                context,
-                eventId,
-                intent,
-                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE
-        );
+        PendingIntent pendingIntent = reminderIntent();
 
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
             alarmManager.setExactAndAllowWhileIdle(
@@ -59,19 +54,12 @@ public class AlarmScheduler {
         return true;
     }
 
-    public void cancelAlarm(int eventId) {
+    public void cancelReminderAlarm() {
         if (alarmManager == null) {
             return;
         }
 
-        Intent intent = new Intent(context, AlarmReceiver.class);
-        PendingIntent pendingIntent = PendingIntent.getBroadcast(
-                context,
-                eventId,
-                intent,
-                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE
-        );
-
+        PendingIntent pendingIntent = reminderIntent();
         alarmManager.cancel(pendingIntent);
         pendingIntent.cancel();
     }
@@ -92,8 +80,16 @@ public class AlarmScheduler {
         }
     }
 
-    public boolean rescheduleAlarm(int eventId, String title, long triggerAtMillis) {
-        cancelAlarm(eventId);
-        return scheduleAlarm(eventId, title, triggerAtMillis);
+    private PendingIntent reminderIntent() {
+        Intent intent = new Intent(context, AlarmReceiver.class);
+        intent.setAction(AlarmReceiver.ACTION_REMINDER);
+
+        // Chỉ có một alarm duy nhất nên requestCode cố định
+        return PendingIntent.getBroadcast(
+                context,
+                0,
+                intent,
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE
+        );
     }
 }
\ No newline at end of file
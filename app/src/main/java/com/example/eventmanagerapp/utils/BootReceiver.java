@@ -0,0 +1,52 @@
+package com.example.eventmanagerapp.utils;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+
+import com.example.eventmanagerapp.data.repository.EventRepository;
+
+/**
+ * Re-arms the reminder alarm after the system dropped it (reboot, app update) or the
+ * clock changed. All work is done by {@link ReminderEngine#reload()}: one indexed read of
+ * the pending reminders and a single alarm, so it stays fast however many events exist.
+ * A time zone change also rebuilds the per-day summary table, which stores local days.
+ */
+public class BootReceiver extends BroadcastReceiver {
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        if (!isRescheduleAction(intent.getAction())) {
+            return;
+        }
+        boolean zoneChanged = Intent.ACTION_TIMEZONE_CHANGED.equals(intent.getAction());
+        if (zoneChanged) {
+            DateTimeHelper.onTimeZoneChanged();
+        }
+
+        Context appContext = context.getApplicationContext();
+        PendingResult pendingResult = goAsync();
+        new Thread(() -> {
+            try {
+                if (zoneChanged) {
+                    // Bảng tổng hợp theo ngày lưu ngày địa phương, phải tính lại theo múi giờ mới
+                    EventRepository.getInstance(appContext).rebuildDaySummaries();
+                }
+                rescheduleAll(appContext);
+            } finally {
+                pendingResult.finish();
+            }
+        }, "reminder-reschedule").start();
+    }
+
+    public static boolean rescheduleAll(Context context) {
+        return ReminderEngine.getInstance(context).reload();
+    }
+
+    static boolean isRescheduleAction(String action) {
+        return Intent.ACTION_BOOT_COMPLETED.equals(action)
+                || Intent.ACTION_TIME_CHANGED.equals(action)
+                || Intent.ACTION_TIMEZONE_CHANGED.equals(action)
+                || Intent.ACTION_MY_PACKAGE_REPLACED.equals(action);
+    }
+}
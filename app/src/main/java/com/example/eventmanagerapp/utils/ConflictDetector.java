@@ -0,0 +1,70 @@
+package com.example.eventmanagerapp.utils;
+
+import android.content.Context;
+
+import com.example.eventmanagerapp.data.repository.EventRepository;
+import com.example.eventmanagerapp.domain.model.Event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Finds the events of a user that overlap a time range, for warning about double
+ * bookings when an event is created or moved.
+ *
+ * Single events come from one range query on (user_id, start_time): an event can only
+ * overlap [start, end) if it starts after {@code start - longest duration}, and the
+ * longest duration is cached by the repository. Repeating events are expanded around
+ * the range, like OccurrenceEngine does for the week view.
+ */
+public class ConflictDetector {
+
+    private final EventRepository repository;
+
+    public ConflictDetector(Context context) {
+        this(EventRepository.getInstance(context));
+    }
+
+    ConflictDetector(EventRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * @param excludeEventId event being edited, not reported against itself; -1 for none
+     * @return events and occurrences intersecting [startMillis, endMillis), by start time
+     */
+    public List<Event> findConflicts(int userId, long startMillis, long endMillis, int excludeEventId) {
+        List<Event> conflicts = new ArrayList<>();
+        if (endMillis <= startMillis) {
+            return conflicts;
+        }
+
+        for (Event event : repository.getOverlappingEvents(userId, startMillis, endMillis)) {
+            if (event.getId() != excludeEventId) {
+                conflicts.add(event);
+            }
+        }
+
+        long lookback = repository.getMaxEventDuration(userId);
+        List<Event> series = repository.getSeriesInRange(userId, startMillis - lookback, endMillis);
+        if (series.isEmpty()) {
+            return conflicts;
+        }
+        for (Event event : series) {
+            if (event.getId() == excludeEventId) {
+                continue;
+            }
+            long from = startMillis - (event.getEndTime() - event.getStartTime());
+            List<Event> occurrences = OccurrenceEngine.expand(event,
+                    repository.getSkippedOccurrences(event.getId(), from, endMillis), from, endMillis);
+            for (Event occurrence : occurrences) {
+                if (occurrence.getEndTime() > startMillis) {
+                    conflicts.add(occurrence);
+                }
+            }
+        }
+        Collections.sort(conflicts, (a, b) -> Long.compare(a.getStartTime(), b.getStartTime()));
+        return conflicts;
+    }
+}
@@ -1,89 +1,161 @@
 package com.example.eventmanagerapp.utils;
 
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
-import java.util.Locale;
+import com.example.eventmanagerapp.domain.model.LocalDay;
 
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * Date and time formatting for the UI.
+ *
+ * Instants are shifted to local time through a cached offset table and split into an
+ * epoch day and a minute of day with integer arithmetic; digits are written straight into
+ * a char array. Nothing here holds mutable shared state, so every method is safe to call
+ * from any thread, and the {@code char[]} overloads let a caller such as a view holder
+ * reuse one buffer instead of allocating a String per bind.
+ */
 public class DateTimeHelper {
 
-    private static final SimpleDateFormat FORMAT_DISPLAY_DATE =
-            new SimpleDateFormat("dd/MM/yyyy", Locale.getDefault());
+    /** Length of "HH:mm". */
+    public static final int TIME_LENGTH = 5;
+
+    /** Length of "HH:mm - HH:mm". */
+    public static final int TIME_RANGE_LENGTH = 13;
+
+    private static final long MILLIS_PER_MINUTE = 60 * 1000L;
+    private static final int NOON_MINUTE = 12 * 60;
+
+    private static volatile ZoneOffsetCache zone = new ZoneOffsetCache(TimeZone.getDefault());
 
-    private static final SimpleDateFormat FORMAT_TAG_DATE =
-            new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
+    /**
+     * Drops the cached offsets; call after the default time zone changed.
+     */
+    public static void onTimeZoneChanged() {
+        zone = new ZoneOffsetCache(TimeZone.getDefault());
+    }
+
+    /**
+     * @return days since 1970-01-01 of the local date of {@code millis}
+     */
+    public static long epochDay(long millis) {
+        return Math.floorDiv(zone.toLocalMillis(millis), ZoneOffsetCache.MILLIS_PER_DAY);
+    }
+
+    /**
+     * @return minutes since local midnight, 0..1439
+     */
+    public static int minuteOfDay(long millis) {
+        long local = zone.toLocalMillis(millis);
+        return (int) (Math.floorMod(local, ZoneOffsetCache.MILLIS_PER_DAY) / MILLIS_PER_MINUTE);
+    }
+
+    /**
+     * @return the instant at {@code minuteOfDay} on local day {@code epochDay}. A time
+     * skipped by a DST switch resolves with the offset from before it, as a lenient
+     * Calendar does.
+     */
+    public static long toMillis(long epochDay, int minuteOfDay) {
+        ZoneOffsetCache zone = DateTimeHelper.zone;
+        long local = epochDay * ZoneOffsetCache.MILLIS_PER_DAY + minuteOfDay * MILLIS_PER_MINUTE;
+        int guessOffset = zone.getOffset(local - zone.getTimeZone().getRawOffset());
+        long utc = local - guessOffset;
+        int offset = zone.getOffset(utc);
+        // Hai offset khác nhau: giờ này rơi vào khoảng bị bỏ qua, utc đang ở trước lúc chuyển
+        return offset == guessOffset ? utc : local - offset;
+    }
 
     public static String formatDisplayDate(Calendar calendar) {
-        return FORMAT_DISPLAY_DATE.format(calendar.getTime());
+        char[] out = new char[10];
+        writeDisplayDate(out, calendar.get(Calendar.YEAR),
+                calendar.get(Calendar.MONTH) + 1, calendar.get(Calendar.DAY_OF_MONTH));
+        return new String(out);
+    }
+
+    public static String formatDisplayDate(LocalDay day) {
+        char[] out = new char[10];
+        writeDisplayDate(out, day.getYear(), day.getMonth(), day.getDayOfMonth());
+        return new String(out);
     }
 
     public static String formatDisplayDate(long millis) {
-        Calendar cal = Calendar.getInstance();
-        cal.setTimeInMillis(millis);
-        return formatDisplayDate(cal);
+        return formatDisplayDate(LocalDay.fromMillis(millis));
     }
 
     public static String formatTagDate(Calendar calendar) {
-        return FORMAT_TAG_DATE.format(calendar.getTime());
+        char[] out = new char[10];
+        writeTagDate(out, calendar.get(Calendar.YEAR),
+                calendar.get(Calendar.MONTH) + 1, calendar.get(Calendar.DAY_OF_MONTH));
+        return new String(out);
+    }
+
+    public static String formatTagDate(LocalDay day) {
+        char[] out = new char[10];
+        writeTagDate(out, day.getYear(), day.getMonth(), day.getDayOfMonth());
+        return new String(out);
     }
 
     public static String formatTagDate(long millis) {
-        Calendar cal = Calendar.getInstance();
-        cal.setTimeInMillis(millis);
-        return formatTagDate(cal);
+        return formatTagDate(LocalDay.fromMillis(millis));
     }
 
     public static String formatTimeRange(long startMillis, long endMillis) {
-        Calendar start = Calendar.getInstance();
-        Calendar end = Calendar.getInstance();
-        start.setTimeInMillis(startMillis);
-        end.setTimeInMillis(endMillis);
+        char[] out = new char[TIME_RANGE_LENGTH];
+        return new String(out, 0, formatTimeRange(startMillis, endMillis, out));
+    }
 
-        return String.format(
-                Locale.getDefault(),
-                "%02d:%02d - %02d:%02d",
-                start.get(Calendar.HOUR_OF_DAY),
-                start.get(Calendar.MINUTE),
-                end.get(Calendar.HOUR_OF_DAY),
-                end.get(Calendar.MINUTE)
-        );
+    /**
+     * Writes "HH:mm - HH:mm" at the start of {@code out}.
+     *
+     * @param out at least {@link #TIME_RANGE_LENGTH} chars
+     * @return number of chars written
+     */
+    public static int formatTimeRange(long startMillis, long endMillis, char[] out) {
+        writeMinuteOfDay(out, 0, minuteOfDay(startMillis));
+        out[5] = ' ';
+        out[6] = '-';
+        out[7] = ' ';
+        writeMinuteOfDay(out, 8, minuteOfDay(endMillis));
+        return TIME_RANGE_LENGTH;
     }
 
-    public static String formatTime(int hour, int minute) {
-        return String.format(Locale.getDefault(), "%02d:%02d", hour, minute);
+    public static String formatDayMonth(Calendar calendar) {
+        return formatDayMonth(calendar.get(Calendar.DAY_OF_MONTH), calendar.get(Calendar.MONTH) + 1);
     }
 
-    public static String formatTime(long millis) {
-        Calendar cal = Calendar.getInstance();
-        cal.setTimeInMillis(millis);
-        return formatTime(
-                cal.get(Calendar.HOUR_OF_DAY),
-                cal.get(Calendar.MINUTE)
-        );
-    }
-
-    public static Calendar parseTagDate(String dateTag) throws Exception {
-        String[] parts = dateTag.split("-");
-        if (parts.length != 3) {
-            throw new IllegalArgumentException("Invalid date format");
-        }
+    public static String formatDayMonth(LocalDay day) {
+        return formatDayMonth(day.getDayOfMonth(), day.getMonth());
+    }
 
-        int year = Integer.parseInt(parts[0]);
-        int month = Integer.parseInt(parts[1]) - 1; // Calendar month starts from 0
-        int day = Integer.parseInt(parts[2]);
+    private static String formatDayMonth(int dayOfMonth, int month) {
+        char[] out = new char[5];
+        writeTwoDigits(out, 0, dayOfMonth);
+        out[2] = '/';
+        writeTwoDigits(out, 3, month);
+        return new String(out);
+    }
+
+    public static String formatTime(int hour, int minute) {
+        char[] out = new char[TIME_LENGTH];
+        writeTwoDigits(out, 0, hour);
+        out[2] = ':';
+        writeTwoDigits(out, 3, minute);
+        return new String(out);
+    }
 
-        Calendar cal = Calendar.getInstance();
-        cal.set(year, month, day);
-        return cal;
+    public static String formatTime(long millis) {
+        char[] out = new char[TIME_LENGTH];
+        return new String(out, 0, formatTime(millis, out));
     }
 
-    public static Calendar createDateTime(String dateTag, int hour, int minute)
-            throws Exception {
-        Calendar cal = parseTagDate(dateTag);
-        cal.set(Calendar.HOUR_OF_DAY, hour);
-        cal.set(Calendar.MINUTE, minute);
-        cal.set(Calendar.SECOND, 0);
-        cal.set(Calendar.MILLISECOND, 0);
-        return cal;
+    /**
+     * Writes "HH:mm" at the start of {@code out}.
+     *
+     * @param out at least {@link #TIME_LENGTH} chars
+     * @return number of chars written
+     */
+    public static int formatTime(long millis, char[] out) {
+        writeMinuteOfDay(out, 0, minuteOfDay(millis));
+        return TIME_LENGTH;
     }
 
     public static String getDayName(int dayOfWeek) {
@@ -100,19 +172,64 @@ public class DateTimeHelper {
     }
 
     public static boolean isMorning(long millis) {
-        Calendar cal = Calendar.getInstance();
-        cal.setTimeInMillis(millis);
-        return cal.get(Calendar.HOUR_OF_DAY) < 12;
+        return minuteOfDay(millis) < NOON_MINUTE;
     }
 
+    /**
+     * @return the Monday of the week containing {@code date}, whatever the locale's first
+     * day of week is
+     */
     public static Calendar getWeekStart(Calendar date) {
         Calendar weekStart = (Calendar) date.clone();
-        weekStart.set(Calendar.DAY_OF_WEEK, Calendar.MONDAY);
+        // DAY_OF_WEEK: CN = 1, T2 = 2 ... T7 = 7
+        int daysSinceMonday = (date.get(Calendar.DAY_OF_WEEK) + 5) % 7;
+        weekStart.add(Calendar.DAY_OF_MONTH, -daysSinceMonday);
         return weekStart;
     }
 
+    public static Calendar startOfDay(Calendar date) {
+        Calendar start = (Calendar) date.clone();
+        start.set(Calendar.HOUR_OF_DAY, 0);
+        start.set(Calendar.MINUTE, 0);
+        start.set(Calendar.SECOND, 0);
+        start.set(Calendar.MILLISECOND, 0);
+        return start;
+    }
+
     public static String formatWeekHeader(Calendar date) {
         return getDayName(date.get(Calendar.DAY_OF_WEEK)) +
                 "\n" + formatDisplayDate(date);
     }
-}
\ No newline at end of file
+
+    private static void writeDisplayDate(char[] out, int year, int month, int day) {
+        writeTwoDigits(out, 0, day);
+        out[2] = '/';
+        writeTwoDigits(out, 3, month);
+        out[5] = '/';
+        writeFourDigits(out, 6, year);
+    }
+
+    private static void writeTagDate(char[] out, int year, int month, int day) {
+        writeFourDigits(out, 0, year);
+        out[4] = '-';
+        writeTwoDigits(out, 5, month);
+        out[7] = '-';
+        writeTwoDigits(out, 8, day);
+    }
+
+    private static void writeMinuteOfDay(char[] out, int offset, int minuteOfDay) {
+        writeTwoDigits(out, offset, minuteOfDay / 60);
+        out[offset + 2] = ':';
+        writeTwoDigits(out, offset + 3, minuteOfDay % 60);
+    }
+
+    private static void writeTwoDigits(char[] out, int offset, int value) {
+        out[offset] = (char) ('0' + value / 10 % 10);
+        out[offset + 1] = (char) ('0' + value % 10);
+    }
+
+    private static void writeFourDigits(char[] out, int offset, int value) {
+        writeTwoDigits(out, offset, value / 100);
+        writeTwoDigits(out, offset + 2, value % 100);
+    }
+}
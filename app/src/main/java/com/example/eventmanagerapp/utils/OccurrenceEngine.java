@@ -0,0 +1,263 @@
+package com.example.eventmanagerapp.utils;
+
+import android.content.Context;
+import android.util.LruCache;
+
+import com.example.eventmanagerapp.data.repository.EventRepository;
+import com.example.eventmanagerapp.domain.model.Event;
+import com.example.eventmanagerapp.domain.model.Recurrence;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Expands repeating events into the occurrences that start inside a time window.
+ *
+ * A series is stored once (its first occurrence plus a {@link Recurrence}); occurrences
+ * are generated on demand for the window being shown, minus the ones the user deleted.
+ * Each occurrence is a copy of the series with its own start and end time and the
+ * series' id. Expanded windows are kept in an LRU and dropped as soon as
+ * {@link EventRepository#getDataVersion()} moves on.
+ */
+public class OccurrenceEngine {
+
+    // Tổng số lần lặp nằm trong các window đang cache
+    static final int MAX_CACHED_OCCURRENCES = 5000;
+
+    /** Agenda order: start time, then id. */
+    public static final Comparator<Event> BY_START_AND_ID = (a, b) -> {
+        int byStart = Long.compare(a.getStartTime(), b.getStartTime());
+        return byStart != 0 ? byStart : Integer.compare(a.getId(), b.getId());
+    };
+
+    private static OccurrenceEngine instance;
+
+    private final EventRepository repository;
+    private final LruCache<WindowKey, Expanded> windows =
+            new LruCache<WindowKey, Expanded>(MAX_CACHED_OCCURRENCES) {
+                @Override
+                protected int sizeOf(WindowKey key, Expanded value) {
+                    return value.occurrences.size() + 1;
+                }
+            };
+
+    OccurrenceEngine(EventRepository repository) {
+        this.repository = repository;
+    }
+
+    public static synchronized OccurrenceEngine getInstance(Context context) {
+        if (instance == null) {
+            instance = new OccurrenceEngine(EventRepository.getInstance(context));
+        }
+        return instance;
+    }
+
+    /**
+     * Occurrences of the user's repeating events starting in [fromMillis, toMillis),
+     * ordered by start time.
+     */
+    public List<Event> getOccurrences(int userId, long fromMillis, long toMillis) {
+        WindowKey key = new WindowKey(userId, fromMillis, toMillis);
+        long version = repository.getDataVersion();
+
+        Expanded cached = windows.get(key);
+        if (cached != null && cached.version == version) {
+            return copyOf(cached.occurrences);
+        }
+
+        List<Event> occurrences = new ArrayList<>();
+        for (Event series : repository.getSeriesInRange(userId, fromMillis, toMillis)) {
+            Set<Long> skipped = repository.getSkippedOccurrences(series.getId(), fromMillis, toMillis);
+            occurrences.addAll(expand(series, skipped, fromMillis, toMillis));
+        }
+        Collections.sort(occurrences, (a, b) -> Long.compare(a.getStartTime(), b.getStartTime()));
+
+        // Có ghi trong lúc đọc thì không cache, lần sau đọc lại
+        if (repository.getDataVersion() == version) {
+            windows.put(key, new Expanded(version, copyOf(occurrences)));
+        }
+        return occurrences;
+    }
+
+    /**
+     * The first {@code limit} occurrences, in {@link #BY_START_AND_ID} order, that come
+     * strictly after the key ({@code afterStart}, {@code afterId}) and start before
+     * {@code toMillis}. Each series is enumerated for at most {@code limit} occurrences,
+     * so an open-ended series costs the same as a short one. Not cached: the key moves
+     * on with every agenda page.
+     */
+    public List<Event> getOccurrencesAfter(int userId, long afterStart, int afterId,
+                                           long toMillis, int limit) {
+        List<Event> occurrences = new ArrayList<>();
+        for (Event series : repository.getSeriesInRange(userId, afterStart, toMillis)) {
+            Set<Long> skipped = repository.getSkippedOccurrences(series.getId(), afterStart, toMillis);
+            Recurrence recurrence = series.getRecurrence();
+            long seriesStart = series.getStartTime();
+            int found = 0;
+            for (int i = recurrence.firstIndexFrom(seriesStart, afterStart);
+                 found < limit && recurrence.hasOccurrence(seriesStart, i); i++) {
+                long start = recurrence.occurrenceStart(seriesStart, i);
+                if (start >= toMillis) {
+                    break;
+                }
+                if (skipped.contains(start) || (start == afterStart && series.getId() <= afterId)) {
+                    continue;
+                }
+                occurrences.add(occurrence(series, start));
+                found++;
+            }
+        }
+        Collections.sort(occurrences, BY_START_AND_ID);
+        return occurrences.size() > limit ? new ArrayList<>(occurrences.subList(0, limit)) : occurrences;
+    }
+
+    /**
+     * The last {@code limit} occurrences, in ascending {@link #BY_START_AND_ID} order, that
+     * come strictly before the key ({@code beforeStart}, {@code beforeId}) and start at or
+     * after {@code fromMillis}.
+     */
+    public List<Event> getOccurrencesBefore(int userId, long beforeStart, int beforeId,
+                                            long fromMillis, int limit) {
+        List<Event> occurrences = new ArrayList<>();
+        for (Event series : repository.getSeriesInRange(userId, fromMillis, beforeStart + 1)) {
+            Set<Long> skipped = repository.getSkippedOccurrences(series.getId(), fromMillis, beforeStart + 1);
+            Recurrence recurrence = series.getRecurrence();
+            long seriesStart = series.getStartTime();
+            // Mọi lần lặp có index nhỏ hơn đều bắt đầu trước key và trước ngày kết thúc
+            long end = Math.min(beforeStart + 1, recurrence.getUntilMillis());
+            int found = 0;
+            for (int i = recurrence.firstIndexFrom(seriesStart, end) - 1; found < limit && i >= 0; i--) {
+                long start = recurrence.occurrenceStart(seriesStart, i);
+                if (start < fromMillis) {
+                    break;
+                }
+                if (skipped.contains(start) || (start == beforeStart && series.getId() >= beforeId)) {
+                    continue;
+                }
+                occurrences.add(occurrence(series, start));
+                found++;
+            }
+        }
+        Collections.sort(occurrences, BY_START_AND_ID);
+        return occurrences.size() > limit
+                ? new ArrayList<>(occurrences.subList(occurrences.size() - limit, occurrences.size()))
+                : occurrences;
+    }
+
+    /**
+     * @param skipped original start times of deleted occurrences after {@code afterMillis}
+     * @return the first occurrence starting after {@code afterMillis}, or null if the series
+     * has no occurrence left
+     */
+    public static Event nextOccurrence(Event series, Set<Long> skipped, long afterMillis) {
+        Recurrence recurrence = series.getRecurrence();
+        long seriesStart = series.getStartTime();
+        for (int i = recurrence.firstIndexFrom(seriesStart, afterMillis + 1);
+             recurrence.hasOccurrence(seriesStart, i); i++) {
+            long start = recurrence.occurrenceStart(seriesStart, i);
+            if (!skipped.contains(start)) {
+                return occurrence(series, start);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param skipped original start times of deleted occurrences
+     * @return occurrences of {@code series} starting in [fromMillis, toMillis)
+     */
+    public static List<Event> expand(Event series, Set<Long> skipped, long fromMillis, long toMillis) {
+        List<Event> occurrences = new ArrayList<>();
+        Recurrence recurrence = series.getRecurrence();
+        long seriesStart = series.getStartTime();
+
+        for (int i = recurrence.firstIndexFrom(seriesStart, fromMillis);
+             recurrence.hasOccurrence(seriesStart, i); i++) {
+            long start = recurrence.occurrenceStart(seriesStart, i);
+            if (start >= toMillis) {
+                break;
+            }
+            if (skipped.contains(start)) {
+                continue;
+            }
+            occurrences.add(occurrence(series, start));
+        }
+        return occurrences;
+    }
+
+    /**
+     * @param skipped original start times of deleted occurrences after {@code afterMillis}
+     * @return trigger time of the first reminder after {@code afterMillis}, or -1 if the
+     * series has no occurrence left
+     */
+    public static long nextReminderTime(Event series, Set<Long> skipped, long afterMillis) {
+        Recurrence recurrence = series.getRecurrence();
+        long seriesStart = series.getStartTime();
+        long remindMillis = series.getRemindBefore() * 60 * 1000L;
+
+        for (int i = recurrence.firstIndexFrom(seriesStart, afterMillis + remindMillis + 1);
+             recurrence.hasOccurrence(seriesStart, i); i++) {
+            long start = recurrence.occurrenceStart(seriesStart, i);
+            if (!skipped.contains(start)) {
+                return start - remindMillis;
+            }
+        }
+        return -1;
+    }
+
+    private static Event occurrence(Event series, long start) {
+        Event occurrence = new Event(series);
+        occurrence.setStartTime(start);
+        occurrence.setEndTime(start + series.getEndTime() - series.getStartTime());
+        return occurrence;
+    }
+
+    private static List<Event> copyOf(List<Event> source) {
+        List<Event> copy = new ArrayList<>(source.size());
+        for (int i = 0, n = source.size(); i < n; i++) {
+            copy.add(new Event(source.get(i)));
+        }
+        return copy;
+    }
+
+    private static final class Expanded {
+        final long version;
+        final List<Event> occurrences;
+
+        Expanded(long version, List<Event> occurrences) {
+            this.version = version;
+            this.occurrences = occurrences;
+        }
+    }
+
+    private static final class WindowKey {
+        final int userId;
+        final long fromMillis;
+        final long toMillis;
+
+        WindowKey(int userId, long fromMillis, long toMillis) {
+            this.userId = userId;
+            this.fromMillis = fromMillis;
+            this.toMillis = toMillis;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof WindowKey)) return false;
+            WindowKey other = (WindowKey) o;
+            return userId == other.userId && fromMillis == other.fromMillis
+                    && toMillis == other.toMillis;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = userId;
+            result = 31 * result + Long.hashCode(fromMillis);
+            result = 31 * result + Long.hashCode(toMillis);
+            return result;
+        }
+    }
+}
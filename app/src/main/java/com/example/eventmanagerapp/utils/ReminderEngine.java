@@ -0,0 +1,262 @@
+package com.example.eventmanagerapp.utils;
+
+import android.content.Context;
+
+import com.example.eventmanagerapp.data.repository.EventRepository;
+import com.example.eventmanagerapp.domain.model.Event;
+import com.example.eventmanagerapp.domain.model.Recurrence;
+import com.example.eventmanagerapp.domain.model.Reminder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps every pending reminder in a min-heap ordered by trigger time and arms only the
+ * earliest one with AlarmManager, instead of one exact alarm per event.
+ *
+ * Trigger times are persisted in the events table (reminder_at / reminder_fired), so the
+ * heap is rebuilt from the database on first use after the process starts. Rescheduling
+ * or cancelling an event replaces its entry in {@link #pending}; the old heap entry is
+ * left in place and skipped when it reaches the top.
+ *
+ * A repeating event has a single entry, for its next occurrence; once it fires (or was
+ * missed) the entry moves on to the occurrence after that.
+ *
+ * Only a look-ahead window is held in memory: the reminders due within
+ * {@link #LOOKAHEAD} and at most {@link #LOAD_LIMIT} of them, read through the partial
+ * index on reminder_at. Everything up to {@link #loadedUntil} is in the heap; later
+ * reminders stay in the database until the window has drained and is loaded again.
+ */
+public class ReminderEngine {
+
+    // Nhắc nhở bị lỡ (máy tắt, đổi giờ) quá lâu thì bỏ qua thay vì báo dồn
+    static final long MISSED_REMINDER_GRACE = 60 * 60 * 1000L;
+
+    static final long LOOKAHEAD = 7 * 24 * 60 * 60 * 1000L;
+    static final int LOAD_LIMIT = 512;
+
+    private static ReminderEngine instance;
+
+    private final Context context;
+    private final EventRepository repository;
+    private final AlarmScheduler alarmScheduler;
+
+    private final PriorityQueue<Reminder> heap = new PriorityQueue<>(11, (a, b) -> {
+        int byTime = Long.compare(a.getTriggerAt(), b.getTriggerAt());
+        return byTime != 0 ? byTime : Integer.compare(a.getEventId(), b.getEventId());
+    });
+    // eventId -> entry hiện hành; entry trong heap không khớp là entry đã cũ
+    private final Map<Integer, Reminder> pending = new HashMap<>();
+
+    private boolean loaded;
+    // Mọi nhắc nhở có giờ <= loadedUntil đều nằm trong heap
+    private long loadedUntil;
+    private long armedAt = -1;
+
+    ReminderEngine(Context context, EventRepository repository, AlarmScheduler alarmScheduler) {
+        this.context = context;
+        this.repository = repository;
+        this.alarmScheduler = alarmScheduler;
+    }
+
+    public static synchronized ReminderEngine getInstance(Context context) {
+        Context appContext = context.getApplicationContext();
+        if (instance == null || instance.context != appContext) {
+            instance = new ReminderEngine(
+                    appContext,
+                    EventRepository.getInstance(appContext),
+                    new AlarmScheduler(appContext)
+            );
+        }
+        return instance;
+    }
+
+    /**
+     * Adds or moves the reminder of an event and re-arms the alarm if it became the
+     * earliest one.
+     *
+     * @return false if the alarm could not be armed (exact alarm permission missing)
+     */
+    public synchronized boolean schedule(int eventId, String title, long triggerAtMillis) {
+        ensureLoaded();
+        track(new Reminder(eventId, title, triggerAtMillis));
+        return armEarliest();
+    }
+
+    public synchronized void cancel(int eventId) {
+        ensureLoaded();
+        if (pending.remove(eventId) != null) {
+            armEarliest();
+        }
+    }
+
+    /**
+     * Removes every reminder that is due at {@code nowMillis}, marks them as delivered
+     * in the database and arms the alarm for the next one.
+     *
+     * @return the reminders to show, earliest first
+     */
+    public synchronized List<Reminder> takeDue(long nowMillis) {
+        ensureLoaded();
+        List<Reminder> due = new ArrayList<>();
+        Reminder head;
+        while ((head = peekEarliest()) != null && head.getTriggerAt() <= nowMillis) {
+            heap.poll();
+            pending.remove(head.getEventId());
+            due.add(head);
+        }
+
+        if (!due.isEmpty()) {
+            repository.markRemindersFired(due);
+            for (Reminder reminder : due) {
+                advanceSeries(reminder.getEventId(), nowMillis);
+            }
+        }
+        // Alarm vừa nổ không còn hiệu lực
+        armedAt = -1;
+        armEarliest();
+        return due;
+    }
+
+    /**
+     * Drops the in-memory heap and rebuilds it from the database, e.g. after a reboot
+     * cleared the armed alarm. Reminders missed by more than
+     * {@link #MISSED_REMINDER_GRACE} are expired; more recent ones fire right away.
+     */
+    public synchronized boolean reload() {
+        long now = System.currentTimeMillis();
+        repository.expireRemindersBefore(now - MISSED_REMINDER_GRACE);
+        loaded = false;
+        armedAt = -1;
+        ensureLoaded();
+
+        // Chỉ còn chuỗi lặp lại bị lỡ quá lâu: bỏ qua các lần đã lỡ
+        for (Reminder reminder : new ArrayList<>(pending.values())) {
+            if (reminder.getTriggerAt() < now - MISSED_REMINDER_GRACE) {
+                advanceSeries(reminder.getEventId(), now);
+            }
+        }
+        return armEarliest();
+    }
+
+    /**
+     * Points the reminder of a repeating event at its first occurrence reminding after
+     * {@code afterMillis}, in the database and in the heap. Does nothing for single events.
+     */
+    private void advanceSeries(int eventId, long afterMillis) {
+        Event series = repository.getEventById(eventId);
+        if (series == null || !series.isRecurring()) {
+            return;
+        }
+        long next = OccurrenceEngine.nextReminderTime(series,
+                repository.getSkippedOccurrences(eventId, afterMillis, Recurrence.FOREVER), afterMillis);
+        repository.setReminder(eventId, next);
+        if (next < 0) {
+            pending.remove(eventId);
+            return;
+        }
+        track(new Reminder(eventId, series.getTitle(), next));
+    }
+
+    synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    synchronized long getArmedAt() {
+        return armedAt;
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            loadWindow(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Replaces the heap with the earliest pending reminders: those due before
+     * {@code now + LOOKAHEAD}, or if there are none, the window starting at the next
+     * reminder in the database.
+     */
+    private void loadWindow(long now) {
+        long horizon = now + LOOKAHEAD;
+        List<Reminder> window = repository.getDueReminders(0, horizon, LOAD_LIMIT);
+        if (window.isEmpty()) {
+            List<Reminder> next = repository.getDueReminders(horizon, Long.MAX_VALUE, 1);
+            horizon = next.isEmpty() ? Long.MAX_VALUE : next.get(0).getTriggerAt() + LOOKAHEAD;
+            if (!next.isEmpty()) {
+                window = repository.getDueReminders(0, horizon, LOAD_LIMIT);
+            }
+        }
+
+        heap.clear();
+        pending.clear();
+        // Bị cắt bởi LOAD_LIMIT: cửa sổ chỉ chắc chắn đầy đủ tới nhắc nhở cuối cùng đã đọc
+        loadedUntil = window.size() == LOAD_LIMIT
+                ? window.get(window.size() - 1).getTriggerAt()
+                : horizon;
+        for (Reminder reminder : window) {
+            pending.put(reminder.getEventId(), reminder);
+        }
+        heap.addAll(pending.values());
+        loaded = true;
+    }
+
+    /**
+     * Makes {@code reminder} the entry of its event if it falls inside the loaded window;
+     * a later one is only dropped from memory and picked up by a later load.
+     */
+    private void track(Reminder reminder) {
+        if (reminder.getTriggerAt() > loadedUntil) {
+            pending.remove(reminder.getEventId());
+            return;
+        }
+        pending.put(reminder.getEventId(), reminder);
+        heap.add(reminder);
+    }
+
+    /**
+     * Returns the earliest live reminder, discarding stale heap entries on the way.
+     */
+    private Reminder peekEarliest() {
+        Reminder head;
+        while ((head = heap.peek()) != null && pending.get(head.getEventId()) != head) {
+            heap.poll();
+        }
+        return head;
+    }
+
+    private boolean armEarliest() {
+        compactIfNeeded();
+        Reminder head = peekEarliest();
+        if (head == null && loadedUntil != Long.MAX_VALUE) {
+            // Cửa sổ đã cạn: đọc cửa sổ kế tiếp từ database
+            loadWindow(System.currentTimeMillis());
+            head = peekEarliest();
+        }
+        if (head == null) {
+            if (armedAt != -1) {
+                alarmScheduler.cancelReminderAlarm();
+                armedAt = -1;
+            }
+            return true;
+        }
+
+        if (head.getTriggerAt() == armedAt) {
+            return true;
+        }
+        boolean armed = alarmScheduler.armReminderAlarm(head.getTriggerAt());
+        armedAt = armed ? head.getTriggerAt() : -1;
+        return armed;
+    }
+
+    private void compactIfNeeded() {
+        // Quá nhiều entry cũ (do sửa/xoá liên tục) thì dựng lại heap
+        if (heap.size() > 2 * pending.size() + 16) {
+            heap.clear();
+            heap.addAll(pending.values());
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.eventmanagerapp.utils;
 
+import com.example.eventmanagerapp.domain.model.LocalDay;
+
 public class Validator {
 
     public static String validateTitle(String title) {
@@ -51,34 +53,14 @@ public class Validator {
         return null;
     }
 
-    public static String validateDateFormat(String date) {
-        if (date == null || date.isEmpty()) {
+    public static String validateDay(LocalDay day) {
+        if (day == null) {
             return "Thiếu ngày";
         }
-
-        String[] parts = date.split("-");
-        if (parts.length != 3) {
-            return "Ngày không hợp lệ";
-        }
-
-        try {
-            int year = Integer.parseInt(parts[0]);
-            int month = Integer.parseInt(parts[1]);
-            int day = Integer.parseInt(parts[2]);
-
-            if (year < 2020 || year > 2100) {
-                return "Năm không hợp lệ";
-            }
-            if (month < 1 || month > 12) {
-                return "Tháng không hợp lệ";
-            }
-            if (day < 1 || day > 31) {
-                return "Ngày không hợp lệ";
-            }
-        } catch (NumberFormatException e) {
-            return "Ngày không hợp lệ";
+        int year = day.getYear();
+        if (year < 2020 || year > 2100) {
+            return "Năm không hợp lệ";
         }
-
         return null;
     }
 }
\ No newline at end of file
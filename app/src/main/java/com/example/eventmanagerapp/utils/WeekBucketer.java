@@ -0,0 +1,82 @@
+package com.example.eventmanagerapp.utils;
+
+import com.example.eventmanagerapp.domain.model.Event;
+import com.example.eventmanagerapp.domain.model.LocalDay;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Assigns a week's events to the 14 cells (7 days x morning/afternoon) of the week grid
+ * in a single pass. Each start time is shifted to local time and split into an epoch day
+ * and a minute of day with integer arithmetic, so no strings or Calendars are created per
+ * event. Cells keep the input order, so events sorted by start time stay sorted.
+ */
+public class WeekBucketer {
+
+    public static final int DAYS = 7;
+    public static final int CELL_COUNT = DAYS * 2;
+
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+    private static final long MILLIS_PER_MINUTE = 60 * 1000L;
+    private static final int NOON_MINUTE = 12 * 60;
+
+    private final TimeZone timeZone;
+    private final long weekEpochDay;
+
+    /**
+     * @param weekStartMillis any instant on the first day (Monday) of the week
+     */
+    public WeekBucketer(long weekStartMillis, TimeZone timeZone) {
+        this.timeZone = timeZone;
+        this.weekEpochDay = Math.floorDiv(toLocalMillis(weekStartMillis), MILLIS_PER_DAY);
+    }
+
+    public WeekBucketer(LocalDay weekStart, TimeZone timeZone) {
+        this.timeZone = timeZone;
+        this.weekEpochDay = weekStart.getEpochDay();
+    }
+
+    public static int cellIndex(int dayIndex, boolean morning) {
+        return dayIndex * 2 + (morning ? 0 : 1);
+    }
+
+    /**
+     * @return CELL_COUNT lists indexed by {@link #cellIndex(int, boolean)};
+     * events outside the week are skipped
+     */
+    public List<List<Event>> bucket(List<Event> events) {
+        List<List<Event>> cells = new ArrayList<>(CELL_COUNT);
+        for (int i = 0; i < CELL_COUNT; i++) {
+            cells.add(new ArrayList<>());
+        }
+
+        for (int i = 0, n = events.size(); i < n; i++) {
+            Event event = events.get(i);
+            int cell = cellOf(event.getStartTime());
+            if (cell >= 0) {
+                cells.get(cell).add(event);
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * @return the cell index for the given start time, or -1 if it is outside the week
+     */
+    public int cellOf(long startMillis) {
+        long local = toLocalMillis(startMillis);
+        long dayIndex = Math.floorDiv(local, MILLIS_PER_DAY) - weekEpochDay;
+        if (dayIndex < 0 || dayIndex >= DAYS) {
+            return -1;
+        }
+
+        int minuteOfDay = (int) (Math.floorMod(local, MILLIS_PER_DAY) / MILLIS_PER_MINUTE);
+        return cellIndex((int) dayIndex, minuteOfDay < NOON_MINUTE);
+    }
+
+    private long toLocalMillis(long utcMillis) {
+        return utcMillis + timeZone.getOffset(utcMillis);
+    }
+}
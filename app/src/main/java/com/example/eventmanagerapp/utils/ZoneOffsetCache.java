@@ -0,0 +1,65 @@
+package com.example.eventmanagerapp.utils;
+
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * UTC offsets of one time zone, cached per UTC day in a small direct-mapped table, so
+ * converting an instant to local time is usually an array read instead of a
+ * {@link TimeZone#getOffset(long)} lookup.
+ *
+ * A day whose offset is the same at its first and last millisecond is cached with that
+ * offset; a day with a DST transition is marked as such and every instant on it is looked
+ * up in the zone. This relies on a zone never changing its offset twice within one day.
+ *
+ * Thread-safe: each slot packs the day and its offset into a single long, so a reader
+ * sees either a complete entry or a miss, never half of one.
+ */
+final class ZoneOffsetCache {
+
+    static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
+    // 1024 ngày ~ 2,8 năm quanh các sự kiện đang xem
+    private static final int SIZE = 1024;
+    private static final int TRANSITION = Integer.MIN_VALUE;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final TimeZone timeZone;
+    private final AtomicLongArray slots = new AtomicLongArray(SIZE);
+
+    ZoneOffsetCache(TimeZone timeZone) {
+        this.timeZone = (TimeZone) timeZone.clone();
+        for (int i = 0; i < SIZE; i++) {
+            slots.set(i, EMPTY);
+        }
+    }
+
+    TimeZone getTimeZone() {
+        return timeZone;
+    }
+
+    int getOffset(long utcMillis) {
+        long day = Math.floorDiv(utcMillis, MILLIS_PER_DAY);
+        int index = (int) day & (SIZE - 1);
+
+        long slot = slots.get(index);
+        int offset;
+        if (slot != EMPTY && (int) (slot >> 32) == (int) day) {
+            offset = (int) slot;
+        } else {
+            offset = loadDay(day);
+            slots.set(index, (day << 32) | (offset & 0xFFFFFFFFL));
+        }
+        return offset == TRANSITION ? timeZone.getOffset(utcMillis) : offset;
+    }
+
+    long toLocalMillis(long utcMillis) {
+        return utcMillis + getOffset(utcMillis);
+    }
+
+    private int loadDay(long day) {
+        long start = day * MILLIS_PER_DAY;
+        int offset = timeZone.getOffset(start);
+        return offset == timeZone.getOffset(start + MILLIS_PER_DAY - 1) ? offset : TRANSITION;
+    }
+}
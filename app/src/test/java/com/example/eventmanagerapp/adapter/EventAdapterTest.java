@@ -0,0 +1,105 @@
+package com.example.eventmanagerapp.adapter;
+
+import com.example.eventmanagerapp.domain.model.Event;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for EventAdapter
+ */
+@RunWith(RobolectricTestRunner.class)
+public class EventAdapterTest {
+
+    private static final long HOUR = 3600000L;
+
+    private static Event event(int id, String title, long startTime) {
+        return new Event(id, 100, title, null, startTime, startTime + HOUR, 15);
+    }
+
+    @Test
+    public void testDiffCallback_SameItemByIdAndStart() {
+        Event before = event(1, "Meeting", 0);
+
+        assertTrue(EventAdapter.DIFF_CALLBACK.areItemsTheSame(before, event(1, "Renamed", 0)));
+        assertFalse(EventAdapter.DIFF_CALLBACK.areItemsTheSame(before, event(2, "Meeting", 0)));
+        // Another occurrence of the same series is another row
+        assertFalse(EventAdapter.DIFF_CALLBACK.areItemsTheSame(before, event(1, "Meeting", 7 * 24 * HOUR)));
+    }
+
+    @Test
+    public void testDiffCallback_ContentsFollowDisplayedFields() {
+        Event before = event(1, "Meeting", 0);
+
+        Event noteOnly = new Event(before);
+        noteOnly.setNote("Bring slides");
+        assertTrue(EventAdapter.DIFF_CALLBACK.areContentsTheSame(before, noteOnly));
+
+        Event renamed = new Event(before);
+        renamed.setTitle("Standup");
+        assertFalse(EventAdapter.DIFF_CALLBACK.areContentsTheSame(before, renamed));
+
+        Event longer = new Event(before);
+        longer.setEndTime(before.getEndTime() + HOUR);
+        assertFalse(EventAdapter.DIFF_CALLBACK.areContentsTheSame(before, longer));
+    }
+
+    @Test
+    public void testDiffCallback_NullTitles() {
+        assertTrue(EventAdapter.DIFF_CALLBACK.areContentsTheSame(event(1, null, 0), event(1, null, 0)));
+        assertFalse(EventAdapter.DIFF_CALLBACK.areContentsTheSame(event(1, null, 0), event(1, "A", 0)));
+    }
+
+    @Test
+    public void testSetData_FirstListShownWithStableIds() {
+        EventAdapter adapter = new EventAdapter();
+        List<Event> events = new ArrayList<>();
+        events.add(event(7, "First", 0));
+        events.add(event(3, "Second", HOUR));
+
+        // The first list has nothing to diff against and is applied right away
+        adapter.setData(events);
+
+        assertTrue(adapter.hasStableIds());
+        assertEquals(2, adapter.getItemCount());
+        assertEquals(EventAdapter.stableId(events.get(0)), adapter.getItemId(0));
+        assertEquals(EventAdapter.stableId(events.get(1)), adapter.getItemId(1));
+        assertNotEquals(adapter.getItemId(0), adapter.getItemId(1));
+    }
+
+    @Test
+    public void testSetData_OccurrencesOfOneSeriesGetDistinctIds() {
+        EventAdapter adapter = new EventAdapter();
+        List<Event> page = new ArrayList<>();
+        // Two occurrences of a weekly series on the same page, both with the series' id
+        page.add(event(5, "Weekly sync", 1767600000000L));
+        page.add(event(5, "Weekly sync", 1767600000000L + 7 * 24 * HOUR));
+        page.add(event(6, "One-off", 1767600000000L + 24 * HOUR));
+
+        adapter.setData(page);
+
+        assertEquals(3, adapter.getItemCount());
+        assertNotEquals(adapter.getItemId(0), adapter.getItemId(1));
+        assertNotEquals(adapter.getItemId(0), adapter.getItemId(2));
+        assertNotEquals(adapter.getItemId(1), adapter.getItemId(2));
+        assertFalse(EventAdapter.DIFF_CALLBACK.areItemsTheSame(page.get(0), page.get(1)));
+    }
+
+    @Test
+    public void testSetData_CopiesInputList() {
+        EventAdapter adapter = new EventAdapter();
+        List<Event> events = new ArrayList<>();
+        events.add(event(1, "Only", 0));
+
+        adapter.setData(events);
+        events.clear();
+
+        assertEquals(1, adapter.getItemCount());
+    }
+}
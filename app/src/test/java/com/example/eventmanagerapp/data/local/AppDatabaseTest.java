@@ -0,0 +1,278 @@
+package com.example.eventmanagerapp.data.local;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for AppDatabase
+ */
+@RunWith(RobolectricTestRunner.class)
+public class AppDatabaseTest {
+
+    private static final String LEGACY_NAME = "legacy_test.db";
+    private static final String FRESH_NAME = "fresh_test.db";
+
+    private static final int ROWS = 100_000;
+    private static final long MINUTE = 60 * 1000L;
+    // 2020-01-01 00:00 UTC; events every 30 minutes, all in the past
+    private static final long BASE = 1577836800000L;
+    private static final long DURATION = 20 * MINUTE;
+
+    // Whole upgrade chain on 100k rows, including the FTS and day_summary rebuilds. Kept
+    // generous so a slow CI machine passes; it catches a step that turns quadratic
+    private static final long MIGRATION_BUDGET_MILLIS = 60_000;
+
+    private Context context;
+    private AppDatabase legacy;
+    private AppDatabase fresh;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        context.deleteDatabase(LEGACY_NAME);
+        context.deleteDatabase(FRESH_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        if (legacy != null) {
+            legacy.close();
+        }
+        if (fresh != null) {
+            fresh.close();
+        }
+        context.deleteDatabase(LEGACY_NAME);
+        context.deleteDatabase(FRESH_NAME);
+    }
+
+    @Test
+    public void testUpgradeFromV1() {
+        createLegacyDatabase(1);
+
+        SQLiteDatabase db = openLegacyWithinBudget();
+
+        // v1 had no users: every event goes to the default user
+        assertEquals(ROWS, count(db, "SELECT COUNT(*) FROM events WHERE user_id = 1"));
+        assertUpgraded(db);
+    }
+
+    @Test
+    public void testUpgradeFromV2() {
+        createLegacyDatabase(2);
+
+        SQLiteDatabase db = openLegacyWithinBudget();
+
+        // user_id already existed and must be kept
+        assertEquals(ROWS / 4, count(db, "SELECT COUNT(*) FROM events WHERE user_id = 3"));
+        assertUpgraded(db);
+    }
+
+    @Test
+    public void testUpgradeFromV3() {
+        createLegacyDatabase(3);
+
+        SQLiteDatabase db = openLegacyWithinBudget();
+
+        assertEquals(ROWS / 4, count(db, "SELECT COUNT(*) FROM events WHERE user_id = 3"));
+        assertUpgraded(db);
+    }
+
+    @Test
+    public void testUpgradedSchemaMatchesFreshSchema() {
+        createLegacyDatabase(1);
+        legacy = new AppDatabase(context, LEGACY_NAME);
+        fresh = new AppDatabase(context, FRESH_NAME);
+
+        SQLiteDatabase upgraded = legacy.getWritableDatabase();
+        SQLiteDatabase created = fresh.getWritableDatabase();
+
+        assertEquals(schemaObjects(created), schemaObjects(upgraded));
+        assertEquals(columns(created, "events"), columns(upgraded, "events"));
+        assertEquals(columns(created, "users"), columns(upgraded, "users"));
+        assertEquals(columns(created, "day_summary"), columns(upgraded, "day_summary"));
+    }
+
+    @Test
+    public void testMigrationsAreOrdered() {
+        fresh = new AppDatabase(context, FRESH_NAME);
+        int version = fresh.getWritableDatabase().getVersion();
+
+        for (int i = 1; i < AppDatabase.MIGRATIONS.length; i++) {
+            assertTrue(AppDatabase.MIGRATIONS[i - 1].version < AppDatabase.MIGRATIONS[i].version);
+        }
+        assertEquals(version, AppDatabase.MIGRATIONS[AppDatabase.MIGRATIONS.length - 1].version);
+    }
+
+    @Test
+    public void testRewritingSameValuesFiresNoTriggers() {
+        fresh = new AppDatabase(context, FRESH_NAME);
+        SQLiteDatabase db = fresh.getWritableDatabase();
+        db.execSQL("INSERT INTO events (user_id, title, note, start_time, end_time, start_day, day_minutes)" +
+                " VALUES (1, 'Standup', 'daily', ?, ?, 18262, 20)", new Object[]{BASE, BASE + DURATION});
+
+        // Inside a transaction every statement runs on the same connection as total_changes()
+        db.beginTransaction();
+        try {
+            long before = count(db, "SELECT total_changes()");
+            db.execSQL("UPDATE events SET user_id = user_id, title = title, note = note, start_day = start_day," +
+                    " day_minutes = day_minutes, repeat_days = repeat_days, reminder_fired = 1");
+            // Only the row itself: neither day_summary nor the FTS index was touched
+            assertEquals(1, count(db, "SELECT total_changes()") - before);
+
+            before = count(db, "SELECT total_changes()");
+            db.execSQL("UPDATE events SET title = 'Retro', day_minutes = 30");
+            assertTrue(count(db, "SELECT total_changes()") - before > 1);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM events_fts WHERE events_fts MATCH 'retro'"));
+        assertEquals(0, count(db, "SELECT COUNT(*) FROM events_fts WHERE events_fts MATCH 'standup'"));
+        assertEquals(30, count(db, "SELECT busy_minutes FROM day_summary WHERE user_id = 1"));
+    }
+
+    private SQLiteDatabase openLegacyWithinBudget() {
+        legacy = new AppDatabase(context, LEGACY_NAME);
+
+        long started = System.nanoTime();
+        SQLiteDatabase db = legacy.getWritableDatabase();
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertTrue("Upgrade took " + elapsedMillis + " ms", elapsedMillis < MIGRATION_BUDGET_MILLIS);
+        return db;
+    }
+
+    private void assertUpgraded(SQLiteDatabase db) {
+        assertEquals(AppDatabase.MIGRATIONS[AppDatabase.MIGRATIONS.length - 1].version, db.getVersion());
+        assertEquals(ROWS, count(db, "SELECT COUNT(*) FROM events"));
+
+        // Every reminder of the synthetic data is in the past
+        assertEquals(0, count(db, "SELECT COUNT(*) FROM events WHERE reminder_fired = 0"));
+        assertEquals(ROWS / 10, count(db, "SELECT COUNT(*) FROM events_fts WHERE events_fts MATCH 'standup'"));
+        assertEquals(ROWS, count(db, "SELECT SUM(event_count) FROM day_summary"));
+        assertEquals(ROWS * (DURATION / MINUTE), count(db, "SELECT SUM(busy_minutes) FROM day_summary"));
+        assertEquals(0, count(db, "SELECT COUNT(*) FROM events WHERE start_day IS NULL"));
+
+        Set<String> objects = schemaObjects(db);
+        assertTrue(objects.contains("index:idx_events_user_start"));
+        assertTrue(objects.contains("index:idx_events_pending_reminder"));
+        assertTrue(objects.contains("index:idx_events_series"));
+        assertTrue(objects.contains("index:idx_events_user_duration"));
+        assertTrue(objects.contains("table:event_exceptions"));
+        assertTrue(objects.contains("trigger:day_summary_ai"));
+    }
+
+    /**
+     * Writes a database file as the given old app version left it: v1 has only the events
+     * table, v2 adds users and events.user_id, v3 is the first schema in git history.
+     */
+    private void createLegacyDatabase(int version) {
+        File file = context.getDatabasePath(LEGACY_NAME);
+        file.getParentFile().mkdirs();
+        SQLiteDatabase db = SQLiteDatabase.openOrCreateDatabase(file, null);
+        try {
+            if (version >= 2) {
+                db.execSQL("CREATE TABLE users (" +
+                        "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                        "username TEXT UNIQUE NOT NULL, " +
+                        "password TEXT NOT NULL, " +
+                        "full_name TEXT, " +
+                        "created_at INTEGER NOT NULL)");
+            }
+            db.execSQL("CREATE TABLE events (" +
+                    "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                    (version >= 2 ? "user_id INTEGER NOT NULL, " : "") +
+                    "title TEXT NOT NULL, " +
+                    "note TEXT, " +
+                    "start_time INTEGER NOT NULL, " +
+                    "end_time INTEGER NOT NULL, " +
+                    "remind_before INTEGER DEFAULT 0)");
+
+            SQLiteStatement insert = db.compileStatement(version >= 2
+                    ? "INSERT INTO events (title, note, start_time, end_time, remind_before, user_id)" +
+                    " VALUES (?, ?, ?, ?, ?, ?)"
+                    : "INSERT INTO events (title, note, start_time, end_time, remind_before)" +
+                    " VALUES (?, ?, ?, ?, ?)");
+            db.beginTransaction();
+            try {
+                for (int i = 0; i < ROWS; i++) {
+                    long start = BASE + i * 30 * MINUTE;
+                    insert.bindString(1, "Event " + i);
+                    if (i % 10 == 0) {
+                        insert.bindString(2, "daily standup");
+                    } else {
+                        insert.bindNull(2);
+                    }
+                    insert.bindLong(3, start);
+                    insert.bindLong(4, start + DURATION);
+                    insert.bindLong(5, 15);
+                    if (version >= 2) {
+                        insert.bindLong(6, 1 + i % 4);
+                    }
+                    insert.executeInsert();
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+                insert.close();
+            }
+            db.setVersion(version);
+        } finally {
+            db.close();
+        }
+    }
+
+    private static long count(SQLiteDatabase db, String sql) {
+        Cursor cursor = db.rawQuery(sql, null);
+        try {
+            assertTrue(cursor.moveToFirst());
+            return cursor.getLong(0);
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private static Set<String> schemaObjects(SQLiteDatabase db) {
+        Set<String> objects = new HashSet<>();
+        Cursor cursor = db.rawQuery(
+                "SELECT type, name FROM sqlite_master WHERE name NOT LIKE 'sqlite_%'", null);
+        try {
+            while (cursor.moveToNext()) {
+                objects.add(cursor.getString(0) + ":" + cursor.getString(1));
+            }
+        } finally {
+            cursor.close();
+        }
+        return objects;
+    }
+
+    private static Set<String> columns(SQLiteDatabase db, String table) {
+        Set<String> columns = new HashSet<>();
+        Cursor cursor = db.rawQuery("PRAGMA table_info(" + table + ")", null);
+        try {
+            int nameIndex = cursor.getColumnIndexOrThrow("name");
+            while (cursor.moveToNext()) {
+                columns.add(cursor.getString(nameIndex));
+            }
+        } finally {
+            cursor.close();
+        }
+        return columns;
+    }
+}
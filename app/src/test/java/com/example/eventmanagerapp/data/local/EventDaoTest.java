@@ -0,0 +1,971 @@
+package com.example.eventmanagerapp.data.local;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import com.example.eventmanagerapp.domain.model.DaySummary;
+import com.example.eventmanagerapp.domain.model.Event;
+import com.example.eventmanagerapp.domain.model.Recurrence;
+import com.example.eventmanagerapp.domain.model.Reminder;
+import com.example.eventmanagerapp.utils.DateTimeHelper;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for EventDao
+ */
+@RunWith(RobolectricTestRunner.class)
+public class EventDaoTest {
+
+    private static final long HOUR = 3600000L;
+    private static final long DAY = 24 * HOUR;
+
+    private EventDao eventDao;
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        eventDao = new EventDao(context);
+
+        // Clear database before each test
+        eventDao.deleteAll();
+    }
+
+    @After
+    public void tearDown() {
+        AppDatabase.getInstance(context).close();
+    }
+
+    private long insertEvent(int userId, String title, long startTime) {
+        Event event = new Event();
+        event.setUserId(userId);
+        event.setTitle(title);
+        event.setStartTime(startTime);
+        event.setEndTime(startTime + HOUR);
+        return eventDao.insert(event);
+    }
+
+    @Test
+    public void testGetEventsInRange_OnlyEventsInsideRange() {
+        long weekStart = 1767571200000L; // 2026-01-05 00:00 UTC
+        insertEvent(100, "Before", weekStart - HOUR);
+        insertEvent(100, "First", weekStart);
+        insertEvent(100, "Last", weekStart + 7 * DAY - 1);
+        insertEvent(100, "After", weekStart + 7 * DAY);
+
+        List<Event> events = eventDao.getEventsInRange(100, weekStart, weekStart + 7 * DAY);
+
+        assertEquals(2, events.size());
+        assertEquals("First", events.get(0).getTitle());
+        assertEquals("Last", events.get(1).getTitle());
+    }
+
+    @Test
+    public void testGetEventsInRange_OnlyGivenUser() {
+        long weekStart = 1767571200000L;
+        insertEvent(100, "Mine", weekStart + DAY);
+        insertEvent(200, "Other", weekStart + DAY);
+
+        List<Event> events = eventDao.getEventsInRange(100, weekStart, weekStart + 7 * DAY);
+
+        assertEquals(1, events.size());
+        assertEquals("Mine", events.get(0).getTitle());
+    }
+
+    @Test
+    public void testGetEventsInRange_SortedByStartTime() {
+        long weekStart = 1767571200000L;
+        insertEvent(100, "Third", weekStart + 3 * DAY);
+        insertEvent(100, "First", weekStart + DAY);
+        insertEvent(100, "Second", weekStart + 2 * DAY);
+
+        List<Event> events = eventDao.getEventsInRange(100, weekStart, weekStart + 7 * DAY);
+
+        assertEquals("First", events.get(0).getTitle());
+        assertEquals("Second", events.get(1).getTitle());
+        assertEquals("Third", events.get(2).getTitle());
+    }
+
+    @Test
+    public void testGetEventsInRange_UsesUserStartIndex() {
+        SQLiteDatabase db = AppDatabase.getInstance(context).getDatabase();
+
+        Cursor cursor = db.rawQuery(
+                "EXPLAIN QUERY PLAN " + EventDao.QUERY_IN_RANGE,
+                new String[]{"100", "0", "1"}
+        );
+
+        StringBuilder plan = new StringBuilder();
+        int detailIndex = cursor.getColumnIndexOrThrow("detail");
+        while (cursor.moveToNext()) {
+            plan.append(cursor.getString(detailIndex)).append('\n');
+        }
+        cursor.close();
+
+        String detail = plan.toString();
+        assertTrue(detail, detail.contains("idx_events_user_start"));
+        // The index already orders rows by start_time, so no temporary sort is needed
+        assertFalse(detail, detail.contains("TEMP B-TREE"));
+    }
+
+    private List<Event> buildEvents(int count, int userId, long firstStart) {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Event event = new Event();
+            event.setUserId(userId);
+            event.setTitle("Event " + i);
+            event.setNote(i % 2 == 0 ? null : "Note " + i);
+            event.setStartTime(firstStart + i * HOUR);
+            event.setEndTime(firstStart + i * HOUR + HOUR / 2);
+            event.setRemindBefore(15);
+            events.add(event);
+        }
+        return events;
+    }
+
+    @Test
+    public void testInsertAll_ReturnsGeneratedIds() {
+        List<Event> events = buildEvents(5000, 100, 1767571200000L);
+
+        long[] ids = eventDao.insertAll(events);
+
+        assertEquals(5000, ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            assertTrue(ids[i] > 0);
+            if (i > 0) assertTrue(ids[i] > ids[i - 1]);
+        }
+        assertEquals(5000, eventDao.getAllByUserId(100).size());
+
+        Event stored = eventDao.getById((int) ids[1]);
+        assertEquals("Event 1", stored.getTitle());
+        assertEquals("Note 1", stored.getNote());
+        assertNull(eventDao.getById((int) ids[0]).getNote());
+    }
+
+    @Test
+    public void testInsertAll_EmptyList() {
+        long[] ids = eventDao.insertAll(new ArrayList<>());
+
+        assertEquals(0, ids.length);
+    }
+
+    @Test
+    public void testInsertAll_RollsBackOnFailure() {
+        List<Event> events = buildEvents(10, 100, 1767571200000L);
+        events.get(5).setTitle(null); // title NOT NULL
+
+        try {
+            eventDao.insertAll(events);
+            fail("Expected the insert to fail");
+        } catch (RuntimeException expected) {
+            // Nothing from the batch may be committed
+        }
+
+        assertTrue(eventDao.getAllByUserId(100).isEmpty());
+    }
+
+    @Test
+    public void testUpdateAll() {
+        List<Event> events = buildEvents(100, 100, 1767571200000L);
+        long[] ids = eventDao.insertAll(events);
+        for (int i = 0; i < events.size(); i++) {
+            events.get(i).setId((int) ids[i]);
+            events.get(i).setTitle("Updated " + i);
+        }
+
+        int rows = eventDao.updateAll(events);
+
+        assertEquals(100, rows);
+        assertEquals("Updated 42", eventDao.getById((int) ids[42]).getTitle());
+    }
+
+    @Test
+    public void testDeleteByIds() {
+        long[] ids = eventDao.insertAll(buildEvents(10, 100, 1767571200000L));
+
+        int rows = eventDao.deleteByIds(new int[]{(int) ids[0], (int) ids[3], 999999});
+
+        assertEquals(2, rows);
+        assertEquals(8, eventDao.getAllByUserId(100).size());
+        assertNull(eventDao.getById((int) ids[3]));
+    }
+
+    @Test
+    public void testInsert_StoresPendingReminder() {
+        long start = System.currentTimeMillis() + DAY;
+        Event event = new Event();
+        event.setUserId(100);
+        event.setTitle("Reminder");
+        event.setStartTime(start);
+        event.setEndTime(start + HOUR);
+        event.setRemindBefore(15);
+        int id = (int) eventDao.insert(event);
+
+        List<Reminder> reminders = eventDao.getPendingReminders();
+
+        assertEquals(1, reminders.size());
+        assertEquals(id, reminders.get(0).getEventId());
+        assertEquals("Reminder", reminders.get(0).getTitle());
+        assertEquals(start - 15 * 60000L, reminders.get(0).getTriggerAt());
+    }
+
+    @Test
+    public void testMarkRemindersFired_RemovesFromPending() {
+        long start = System.currentTimeMillis() + DAY;
+        insertEvent(100, "First", start);
+        insertEvent(100, "Second", start + HOUR);
+
+        List<Reminder> reminders = eventDao.getPendingReminders();
+        List<Reminder> first = new ArrayList<>();
+        for (Reminder reminder : reminders) {
+            if (reminder.getTriggerAt() == start) {
+                first.add(reminder);
+            }
+        }
+
+        assertEquals(1, eventDao.markRemindersFired(first));
+        reminders = eventDao.getPendingReminders();
+        assertEquals(1, reminders.size());
+        assertEquals("Second", reminders.get(0).getTitle());
+    }
+
+    @Test
+    public void testMarkRemindersFired_SkipsRescheduledReminder() {
+        long start = System.currentTimeMillis() + DAY;
+        int id = (int) insertEvent(100, "Moved", start);
+        List<Reminder> stale = eventDao.getPendingReminders();
+
+        Event event = eventDao.getById(id);
+        event.setStartTime(start + HOUR);
+        event.setEndTime(start + 2 * HOUR);
+        eventDao.update(event);
+
+        assertEquals(0, eventDao.markRemindersFired(stale));
+        List<Reminder> reminders = eventDao.getPendingReminders();
+        assertEquals(1, reminders.size());
+        assertEquals(start + HOUR, reminders.get(0).getTriggerAt());
+    }
+
+    @Test
+    public void testUpdate_PastReminderNotPending() {
+        long start = System.currentTimeMillis() + DAY;
+        int id = (int) insertEvent(100, "Past", start);
+
+        Event event = eventDao.getById(id);
+        event.setStartTime(System.currentTimeMillis() - HOUR);
+        event.setEndTime(System.currentTimeMillis());
+        eventDao.update(event);
+
+        assertTrue(eventDao.getPendingReminders().isEmpty());
+    }
+
+    @Test
+    public void testUpdate_WithReminderWritesBothInOneStatement() {
+        long start = System.currentTimeMillis() - DAY;
+        int id = (int) insertEvent(100, "Series", start);
+
+        Event event = eventDao.getById(id);
+        event.setTitle("Renamed");
+        // The start is in the past, but the stored reminder points at a later occurrence
+        assertEquals(1, eventDao.update(event, start + 2 * DAY));
+
+        List<Reminder> reminders = eventDao.getPendingReminders();
+        assertEquals(1, reminders.size());
+        assertEquals(start + 2 * DAY, reminders.get(0).getTriggerAt());
+        assertEquals("Renamed", reminders.get(0).getTitle());
+
+        eventDao.update(event, -1);
+        assertTrue(eventDao.getPendingReminders().isEmpty());
+    }
+
+    @Test
+    public void testGetDueReminders_RangeOrderAndLimit() {
+        long start = System.currentTimeMillis() + DAY;
+        insertEvent(100, "Third", start + 3 * HOUR);
+        insertEvent(100, "First", start + HOUR);
+        insertEvent(200, "Second", start + 2 * HOUR);
+        insertEvent(100, "Outside", start + 10 * HOUR);
+
+        List<Reminder> due = eventDao.getDueReminders(start, start + 5 * HOUR, 2);
+
+        assertEquals(2, due.size());
+        assertEquals("First", due.get(0).getTitle());
+        assertEquals("Second", due.get(1).getTitle());
+    }
+
+    @Test
+    public void testGetDueReminders_SkipsFiredReminders() {
+        long start = System.currentTimeMillis() + DAY;
+        insertEvent(100, "Fired", start);
+        insertEvent(100, "Pending", start + HOUR);
+        eventDao.markRemindersFired(eventDao.getDueReminders(start, start + 1, 10));
+
+        List<Reminder> due = eventDao.getDueReminders(0, Long.MAX_VALUE, 10);
+
+        assertEquals(1, due.size());
+        assertEquals("Pending", due.get(0).getTitle());
+    }
+
+    @Test
+    public void testGetDueReminders_UsesPartialIndex() {
+        SQLiteDatabase db = AppDatabase.getInstance(context).getDatabase();
+
+        Cursor cursor = db.rawQuery(
+                "EXPLAIN QUERY PLAN " + EventDao.QUERY_DUE_REMINDERS,
+                new String[]{"0", "1", "10"}
+        );
+
+        StringBuilder plan = new StringBuilder();
+        int detailIndex = cursor.getColumnIndexOrThrow("detail");
+        while (cursor.moveToNext()) {
+            plan.append(cursor.getString(detailIndex)).append('\n');
+        }
+        cursor.close();
+
+        String detail = plan.toString();
+        // ReminderEngine loads its window with this query: a range seek, never a table scan
+        assertTrue(detail, detail.contains("SEARCH"));
+        assertTrue(detail, detail.contains("idx_events_pending_reminder"));
+        assertFalse(detail, detail.contains("TEMP B-TREE"));
+    }
+
+    @Test
+    public void testForEachInRange_StreamsInOrderWithReusedInstance() {
+        long weekStart = 1767571200000L; // 2026-01-05 00:00 UTC
+        insertEvent(100, "Before", weekStart - HOUR);
+        insertEvent(100, "Second", weekStart + 2 * HOUR);
+        insertEvent(100, "First", weekStart + HOUR);
+        insertEvent(200, "Other user", weekStart + HOUR);
+
+        List<String> titles = new ArrayList<>();
+        List<Event> instances = new ArrayList<>();
+        int rows = eventDao.forEachInRange(100, weekStart, weekStart + 7 * DAY, event -> {
+            titles.add(event.getTitle());
+            instances.add(event);
+        });
+
+        assertEquals(2, rows);
+        assertEquals("First", titles.get(0));
+        assertEquals("Second", titles.get(1));
+        assertSame(instances.get(0), instances.get(1));
+    }
+
+    @Test
+    public void testForEachByUserId_MatchesList() {
+        eventDao.insertAll(buildEvents(500, 100, 1767571200000L));
+        eventDao.insertAll(buildEvents(10, 200, 1767571200000L));
+
+        List<Event> expected = eventDao.getAllByUserId(100);
+        List<Event> streamed = new ArrayList<>();
+        eventDao.forEachByUserId(100, event -> streamed.add(new Event(event)));
+
+        assertEquals(expected.size(), streamed.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), streamed.get(i).getId());
+            assertEquals(expected.get(i).getTitle(), streamed.get(i).getTitle());
+            assertEquals(expected.get(i).getNote(), streamed.get(i).getNote());
+            assertEquals(expected.get(i).getStartTime(), streamed.get(i).getStartTime());
+        }
+    }
+
+    @Test
+    public void testForEach_ConsumerExceptionPropagates() {
+        insertEvent(100, "Only", 1767571200000L);
+
+        try {
+            eventDao.forEachByUserId(100, event -> {
+                throw new IllegalStateException("stop");
+            });
+            fail("Expected exception from consumer");
+        } catch (IllegalStateException expected) {
+            // The cursor is closed in a finally block; the next query still works
+        }
+        assertEquals(1, eventDao.getAllByUserId(100).size());
+    }
+
+    @Test
+    public void testForEachByUserId_LargeHistory() {
+        eventDao.insertAll(buildEvents(20000, 100, 1767571200000L));
+
+        long[] totalMinutes = {0};
+        int rows = eventDao.forEachByUserId(100, event ->
+                totalMinutes[0] += (event.getEndTime() - event.getStartTime()) / 60000);
+
+        assertEquals(20000, rows);
+        assertEquals(20000 * 30L, totalMinutes[0]);
+    }
+
+    private long insertEvent(int userId, String title, String note, long startTime) {
+        Event event = new Event();
+        event.setUserId(userId);
+        event.setTitle(title);
+        event.setNote(note);
+        event.setStartTime(startTime);
+        event.setEndTime(startTime + HOUR);
+        return eventDao.insert(event);
+    }
+
+    @Test
+    public void testToMatchQuery() {
+        assertEquals("team* meeting*", EventDao.toMatchQuery("  Team meeting "));
+        assertEquals("c* draft* or* x*", EventDao.toMatchQuery("c++ (draft) OR \"x"));
+        assertEquals("họp* nhóm*", EventDao.toMatchQuery("họp nhóm"));
+        assertNull(EventDao.toMatchQuery("  -- ** "));
+        assertNull(EventDao.toMatchQuery(null));
+    }
+
+    @Test
+    public void testRank_TitleWeightedAboveNote() {
+        // 1 phrase, 2 columns (title, note), 10 rows; {hits in row, hits in all rows, rows with hits}
+        byte[] titleHit = matchInfo(1, 2, 10, new int[]{1, 3, 3, 0, 0, 0});
+        byte[] noteHit = matchInfo(1, 2, 10, new int[]{0, 0, 0, 1, 3, 3});
+        byte[] rareTitleHit = matchInfo(1, 2, 10, new int[]{1, 1, 1, 0, 0, 0});
+
+        assertTrue(EventDao.rank(titleHit) > EventDao.rank(noteHit));
+        assertTrue(EventDao.rank(rareTitleHit) > EventDao.rank(titleHit));
+    }
+
+    private static byte[] matchInfo(int phrases, int columns, int rows, int[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 * (3 + values.length)).order(ByteOrder.nativeOrder());
+        buffer.putInt(phrases).putInt(columns).putInt(rows);
+        for (int value : values) {
+            buffer.putInt(value);
+        }
+        return buffer.array();
+    }
+
+    @Test
+    public void testSearchEvents_TitleMatchRanksFirst() {
+        long start = 1767571200000L;
+        insertEvent(100, "Lunch", "Discuss the budget", start);
+        insertEvent(100, "Budget review", null, start + DAY);
+        insertEvent(100, "Gym", null, start);
+
+        List<Event> results = eventDao.searchEvents(100, "budget", 10);
+
+        assertEquals(2, results.size());
+        assertEquals("Budget review", results.get(0).getTitle());
+        assertEquals("Lunch", results.get(1).getTitle());
+    }
+
+    @Test
+    public void testSearchEvents_PrefixCaseAndDiacritics() {
+        long start = 1767571200000L;
+        insertEvent(100, "Họp nhóm dự án", null, start);
+        insertEvent(100, "Weekly MEETING", null, start);
+
+        assertEquals(1, eventDao.searchEvents(100, "hop", 10).size());
+        assertEquals(1, eventDao.searchEvents(100, "meet", 10).size());
+        assertEquals(0, eventDao.searchEvents(100, "hop meet", 10).size());
+    }
+
+    @Test
+    public void testSearchEvents_OnlyOwnEventsAndLimit() {
+        long start = 1767571200000L;
+        for (int i = 0; i < 5; i++) {
+            insertEvent(100, "Standup " + i, null, start + i * DAY);
+        }
+        insertEvent(200, "Standup other", null, start);
+
+        List<Event> results = eventDao.searchEvents(100, "standup", 3);
+
+        assertEquals(3, results.size());
+        for (Event event : results) {
+            assertEquals(100, event.getUserId());
+        }
+        // Equal scores: earlier events first
+        assertEquals("Standup 0", results.get(0).getTitle());
+        assertEquals("Standup 2", results.get(2).getTitle());
+    }
+
+    @Test
+    public void testSearchEvents_IndexFollowsUpdateAndDelete() {
+        long start = 1767571200000L;
+        int id = (int) insertEvent(100, "Dentist", null, start);
+
+        Event event = eventDao.getById(id);
+        event.setTitle("Doctor appointment");
+        eventDao.update(event);
+
+        assertTrue(eventDao.searchEvents(100, "dentist", 10).isEmpty());
+        assertEquals(1, eventDao.searchEvents(100, "doctor", 10).size());
+
+        eventDao.delete(id);
+        assertTrue(eventDao.searchEvents(100, "doctor", 10).isEmpty());
+    }
+
+    @Test
+    public void testSearchEvents_FiftyThousandRows() {
+        List<Event> events = buildEvents(50000, 100, 1767571200000L);
+        events.get(31337).setTitle("Quarterly planning");
+        eventDao.insertAll(events);
+
+        List<Event> results = eventDao.searchEvents(100, "quarterly", 20);
+
+        assertEquals(1, results.size());
+        assertEquals("Quarterly planning", results.get(0).getTitle());
+    }
+
+    @Test
+    public void testSearchEvents_UsesFullTextIndex() {
+        SQLiteDatabase db = AppDatabase.getInstance(context).getDatabase();
+
+        Cursor cursor = db.rawQuery(
+                "EXPLAIN QUERY PLAN " + EventDao.QUERY_SEARCH,
+                new String[]{"quarterly*", "100"}
+        );
+
+        StringBuilder plan = new StringBuilder();
+        int detailIndex = cursor.getColumnIndexOrThrow("detail");
+        while (cursor.moveToNext()) {
+            plan.append(cursor.getString(detailIndex)).append('\n');
+        }
+        cursor.close();
+
+        String detail = plan.toString();
+        // MATCH drives the query; events rows are fetched by rowid, never scanned
+        assertTrue(detail, detail.contains("VIRTUAL TABLE INDEX"));
+        assertTrue(detail, detail.contains("INTEGER PRIMARY KEY"));
+        assertFalse(detail, detail.matches("(?s).*SCAN (TABLE )?events\\b.*"));
+    }
+
+    @Test
+    public void testGetPageAfter_WalksAllEventsWithTies() {
+        long start = 1767571200000L;
+        List<Event> events = buildEvents(10, 100, start);
+        // Several events at the same start time must still be paged without gaps or repeats
+        for (int i = 3; i < 7; i++) {
+            events.get(i).setStartTime(start + 3 * HOUR);
+        }
+        eventDao.insertAll(events);
+        eventDao.insertAll(buildEvents(5, 200, start));
+
+        List<Event> expected = eventDao.getAllByUserId(100);
+        List<Event> walked = new ArrayList<>();
+        List<Event> page = eventDao.getPageAfter(100, Long.MIN_VALUE, 0, 3);
+        while (!page.isEmpty()) {
+            assertTrue(page.size() <= 3);
+            walked.addAll(page);
+            Event last = page.get(page.size() - 1);
+            page = eventDao.getPageAfter(100, last.getStartTime(), last.getId(), 3);
+        }
+
+        assertEquals(expected.size(), walked.size());
+        for (int i = 0; i < walked.size(); i++) {
+            assertEquals(expected.get(i).getId(), walked.get(i).getId());
+            assertEquals(100, walked.get(i).getUserId());
+        }
+    }
+
+    @Test
+    public void testGetPageBefore_ReturnsAscendingPage() {
+        long start = 1767571200000L;
+        eventDao.insertAll(buildEvents(10, 100, start));
+        List<Event> all = eventDao.getAllByUserId(100);
+        Event key = all.get(6);
+
+        List<Event> page = eventDao.getPageBefore(100, key.getStartTime(), key.getId(), 4);
+
+        assertEquals(4, page.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(all.get(2 + i).getId(), page.get(i).getId());
+        }
+        assertTrue(eventDao.getPageBefore(100, all.get(0).getStartTime(), all.get(0).getId(), 4).isEmpty());
+    }
+
+    @Test
+    public void testGetPageAfter_DeepPageMatchesFullList() {
+        long start = 1767571200000L;
+        eventDao.insertAll(buildEvents(20000, 100, start));
+        List<Event> all = eventDao.getAllByUserId(100);
+        Event key = all.get(18999);
+
+        List<Event> page = eventDao.getPageAfter(100, key.getStartTime(), key.getId(), 50);
+
+        assertEquals(50, page.size());
+        assertEquals(all.get(19000).getId(), page.get(0).getId());
+        assertEquals(all.get(19049).getId(), page.get(49).getId());
+    }
+
+    @Test
+    public void testGetPage_UsesUserStartIndexWithoutSort() {
+        SQLiteDatabase db = AppDatabase.getInstance(context).getDatabase();
+
+        for (String query : new String[]{EventDao.QUERY_PAGE_AFTER, EventDao.QUERY_PAGE_BEFORE}) {
+            Cursor cursor = db.rawQuery(
+                    "EXPLAIN QUERY PLAN " + query,
+                    new String[]{"100", "0", "0", "1", "50"}
+            );
+
+            StringBuilder plan = new StringBuilder();
+            int detailIndex = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                plan.append(cursor.getString(detailIndex)).append('\n');
+            }
+            cursor.close();
+
+            String detail = plan.toString();
+            assertTrue(detail, detail.contains("idx_events_user_start"));
+            // id is the rowid stored in the index, so (start_time, id) order needs no sort
+            assertFalse(detail, detail.contains("TEMP B-TREE"));
+        }
+    }
+
+    private long insertSeries(int userId, String title, long startTime, Recurrence recurrence) {
+        Event event = new Event();
+        event.setUserId(userId);
+        event.setTitle(title);
+        event.setStartTime(startTime);
+        event.setEndTime(startTime + HOUR);
+        event.setRecurrence(recurrence);
+        return eventDao.insert(event);
+    }
+
+    @Test
+    public void testInsertSeries_RoundTripsRecurrence() {
+        long start = 1767571200000L;
+        long forever = insertSeries(100, "Daily", start, new Recurrence(Recurrence.DAILY, Recurrence.FOREVER));
+        long until = insertSeries(100, "Weekly", start, new Recurrence(Recurrence.WEEKLY, start + 30 * DAY));
+
+        assertEquals(new Recurrence(Recurrence.DAILY, Recurrence.FOREVER),
+                eventDao.getById((int) forever).getRecurrence());
+        assertEquals(new Recurrence(Recurrence.WEEKLY, start + 30 * DAY),
+                eventDao.getById((int) until).getRecurrence());
+        assertNull(eventDao.getById((int) insertEvent(100, "Once", start)).getRecurrence());
+    }
+
+    @Test
+    public void testUpdate_ChangesRecurrence() {
+        long start = 1767571200000L;
+        Event event = eventDao.getById((int) insertEvent(100, "Once", start));
+
+        event.setRecurrence(new Recurrence(Recurrence.WEEKLY, Recurrence.FOREVER));
+        eventDao.update(event);
+        assertTrue(eventDao.getById(event.getId()).isRecurring());
+
+        event.setRecurrence(null);
+        eventDao.updateAll(java.util.Collections.singletonList(event));
+        assertFalse(eventDao.getById(event.getId()).isRecurring());
+    }
+
+    @Test
+    public void testGetEventsInRange_ExcludesSeries() {
+        long weekStart = 1767571200000L;
+        insertEvent(100, "Once", weekStart + DAY);
+        insertSeries(100, "Daily", weekStart, new Recurrence(Recurrence.DAILY, Recurrence.FOREVER));
+
+        List<Event> events = eventDao.getEventsInRange(100, weekStart, weekStart + 7 * DAY);
+
+        assertEquals(1, events.size());
+        assertEquals("Once", events.get(0).getTitle());
+    }
+
+    @Test
+    public void testGetSeriesInRange_StartedBeforeAndNotEnded() {
+        long weekStart = 1767571200000L;
+        insertSeries(100, "Old", weekStart - 60 * DAY, new Recurrence(Recurrence.WEEKLY, Recurrence.FOREVER));
+        insertSeries(100, "Ended", weekStart - 60 * DAY, new Recurrence(Recurrence.DAILY, weekStart - DAY));
+        insertSeries(100, "Later", weekStart + 7 * DAY, new Recurrence(Recurrence.DAILY, Recurrence.FOREVER));
+        insertSeries(200, "Other", weekStart, new Recurrence(Recurrence.DAILY, Recurrence.FOREVER));
+        insertEvent(100, "Once", weekStart + DAY);
+
+        List<Event> series = eventDao.getSeriesInRange(100, weekStart, weekStart + 7 * DAY);
+
+        assertEquals(1, series.size());
+        assertEquals("Old", series.get(0).getTitle());
+    }
+
+    @Test
+    public void testGetSeriesInRange_UsesIndex() {
+        SQLiteDatabase db = AppDatabase.getInstance(context).getDatabase();
+
+        Cursor cursor = db.rawQuery(
+                "EXPLAIN QUERY PLAN " + EventDao.QUERY_SERIES_IN_RANGE,
+                new String[]{"100", "1", "0"}
+        );
+
+        StringBuilder plan = new StringBuilder();
+        int detailIndex = cursor.getColumnIndexOrThrow("detail");
+        while (cursor.moveToNext()) {
+            plan.append(cursor.getString(detailIndex)).append('\n');
+        }
+        cursor.close();
+
+        String detail = plan.toString();
+        assertTrue(detail, detail.contains("USING INDEX idx_events_"));
+        assertFalse(detail, detail.contains("TEMP B-TREE"));
+    }
+
+    @Test
+    public void testSkipOccurrence_StoredOnceAndInRange() {
+        long start = 1767571200000L;
+        int id = (int) insertSeries(100, "Daily", start, new Recurrence(Recurrence.DAILY, Recurrence.FOREVER));
+
+        assertTrue(eventDao.skipOccurrence(id, start + DAY));
+        assertFalse(eventDao.skipOccurrence(id, start + DAY));
+        eventDao.skipOccurrence(id, start + 10 * DAY);
+
+        Set<Long> skipped = eventDao.getSkippedOccurrences(id, start, start + 7 * DAY);
+        assertEquals(1, skipped.size());
+        assertTrue(skipped.contains(start + DAY));
+    }
+
+    @Test
+    public void testDelete_RemovesExceptions() {
+        long start = 1767571200000L;
+        int id = (int) insertSeries(100, "Daily", start, new Recurrence(Recurrence.DAILY, Recurrence.FOREVER));
+        eventDao.skipOccurrence(id, start + DAY);
+
+        eventDao.delete(id);
+
+        assertTrue(eventDao.getSkippedOccurrences(id, Long.MIN_VALUE, Long.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    public void testSetReminder_MovesOrClearsPendingReminder() {
+        long start = System.currentTimeMillis() + DAY;
+        int id = (int) insertSeries(100, "Daily", start, new Recurrence(Recurrence.DAILY, Recurrence.FOREVER));
+
+        eventDao.setReminder(id, start + DAY);
+        List<Reminder> pending = eventDao.getPendingReminders();
+        assertEquals(1, pending.size());
+        assertEquals(start + DAY, pending.get(0).getTriggerAt());
+
+        eventDao.setReminder(id, -1);
+        assertTrue(eventDao.getPendingReminders().isEmpty());
+    }
+
+    @Test
+    public void testExpireReminders_KeepsSeries() {
+        long past = System.currentTimeMillis() - DAY;
+        insertEvent(100, "Once", past);
+        insertSeries(100, "Daily", past, new Recurrence(Recurrence.DAILY, Recurrence.FOREVER));
+
+        assertEquals(1, eventDao.expireRemindersBefore(System.currentTimeMillis()));
+        assertEquals(1, eventDao.getPendingReminders().size());
+    }
+
+    @Test
+    public void testGetMaxDuration() {
+        assertEquals(0, eventDao.getMaxDuration(100));
+
+        insertEvent(100, "Hour", 1767571200000L);
+        Event day = new Event();
+        day.setUserId(100);
+        day.setTitle("Day");
+        day.setStartTime(1767571200000L);
+        day.setEndTime(1767571200000L + DAY);
+        eventDao.insert(day);
+        insertEvent(200, "Other", 1767571200000L);
+
+        assertEquals(DAY, eventDao.getMaxDuration(100));
+    }
+
+    @Test
+    public void testGetOverlapping_LooksBackByMaxDuration() {
+        long base = 1767571200000L;
+        insertEvent(100, "Ends at start", base - HOUR);
+        insertEvent(100, "Overlaps", base - 30 * 60000L);
+        insertEvent(100, "Inside", base + 10 * 60000L);
+        insertEvent(100, "Starts at end", base + HOUR);
+
+        List<Event> events = eventDao.getOverlapping(100, base, base + HOUR, HOUR);
+
+        assertEquals(2, events.size());
+        assertEquals("Overlaps", events.get(0).getTitle());
+        assertEquals("Inside", events.get(1).getTitle());
+    }
+
+    @Test
+    public void testGetOverlapping_UsesUserStartIndex() {
+        SQLiteDatabase db = AppDatabase.getInstance(context).getDatabase();
+
+        Cursor cursor = db.rawQuery(
+                "EXPLAIN QUERY PLAN " + EventDao.QUERY_OVERLAPPING,
+                new String[]{"100", "0", "1", "0"}
+        );
+
+        StringBuilder plan = new StringBuilder();
+        int detailIndex = cursor.getColumnIndexOrThrow("detail");
+        while (cursor.moveToNext()) {
+            plan.append(cursor.getString(detailIndex)).append('\n');
+        }
+        cursor.close();
+
+        String detail = plan.toString();
+        // A seek on the user plus a start_time range, already in ORDER BY order
+        assertTrue(detail, detail.contains("SEARCH"));
+        assertTrue(detail, detail.contains("idx_events_user_start (user_id=? AND start_time>? AND start_time<?)"));
+        assertFalse(detail, detail.contains("TEMP B-TREE"));
+    }
+
+    @Test
+    public void testGetMaxDuration_SeeksDurationIndex() {
+        SQLiteDatabase db = AppDatabase.getInstance(context).getDatabase();
+
+        Cursor cursor = db.rawQuery(
+                "EXPLAIN QUERY PLAN " + EventDao.QUERY_MAX_DURATION,
+                new String[]{"100"}
+        );
+
+        StringBuilder plan = new StringBuilder();
+        int detailIndex = cursor.getColumnIndexOrThrow("detail");
+        while (cursor.moveToNext()) {
+            plan.append(cursor.getString(detailIndex)).append('\n');
+        }
+        cursor.close();
+
+        String detail = plan.toString();
+        // The cold call reads the last entry of the user's range in the index, not the user's rows
+        assertTrue(detail, detail.contains("SEARCH"));
+        assertTrue(detail, detail.contains("idx_events_user_duration (user_id=?)"));
+        assertFalse(detail, detail.matches("(?s).*SCAN (TABLE )?events\\b.*"));
+    }
+
+    private long insertEvent(int userId, long startTime, long endTime) {
+        Event event = new Event();
+        event.setUserId(userId);
+        event.setTitle("Event");
+        event.setStartTime(startTime);
+        event.setEndTime(endTime);
+        return eventDao.insert(event);
+    }
+
+    private static void withDefaultZone(String id, Runnable test) {
+        TimeZone previous = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone(id));
+        DateTimeHelper.onTimeZoneChanged();
+        try {
+            test.run();
+        } finally {
+            TimeZone.setDefault(previous);
+            DateTimeHelper.onTimeZoneChanged();
+        }
+    }
+
+    @Test
+    public void testGetDaySummaries_GroupsByLocalDay() {
+        withDefaultZone("Asia/Ho_Chi_Minh", () -> {
+            long monday = 1767571200000L - 7 * HOUR; // 2026-01-05 00:00 +07:00
+            long mondayDay = 1767571200000L / DAY;
+
+            // 23:00 UTC on Sunday is already Monday 06:00 local time
+            insertEvent(100, monday + 6 * HOUR, monday + 7 * HOUR);
+            insertEvent(100, monday + 9 * HOUR, monday + 9 * HOUR + 30 * 60000L);
+            // Runs past midnight: only the part before it counts for Tuesday
+            insertEvent(100, monday + DAY + 23 * HOUR, monday + 2 * DAY + 2 * HOUR);
+            insertEvent(100, monday + 7 * DAY, monday + 7 * DAY + HOUR);
+            insertEvent(200, monday + HOUR, monday + 2 * HOUR);
+
+            List<DaySummary> summaries = eventDao.getDaySummaries(100, mondayDay, mondayDay + 7);
+
+            assertEquals(2, summaries.size());
+            assertEquals(mondayDay, summaries.get(0).getEpochDay());
+            assertEquals(2, summaries.get(0).getEventCount());
+            assertEquals(90, summaries.get(0).getBusyMinutes());
+            assertEquals(mondayDay + 1, summaries.get(1).getEpochDay());
+            assertEquals(1, summaries.get(1).getEventCount());
+            assertEquals(60, summaries.get(1).getBusyMinutes());
+        });
+    }
+
+    @Test
+    public void testDaySummaries_FollowUpdatesAndDeletes() {
+        withDefaultZone("UTC", () -> {
+            long day = 20000;
+            long start = day * DAY + 9 * HOUR;
+            Event event = new Event();
+            event.setUserId(100);
+            event.setTitle("Moving");
+            event.setStartTime(start);
+            event.setEndTime(start + HOUR);
+            event.setId((int) eventDao.insert(event));
+            insertEvent(100, start + 2 * HOUR, start + 3 * HOUR);
+
+            Event series = new Event();
+            series.setUserId(100);
+            series.setTitle("Series");
+            series.setStartTime(start);
+            series.setEndTime(start + HOUR);
+            series.setRecurrence(new Recurrence(Recurrence.DAILY, Recurrence.FOREVER));
+            eventDao.insert(series);
+
+            List<DaySummary> summaries = eventDao.getDaySummaries(100, day, day + 2);
+            assertEquals(1, summaries.size());
+            assertEquals(2, summaries.get(0).getEventCount());
+            assertEquals(120, summaries.get(0).getBusyMinutes());
+
+            // Moved to the next day
+            event.setStartTime(start + DAY);
+            event.setEndTime(start + DAY + 30 * 60000L);
+            eventDao.update(event);
+            summaries = eventDao.getDaySummaries(100, day, day + 2);
+            assertEquals(2, summaries.size());
+            assertEquals(1, summaries.get(0).getEventCount());
+            assertEquals(60, summaries.get(0).getBusyMinutes());
+            assertEquals(day + 1, summaries.get(1).getEpochDay());
+            assertEquals(30, summaries.get(1).getBusyMinutes());
+
+            eventDao.delete(event.getId());
+            summaries = eventDao.getDaySummaries(100, day, day + 2);
+            assertEquals(1, summaries.size());
+            assertEquals(day, summaries.get(0).getEpochDay());
+        });
+    }
+
+    @Test
+    public void testRebuildDaySummaries_AfterZoneChange() {
+        long instant = 1767571200000L - HOUR; // 2026-01-04 23:00 UTC, 06:00 on the 5th in +07:00
+        withDefaultZone("Asia/Ho_Chi_Minh", () -> insertEvent(100, instant, instant + HOUR));
+
+        withDefaultZone("UTC", () -> {
+            long day = instant / DAY;
+            assertTrue(eventDao.getDaySummaries(100, day, day + 1).isEmpty());
+
+            eventDao.rebuildDaySummaries();
+
+            List<DaySummary> summaries = eventDao.getDaySummaries(100, day - 1, day + 2);
+            assertEquals(1, summaries.size());
+            assertEquals(day, summaries.get(0).getEpochDay());
+            assertEquals(1, summaries.get(0).getEventCount());
+            assertEquals(60, summaries.get(0).getBusyMinutes());
+        });
+    }
+
+    @Test
+    public void testGetDaySummaries_UsesPrimaryKey() {
+        SQLiteDatabase db = AppDatabase.getInstance(context).getDatabase();
+
+        Cursor cursor = db.rawQuery(
+                "EXPLAIN QUERY PLAN " + EventDao.QUERY_DAY_SUMMARIES,
+                new String[]{"100", "0", "365"}
+        );
+
+        StringBuilder plan = new StringBuilder();
+        int detailIndex = cursor.getColumnIndexOrThrow("detail");
+        while (cursor.moveToNext()) {
+            plan.append(cursor.getString(detailIndex)).append('\n');
+        }
+        cursor.close();
+
+        String detail = plan.toString();
+        assertTrue(detail, detail.contains("PRIMARY KEY"));
+        assertFalse(detail, detail.contains("TEMP B-TREE"));
+    }
+}
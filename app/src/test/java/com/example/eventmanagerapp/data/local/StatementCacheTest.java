@@ -0,0 +1,149 @@
+package com.example.eventmanagerapp.data.local;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import com.example.eventmanagerapp.domain.model.Event;
+import com.example.eventmanagerapp.domain.model.User;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for StatementCache
+ */
+@RunWith(RobolectricTestRunner.class)
+public class StatementCacheTest {
+
+    private static final long HOUR = 3600000L;
+    private static final String SQL_TOUCH = "UPDATE events SET remind_before=? WHERE id=?";
+
+    private Context context;
+    private AppDatabase database;
+    private StatementCache statements;
+    private EventDao eventDao;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        database = AppDatabase.getInstance(context);
+        statements = database.getStatementCache();
+        eventDao = new EventDao(context);
+        eventDao.deleteAll();
+        new UserDao(context).deleteAll();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    private Event newEvent(long startTime) {
+        Event event = new Event();
+        event.setUserId(100);
+        event.setTitle("Event");
+        event.setStartTime(startTime);
+        event.setEndTime(startTime + HOUR);
+        return event;
+    }
+
+    @Test
+    public void testSameSqlReusesStatement() {
+        long hits = statements.getHits();
+        long misses = statements.getMisses();
+
+        eventDao.insert(newEvent(1000));
+        eventDao.insert(newEvent(2000));
+        eventDao.insert(newEvent(3000));
+
+        assertTrue(statements.getMisses() - misses <= 1);
+        assertTrue(statements.getHits() - hits >= 2);
+        assertEquals(3, eventDao.getAll().size());
+    }
+
+    @Test
+    public void testBindingsDoNotLeakBetweenCalls() {
+        Event withNote = newEvent(1000);
+        withNote.setNote("Note");
+        int first = (int) eventDao.insert(withNote);
+        int second = (int) eventDao.insert(newEvent(2000));
+
+        assertEquals("Note", eventDao.getById(first).getNote());
+        assertNull(eventDao.getById(second).getNote());
+    }
+
+    @Test
+    public void testStatementsRecompiledAfterClose() {
+        eventDao.insert(newEvent(1000));
+        database.close();
+
+        long id = eventDao.insert(newEvent(2000));
+
+        assertTrue(id > 0);
+        assertEquals(2, eventDao.getAll().size());
+    }
+
+    @Test
+    public void testFailedInsertReturnsMinusOne() {
+        UserDao userDao = new UserDao(context);
+        User user = new User(0, "alice", "secret", "Alice", 1000);
+
+        assertTrue(userDao.insert(user) > 0);
+        assertEquals(-1, userDao.insert(user));
+        // The statement that failed is still usable
+        assertTrue(userDao.insert(new User(0, "bob", "secret", "Bob", 2000)) > 0);
+        assertEquals("Bob", userDao.findByUsername("bob").getFullName());
+    }
+
+    @Test
+    public void testRepeatedUpdateCompilesOnce() {
+        int id = (int) eventDao.insert(newEvent(1000));
+        int rounds = 5000;
+        runCached(id, 1);
+
+        long hits = statements.getHits();
+        long misses = statements.getMisses();
+        runCached(id, rounds);
+
+        assertEquals(rounds, statements.getHits() - hits);
+        assertEquals(0, statements.getMisses() - misses);
+
+        Cursor cursor = database.getDatabase().rawQuery("SELECT remind_before FROM events WHERE id=?",
+                new String[]{String.valueOf(id)});
+        assertTrue(cursor.moveToFirst());
+        assertEquals(rounds - 1, cursor.getInt(0));
+        cursor.close();
+    }
+
+    @Test
+    public void testUsernameLookupUsesCachedStatement() {
+        UserDao userDao = new UserDao(context);
+        userDao.insert(new User(0, "alice", "secret", "Alice", 1000));
+        userDao.isUsernameExists("warmup");
+
+        long hits = statements.getHits();
+        long misses = statements.getMisses();
+
+        assertTrue(userDao.isUsernameExists("alice"));
+        assertFalse(userDao.isUsernameExists("bob"));
+        assertFalse(userDao.isUsernameExists(null));
+        assertEquals(3, statements.getHits() - hits);
+        assertEquals(0, statements.getMisses() - misses);
+    }
+
+    private void runCached(int id, int rounds) {
+        for (int i = 0; i < rounds; i++) {
+            int value = i;
+            statements.executeUpdateDelete(SQL_TOUCH, statement -> {
+                statement.bindLong(1, value);
+                statement.bindLong(2, id);
+            });
+        }
+    }
+}
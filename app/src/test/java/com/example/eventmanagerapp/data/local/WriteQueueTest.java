@@ -0,0 +1,217 @@
+package com.example.eventmanagerapp.data.local;
+
+import android.content.Context;
+
+import com.example.eventmanagerapp.domain.model.Event;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for WriteQueue
+ */
+@RunWith(RobolectricTestRunner.class)
+public class WriteQueueTest {
+
+    private static final long HOUR = 3600000L;
+
+    private Context context;
+    private WriteQueue writeQueue;
+    private EventDao eventDao;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        writeQueue = AppDatabase.getInstance(context).getWriteQueue();
+        eventDao = new EventDao(context);
+        eventDao.deleteAll();
+    }
+
+    @After
+    public void tearDown() {
+        AppDatabase.getInstance(context).close();
+    }
+
+    private Event newEvent(String title, long startTime) {
+        Event event = new Event();
+        event.setUserId(100);
+        event.setTitle(title);
+        event.setStartTime(startTime);
+        event.setEndTime(startTime + HOUR);
+        return event;
+    }
+
+    @Test
+    public void testSingleWriteIsCommitted() throws Exception {
+        long id = writeQueue.submit(() -> eventDao.insert(newEvent("Solo", 1000)))
+                .get(5, TimeUnit.SECONDS);
+
+        assertTrue(id > 0);
+        assertEquals("Solo", eventDao.getById((int) id).getTitle());
+    }
+
+    @Test
+    public void testBurstIsGroupedIntoFewTransactions() throws Exception {
+        int count = 2000;
+        long batches = writeQueue.getBatchCount();
+        long writes = writeQueue.getWriteCount();
+
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Event event = newEvent("Burst " + i, i * HOUR);
+            futures.add(writeQueue.submit(() -> eventDao.insert(event)));
+        }
+        Set<Long> ids = new HashSet<>();
+        for (CompletableFuture<Long> future : futures) {
+            ids.add(future.get(30, TimeUnit.SECONDS));
+        }
+
+        // Same number of writes, each waited for before the next is submitted
+        for (int i = 0; i < count; i++) {
+            Event event = newEvent("Sequential " + i, i * HOUR);
+            writeQueue.submit(() -> eventDao.insert(event)).get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(count, ids.size());
+        assertFalse(ids.contains(-1L));
+        assertEquals(2 * count, writeQueue.getWriteCount() - writes);
+        // The sequential half used exactly one transaction per write
+        long groupedBatches = writeQueue.getBatchCount() - batches - count;
+        assertTrue("Burst used " + groupedBatches + " transactions", groupedBatches <= count / 10);
+        assertEquals(2 * count, eventDao.getAll().size());
+    }
+
+    @Test
+    public void testFailingWriteOnlyFailsItsCaller() throws Exception {
+        // Keep the writer busy so the next three writes end up in one group
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> blocker = writeQueue.submit(() -> {
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        CompletableFuture<Long> first = writeQueue.submit(() -> eventDao.insert(newEvent("First", 1000)));
+        CompletableFuture<Long> failing = writeQueue.submit(() -> {
+            eventDao.insert(newEvent("Rolled back", 2000));
+            throw new IllegalStateException("boom");
+        });
+        CompletableFuture<Long> second = writeQueue.submit(() -> eventDao.insert(newEvent("Second", 3000)));
+        release.countDown();
+
+        assertTrue(blocker.get(5, TimeUnit.SECONDS));
+        assertTrue(first.get(5, TimeUnit.SECONDS) > 0);
+        assertTrue(second.get(5, TimeUnit.SECONDS) > 0);
+        try {
+            failing.get(5, TimeUnit.SECONDS);
+            fail("Expected the failing write to complete exceptionally");
+        } catch (ExecutionException e) {
+            assertEquals("boom", e.getCause().getMessage());
+        }
+
+        // Retried one by one after the group rolled back: nothing is applied twice
+        List<Event> events = eventDao.getAll();
+        assertEquals(2, events.size());
+        assertEquals("First", events.get(0).getTitle());
+        assertEquals("Second", events.get(1).getTitle());
+    }
+
+    @Test
+    public void testErrorFailsEveryWriteOfItsGroup() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> blocker = writeQueue.submit(() -> {
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        List<CompletableFuture<?>> group = new ArrayList<>();
+        group.add(writeQueue.submit(() -> eventDao.insert(newEvent("First", 1000))));
+        group.add(writeQueue.submit(() -> {
+            throw new Error("fatal");
+        }));
+        group.add(writeQueue.submit(() -> eventDao.insert(newEvent("Second", 3000))));
+        release.countDown();
+
+        assertTrue(blocker.get(5, TimeUnit.SECONDS));
+        for (CompletableFuture<?> future : group) {
+            try {
+                future.get(5, TimeUnit.SECONDS);
+                fail("Expected every write of the group to fail");
+            } catch (ExecutionException e) {
+                assertEquals("fatal", e.getCause().getMessage());
+            }
+        }
+        assertTrue(eventDao.getAll().isEmpty());
+
+        // The writer survived and keeps committing
+        assertTrue(writeQueue.submit(() -> eventDao.insert(newEvent("After", 5000))).get(5, TimeUnit.SECONDS) > 0);
+    }
+
+    @Test
+    public void testSubmitFailsFastOnceWriterDied() throws Exception {
+        writeQueue.submit(() -> eventDao.insert(newEvent("Before", 1000))).get(5, TimeUnit.SECONDS);
+        Thread writer = findWriterThread();
+        writer.interrupt();
+        writer.join(5000);
+
+        try {
+            writeQueue.submit(() -> eventDao.insert(newEvent("Lost", 2000))).get(5, TimeUnit.SECONDS);
+            fail("Expected the write to fail without a writer");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+
+        // Closing the database resets the queue; the next write starts a new writer
+        AppDatabase.getInstance(context).close();
+        assertTrue(writeQueue.submit(() -> eventDao.insert(newEvent("After", 3000))).get(5, TimeUnit.SECONDS) > 0);
+        assertEquals(2, eventDao.getAll().size());
+    }
+
+    @Test
+    public void testCloseCommitsQueuedWritesAndRestarts() throws Exception {
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Event event = newEvent("Queued " + i, i * HOUR);
+            futures.add(writeQueue.submit(() -> eventDao.insert(event)));
+        }
+
+        AppDatabase.getInstance(context).close();
+
+        // close() returned only after every queued write was committed
+        for (CompletableFuture<Long> future : futures) {
+            assertTrue(future.isDone());
+            assertTrue(future.get() > 0);
+        }
+        assertTrue(writeQueue.submit(() -> eventDao.insert(newEvent("Reopened", 0))).get(5, TimeUnit.SECONDS) > 0);
+        assertEquals(101, eventDao.getAll().size());
+    }
+
+    private static Thread findWriterThread() {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if ("db-writer".equals(thread.getName()) && thread.isAlive()) {
+                return thread;
+            }
+        }
+        throw new AssertionError("No writer thread");
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.eventmanagerapp.data.repository;
+
+import com.example.eventmanagerapp.domain.model.Event;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for EventCache
+ */
+@RunWith(RobolectricTestRunner.class)
+public class EventCacheTest {
+
+    private static final long HOUR = 3600000L;
+    private static final long WEEK_START = 1000 * HOUR;
+    private static final long WEEK_END = WEEK_START + 7 * 24 * HOUR;
+
+    private EventCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new EventCache();
+    }
+
+    private static Event event(int id, int userId, long startTime) {
+        return new Event(id, userId, "Event " + id, null, startTime, startTime + HOUR, 0);
+    }
+
+    private static List<Integer> ids(List<Event> events) {
+        List<Integer> ids = new ArrayList<>();
+        for (Event event : events) {
+            ids.add(event.getId());
+        }
+        return ids;
+    }
+
+    @Test
+    public void testGetEvent_MissThenHit() {
+        assertNull(cache.getEvent(1));
+
+        cache.putEvent(event(1, 100, WEEK_START), cache.getVersion());
+        Event cached = cache.getEvent(1);
+
+        assertNotNull(cached);
+        assertEquals("Event 1", cached.getTitle());
+        CacheStats stats = cache.getEventStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.5, stats.getHitRate(), 0.0001);
+    }
+
+    @Test
+    public void testGetEvent_ReturnsCopy() {
+        cache.putEvent(event(1, 100, WEEK_START), cache.getVersion());
+
+        cache.getEvent(1).setTitle("Changed");
+
+        assertEquals("Event 1", cache.getEvent(1).getTitle());
+    }
+
+    @Test
+    public void testPutEvent_StaleLoadIgnored() {
+        long version = cache.getVersion();
+        cache.onDeleted(1);
+
+        cache.putEvent(event(1, 100, WEEK_START), version);
+
+        assertNull(cache.getEvent(1));
+    }
+
+    @Test
+    public void testOnSaved_InsertsIntoWindowInOrder() {
+        List<Event> loaded = new ArrayList<>();
+        loaded.add(event(1, 100, WEEK_START + HOUR));
+        loaded.add(event(2, 100, WEEK_START + 3 * HOUR));
+        cache.putWindow(100, WEEK_START, WEEK_END, loaded, cache.getVersion());
+
+        cache.onSaved(event(3, 100, WEEK_START + 2 * HOUR));
+        cache.onSaved(event(4, 100, WEEK_START + 3 * HOUR));
+
+        List<Event> window = cache.getWindow(100, WEEK_START, WEEK_END);
+        assertEquals(4, window.size());
+        assertEquals(Integer.valueOf(1), ids(window).get(0));
+        assertEquals(Integer.valueOf(3), ids(window).get(1));
+        assertEquals(Integer.valueOf(2), ids(window).get(2));
+        assertEquals(Integer.valueOf(4), ids(window).get(3));
+    }
+
+    @Test
+    public void testOnSaved_MovesEventBetweenWindows() {
+        long nextWeekEnd = WEEK_END + 7 * 24 * HOUR;
+        List<Event> thisWeek = new ArrayList<>();
+        thisWeek.add(event(1, 100, WEEK_START + HOUR));
+        cache.putWindow(100, WEEK_START, WEEK_END, thisWeek, cache.getVersion());
+        cache.putWindow(100, WEEK_END, nextWeekEnd, new ArrayList<>(), cache.getVersion());
+
+        cache.onSaved(event(1, 100, WEEK_END + HOUR));
+
+        assertTrue(cache.getWindow(100, WEEK_START, WEEK_END).isEmpty());
+        assertEquals(1, cache.getWindow(100, WEEK_END, nextWeekEnd).size());
+        assertEquals(WEEK_END + HOUR, cache.getEvent(1).getStartTime());
+    }
+
+    @Test
+    public void testOnSaved_OtherUserWindowUntouched() {
+        cache.putWindow(200, WEEK_START, WEEK_END, new ArrayList<>(), cache.getVersion());
+
+        cache.onSaved(event(1, 100, WEEK_START + HOUR));
+
+        assertTrue(cache.getWindow(200, WEEK_START, WEEK_END).isEmpty());
+    }
+
+    @Test
+    public void testOnDeleted_RemovesFromWindowAndById() {
+        List<Event> loaded = new ArrayList<>();
+        loaded.add(event(1, 100, WEEK_START + HOUR));
+        loaded.add(event(2, 100, WEEK_START + 2 * HOUR));
+        cache.putWindow(100, WEEK_START, WEEK_END, loaded, cache.getVersion());
+
+        cache.onDeleted(1);
+
+        assertNull(cache.getEvent(1));
+        List<Event> window = cache.getWindow(100, WEEK_START, WEEK_END);
+        assertEquals(1, window.size());
+        assertEquals(2, window.get(0).getId());
+    }
+
+    @Test
+    public void testPutWindow_StaleLoadIgnored() {
+        long version = cache.getVersion();
+        cache.onSaved(event(1, 100, WEEK_START + HOUR));
+
+        cache.putWindow(100, WEEK_START, WEEK_END, new ArrayList<>(), version);
+
+        assertNull(cache.getWindow(100, WEEK_START, WEEK_END));
+    }
+
+    @Test
+    public void testInvalidateUser_KeepsOtherUsers() {
+        cache.putEvent(event(1, 100, WEEK_START), cache.getVersion());
+        cache.putEvent(event(2, 200, WEEK_START), cache.getVersion());
+        cache.putWindow(100, WEEK_START, WEEK_END, new ArrayList<>(), cache.getVersion());
+        cache.putWindow(200, WEEK_START, WEEK_END, new ArrayList<>(), cache.getVersion());
+
+        cache.invalidateUser(100);
+
+        assertNull(cache.getEvent(1));
+        assertNotNull(cache.getEvent(2));
+        assertNull(cache.getWindow(100, WEEK_START, WEEK_END));
+        assertNotNull(cache.getWindow(200, WEEK_START, WEEK_END));
+    }
+
+    @Test
+    public void testSizeBound_EvictsLeastRecentlyUsed() {
+        int eventSize = EventCache.estimateSize(event(1, 100, WEEK_START));
+        cache = new EventCache(eventSize * 3, EventCache.MAX_WINDOW_EVENTS);
+
+        for (int id = 1; id <= 3; id++) {
+            cache.putEvent(event(id, 100, WEEK_START), cache.getVersion());
+        }
+        cache.getEvent(1);
+        cache.putEvent(event(4, 100, WEEK_START), cache.getVersion());
+
+        assertNotNull(cache.getEvent(1));
+        assertNull(cache.getEvent(2));
+        assertEquals(1, cache.getEventStats().getEvictions());
+    }
+
+    @Test
+    public void testEstimateSize_GrowsWithText() {
+        Event small = event(1, 100, WEEK_START);
+        Event large = event(2, 100, WEEK_START);
+        large.setNote("A much longer note that takes more memory");
+
+        assertTrue(EventCache.estimateSize(large) > EventCache.estimateSize(small));
+    }
+
+    @Test
+    public void testClear_NotCountedAsEviction() {
+        cache.putEvent(event(1, 100, WEEK_START), cache.getVersion());
+        cache.putWindow(100, WEEK_START, WEEK_END, new ArrayList<>(), cache.getVersion());
+
+        cache.clear();
+
+        assertNull(cache.getEvent(1));
+        assertNull(cache.getWindow(100, WEEK_START, WEEK_END));
+        assertEquals(0, cache.getEventStats().getEvictions());
+        assertEquals(0, cache.getWindowStats().getEvictions());
+    }
+
+    @Test
+    public void testMaxDuration_GrowsOnSaveAndDropsOnInvalidate() {
+        assertEquals(-1, cache.getMaxDuration(100));
+
+        cache.putMaxDuration(100, HOUR, cache.getVersion());
+        cache.onSaved(new Event(1, 100, "Long", null, WEEK_START, WEEK_START + 5 * HOUR, 0));
+        assertEquals(5 * HOUR, cache.getMaxDuration(100));
+
+        // Shorter events and deletes keep the bound
+        cache.onSaved(new Event(2, 100, "Short", null, WEEK_START, WEEK_START + HOUR, 0));
+        cache.onDeleted(1);
+        assertEquals(5 * HOUR, cache.getMaxDuration(100));
+
+        cache.invalidateUser(100);
+        assertEquals(-1, cache.getMaxDuration(100));
+    }
+
+    @Test
+    public void testPutMaxDuration_IgnoredAfterWrite() {
+        long version = cache.getVersion();
+        cache.onSaved(event(1, 100, WEEK_START));
+
+        cache.putMaxDuration(100, HOUR, version);
+
+        assertEquals(-1, cache.getMaxDuration(100));
+    }
+}
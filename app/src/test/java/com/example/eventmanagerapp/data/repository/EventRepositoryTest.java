@@ -1,15 +1,19 @@
 package com.example.eventmanagerapp.data.repository;
 
 import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
 
+import com.example.eventmanagerapp.data.local.AppDatabase;
 import com.example.eventmanagerapp.domain.model.Event;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.RuntimeEnvironment;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.*;
@@ -32,6 +36,12 @@ public class EventRepositoryTest {
         repository.clearAll();
     }
 
+    @After
+    public void tearDown() {
+        // The shared connection stays open for the app's lifetime; release it between tests
+        AppDatabase.getInstance(context).close();
+    }
+
     @Test
     public void testGetInstance_Singleton() {
         EventRepository instance1 = EventRepository.getInstance(context);
@@ -342,4 +352,168 @@ public class EventRepositoryTest {
         assertEquals(100, updatedEvent.getUserId());
         assertEquals(15, updatedEvent.getRemindBefore());
     }
+
+    @Test
+    public void testDatabaseConnection_ReusedAcrossCalls() {
+        SQLiteDatabase before = AppDatabase.getInstance(context).getDatabase();
+
+        Event event = new Event();
+        event.setUserId(100);
+        event.setTitle("Test Event");
+        event.setStartTime(System.currentTimeMillis());
+        event.setEndTime(System.currentTimeMillis() + 3600000);
+        long eventId = repository.createEvent(event);
+        repository.getEventById((int) eventId);
+        repository.getEventsByUserId(100);
+
+        SQLiteDatabase after = AppDatabase.getInstance(context).getDatabase();
+        assertSame(before, after);
+        assertTrue(after.isOpen());
+        assertTrue(after.isWriteAheadLoggingEnabled());
+    }
+
+    @Test
+    public void testBulkCreateUpdateDelete() {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Event event = new Event();
+            event.setUserId(100);
+            event.setTitle("Event " + i);
+            event.setStartTime(System.currentTimeMillis() + i * 3600000L);
+            event.setEndTime(System.currentTimeMillis() + (i + 1) * 3600000L);
+            events.add(event);
+        }
+
+        long[] ids = repository.createEvents(events);
+        assertEquals(3, ids.length);
+        assertEquals(3, repository.getEventsByUserId(100).size());
+
+        for (int i = 0; i < events.size(); i++) {
+            events.get(i).setId((int) ids[i]);
+            events.get(i).setTitle("Updated " + i);
+        }
+        assertEquals(3, repository.updateEvents(events));
+        assertEquals("Updated 2", repository.getEventById((int) ids[2]).getTitle());
+
+        assertEquals(2, repository.deleteEvents(new int[]{(int) ids[0], (int) ids[1]}));
+        assertEquals(1, repository.getEventsByUserId(100).size());
+    }
+
+    @Test
+    public void testGetEventById_SecondReadServedFromCache() {
+        Event event = new Event();
+        event.setUserId(100);
+        event.setTitle("Cached Event");
+        event.setStartTime(System.currentTimeMillis());
+        event.setEndTime(System.currentTimeMillis() + 3600000);
+        int id = (int) repository.createEvent(event);
+
+        CacheStats before = repository.getEventCacheStats();
+        Event first = repository.getEventById(id);
+        first.setTitle("Modified locally");
+        Event second = repository.getEventById(id);
+        CacheStats after = repository.getEventCacheStats();
+
+        assertEquals("Cached Event", second.getTitle());
+        assertEquals(before.getHits() + 2, after.getHits());
+        assertEquals(before.getMisses(), after.getMisses());
+    }
+
+    @Test
+    public void testUpdateEvent_WritesThroughToCache() {
+        Event event = new Event();
+        event.setUserId(100);
+        event.setTitle("Original");
+        event.setStartTime(System.currentTimeMillis());
+        event.setEndTime(System.currentTimeMillis() + 3600000);
+        int id = (int) repository.createEvent(event);
+
+        Event toUpdate = repository.getEventById(id);
+        toUpdate.setTitle("Updated");
+        repository.updateEvent(toUpdate);
+
+        assertEquals("Updated", repository.getEventById(id).getTitle());
+
+        repository.deleteEvent(id);
+        assertNull(repository.getEventById(id));
+    }
+
+    @Test
+    public void testGetEventsInRange_WindowKeptUpToDate() {
+        long from = 1700000000000L;
+        long to = from + 7 * 24 * 3600000L;
+
+        Event first = new Event();
+        first.setUserId(100);
+        first.setTitle("First");
+        first.setStartTime(from + 2 * 3600000L);
+        first.setEndTime(from + 3 * 3600000L);
+        repository.createEvent(first);
+
+        assertEquals(1, repository.getEventsInRange(100, from, to).size());
+        CacheStats before = repository.getWindowCacheStats();
+
+        Event earlier = new Event();
+        earlier.setUserId(100);
+        earlier.setTitle("Earlier");
+        earlier.setStartTime(from + 3600000L);
+        earlier.setEndTime(from + 2 * 3600000L);
+        int earlierId = (int) repository.createEvent(earlier);
+
+        List<Event> window = repository.getEventsInRange(100, from, to);
+        assertEquals(2, window.size());
+        assertEquals("Earlier", window.get(0).getTitle());
+
+        repository.deleteEvent(earlierId);
+        window = repository.getEventsInRange(100, from, to);
+        assertEquals(1, window.size());
+        assertEquals("First", window.get(0).getTitle());
+
+        CacheStats after = repository.getWindowCacheStats();
+        assertEquals(before.getHits() + 2, after.getHits());
+        assertEquals(before.getMisses(), after.getMisses());
+    }
+
+    @Test
+    public void testClearAllByUserId_DropsCachedEvents() {
+        Event event = new Event();
+        event.setUserId(100);
+        event.setTitle("To be cleared");
+        event.setStartTime(System.currentTimeMillis());
+        event.setEndTime(System.currentTimeMillis() + 3600000);
+        int id = (int) repository.createEvent(event);
+        assertNotNull(repository.getEventById(id));
+
+        repository.clearAllByUserId(100);
+
+        assertNull(repository.getEventById(id));
+    }
+
+    @Test
+    public void testGetDataVersion_ChangesOnEveryWrite() {
+        Event event = new Event();
+        event.setUserId(100);
+        event.setTitle("Versioned");
+        event.setStartTime(1700000000000L);
+        event.setEndTime(1700003600000L);
+
+        long initial = repository.getDataVersion();
+        int id = (int) repository.createEvent(event);
+        long afterCreate = repository.getDataVersion();
+        assertNotEquals(initial, afterCreate);
+
+        // Reads leave the version alone
+        repository.getEventById(id);
+        repository.getEventsInRange(100, 1700000000000L, 1700086400000L);
+        assertEquals(afterCreate, repository.getDataVersion());
+
+        event.setId(id);
+        event.setTitle("Renamed");
+        repository.updateEvent(event);
+        long afterUpdate = repository.getDataVersion();
+        assertNotEquals(afterCreate, afterUpdate);
+
+        repository.deleteEvent(id);
+        assertNotEquals(afterUpdate, repository.getDataVersion());
+    }
 }
@@ -39,6 +39,35 @@ public class EventTest {
         assertEquals(15, event.getRemindBefore());
     }
 
+    @Test
+    public void testCopyConstructor_IndependentCopy() {
+        Event original = new Event(1, 100, "Meeting", "Note", 1000L, 2000L, 15);
+        Event copy = new Event(original);
+
+        assertEquals(original.getId(), copy.getId());
+        assertEquals(original.getUserId(), copy.getUserId());
+        assertEquals(original.getTitle(), copy.getTitle());
+        assertEquals(original.getNote(), copy.getNote());
+        assertEquals(original.getStartTime(), copy.getStartTime());
+        assertEquals(original.getEndTime(), copy.getEndTime());
+        assertEquals(original.getRemindBefore(), copy.getRemindBefore());
+
+        copy.setTitle("Changed");
+        assertEquals("Meeting", original.getTitle());
+    }
+
+    @Test
+    public void testCopyConstructor_KeepsRecurrence() {
+        Event original = new Event(1, 100, "Standup", null, 1000L, 2000L, 0);
+        original.setRecurrence(new Recurrence(Recurrence.DAILY, Recurrence.FOREVER));
+
+        Event copy = new Event(original);
+
+        assertTrue(copy.isRecurring());
+        assertEquals(original.getRecurrence(), copy.getRecurrence());
+        assertFalse(event.isRecurring());
+    }
+
     @Test
     public void testSetAndGetId() {
         event.setId(5);
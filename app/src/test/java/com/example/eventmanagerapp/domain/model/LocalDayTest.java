@@ -0,0 +1,119 @@
+package com.example.eventmanagerapp.domain.model;
+
+import com.example.eventmanagerapp.utils.DateTimeHelper;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for LocalDay
+ */
+public class LocalDayTest {
+
+    @Test
+    public void testOf_KnownEpochDays() {
+        assertEquals(0, LocalDay.of(1970, 1, 1).getEpochDay());
+        assertEquals(-1, LocalDay.of(1969, 12, 31).getEpochDay());
+        assertEquals(20089, LocalDay.of(2025, 1, 1).getEpochDay());
+        assertEquals(11016, LocalDay.of(2000, 2, 29).getEpochDay());
+    }
+
+    @Test
+    public void testFields_MatchCalendarForEveryDay() {
+        Calendar cal = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        cal.clear();
+        cal.set(1990, Calendar.JANUARY, 1);
+
+        for (int epochDay = LocalDay.of(1990, 1, 1).getEpochDay();
+             epochDay < LocalDay.of(2110, 1, 1).getEpochDay(); epochDay++) {
+            LocalDay day = LocalDay.ofEpochDay(epochDay);
+
+            assertEquals(cal.get(Calendar.YEAR), day.getYear());
+            assertEquals(cal.get(Calendar.MONTH) + 1, day.getMonth());
+            assertEquals(cal.get(Calendar.DAY_OF_MONTH), day.getDayOfMonth());
+            assertEquals(cal.get(Calendar.DAY_OF_WEEK), day.getDayOfWeek());
+            assertEquals(day, LocalDay.of(day.getYear(), day.getMonth(), day.getDayOfMonth()));
+
+            cal.add(Calendar.DAY_OF_MONTH, 1);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOf_NotALeapYear() {
+        LocalDay.of(2025, 2, 29);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOf_InvalidMonth() {
+        LocalDay.of(2025, 13, 1);
+    }
+
+    @Test
+    public void testOf_LeapYears() {
+        assertEquals(29, LocalDay.of(2024, 2, 29).getDayOfMonth());
+        assertEquals(29, LocalDay.of(2000, 2, 29).getDayOfMonth());
+        try {
+            LocalDay.of(2100, 2, 29);
+            fail("2100 is not a leap year");
+        } catch (IllegalArgumentException expected) {
+            // ok
+        }
+    }
+
+    @Test
+    public void testWeekStart_AlwaysMonday() {
+        LocalDay monday = LocalDay.of(2025, 12, 15);
+
+        for (int i = 0; i < 7; i++) {
+            assertEquals(monday, monday.plusDays(i).weekStart());
+        }
+        assertEquals(monday.plusDays(7), monday.plusDays(7).weekStart());
+        assertEquals(LocalDay.of(1969, 12, 29), LocalDay.of(1970, 1, 1).weekStart());
+    }
+
+    @Test
+    public void testFromCalendar_AndMillis() {
+        Calendar cal = Calendar.getInstance();
+        cal.set(2025, Calendar.DECEMBER, 31, 23, 59, 0);
+
+        assertEquals(LocalDay.of(2025, 12, 31), LocalDay.fromCalendar(cal));
+        assertEquals(LocalDay.of(2025, 12, 31), LocalDay.fromMillis(cal.getTimeInMillis()));
+        assertEquals(LocalDay.of(2026, 1, 1), LocalDay.fromMillis(cal.getTimeInMillis() + 60000));
+    }
+
+    @Test
+    public void testStartMillisAndAtMinute_MatchCalendar() {
+        LocalDay day = LocalDay.of(2025, 12, 17);
+        Calendar cal = Calendar.getInstance();
+        cal.clear();
+        cal.set(2025, Calendar.DECEMBER, 17, 0, 0, 0);
+
+        assertEquals(cal.getTimeInMillis(), day.startMillis());
+
+        cal.set(Calendar.HOUR_OF_DAY, 14);
+        cal.set(Calendar.MINUTE, 30);
+        assertEquals(cal.getTimeInMillis(), day.atMinute(14 * 60 + 30));
+    }
+
+    @Test
+    public void testEqualsHashCodeCompare() {
+        LocalDay a = LocalDay.of(2025, 12, 25);
+        LocalDay b = LocalDay.ofEpochDay(a.getEpochDay());
+
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertNotEquals(a, a.plusDays(1));
+        assertTrue(a.compareTo(a.plusDays(1)) < 0);
+        assertEquals(0, a.compareTo(b));
+    }
+
+    @Test
+    public void testToString_TagFormat() {
+        assertEquals("2025-01-05", LocalDay.of(2025, 1, 5).toString());
+        assertEquals("05/01/2025", DateTimeHelper.formatDisplayDate(LocalDay.of(2025, 1, 5)));
+    }
+}
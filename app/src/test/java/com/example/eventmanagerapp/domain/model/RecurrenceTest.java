@@ -0,0 +1,106 @@
+package com.example.eventmanagerapp.domain.model;
+
+import com.example.eventmanagerapp.utils.DateTimeHelper;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for Recurrence
+ */
+public class RecurrenceTest {
+
+    private static final long MINUTE = 60 * 1000L;
+    private static final long HOUR = 60 * MINUTE;
+
+    private static void withDefaultZone(String id, Runnable test) {
+        TimeZone previous = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone(id));
+        DateTimeHelper.onTimeZoneChanged();
+        try {
+            test.run();
+        } finally {
+            TimeZone.setDefault(previous);
+            DateTimeHelper.onTimeZoneChanged();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_RejectsNonPositiveInterval() {
+        new Recurrence(0, Recurrence.FOREVER);
+    }
+
+    @Test
+    public void testOccurrenceStart_KeepsLocalTimeAcrossDst() {
+        withDefaultZone("America/New_York", () -> {
+            // Weekly 09:00 from 2025-03-03, clocks go forward on 2025-03-09
+            long start = LocalDay.of(2025, 3, 3).atMinute(9 * 60);
+            Recurrence weekly = new Recurrence(Recurrence.WEEKLY, Recurrence.FOREVER);
+
+            long second = weekly.occurrenceStart(start, 1);
+
+            assertEquals(LocalDay.of(2025, 3, 10).atMinute(9 * 60), second);
+            assertEquals(7 * 24 * HOUR - HOUR, second - start);
+        });
+    }
+
+    @Test
+    public void testOccurrenceStart_MatchesCalendar() {
+        withDefaultZone("Europe/Berlin", () -> {
+            Calendar cal = Calendar.getInstance();
+            cal.clear();
+            cal.set(2025, Calendar.JANUARY, 1, 18, 30);
+            long start = cal.getTimeInMillis();
+            Recurrence daily = new Recurrence(Recurrence.DAILY, Recurrence.FOREVER);
+
+            for (int i = 0; i < 800; i++) {
+                assertEquals("index " + i, cal.getTimeInMillis(), daily.occurrenceStart(start, i));
+                cal.add(Calendar.DAY_OF_MONTH, 1);
+            }
+        });
+    }
+
+    @Test
+    public void testFirstIndexFrom_FirstOccurrenceAtOrAfter() {
+        withDefaultZone("America/New_York", () -> {
+            long start = LocalDay.of(2025, 1, 6).atMinute(9 * 60);
+            Recurrence weekly = new Recurrence(Recurrence.WEEKLY, Recurrence.FOREVER);
+
+            assertEquals(0, weekly.firstIndexFrom(start, start - HOUR));
+            assertEquals(0, weekly.firstIndexFrom(start, start));
+            assertEquals(1, weekly.firstIndexFrom(start, start + 1));
+
+            for (int i = 1; i < 120; i++) {
+                long occurrence = weekly.occurrenceStart(start, i);
+                assertEquals(i, weekly.firstIndexFrom(start, occurrence));
+                assertEquals(i, weekly.firstIndexFrom(start, occurrence - 1));
+                assertEquals(i + 1, weekly.firstIndexFrom(start, occurrence + 1));
+            }
+        });
+    }
+
+    @Test
+    public void testHasOccurrence_BeforeUntil() {
+        long start = LocalDay.of(2025, 1, 6).atMinute(9 * 60);
+        Recurrence daily = new Recurrence(Recurrence.DAILY, LocalDay.of(2025, 1, 9).startMillis());
+
+        assertTrue(daily.hasOccurrence(start, 0));
+        assertTrue(daily.hasOccurrence(start, 2));
+        assertFalse(daily.hasOccurrence(start, 3));
+        assertFalse(daily.hasOccurrence(start, -1));
+    }
+
+    @Test
+    public void testEquals() {
+        assertEquals(new Recurrence(Recurrence.DAILY, Recurrence.FOREVER),
+                new Recurrence(Recurrence.DAILY, Recurrence.FOREVER));
+        assertNotEquals(new Recurrence(Recurrence.DAILY, Recurrence.FOREVER),
+                new Recurrence(Recurrence.WEEKLY, Recurrence.FOREVER));
+        assertNotEquals(new Recurrence(Recurrence.DAILY, Recurrence.FOREVER),
+                new Recurrence(Recurrence.DAILY, 0));
+    }
+}
@@ -2,11 +2,14 @@ package com.example.eventmanagerapp.domain.usecase;
 
 import android.content.Context;
 
+import com.example.eventmanagerapp.data.local.AppDatabase;
 import com.example.eventmanagerapp.data.repository.EventRepository;
 import com.example.eventmanagerapp.domain.model.Event;
+import com.example.eventmanagerapp.domain.model.LocalDay;
 import com.example.eventmanagerapp.utils.AlarmScheduler;
 import com.example.eventmanagerapp.utils.SessionManager;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -42,19 +45,19 @@ public class CreateEventUseCaseTest {
         sessionManager.createLoginSession(100, "testuser");
     }
 
+    @After
+    public void tearDown() {
+        AppDatabase.getInstance(context).close();
+    }
+
     @Test
     public void testExecute_SuccessfulEventCreation() {
-        Calendar tomorrow = Calendar.getInstance();
-        tomorrow.add(Calendar.DAY_OF_MONTH, 1);
-        String dateTag = String.format("%04d-%02d-%02d",
-                tomorrow.get(Calendar.YEAR),
-                tomorrow.get(Calendar.MONTH) + 1,
-                tomorrow.get(Calendar.DAY_OF_MONTH));
+        LocalDay tomorrow = LocalDay.today().plusDays(1);
 
         CreateEventUseCase.Result result = createEventUseCase.execute(
                 "Meeting",
                 "Important meeting",
-                dateTag,
+                tomorrow,
                 9, 0,
                 10, 30,
                 15
@@ -66,17 +69,12 @@ public class CreateEventUseCaseTest {
 
     @Test
     public void testExecute_EmptyTitle() {
-        Calendar tomorrow = Calendar.getInstance();
-        tomorrow.add(Calendar.DAY_OF_MONTH, 1);
-        String dateTag = String.format("%04d-%02d-%02d",
-                tomorrow.get(Calendar.YEAR),
-                tomorrow.get(Calendar.MONTH) + 1,
-                tomorrow.get(Calendar.DAY_OF_MONTH));
+        LocalDay tomorrow = LocalDay.today().plusDays(1);
 
         CreateEventUseCase.Result result = createEventUseCase.execute(
                 "",
                 "Note",
-                dateTag,
+                tomorrow,
                 9, 0,
                 10, 30,
                 15
@@ -88,17 +86,12 @@ public class CreateEventUseCaseTest {
 
     @Test
     public void testExecute_TitleTooShort() {
-        Calendar tomorrow = Calendar.getInstance();
-        tomorrow.add(Calendar.DAY_OF_MONTH, 1);
-        String dateTag = String.format("%04d-%02d-%02d",
-                tomorrow.get(Calendar.YEAR),
-                tomorrow.get(Calendar.MONTH) + 1,
-                tomorrow.get(Calendar.DAY_OF_MONTH));
+        LocalDay tomorrow = LocalDay.today().plusDays(1);
 
         CreateEventUseCase.Result result = createEventUseCase.execute(
                 "AB",
                 "Note",
-                dateTag,
+                tomorrow,
                 9, 0,
                 10, 30,
                 15
@@ -110,17 +103,12 @@ public class CreateEventUseCaseTest {
 
     @Test
     public void testExecute_InvalidStartTime() {
-        Calendar tomorrow = Calendar.getInstance();
-        tomorrow.add(Calendar.DAY_OF_MONTH, 1);
-        String dateTag = String.format("%04d-%02d-%02d",
-                tomorrow.get(Calendar.YEAR),
-                tomorrow.get(Calendar.MONTH) + 1,
-                tomorrow.get(Calendar.DAY_OF_MONTH));
+        LocalDay tomorrow = LocalDay.today().plusDays(1);
 
         CreateEventUseCase.Result result = createEventUseCase.execute(
                 "Meeting",
                 "Note",
-                dateTag,
+                tomorrow,
                 -1, -1,
                 10, 30,
                 15
@@ -132,17 +120,12 @@ public class CreateEventUseCaseTest {
 
     @Test
     public void testExecute_InvalidEndTime() {
-        Calendar tomorrow = Calendar.getInstance();
-        tomorrow.add(Calendar.DAY_OF_MONTH, 1);
-        String dateTag = String.format("%04d-%02d-%02d",
-                tomorrow.get(Calendar.YEAR),
-                tomorrow.get(Calendar.MONTH) + 1,
-                tomorrow.get(Calendar.DAY_OF_MONTH));
+        LocalDay tomorrow = LocalDay.today().plusDays(1);
 
         CreateEventUseCase.Result result = createEventUseCase.execute(
                 "Meeting",
                 "Note",
-                dateTag,
+                tomorrow,
                 9, 0,
                 -1, -1,
                 15
@@ -154,17 +137,12 @@ public class CreateEventUseCaseTest {
 
     @Test
     public void testExecute_EndTimeBeforeStartTime() {
-        Calendar tomorrow = Calendar.getInstance();
-        tomorrow.add(Calendar.DAY_OF_MONTH, 1);
-        String dateTag = String.format("%04d-%02d-%02d",
-                tomorrow.get(Calendar.YEAR),
-                tomorrow.get(Calendar.MONTH) + 1,
-                tomorrow.get(Calendar.DAY_OF_MONTH));
+        LocalDay tomorrow = LocalDay.today().plusDays(1);
 
         CreateEventUseCase.Result result = createEventUseCase.execute(
                 "Meeting",
                 "Note",
-                dateTag,
+                tomorrow,
                 10, 30,
                 9, 0,  // End before start
                 15
@@ -176,17 +154,12 @@ public class CreateEventUseCaseTest {
 
     @Test
     public void testExecute_PastTime() {
-        Calendar yesterday = Calendar.getInstance();
-        yesterday.add(Calendar.DAY_OF_MONTH, -1);
-        String dateTag = String.format("%04d-%02d-%02d",
-                yesterday.get(Calendar.YEAR),
-                yesterday.get(Calendar.MONTH) + 1,
-                yesterday.get(Calendar.DAY_OF_MONTH));
+        LocalDay yesterday = LocalDay.today().plusDays(-1);
 
         CreateEventUseCase.Result result = createEventUseCase.execute(
                 "Meeting",
                 "Note",
-                dateTag,
+                yesterday,
                 9, 0,
                 10, 30,
                 15
@@ -201,17 +174,12 @@ public class CreateEventUseCaseTest {
         // Logout
         sessionManager.logout();
 
-        Calendar tomorrow = Calendar.getInstance();
-        tomorrow.add(Calendar.DAY_OF_MONTH, 1);
-        String dateTag = String.format("%04d-%02d-%02d",
-                tomorrow.get(Calendar.YEAR),
-                tomorrow.get(Calendar.MONTH) + 1,
-                tomorrow.get(Calendar.DAY_OF_MONTH));
+        LocalDay tomorrow = LocalDay.today().plusDays(1);
 
         CreateEventUseCase.Result result = createEventUseCase.execute(
                 "Meeting",
                 "Note",
-                dateTag,
+                tomorrow,
                 9, 0,
                 10, 30,
                 15
@@ -223,17 +191,12 @@ public class CreateEventUseCaseTest {
 
     @Test
     public void testExecute_ZeroRemindBefore() {
-        Calendar tomorrow = Calendar.getInstance();
-        tomorrow.add(Calendar.DAY_OF_MONTH, 1);
-        String dateTag = String.format("%04d-%02d-%02d",
-                tomorrow.get(Calendar.YEAR),
-                tomorrow.get(Calendar.MONTH) + 1,
-                tomorrow.get(Calendar.DAY_OF_MONTH));
+        LocalDay tomorrow = LocalDay.today().plusDays(1);
 
         CreateEventUseCase.Result result = createEventUseCase.execute(
                 "Meeting",
                 "Note",
-                dateTag,
+                tomorrow,
                 9, 0,
                 10, 30,
                 0  // Remind at exact time
@@ -245,17 +208,12 @@ public class CreateEventUseCaseTest {
 
     @Test
     public void testExecute_NullNote() {
-        Calendar tomorrow = Calendar.getInstance();
-        tomorrow.add(Calendar.DAY_OF_MONTH, 1);
-        String dateTag = String.format("%04d-%02d-%02d",
-                tomorrow.get(Calendar.YEAR),
-                tomorrow.get(Calendar.MONTH) + 1,
-                tomorrow.get(Calendar.DAY_OF_MONTH));
+        LocalDay tomorrow = LocalDay.today().plusDays(1);
 
         CreateEventUseCase.Result result = createEventUseCase.execute(
                 "Meeting",
                 null,  // null note
-                dateTag,
+                tomorrow,
                 9, 0,
                 10, 30,
                 15
@@ -264,4 +222,57 @@ public class CreateEventUseCaseTest {
         // Should succeed (note is optional)
         assertTrue(result.isSuccess() || result.needPermission());
     }
+
+    @Test
+    public void testExecute_StoresLocalTimesOfDay() {
+        LocalDay tomorrow = LocalDay.today().plusDays(1);
+
+        CreateEventUseCase.Result result = createEventUseCase.execute(
+                "Meeting",
+                null,
+                tomorrow,
+                9, 15,
+                10, 45,
+                15
+        );
+        assertTrue(result.isSuccess() || result.needPermission());
+
+        Event saved = repository.getEventsByUserId(100).get(0);
+        Calendar start = Calendar.getInstance();
+        start.setTimeInMillis(saved.getStartTime());
+        assertEquals(tomorrow, LocalDay.fromCalendar(start));
+        assertEquals(9, start.get(Calendar.HOUR_OF_DAY));
+        assertEquals(15, start.get(Calendar.MINUTE));
+        assertEquals(90 * 60000L, saved.getEndTime() - saved.getStartTime());
+    }
+
+    @Test
+    public void testExecute_MissingDay() {
+        CreateEventUseCase.Result result = createEventUseCase.execute(
+                "Meeting",
+                null,
+                null,
+                9, 0,
+                10, 0,
+                15
+        );
+
+        assertFalse(result.isSuccess());
+        assertEquals("Thiếu ngày", result.getErrorMessage());
+    }
+
+    @Test
+    public void testExecute_ReportsConflicts() {
+        LocalDay tomorrow = LocalDay.today().plusDays(1);
+        CreateEventUseCase.Result first = createEventUseCase.execute(
+                "Meeting", "", tomorrow, 9, 0, 10, 0, 0);
+        assertFalse(first.hasConflicts());
+
+        CreateEventUseCase.Result second = createEventUseCase.execute(
+                "Lunch", "", tomorrow, 9, 30, 11, 0, 0);
+
+        assertTrue(second.isSuccess());
+        assertEquals(1, second.getConflicts().size());
+        assertEquals(first.getEventId(), second.getConflicts().get(0).getId());
+    }
 }
@@ -2,10 +2,14 @@ package com.example.eventmanagerapp.domain.usecase;
 
 import android.content.Context;
 
+import com.example.eventmanagerapp.data.local.AppDatabase;
 import com.example.eventmanagerapp.data.repository.EventRepository;
 import com.example.eventmanagerapp.domain.model.Event;
+import com.example.eventmanagerapp.domain.model.LocalDay;
+import com.example.eventmanagerapp.domain.model.Recurrence;
 import com.example.eventmanagerapp.utils.SessionManager;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -39,6 +43,11 @@ public class DeleteEventUseCaseTest {
         sessionManager.createLoginSession(100, "testuser");
     }
 
+    @After
+    public void tearDown() {
+        AppDatabase.getInstance(context).close();
+    }
+
     @Test
     public void testExecute_SuccessfulDeletion() {
         // Create an event
@@ -131,4 +140,58 @@ public class DeleteEventUseCaseTest {
         assertNull(repository.getEventById((int) eventId1));
         assertNotNull(repository.getEventById((int) eventId2));
     }
+
+    @Test
+    public void testDeleteOccurrence_KeepsSeries() {
+        LocalDay first = LocalDay.today().plusDays(1);
+        Event event = new Event();
+        event.setUserId(100);
+        event.setTitle("Standup");
+        event.setStartTime(first.atMinute(9 * 60));
+        event.setEndTime(first.atMinute(9 * 60 + 15));
+        event.setRemindBefore(15);
+        event.setRecurrence(new Recurrence(Recurrence.DAILY, Recurrence.FOREVER));
+        int eventId = (int) repository.createEvent(event);
+
+        DeleteEventUseCase.Result result = deleteEventUseCase.deleteOccurrence(eventId, first.atMinute(9 * 60));
+
+        assertTrue(result.isSuccess());
+        assertNotNull(repository.getEventById(eventId));
+        assertTrue(repository.getSkippedOccurrences(eventId, Long.MIN_VALUE, Long.MAX_VALUE)
+                .contains(first.atMinute(9 * 60)));
+        // The reminder moves on to the next occurrence
+        assertEquals(first.plusDays(1).atMinute(9 * 60 - 15),
+                repository.getPendingReminders().get(0).getTriggerAt());
+    }
+
+    @Test
+    public void testDeleteOccurrence_SingleEventIsDeleted() {
+        Event event = new Event();
+        event.setUserId(100);
+        event.setTitle("Once");
+        event.setStartTime(System.currentTimeMillis() + 3600000);
+        event.setEndTime(System.currentTimeMillis() + 7200000);
+        int eventId = (int) repository.createEvent(event);
+
+        DeleteEventUseCase.Result result = deleteEventUseCase.deleteOccurrence(eventId, event.getStartTime());
+
+        assertTrue(result.isSuccess());
+        assertNull(repository.getEventById(eventId));
+    }
+
+    @Test
+    public void testDeleteOccurrence_NoPermission() {
+        Event event = new Event();
+        event.setUserId(200);
+        event.setTitle("Other");
+        event.setStartTime(System.currentTimeMillis() + 3600000);
+        event.setEndTime(System.currentTimeMillis() + 7200000);
+        event.setRecurrence(new Recurrence(Recurrence.WEEKLY, Recurrence.FOREVER));
+        int eventId = (int) repository.createEvent(event);
+
+        DeleteEventUseCase.Result result = deleteEventUseCase.deleteOccurrence(eventId, event.getStartTime());
+
+        assertFalse(result.isSuccess());
+        assertTrue(repository.getSkippedOccurrences(eventId, Long.MIN_VALUE, Long.MAX_VALUE).isEmpty());
+    }
 }
@@ -0,0 +1,170 @@
+package com.example.eventmanagerapp.domain.usecase;
+
+import android.content.Context;
+
+import com.example.eventmanagerapp.data.local.AppDatabase;
+import com.example.eventmanagerapp.data.repository.EventRepository;
+import com.example.eventmanagerapp.domain.model.Event;
+import com.example.eventmanagerapp.domain.model.LocalDay;
+import com.example.eventmanagerapp.domain.model.Recurrence;
+import com.example.eventmanagerapp.domain.model.TimeSlot;
+import com.example.eventmanagerapp.utils.SessionManager;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for FindFreeSlotsUseCase
+ */
+@RunWith(RobolectricTestRunner.class)
+public class FindFreeSlotsUseCaseTest {
+
+    private static final long MINUTE = 60000L;
+    private static final long HOUR = 60 * MINUTE;
+
+    private FindFreeSlotsUseCase findFreeSlotsUseCase;
+    private Context context;
+    private EventRepository repository;
+    private SessionManager sessionManager;
+    private LocalDay monday;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        findFreeSlotsUseCase = new FindFreeSlotsUseCase(context);
+        repository = EventRepository.getInstance(context);
+        sessionManager = new SessionManager(context);
+
+        repository.clearAll();
+        sessionManager.createLoginSession(100, "testuser");
+        monday = LocalDay.today().weekStart().plusDays(7);
+    }
+
+    @After
+    public void tearDown() {
+        AppDatabase.getInstance(context).close();
+    }
+
+    private static Event busy(long start, long end) {
+        return new Event(0, 100, "Busy", null, start, end, 0);
+    }
+
+    private long at(int dayIndex, int hour, int minute) {
+        return monday.plusDays(dayIndex).atMinute(hour * 60 + minute);
+    }
+
+    private FindFreeSlotsUseCase.SlotCollector workdays(int days, long minDuration) {
+        long[] starts = new long[days];
+        long[] ends = new long[days];
+        for (int i = 0; i < days; i++) {
+            starts[i] = at(i, 8, 0);
+            ends[i] = at(i, 17, 0);
+        }
+        return new FindFreeSlotsUseCase.SlotCollector(starts, ends, minDuration);
+    }
+
+    private void createEvent(long start, long end) {
+        Event event = busy(start, end);
+        event.setTitle("Event");
+        repository.createEvent(event);
+    }
+
+    @Test
+    public void testSlotCollector_GapsBetweenMergedEvents() {
+        FindFreeSlotsUseCase.SlotCollector collector = workdays(2, 30 * MINUTE);
+        collector.accept(busy(at(0, 9, 0), at(0, 10, 0)));
+        collector.accept(busy(at(0, 9, 30), at(0, 11, 0)));
+        collector.accept(busy(at(0, 10, 0), at(0, 10, 30)));
+        collector.accept(busy(at(0, 12, 0), at(0, 12, 20)));
+
+        List<TimeSlot> slots = collector.finish();
+
+        assertEquals(4, slots.size());
+        assertEquals(new TimeSlot(at(0, 8, 0), at(0, 9, 0)), slots.get(0));
+        assertEquals(new TimeSlot(at(0, 11, 0), at(0, 12, 0)), slots.get(1));
+        assertEquals(new TimeSlot(at(0, 12, 20), at(0, 17, 0)), slots.get(2));
+        assertEquals(new TimeSlot(at(1, 8, 0), at(1, 17, 0)), slots.get(3));
+    }
+
+    @Test
+    public void testSlotCollector_EventAcrossNightAndBeforeRange() {
+        FindFreeSlotsUseCase.SlotCollector collector = workdays(3, MINUTE);
+        collector.accept(busy(at(-1, 20, 0), at(0, 9, 0)));
+        collector.accept(busy(at(0, 16, 0), at(1, 10, 0)));
+        collector.accept(busy(at(2, 0, 0), at(2, 23, 0)));
+
+        List<TimeSlot> slots = collector.finish();
+
+        assertEquals(2, slots.size());
+        assertEquals(new TimeSlot(at(0, 9, 0), at(0, 16, 0)), slots.get(0));
+        assertEquals(new TimeSlot(at(1, 10, 0), at(1, 17, 0)), slots.get(1));
+    }
+
+    @Test
+    public void testSlotCollector_DropsShortGaps() {
+        FindFreeSlotsUseCase.SlotCollector collector = workdays(1, HOUR);
+        collector.accept(busy(at(0, 8, 30), at(0, 9, 0)));
+        collector.accept(busy(at(0, 9, 50), at(0, 17, 0)));
+
+        assertTrue(collector.finish().isEmpty());
+    }
+
+    @Test
+    public void testExecute_UsesStoredEventsAndSeries() {
+        createEvent(at(-1, 22, 0), at(0, 9, 0));
+        createEvent(at(0, 15, 0), at(0, 16, 0));
+
+        Event lunch = busy(at(-10, 12, 0), at(-10, 13, 0));
+        lunch.setTitle("Lunch");
+        lunch.setRecurrence(new Recurrence(Recurrence.DAILY, Recurrence.FOREVER));
+        repository.createEvent(lunch);
+
+        List<TimeSlot> slots = findFreeSlotsUseCase.execute(monday, 2, 8 * 60, 17 * 60, 30);
+
+        List<TimeSlot> expected = new ArrayList<>();
+        expected.add(new TimeSlot(at(0, 9, 0), at(0, 12, 0)));
+        expected.add(new TimeSlot(at(0, 13, 0), at(0, 15, 0)));
+        expected.add(new TimeSlot(at(0, 16, 0), at(0, 17, 0)));
+        expected.add(new TimeSlot(at(1, 8, 0), at(1, 12, 0)));
+        expected.add(new TimeSlot(at(1, 13, 0), at(1, 17, 0)));
+        assertEquals(expected, slots);
+    }
+
+    @Test
+    public void testExecute_NotLoggedIn() {
+        sessionManager.logout();
+
+        assertTrue(findFreeSlotsUseCase.execute(monday, 5, 8 * 60, 17 * 60, 30).isEmpty());
+    }
+
+    @Test
+    public void testExecute_DenseMonth() {
+        List<Event> events = new ArrayList<>();
+        for (int day = 0; day < 31; day++) {
+            // 20-minute meetings every half hour, around the clock
+            for (int slot = 0; slot < 48; slot++) {
+                long start = at(day, 0, 0) + slot * 30 * MINUTE;
+                Event event = busy(start, start + 20 * MINUTE);
+                event.setTitle("Meeting");
+                events.add(event);
+            }
+        }
+        repository.createEvents(events);
+
+        List<TimeSlot> slots = findFreeSlotsUseCase.execute(monday, 31, 8 * 60, 17 * 60, 10);
+
+        // 18 ten-minute gaps per working day
+        assertEquals(31 * 18, slots.size());
+        assertEquals(new TimeSlot(at(0, 8, 20), at(0, 8, 30)), slots.get(0));
+        assertEquals(new TimeSlot(at(30, 16, 50), at(30, 17, 0)), slots.get(slots.size() - 1));
+    }
+}
@@ -2,10 +2,15 @@ package com.example.eventmanagerapp.domain.usecase;
 
 import android.content.Context;
 
+import com.example.eventmanagerapp.data.local.AppDatabase;
 import com.example.eventmanagerapp.data.repository.EventRepository;
+import com.example.eventmanagerapp.domain.model.DaySummary;
 import com.example.eventmanagerapp.domain.model.Event;
+import com.example.eventmanagerapp.domain.model.LocalDay;
+import com.example.eventmanagerapp.domain.model.Recurrence;
 import com.example.eventmanagerapp.utils.SessionManager;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -41,6 +46,11 @@ public class GetEventsUseCaseTest {
         sessionManager.createLoginSession(100, "testuser");
     }
 
+    @After
+    public void tearDown() {
+        AppDatabase.getInstance(context).close();
+    }
+
     @Test
     public void testGetAllEvents_EmptyList() {
         List<Event> events = getEventsUseCase.getAllEvents();
@@ -176,4 +186,238 @@ public class GetEventsUseCaseTest {
         assertNotNull(retrievedEvent);
         assertEquals(200, retrievedEvent.getUserId());
     }
+
+    @Test
+    public void testGetEventsInRange_OnlyCurrentUserInRange() {
+        long from = System.currentTimeMillis();
+        long to = from + 7 * 24 * 3600000L;
+
+        Event inRange = new Event();
+        inRange.setUserId(100);
+        inRange.setTitle("In Range");
+        inRange.setStartTime(from + 3600000);
+        inRange.setEndTime(from + 7200000);
+        repository.createEvent(inRange);
+
+        Event outOfRange = new Event();
+        outOfRange.setUserId(100);
+        outOfRange.setTitle("Out Of Range");
+        outOfRange.setStartTime(to + 3600000);
+        outOfRange.setEndTime(to + 7200000);
+        repository.createEvent(outOfRange);
+
+        Event otherUser = new Event();
+        otherUser.setUserId(200);
+        otherUser.setTitle("Other User");
+        otherUser.setStartTime(from + 3600000);
+        otherUser.setEndTime(from + 7200000);
+        repository.createEvent(otherUser);
+
+        List<Event> events = getEventsUseCase.getEventsInRange(from, to);
+
+        assertEquals(1, events.size());
+        assertEquals("In Range", events.get(0).getTitle());
+    }
+
+    @Test
+    public void testGetEventsInDays_LocalDayBounds() {
+        LocalDay first = LocalDay.of(2026, 3, 2);
+
+        Event lastMinute = new Event();
+        lastMinute.setUserId(100);
+        lastMinute.setTitle("Sunday Night");
+        lastMinute.setStartTime(first.plusDays(6).atMinute(23 * 60 + 59));
+        lastMinute.setEndTime(first.plusDays(7).startMillis());
+        repository.createEvent(lastMinute);
+
+        Event nextWeek = new Event();
+        nextWeek.setUserId(100);
+        nextWeek.setTitle("Next Monday");
+        nextWeek.setStartTime(first.plusDays(7).startMillis());
+        nextWeek.setEndTime(first.plusDays(7).atMinute(60));
+        repository.createEvent(nextWeek);
+
+        List<Event> events = getEventsUseCase.getEventsInDays(first, 7);
+
+        assertEquals(1, events.size());
+        assertEquals("Sunday Night", events.get(0).getTitle());
+    }
+
+    @Test
+    public void testGetEventsInRange_NotLoggedIn() {
+        sessionManager.logout();
+
+        long from = System.currentTimeMillis();
+        List<Event> events = getEventsUseCase.getEventsInRange(from, from + 3600000);
+
+        assertNotNull(events);
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void testGetEventsAfter_PagesThroughAllEvents() {
+        long start = 1767571200000L;
+        for (int i = 0; i < 5; i++) {
+            Event event = new Event();
+            event.setUserId(100);
+            event.setTitle("Event " + i);
+            event.setStartTime(start + i * 3600000L);
+            event.setEndTime(start + i * 3600000L + 1800000L);
+            repository.createEvent(event);
+        }
+
+        List<Event> first = getEventsUseCase.getEventsAfter(null, 2);
+        List<Event> second = getEventsUseCase.getEventsAfter(first.get(1), 2);
+        List<Event> third = getEventsUseCase.getEventsAfter(second.get(1), 2);
+
+        assertEquals("Event 0", first.get(0).getTitle());
+        assertEquals("Event 2", second.get(0).getTitle());
+        assertEquals(1, third.size());
+        assertEquals("Event 4", third.get(0).getTitle());
+
+        List<Event> before = getEventsUseCase.getEventsBefore(third.get(0), 2);
+        assertEquals("Event 2", before.get(0).getTitle());
+        assertEquals("Event 3", before.get(1).getTitle());
+    }
+
+    @Test
+    public void testGetEventsAfter_NotLoggedIn() {
+        sessionManager.logout();
+
+        assertTrue(getEventsUseCase.getEventsAfter(null, 10).isEmpty());
+    }
+
+    @Test
+    public void testGetEventsInRange_MergesSeriesOccurrences() {
+        LocalDay monday = LocalDay.today().weekStart().plusDays(7);
+        Event once = new Event();
+        once.setUserId(100);
+        once.setTitle("Once");
+        once.setStartTime(monday.plusDays(1).atMinute(12 * 60));
+        once.setEndTime(monday.plusDays(1).atMinute(13 * 60));
+        repository.createEvent(once);
+
+        Event daily = new Event();
+        daily.setUserId(100);
+        daily.setTitle("Standup");
+        daily.setStartTime(monday.plusDays(-30).atMinute(9 * 60));
+        daily.setEndTime(monday.plusDays(-30).atMinute(9 * 60 + 15));
+        daily.setRecurrence(new Recurrence(Recurrence.DAILY, Recurrence.FOREVER));
+        repository.createEvent(daily);
+
+        List<Event> events = getEventsUseCase.getEventsInDays(monday, 7);
+
+        assertEquals(8, events.size());
+        assertEquals("Standup", events.get(0).getTitle());
+        assertEquals(monday.atMinute(9 * 60), events.get(0).getStartTime());
+        assertEquals("Standup", events.get(1).getTitle());
+        assertEquals("Once", events.get(2).getTitle());
+        for (int i = 1; i < events.size(); i++) {
+            assertTrue(events.get(i - 1).getStartTime() <= events.get(i).getStartTime());
+        }
+    }
+
+    @Test
+    public void testGetEventsAfter_PagesThroughSeriesOccurrences() {
+        LocalDay monday = LocalDay.today().weekStart().plusDays(7);
+        Event once = new Event();
+        once.setUserId(100);
+        once.setTitle("Once");
+        once.setStartTime(monday.plusDays(1).atMinute(12 * 60));
+        once.setEndTime(monday.plusDays(1).atMinute(13 * 60));
+        repository.createEvent(once);
+
+        Event daily = new Event();
+        daily.setUserId(100);
+        daily.setTitle("Standup");
+        daily.setStartTime(monday.atMinute(9 * 60));
+        daily.setEndTime(monday.atMinute(9 * 60 + 15));
+        daily.setRecurrence(new Recurrence(Recurrence.DAILY, monday.plusDays(4).startMillis()));
+        repository.createEvent(daily);
+
+        List<Event> first = getEventsUseCase.getEventsAfter(null, 3);
+        List<Event> second = getEventsUseCase.getEventsAfter(first.get(2), 3);
+
+        // Standup Mon, Standup Tue, Once Tue | Standup Wed, Standup Thu
+        assertEquals(3, first.size());
+        assertEquals(monday.atMinute(9 * 60), first.get(0).getStartTime());
+        assertEquals("Standup", first.get(1).getTitle());
+        assertEquals("Once", first.get(2).getTitle());
+        assertEquals(2, second.size());
+        assertEquals(monday.plusDays(2).atMinute(9 * 60), second.get(0).getStartTime());
+        assertEquals(monday.plusDays(3).atMinute(9 * 60), second.get(1).getStartTime());
+        assertTrue(getEventsUseCase.getEventsAfter(second.get(1), 3).isEmpty());
+
+        List<Event> before = getEventsUseCase.getEventsBefore(second.get(0), 2);
+        assertEquals(2, before.size());
+        assertEquals(monday.plusDays(1).atMinute(9 * 60), before.get(0).getStartTime());
+        assertEquals("Once", before.get(1).getTitle());
+    }
+
+    @Test
+    public void testGetAllEvents_ExpandsSeries() {
+        LocalDay monday = LocalDay.today().weekStart().plusDays(7);
+        Event weekly = new Event();
+        weekly.setUserId(100);
+        weekly.setTitle("Review");
+        weekly.setStartTime(monday.atMinute(10 * 60));
+        weekly.setEndTime(monday.atMinute(11 * 60));
+        weekly.setRecurrence(new Recurrence(Recurrence.WEEKLY, monday.plusDays(21).startMillis()));
+        repository.createEvent(weekly);
+
+        List<Event> events = getEventsUseCase.getAllEvents();
+
+        assertEquals(3, events.size());
+        assertEquals(monday.plusDays(14).atMinute(10 * 60), events.get(2).getStartTime());
+    }
+
+    @Test
+    public void testGetEventsInRange_SkippedOccurrenceDisappears() {
+        LocalDay monday = LocalDay.today().weekStart().plusDays(7);
+        Event weekly = new Event();
+        weekly.setUserId(100);
+        weekly.setTitle("Review");
+        weekly.setStartTime(monday.atMinute(10 * 60));
+        weekly.setEndTime(monday.atMinute(11 * 60));
+        weekly.setRecurrence(new Recurrence(Recurrence.WEEKLY, Recurrence.FOREVER));
+        int id = (int) repository.createEvent(weekly);
+
+        LocalDay nextWeek = monday.plusDays(7);
+        assertEquals(1, getEventsUseCase.getEventsInDays(nextWeek, 7).size());
+
+        // The expanded window is cached; a skip must invalidate it
+        repository.skipOccurrence(id, nextWeek.atMinute(10 * 60));
+
+        assertTrue(getEventsUseCase.getEventsInDays(nextWeek, 7).isEmpty());
+        assertEquals(1, getEventsUseCase.getEventsInDays(monday, 7).size());
+    }
+
+    @Test
+    public void testGetDaySummaries_SinglesAndOccurrences() {
+        LocalDay first = LocalDay.today().weekStart().plusDays(7);
+        Event once = new Event();
+        once.setUserId(100);
+        once.setTitle("Once");
+        once.setStartTime(first.plusDays(2).atMinute(10 * 60));
+        once.setEndTime(first.plusDays(2).atMinute(12 * 60));
+        repository.createEvent(once);
+
+        Event weekly = new Event();
+        weekly.setUserId(100);
+        weekly.setTitle("Weekly");
+        weekly.setStartTime(first.plusDays(2).atMinute(15 * 60));
+        weekly.setEndTime(first.plusDays(2).atMinute(15 * 60 + 30));
+        weekly.setRecurrence(new Recurrence(Recurrence.WEEKLY, Recurrence.FOREVER));
+        repository.createEvent(weekly);
+
+        DaySummary[] summaries = getEventsUseCase.getDaySummaries(first, 14);
+
+        assertEquals(14, summaries.length);
+        assertEquals(first.getEpochDay(), summaries[0].getEpochDay());
+        assertEquals(0, summaries[0].getEventCount());
+        assertEquals(2, summaries[2].getEventCount());
+        assertEquals(150, summaries[2].getBusyMinutes());
+        assertEquals(1, summaries[9].getEventCount());
+        assertEquals(30, summaries[9].getBusyMinutes());
+    }
 }
@@ -2,10 +2,12 @@ package com.example.eventmanagerapp.domain.usecase;
 
 import android.content.Context;
 
+import com.example.eventmanagerapp.data.local.AppDatabase;
 import com.example.eventmanagerapp.data.local.UserDao;
 import com.example.eventmanagerapp.domain.model.User;
 import com.example.eventmanagerapp.utils.SessionManager;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -45,6 +47,11 @@ public class LoginUseCaseTest {
         userDao.deleteAll();
     }
 
+    @After
+    public void tearDown() {
+        AppDatabase.getInstance(context).close();
+    }
+
     @Test
     public void testExecute_SuccessfulLogin() {
         // Prepare: Create a user
@@ -0,0 +1,138 @@
+package com.example.eventmanagerapp.domain.usecase;
+
+import android.content.Context;
+
+import com.example.eventmanagerapp.data.local.AppDatabase;
+import com.example.eventmanagerapp.data.repository.EventRepository;
+import com.example.eventmanagerapp.domain.model.Event;
+import com.example.eventmanagerapp.domain.model.Recurrence;
+import com.example.eventmanagerapp.utils.SessionManager;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for SearchEventsUseCase
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SearchEventsUseCaseTest {
+
+    private SearchEventsUseCase searchEventsUseCase;
+    private Context context;
+    private EventRepository repository;
+    private SessionManager sessionManager;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        searchEventsUseCase = new SearchEventsUseCase(context);
+        repository = EventRepository.getInstance(context);
+        sessionManager = new SessionManager(context);
+
+        // Clear database
+        repository.clearAll();
+
+        // Login a test user
+        sessionManager.createLoginSession(100, "testuser");
+    }
+
+    @After
+    public void tearDown() {
+        AppDatabase.getInstance(context).close();
+    }
+
+    private void createEvent(int userId, String title, String note) {
+        Event event = new Event();
+        event.setUserId(userId);
+        event.setTitle(title);
+        event.setNote(note);
+        event.setStartTime(System.currentTimeMillis());
+        event.setEndTime(System.currentTimeMillis() + 3600000);
+        repository.createEvent(event);
+    }
+
+    @Test
+    public void testExecute_NotLoggedIn() {
+        sessionManager.logout();
+
+        SearchEventsUseCase.Result result = searchEventsUseCase.execute("meeting");
+
+        assertFalse(result.isSuccess());
+        assertNotNull(result.getErrorMessage());
+        assertTrue(result.getEvents().isEmpty());
+    }
+
+    @Test
+    public void testExecute_EmptyQuery() {
+        createEvent(100, "Meeting", null);
+
+        SearchEventsUseCase.Result result = searchEventsUseCase.execute("   ");
+
+        assertTrue(result.isSuccess());
+        assertTrue(result.getEvents().isEmpty());
+    }
+
+    @Test
+    public void testExecute_RankedResults() {
+        createEvent(100, "Lunch", "Prepare the meeting agenda");
+        createEvent(100, "Team meeting", null);
+        createEvent(100, "Gym", null);
+        createEvent(200, "Meeting of another user", null);
+
+        SearchEventsUseCase.Result result = searchEventsUseCase.execute("meeting");
+
+        assertTrue(result.isSuccess());
+        assertEquals(2, result.getEvents().size());
+        assertEquals("Team meeting", result.getEvents().get(0).getTitle());
+        assertEquals("Lunch", result.getEvents().get(1).getTitle());
+    }
+
+    @Test
+    public void testExecute_LimitRespected() {
+        for (int i = 0; i < 10; i++) {
+            createEvent(100, "Standup " + i, null);
+        }
+
+        SearchEventsUseCase.Result result = searchEventsUseCase.execute("standup", 4);
+
+        assertTrue(result.isSuccess());
+        assertEquals(4, result.getEvents().size());
+    }
+
+    @Test
+    public void testExecute_SpecialCharactersDoNotBreakQuery() {
+        createEvent(100, "C++ workshop", null);
+
+        SearchEventsUseCase.Result result = searchEventsUseCase.execute("c++ \"workshop");
+
+        assertTrue(result.isSuccess());
+        assertEquals(1, result.getEvents().size());
+    }
+
+    @Test
+    public void testExecute_SeriesShownAtNextOccurrence() {
+        long now = System.currentTimeMillis();
+        Event daily = new Event();
+        daily.setUserId(100);
+        daily.setTitle("Standup");
+        daily.setStartTime(now - 10 * 24 * 3600000L);
+        daily.setEndTime(now - 10 * 24 * 3600000L + 900000L);
+        daily.setRecurrence(new Recurrence(Recurrence.DAILY, Recurrence.FOREVER));
+        repository.createEvent(daily);
+
+        SearchEventsUseCase.Result result = searchEventsUseCase.execute("standup");
+
+        assertEquals(1, result.getEvents().size());
+        Event hit = result.getEvents().get(0);
+        // The series row starts ten days ago; the hit is its next occurrence
+        assertTrue(hit.getStartTime() > now);
+        assertTrue(hit.getStartTime() <= now + 25 * 3600000L);
+        assertEquals(900000L, hit.getEndTime() - hit.getStartTime());
+    }
+}
@@ -2,16 +2,22 @@ package com.example.eventmanagerapp.domain.usecase;
 
 import android.content.Context;
 
+import com.example.eventmanagerapp.data.local.AppDatabase;
 import com.example.eventmanagerapp.data.repository.EventRepository;
 import com.example.eventmanagerapp.domain.model.Event;
+import com.example.eventmanagerapp.domain.model.Recurrence;
+import com.example.eventmanagerapp.domain.model.Reminder;
 import com.example.eventmanagerapp.utils.SessionManager;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.RuntimeEnvironment;
 
+import java.util.List;
+
 import static org.junit.Assert.*;
 
 /**
@@ -39,6 +45,11 @@ public class UpdateEventUseCaseTest {
         sessionManager.createLoginSession(100, "testuser");
     }
 
+    @After
+    public void tearDown() {
+        AppDatabase.getInstance(context).close();
+    }
+
     @Test
     public void testExecute_SuccessfulUpdate() {
         // Create an event
@@ -264,4 +275,54 @@ public class UpdateEventUseCaseTest {
         Event updatedEvent = repository.getEventById((int) eventId);
         assertNull(updatedEvent.getNote());
     }
+
+    @Test
+    public void testExecute_ReportsConflictsButNotItself() {
+        long start = System.currentTimeMillis() + 86400000;
+        Event other = new Event();
+        other.setUserId(100);
+        other.setTitle("Other");
+        other.setStartTime(start);
+        other.setEndTime(start + 3600000);
+        long otherId = repository.createEvent(other);
+
+        Event event = new Event();
+        event.setUserId(100);
+        event.setTitle("Moving");
+        event.setStartTime(start + 7200000);
+        event.setEndTime(start + 10800000);
+        long eventId = repository.createEvent(event);
+
+        UpdateEventUseCase.Result stay = updateEventUseCase.execute(
+                (int) eventId, "Moving", "", start + 7200000, start + 10800000, 0);
+        assertFalse(stay.hasConflicts());
+
+        UpdateEventUseCase.Result moved = updateEventUseCase.execute(
+                (int) eventId, "Moving", "", start + 1800000, start + 5400000, 0);
+        assertTrue(moved.isSuccess());
+        assertEquals(1, moved.getConflicts().size());
+        assertEquals(otherId, moved.getConflicts().get(0).getId());
+    }
+
+    @Test
+    public void testExecute_SeriesReminderPointsAtNextOccurrence() {
+        long now = System.currentTimeMillis();
+        long start = now - 3 * 86400000L + 7200000;
+        Event series = new Event();
+        series.setUserId(100);
+        series.setTitle("Standup");
+        series.setStartTime(start);
+        series.setEndTime(start + 900000);
+        series.setRecurrence(new Recurrence(Recurrence.DAILY, Recurrence.FOREVER));
+        long eventId = repository.createEvent(series);
+
+        UpdateEventUseCase.Result result = updateEventUseCase.execute(
+                (int) eventId, "Daily standup", "", start, start + 900000, 0);
+
+        assertTrue(result.isSuccess());
+        List<Reminder> pending = repository.getPendingReminders();
+        assertEquals(1, pending.size());
+        // Two hours from now, give or take a DST switch; never the series' past first start
+        assertEquals(now + 7200000, pending.get(0).getTriggerAt(), 3600000);
+    }
 }
@@ -0,0 +1,201 @@
+package com.example.eventmanagerapp.domain.usecase;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for UseCaseExecutor
+ */
+public class UseCaseExecutorTest {
+
+    private ExecutorService readExecutor;
+    private ExecutorService writeExecutor;
+    private List<Runnable> mainQueue;
+    private UseCaseExecutor executor;
+
+    @Before
+    public void setUp() {
+        readExecutor = Executors.newFixedThreadPool(2);
+        writeExecutor = Executors.newSingleThreadExecutor();
+        mainQueue = Collections.synchronizedList(new ArrayList<>());
+        executor = new UseCaseExecutor(readExecutor, writeExecutor, mainQueue::add);
+    }
+
+    /**
+     * Waits for all background work, then runs what was posted to the "main thread".
+     */
+    private void drain() throws InterruptedException {
+        readExecutor.shutdown();
+        writeExecutor.shutdown();
+        assertTrue(readExecutor.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(writeExecutor.awaitTermination(5, TimeUnit.SECONDS));
+
+        List<Runnable> pending;
+        synchronized (mainQueue) {
+            pending = new ArrayList<>(mainQueue);
+            mainQueue.clear();
+        }
+        for (Runnable runnable : pending) {
+            runnable.run();
+        }
+    }
+
+    @Test
+    public void testRead_DeliversResultOnMainThread() throws Exception {
+        UseCaseExecutor.Scope scope = new UseCaseExecutor.Scope();
+        List<String> results = new ArrayList<>();
+
+        executor.read(scope, () -> "loaded", results::add);
+
+        assertTrue(results.isEmpty());
+        drain();
+        assertEquals(1, results.size());
+        assertEquals("loaded", results.get(0));
+    }
+
+    @Test
+    public void testRead_RunsOffCallerThread() throws Exception {
+        UseCaseExecutor.Scope scope = new UseCaseExecutor.Scope();
+        Thread caller = Thread.currentThread();
+        List<Thread> workers = new ArrayList<>();
+
+        executor.read(scope, () -> Thread.currentThread(), workers::add);
+
+        drain();
+        assertEquals(1, workers.size());
+        assertNotSame(caller, workers.get(0));
+    }
+
+    @Test
+    public void testCancelledTask_NoCallback() throws Exception {
+        UseCaseExecutor.Scope scope = new UseCaseExecutor.Scope();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean delivered = new AtomicBoolean(false);
+
+        UseCaseExecutor.Task task = executor.read(scope, () -> {
+            started.countDown();
+            release.await();
+            return 1;
+        }, result -> delivered.set(true));
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        task.cancel();
+        release.countDown();
+
+        drain();
+        assertTrue(task.isCancelled());
+        assertFalse(delivered.get());
+    }
+
+    @Test
+    public void testScopeCancelAll_DropsCallbacksAndRejectsNewWork() throws Exception {
+        UseCaseExecutor.Scope scope = new UseCaseExecutor.Scope();
+        AtomicBoolean delivered = new AtomicBoolean(false);
+        AtomicBoolean ranAfterCancel = new AtomicBoolean(false);
+
+        executor.read(scope, () -> 1, result -> delivered.set(true));
+        scope.cancelAll();
+        UseCaseExecutor.Task late = executor.read(scope, () -> {
+            ranAfterCancel.set(true);
+            return 2;
+        }, result -> delivered.set(true));
+
+        drain();
+        assertTrue(scope.isCancelled());
+        assertTrue(late.isCancelled());
+        assertFalse(ranAfterCancel.get());
+        assertFalse(delivered.get());
+    }
+
+    @Test
+    public void testWrite_AppliedEvenWhenCancelled() throws Exception {
+        UseCaseExecutor.Scope scope = new UseCaseExecutor.Scope();
+        AtomicBoolean applied = new AtomicBoolean(false);
+        AtomicBoolean delivered = new AtomicBoolean(false);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Keep the writer busy so the second write is still queued when it is cancelled
+        executor.write(scope, () -> {
+            release.await();
+            return 0;
+        }, result -> { });
+        UseCaseExecutor.Task task = executor.write(scope, () -> {
+            applied.set(true);
+            return 1;
+        }, result -> delivered.set(true));
+
+        task.cancel();
+        release.countDown();
+
+        drain();
+        assertTrue(applied.get());
+        assertFalse(delivered.get());
+    }
+
+    @Test
+    public void testWrites_RunInSubmissionOrder() throws Exception {
+        UseCaseExecutor.Scope scope = new UseCaseExecutor.Scope();
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> delivered = new ArrayList<>();
+
+        for (int i = 0; i < 50; i++) {
+            final int value = i;
+            executor.write(scope, () -> {
+                order.add(value);
+                return value;
+            }, delivered::add);
+        }
+
+        drain();
+        for (int i = 0; i < 50; i++) {
+            assertEquals(Integer.valueOf(i), order.get(i));
+            assertEquals(Integer.valueOf(i), delivered.get(i));
+        }
+    }
+
+    @Test
+    public void testFailure_DeliveredToErrorCallback() throws Exception {
+        UseCaseExecutor.Scope scope = new UseCaseExecutor.Scope();
+        AtomicBoolean delivered = new AtomicBoolean(false);
+        List<Exception> errors = new ArrayList<>();
+
+        executor.write(scope, () -> {
+            throw new IllegalStateException("disk full");
+        }, result -> delivered.set(true), errors::add);
+
+        assertTrue(errors.isEmpty());
+        drain();
+        assertFalse(delivered.get());
+        assertEquals(1, errors.size());
+        assertEquals("disk full", errors.get(0).getMessage());
+    }
+
+    @Test
+    public void testFailure_NotDeliveredAfterCancel() throws Exception {
+        UseCaseExecutor.Scope scope = new UseCaseExecutor.Scope();
+        List<Exception> errors = new ArrayList<>();
+
+        executor.read(scope, () -> {
+            throw new IllegalStateException("boom");
+        }, result -> { }, errors::add);
+        // Worker finishes first; the posted error callback runs after the screen is gone
+        readExecutor.shutdown();
+        assertTrue(readExecutor.awaitTermination(5, TimeUnit.SECONDS));
+        scope.cancelAll();
+
+        drain();
+        assertTrue(errors.isEmpty());
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.eventmanagerapp.presentation;
+
+import com.example.eventmanagerapp.domain.model.Event;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for AgendaPager
+ */
+public class AgendaPagerTest {
+
+    private static final int PAGE_SIZE = 10;
+    private static final int PREFETCH_DISTANCE = 3;
+    private static final int MAX_PAGES = 3;
+
+    private FakeSource source;
+    private AgendaPager pager;
+
+    /**
+     * Serves pages by key from a sorted in-memory list, like the keyset queries do.
+     */
+    private static class FakeSource implements AgendaPager.PageSource {
+        final List<Event> events = new ArrayList<>();
+        int calls;
+
+        FakeSource(int count) {
+            for (int i = 1; i <= count; i++) {
+                events.add(new Event(i, 100, "Event " + i, null, i * 1000L, i * 1000L + 500, 0));
+            }
+        }
+
+        @Override
+        public List<Event> loadAfter(Event last, int limit) {
+            calls++;
+            int from = last == null ? 0 : events.indexOf(find(last.getId())) + 1;
+            return new ArrayList<>(events.subList(from, Math.min(events.size(), from + limit)));
+        }
+
+        @Override
+        public List<Event> loadBefore(Event first, int limit) {
+            calls++;
+            int to = events.indexOf(find(first.getId()));
+            return new ArrayList<>(events.subList(Math.max(0, to - limit), to));
+        }
+
+        private Event find(int id) {
+            for (Event event : events) {
+                if (event.getId() == id) {
+                    return event;
+                }
+            }
+            throw new IllegalArgumentException("No event " + id);
+        }
+    }
+
+    @Before
+    public void setUp() {
+        source = new FakeSource(55);
+        pager = new AgendaPager(source, PAGE_SIZE, PREFETCH_DISTANCE, MAX_PAGES);
+    }
+
+    private int loadNext() throws Exception {
+        Callable<List<Event>> loader = pager.nextPageLoader();
+        assertNotNull(loader);
+        return pager.applyNext(loader.call());
+    }
+
+    @Test
+    public void testFirstPage_LoadsFromStart() throws Exception {
+        assertEquals(0, loadNext());
+
+        assertEquals(10, pager.getItemCount());
+        assertFalse(pager.shouldLoadPrevious(0));
+    }
+
+    @Test
+    public void testShouldLoadNext_OnlyWithinPrefetchDistance() throws Exception {
+        loadNext();
+
+        assertFalse(pager.shouldLoadNext(5));
+        assertTrue(pager.shouldLoadNext(6));
+        assertTrue(pager.shouldLoadNext(9));
+    }
+
+    @Test
+    public void testOnlyOneLoadAtATime() throws Exception {
+        Callable<List<Event>> loader = pager.nextPageLoader();
+
+        assertTrue(pager.isLoading());
+        assertNull(pager.nextPageLoader());
+        assertFalse(pager.shouldLoadNext(0));
+
+        pager.applyNext(loader.call());
+        assertFalse(pager.isLoading());
+        assertNotNull(pager.nextPageLoader());
+    }
+
+    @Test
+    public void testApplyNext_DropsOldestPageBeyondLimit() throws Exception {
+        loadNext();
+        loadNext();
+        loadNext();
+        assertEquals(30, pager.getItemCount());
+
+        assertEquals(10, loadNext());
+
+        assertEquals(30, pager.getItemCount());
+        // The dropped page can now be loaded again when scrolling back up
+        assertTrue(pager.shouldLoadPrevious(2));
+    }
+
+    @Test
+    public void testLoadPrevious_RestoresDroppedPageAndDropsTail() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            loadNext();
+        }
+
+        Callable<List<Event>> loader = pager.previousPageLoader();
+        List<Event> page = loader.call();
+        assertEquals(1, page.get(0).getId());
+        assertEquals(10, page.get(9).getId());
+
+        assertEquals(10, pager.applyPrevious(page));
+        assertEquals(30, pager.getItemCount());
+        assertFalse(pager.shouldLoadPrevious(0));
+        assertTrue(pager.shouldLoadNext(29));
+    }
+
+    @Test
+    public void testShortPage_MarksEnd() throws Exception {
+        for (int i = 0; i < 6; i++) {
+            loadNext();
+        }
+        int callsAtEnd = source.calls;
+
+        assertFalse(pager.shouldLoadNext(pager.getItemCount() - 1));
+        assertNull(pager.nextPageLoader());
+        assertEquals(callsAtEnd, source.calls);
+    }
+
+    @Test
+    public void testExactMultipleOfPageSize_EndKnownWithoutEmptyQuery() throws Exception {
+        source = new FakeSource(20);
+        pager = new AgendaPager(source, PAGE_SIZE, PREFETCH_DISTANCE, MAX_PAGES);
+
+        loadNext();
+        assertTrue(pager.shouldLoadNext(9));
+        loadNext();
+
+        assertEquals(20, pager.getItemCount());
+        assertNull(pager.nextPageLoader());
+        assertEquals(2, source.calls);
+    }
+
+    @Test
+    public void testWalkForwardAndBack_VisitsEveryEventOnce() throws Exception {
+        List<Integer> seen = new ArrayList<>();
+        Callable<List<Event>> loader;
+        while ((loader = pager.nextPageLoader()) != null) {
+            List<Event> page = loader.call();
+            pager.applyNext(page);
+            for (Event event : page) {
+                seen.add(event.getId());
+            }
+        }
+        assertEquals(55, seen.size());
+        for (int i = 0; i < 55; i++) {
+            assertEquals(Integer.valueOf(i + 1), seen.get(i));
+        }
+
+        int restored = 0;
+        while ((loader = pager.previousPageLoader()) != null) {
+            List<Event> page = loader.call();
+            pager.applyPrevious(page);
+            restored += page.size();
+        }
+        // 3 pages stayed in memory (the last one short), the rest came back by key
+        assertEquals(55 - 25, restored);
+        assertTrue(pager.getItemCount() <= MAX_PAGES * PAGE_SIZE);
+    }
+
+    @Test
+    public void testReset_StartsOverAndClearsLoading() throws Exception {
+        loadNext();
+        pager.nextPageLoader();
+
+        pager.reset();
+
+        assertEquals(0, pager.getItemCount());
+        assertFalse(pager.isLoading());
+        Callable<List<Event>> loader = pager.nextPageLoader();
+        assertEquals(1, loader.call().get(0).getId());
+    }
+
+    @Test
+    public void testOnLoadAborted_AllowsRetry() {
+        pager.nextPageLoader();
+
+        pager.onLoadAborted();
+
+        assertNotNull(pager.nextPageLoader());
+    }
+}
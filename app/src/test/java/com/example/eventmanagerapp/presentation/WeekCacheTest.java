@@ -0,0 +1,94 @@
+package com.example.eventmanagerapp.presentation;
+
+import com.example.eventmanagerapp.domain.model.Event;
+import com.example.eventmanagerapp.domain.model.LocalDay;
+import com.example.eventmanagerapp.utils.WeekBucketer;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for WeekCache
+ */
+@RunWith(RobolectricTestRunner.class)
+public class WeekCacheTest {
+
+    private static final LocalDay WEEK_START = LocalDay.of(2026, 1, 5);
+
+    private WeekCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new WeekCache();
+    }
+
+    private static List<List<Event>> cells() {
+        List<List<Event>> cells = new ArrayList<>();
+        for (int i = 0; i < WeekBucketer.CELL_COUNT; i++) {
+            cells.add(new ArrayList<>());
+        }
+        return cells;
+    }
+
+    @Test
+    public void testGet_MissThenHit() {
+        assertNull(cache.get(WEEK_START, 1));
+
+        List<List<Event>> cells = cells();
+        cache.put(WEEK_START, cells, 1);
+
+        assertSame(cells, cache.get(WEEK_START, 1));
+    }
+
+    @Test
+    public void testGet_StaleVersionIsDropped() {
+        cache.put(WEEK_START, cells(), 1);
+
+        assertNull(cache.get(WEEK_START, 2));
+        // Once dropped it stays a miss even if asked with the old version again
+        assertNull(cache.get(WEEK_START, 1));
+    }
+
+    @Test
+    public void testNeighbouringWeeksKeptSeparately() {
+        List<List<Event>> previous = cells();
+        List<List<Event>> current = cells();
+        List<List<Event>> next = cells();
+        cache.put(WEEK_START.plusDays(-7), previous, 3);
+        cache.put(WEEK_START, current, 3);
+        cache.put(WEEK_START.plusDays(7), next, 3);
+
+        assertSame(previous, cache.get(WEEK_START.plusDays(-7), 3));
+        assertSame(current, cache.get(WEEK_START, 3));
+        assertSame(next, cache.get(WEEK_START.plusDays(7), 3));
+    }
+
+    @Test
+    public void testSizeBound_EvictsLeastRecentlyUsedWeek() {
+        for (int i = 0; i < WeekCache.MAX_WEEKS; i++) {
+            cache.put(WEEK_START.plusDays(7 * i), cells(), 1);
+        }
+        cache.get(WEEK_START, 1);
+
+        cache.put(WEEK_START.plusDays(7 * WeekCache.MAX_WEEKS), cells(), 1);
+
+        assertNotNull(cache.get(WEEK_START, 1));
+        assertNull(cache.get(WEEK_START.plusDays(7), 1));
+    }
+
+    @Test
+    public void testClear() {
+        cache.put(WEEK_START, cells(), 1);
+
+        cache.clear();
+
+        assertNull(cache.get(WEEK_START, 1));
+    }
+}
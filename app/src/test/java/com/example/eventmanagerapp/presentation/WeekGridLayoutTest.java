@@ -0,0 +1,146 @@
+package com.example.eventmanagerapp.presentation;
+
+import com.example.eventmanagerapp.utils.WeekBucketer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for WeekGridLayout
+ */
+public class WeekGridLayoutTest {
+
+    // Round numbers in pixels: label 50, header 40, min row 100, padding 5, card 30, gap 10
+    private static final float WIDTH = 50 + 7 * 100;
+
+    private WeekGridLayout layout;
+    private int[] counts;
+
+    @Before
+    public void setUp() {
+        layout = new WeekGridLayout(50, 40, 100, 5, 30, 10);
+        counts = new int[WeekBucketer.CELL_COUNT];
+    }
+
+    private void setCount(int day, boolean morning, int count) {
+        counts[WeekBucketer.cellIndex(day, morning)] = count;
+        layout.update(WIDTH, counts);
+    }
+
+    @Test
+    public void testEmptyWeek_UsesMinimumRowHeight() {
+        layout.update(WIDTH, counts);
+
+        assertEquals(100, layout.getColumnWidth(), 0.001);
+        assertEquals(40, layout.rowTop(0), 0.001);
+        assertEquals(140, layout.rowTop(1), 0.001);
+        assertEquals(240, layout.getHeight(), 0.001);
+    }
+
+    @Test
+    public void testRowGrowsWithFullestCell() {
+        setCount(2, true, 5);
+        setCount(4, true, 3);
+
+        // 5 cards: 2 * 5 padding + 5 * 30 + 4 * 10 gaps = 200
+        assertEquals(240, layout.rowBottom(0), 0.001);
+        // The afternoon row is still empty and keeps the minimum
+        assertEquals(340, layout.getHeight(), 0.001);
+    }
+
+    @Test
+    public void testDayAtAndRowAt() {
+        layout.update(WIDTH, counts);
+
+        assertEquals(-1, layout.dayAt(49));
+        assertEquals(0, layout.dayAt(50));
+        assertEquals(0, layout.dayAt(149.9f));
+        assertEquals(1, layout.dayAt(150));
+        assertEquals(6, layout.dayAt(WIDTH - 1));
+        assertEquals(-1, layout.dayAt(WIDTH));
+
+        assertEquals(-1, layout.rowAt(39));
+        assertEquals(0, layout.rowAt(40));
+        assertEquals(1, layout.rowAt(140));
+        assertEquals(-1, layout.rowAt(240));
+    }
+
+    @Test
+    public void testCardAt_HitsCardsButNotGapsOrPadding() {
+        setCount(0, false, 3);
+        float rowTop = layout.rowTop(1);
+
+        assertEquals(-1, layout.cardAt(0, 1, rowTop + 2));
+        assertEquals(0, layout.cardAt(0, 1, rowTop + 5));
+        assertEquals(0, layout.cardAt(0, 1, rowTop + 34));
+        assertEquals(-1, layout.cardAt(0, 1, rowTop + 40));
+        assertEquals(1, layout.cardAt(0, 1, rowTop + 45));
+        assertEquals(2, layout.cardAt(0, 1, rowTop + 85));
+        // Below the last card of this cell
+        assertEquals(-1, layout.cardAt(0, 1, rowTop + 125));
+        // Same row, a cell without events
+        assertEquals(-1, layout.cardAt(1, 1, rowTop + 5));
+    }
+
+    @Test
+    public void testCardTopMatchesHitTest() {
+        setCount(3, true, 20);
+
+        for (int i = 0; i < 20; i++) {
+            float top = layout.cardTop(0, i);
+            assertEquals(i, layout.cardAt(3, 0, top));
+            assertEquals(i, layout.cardAt(3, 0, top + 29.9f));
+        }
+    }
+
+    @Test
+    public void testVisibleCards_OnlyThoseInsideClip() {
+        setCount(0, true, 100);
+        float rowTop = layout.rowTop(0);
+
+        // Card i spans [rowTop + 5 + 40i, rowTop + 35 + 40i)
+        float clipTop = rowTop + 5 + 40 * 10 + 31;
+        float clipBottom = rowTop + 5 + 40 * 14;
+
+        assertEquals(11, layout.firstVisibleCard(0, clipTop));
+        assertEquals(13, layout.lastVisibleCard(0, clipBottom));
+        assertEquals(10, layout.firstVisibleCard(0, clipTop - 2));
+        assertEquals(14, layout.lastVisibleCard(0, clipBottom + 1));
+    }
+
+    @Test
+    public void testVisibleCards_ClipAboveAndBelowRow() {
+        setCount(0, true, 10);
+
+        assertEquals(0, layout.firstVisibleCard(0, 0));
+        assertEquals(-1, layout.lastVisibleCard(0, layout.rowTop(0)));
+    }
+
+    @Test
+    public void testDenseWeek_DrawsOnlyAScreenful() {
+        for (int day = 0; day < WeekBucketer.DAYS; day++) {
+            counts[WeekBucketer.cellIndex(day, true)] = 80;
+            counts[WeekBucketer.cellIndex(day, false)] = 70;
+        }
+        layout.update(WIDTH, counts);
+
+        float clipTop = layout.rowTop(0) + 1000;
+        float clipBottom = clipTop + 800;
+        int first = layout.firstVisibleCard(0, clipTop);
+        int last = Math.min(79, layout.lastVisibleCard(0, clipBottom));
+
+        assertTrue(last - first + 1 <= 21);
+        assertTrue(layout.cardTop(0, first) + 30 > clipTop);
+        assertTrue(layout.cardTop(0, last) < clipBottom);
+    }
+
+    @Test
+    public void testZeroWidth_NoColumns() {
+        layout.update(0, counts);
+
+        assertEquals(0, layout.getColumnWidth(), 0.001);
+        assertEquals(-1, layout.dayAt(60));
+    }
+}
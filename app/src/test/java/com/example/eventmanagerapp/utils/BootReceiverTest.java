@@ -0,0 +1,157 @@
+package com.example.eventmanagerapp.utils;
+
+import android.content.Context;
+import android.content.Intent;
+import android.os.Looper;
+
+import com.example.eventmanagerapp.data.local.AppDatabase;
+import com.example.eventmanagerapp.data.repository.EventRepository;
+import com.example.eventmanagerapp.domain.model.Event;
+import com.example.eventmanagerapp.domain.model.Reminder;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.shadows.ShadowAlarmManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Unit tests for BootReceiver
+ */
+@RunWith(RobolectricTestRunner.class)
+public class BootReceiverTest {
+
+    private static final long MINUTE = 60000L;
+    private static final long HOUR = 60 * MINUTE;
+
+    private Context context;
+    private EventRepository repository;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        repository = EventRepository.getInstance(context);
+        repository.clearAll();
+        ShadowAlarmManager.setCanScheduleExactAlarms(true);
+    }
+
+    @After
+    public void tearDown() {
+        AppDatabase.getInstance(context).close();
+    }
+
+    private Event event(String title, long startTime) {
+        Event event = new Event();
+        event.setUserId(100);
+        event.setTitle(title);
+        event.setStartTime(startTime);
+        event.setEndTime(startTime + HOUR);
+        return event;
+    }
+
+    @Test
+    public void testIsRescheduleAction() {
+        assertTrue(BootReceiver.isRescheduleAction(Intent.ACTION_BOOT_COMPLETED));
+        assertTrue(BootReceiver.isRescheduleAction(Intent.ACTION_TIME_CHANGED));
+        assertTrue(BootReceiver.isRescheduleAction(Intent.ACTION_TIMEZONE_CHANGED));
+        assertTrue(BootReceiver.isRescheduleAction(Intent.ACTION_MY_PACKAGE_REPLACED));
+        assertFalse(BootReceiver.isRescheduleAction(AlarmReceiver.ACTION_REMINDER));
+        assertFalse(BootReceiver.isRescheduleAction(null));
+    }
+
+    @Test
+    public void testRescheduleAll_ArmsEarliestReminder() {
+        long now = System.currentTimeMillis();
+        List<Event> events = new ArrayList<>();
+        events.add(event("Later", now + 5 * HOUR));
+        events.add(event("Soonest", now + 2 * HOUR));
+        repository.createEvents(events);
+
+        assertTrue(BootReceiver.rescheduleAll(context));
+
+        assertEquals(now + 2 * HOUR, ReminderEngine.getInstance(context).getArmedAt());
+    }
+
+    @Test
+    public void testRescheduleAll_ExpiresLongMissedReminders() {
+        long now = System.currentTimeMillis();
+        List<Event> events = new ArrayList<>();
+        events.add(event("Missed yesterday", now - 24 * HOUR));
+        events.add(event("Missed just now", now - 10 * MINUTE));
+        events.add(event("Upcoming", now + HOUR));
+        repository.createEvents(events);
+
+        BootReceiver.rescheduleAll(context);
+
+        List<Reminder> pending = repository.getDueReminders(0, Long.MAX_VALUE, 10);
+        assertEquals(2, pending.size());
+        assertEquals("Missed just now", pending.get(0).getTitle());
+        assertEquals("Upcoming", pending.get(1).getTitle());
+        // A recently missed reminder is armed in the past so it fires immediately
+        assertEquals(now - 10 * MINUTE, ReminderEngine.getInstance(context).getArmedAt());
+    }
+
+    @Test
+    public void testRescheduleAll_TenThousandEventsLoadsBoundedWindow() {
+        long now = System.currentTimeMillis();
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            // Shuffled start times so the heap has real ordering work to do
+            long offset = ((i * 7919L) % 10000) * 5 * MINUTE;
+            events.add(event("Event " + i, now + HOUR + offset));
+        }
+        repository.createEvents(events);
+
+        boolean armed = BootReceiver.rescheduleAll(context);
+
+        assertTrue(armed);
+        ReminderEngine engine = ReminderEngine.getInstance(context);
+        // Only the look-ahead window is read, however many reminders are stored
+        assertEquals(ReminderEngine.LOAD_LIMIT, engine.pendingCount());
+        assertEquals(now + HOUR, engine.getArmedAt());
+        assertEquals(10000, repository.getDueReminders(0, Long.MAX_VALUE, 20000).size());
+    }
+
+    @Test
+    public void testOnReceive_IgnoresUnrelatedAction() {
+        long now = System.currentTimeMillis();
+        repository.createEvent(event("Upcoming", now + HOUR));
+        ReminderEngine engine = ReminderEngine.getInstance(context);
+
+        new BootReceiver().onReceive(context, new Intent("com.example.UNRELATED"));
+
+        assertEquals(-1, engine.getArmedAt());
+    }
+
+    @Test
+    public void testOnReceive_TimeZoneBroadcastRearmsReminder() throws Exception {
+        long now = System.currentTimeMillis();
+        repository.createEvent(event("Upcoming", now + HOUR));
+        // Stale per-day totals, as left behind by the old time zone
+        AppDatabase.getInstance(context).getDatabase().execSQL("DELETE FROM day_summary");
+
+        // Delivered to the receiver declared in the manifest, with a real goAsync() result
+        context.sendBroadcast(new Intent(Intent.ACTION_TIMEZONE_CHANGED));
+        shadowOf(Looper.getMainLooper()).idle();
+        joinRescheduleThreads();
+
+        assertEquals(now + HOUR, ReminderEngine.getInstance(context).getArmedAt());
+        assertEquals(1, repository.getDaySummaries(100, Long.MIN_VALUE, Long.MAX_VALUE).size());
+    }
+
+    private static void joinRescheduleThreads() throws InterruptedException {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if ("reminder-reschedule".equals(thread.getName())) {
+                thread.join(5000);
+            }
+        }
+    }
+}
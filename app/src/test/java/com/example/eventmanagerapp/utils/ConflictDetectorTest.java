@@ -0,0 +1,157 @@
+package com.example.eventmanagerapp.utils;
+
+import android.content.Context;
+
+import com.example.eventmanagerapp.data.local.AppDatabase;
+import com.example.eventmanagerapp.data.repository.EventRepository;
+import com.example.eventmanagerapp.domain.model.Event;
+import com.example.eventmanagerapp.domain.model.Recurrence;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ConflictDetector
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ConflictDetectorTest {
+
+    private static final long MINUTE = 60000L;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long DAY = 24 * HOUR;
+    private static final long BASE = 1767571200000L; // 2026-01-05 00:00 UTC
+
+    private Context context;
+    private EventRepository repository;
+    private ConflictDetector detector;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        repository = EventRepository.getInstance(context);
+        repository.clearAll();
+        detector = new ConflictDetector(repository);
+    }
+
+    @After
+    public void tearDown() {
+        AppDatabase.getInstance(context).close();
+    }
+
+    private int createEvent(int userId, String title, long start, long end) {
+        Event event = new Event();
+        event.setUserId(userId);
+        event.setTitle(title);
+        event.setStartTime(start);
+        event.setEndTime(end);
+        return (int) repository.createEvent(event);
+    }
+
+    private static List<String> titles(List<Event> events) {
+        List<String> titles = new ArrayList<>();
+        for (Event event : events) {
+            titles.add(event.getTitle());
+        }
+        return titles;
+    }
+
+    @Test
+    public void testFindConflicts_OverlapsOnly() {
+        createEvent(100, "Before", BASE + 8 * HOUR, BASE + 9 * HOUR);
+        createEvent(100, "Starts inside", BASE + 9 * HOUR + 30 * MINUTE, BASE + 11 * HOUR);
+        createEvent(100, "Ends inside", BASE + 8 * HOUR, BASE + 9 * HOUR + 1);
+        createEvent(100, "Covers", BASE, BASE + DAY);
+        createEvent(100, "After", BASE + 10 * HOUR, BASE + 11 * HOUR);
+
+        List<Event> conflicts = detector.findConflicts(100, BASE + 9 * HOUR, BASE + 10 * HOUR, -1);
+
+        // Touching at 09:00 and 10:00 is not an overlap
+        assertEquals(3, conflicts.size());
+        assertEquals("Covers", conflicts.get(0).getTitle());
+        assertTrue(titles(conflicts).contains("Ends inside"));
+        assertTrue(titles(conflicts).contains("Starts inside"));
+    }
+
+    @Test
+    public void testFindConflicts_OtherUserAndExcludedEventIgnored() {
+        int self = createEvent(100, "Self", BASE + 9 * HOUR, BASE + 10 * HOUR);
+        createEvent(200, "Other user", BASE + 9 * HOUR, BASE + 10 * HOUR);
+
+        assertTrue(detector.findConflicts(100, BASE + 9 * HOUR, BASE + 10 * HOUR, self).isEmpty());
+        assertEquals(1, detector.findConflicts(100, BASE + 9 * HOUR, BASE + 10 * HOUR, -1).size());
+    }
+
+    @Test
+    public void testFindConflicts_LongEventCreatedAfterLookbackWasCached() {
+        createEvent(100, "Short", BASE, BASE + HOUR);
+        assertTrue(detector.findConflicts(100, BASE + 5 * DAY, BASE + 5 * DAY + HOUR, -1).isEmpty());
+
+        // Longer than anything before: the cached bound must grow with it
+        createEvent(100, "Trip", BASE + DAY, BASE + 10 * DAY);
+
+        List<Event> conflicts = detector.findConflicts(100, BASE + 5 * DAY, BASE + 5 * DAY + HOUR, -1);
+        assertEquals(1, conflicts.size());
+        assertEquals("Trip", conflicts.get(0).getTitle());
+    }
+
+    @Test
+    public void testFindConflicts_SeriesOccurrence() {
+        Event weekly = new Event();
+        weekly.setUserId(100);
+        weekly.setTitle("Weekly");
+        weekly.setStartTime(BASE - 70 * DAY + 9 * HOUR);
+        weekly.setEndTime(BASE - 70 * DAY + 10 * HOUR);
+        weekly.setRecurrence(new Recurrence(Recurrence.WEEKLY, Recurrence.FOREVER));
+        int id = (int) repository.createEvent(weekly);
+
+        long occurrence = OccurrenceEngine.expand(weekly, Collections.emptySet(), BASE, BASE + 7 * DAY)
+                .get(0).getStartTime();
+
+        List<Event> conflicts = detector.findConflicts(100, occurrence + 30 * MINUTE,
+                occurrence + 2 * HOUR, -1);
+        assertEquals(1, conflicts.size());
+        assertEquals(occurrence, conflicts.get(0).getStartTime());
+
+        repository.skipOccurrence(id, occurrence);
+        assertTrue(detector.findConflicts(100, occurrence + 30 * MINUTE,
+                occurrence + 2 * HOUR, -1).isEmpty());
+    }
+
+    @Test
+    public void testFindConflicts_100kEvents() {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            Event event = new Event();
+            event.setUserId(100);
+            event.setTitle("Event " + i);
+            long start = BASE + i * 30 * MINUTE;
+            event.setStartTime(start);
+            event.setEndTime(start + 45 * MINUTE);
+            events.add(event);
+        }
+        repository.createEvents(events);
+
+        // The lookback is the longest event, not a fixed window; the query plan of the
+        // overlap lookup is checked in EventDaoTest
+        assertEquals(45 * MINUTE, repository.getMaxEventDuration(100));
+
+        for (int i = 1; i <= 1000; i++) {
+            // Overlaps event k and the end of event k - 1
+            long start = BASE + (i * 97L % 100000) * 30 * MINUTE + 10 * MINUTE;
+            long end = start + 10 * MINUTE;
+            List<Event> conflicts = detector.findConflicts(100, start, end, -1);
+            assertEquals(2, conflicts.size());
+            assertTrue(conflicts.get(0).getStartTime() < conflicts.get(1).getStartTime());
+        }
+    }
+}
@@ -1,8 +1,20 @@
 package com.example.eventmanagerapp.utils;
 
+import com.example.eventmanagerapp.domain.model.LocalDay;
+
 import org.junit.Test;
 
+import java.lang.management.ManagementFactory;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.Assert.*;
 
@@ -11,6 +23,31 @@ import static org.junit.Assert.*;
  */
 public class DateTimeHelperTest {
 
+    private static final long MINUTE = 60 * 1000L;
+
+    /** The Calendar + String.format implementation this class used to have. */
+    private static String legacyTimeRange(long startMillis, long endMillis) {
+        Calendar start = Calendar.getInstance();
+        Calendar end = Calendar.getInstance();
+        start.setTimeInMillis(startMillis);
+        end.setTimeInMillis(endMillis);
+        return String.format(Locale.getDefault(), "%02d:%02d - %02d:%02d",
+                start.get(Calendar.HOUR_OF_DAY), start.get(Calendar.MINUTE),
+                end.get(Calendar.HOUR_OF_DAY), end.get(Calendar.MINUTE));
+    }
+
+    private static void withDefaultZone(String id, Runnable test) {
+        TimeZone previous = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone(id));
+        DateTimeHelper.onTimeZoneChanged();
+        try {
+            test.run();
+        } finally {
+            TimeZone.setDefault(previous);
+            DateTimeHelper.onTimeZoneChanged();
+        }
+    }
+
     // ============ formatDisplayDate Tests ============
 
     @Test
@@ -42,6 +79,14 @@ public class DateTimeHelperTest {
 
     // ============ formatTagDate Tests ============
 
+    @Test
+    public void testFormatDayMonth() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(2026, Calendar.JANUARY, 5, 0, 0, 0);
+
+        assertEquals("05/01", DateTimeHelper.formatDayMonth(calendar));
+    }
+
     @Test
     public void testFormatTagDate_WithCalendar() {
         Calendar calendar = Calendar.getInstance();
@@ -95,6 +140,116 @@ public class DateTimeHelperTest {
         assertEquals("00:00 - 12:00", result);
     }
 
+    @Test
+    public void testFormatTimeRange_IntoBuffer() {
+        Calendar start = Calendar.getInstance();
+        start.set(2025, Calendar.DECEMBER, 17, 9, 5, 0);
+        Calendar end = Calendar.getInstance();
+        end.set(2025, Calendar.DECEMBER, 17, 23, 59, 0);
+        char[] buffer = new char[DateTimeHelper.TIME_RANGE_LENGTH];
+
+        int length = DateTimeHelper.formatTimeRange(
+                start.getTimeInMillis(), end.getTimeInMillis(), buffer);
+
+        assertEquals("09:05 - 23:59", new String(buffer, 0, length));
+    }
+
+    @Test
+    public void testFormatTimeRange_SameAsLegacyAcrossDst() {
+        withDefaultZone("America/New_York", () -> {
+            Calendar cal = Calendar.getInstance();
+            cal.set(2025, Calendar.JANUARY, 1, 0, 0, 0);
+            long from = cal.getTimeInMillis();
+            cal.add(Calendar.YEAR, 1);
+            long to = cal.getTimeInMillis();
+
+            // 37 minute steps cover every minute of the hour, both DST switches included
+            for (long t = from; t < to; t += 37 * MINUTE) {
+                String expected = legacyTimeRange(t, t + 90 * MINUTE);
+                assertEquals(expected, DateTimeHelper.formatTimeRange(t, t + 90 * MINUTE));
+            }
+        });
+    }
+
+    @Test
+    public void testFormatters_ThreadSafe() throws Exception {
+        List<Long> instants = new ArrayList<>();
+        List<String> expectedDates = new ArrayList<>();
+        SimpleDateFormat reference = new SimpleDateFormat("dd/MM/yyyy", Locale.US);
+        Calendar cal = Calendar.getInstance();
+        cal.set(2020, Calendar.JANUARY, 1, 10, 0, 0);
+        for (int i = 0; i < 2000; i++) {
+            instants.add(cal.getTimeInMillis());
+            expectedDates.add(reference.format(cal.getTime()));
+            cal.add(Calendar.HOUR_OF_DAY, 17);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                results.add(pool.submit((Callable<Integer>) () -> {
+                    int mismatches = 0;
+                    for (int round = 0; round < 20; round++) {
+                        for (int i = 0; i < instants.size(); i++) {
+                            if (!expectedDates.get(i).equals(
+                                    DateTimeHelper.formatDisplayDate(instants.get(i)))) {
+                                mismatches++;
+                            }
+                        }
+                    }
+                    return mismatches;
+                }));
+            }
+            for (Future<Integer> result : results) {
+                assertEquals(Integer.valueOf(0), result.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** Bytes allocated so far by the current thread. */
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    @Test
+    public void testBindWorkload_AllocatesNothingPerRow() {
+        // What EventAdapter.bind() and the week grid do per row: a time range and a cell
+        int rows = 20000;
+        long[] starts = new long[rows];
+        Calendar cal = Calendar.getInstance();
+        cal.set(2025, Calendar.DECEMBER, 1, 6, 0, 0);
+        for (int i = 0; i < rows; i++) {
+            starts[i] = cal.getTimeInMillis() + i * 23 * MINUTE;
+        }
+        char[] buffer = new char[DateTimeHelper.TIME_RANGE_LENGTH];
+
+        int sink = 0;
+        long begin = allocatedBytes();
+        for (long start : starts) {
+            sink += legacyTimeRange(start, start + 60 * MINUTE).length();
+            Calendar c = Calendar.getInstance();
+            c.setTimeInMillis(start);
+            sink += c.get(Calendar.HOUR_OF_DAY) < 12 ? 1 : 0;
+        }
+        long legacyBytes = allocatedBytes() - begin;
+
+        begin = allocatedBytes();
+        for (long start : starts) {
+            sink += DateTimeHelper.formatTimeRange(start, start + 60 * MINUTE, buffer);
+            sink += DateTimeHelper.isMorning(start) ? 1 : 0;
+        }
+        long newBytes = allocatedBytes() - begin;
+
+        assertTrue(sink > 0);
+        // Calendars and format strings cost hundreds of bytes per row; the new path none
+        assertTrue("legacy " + legacyBytes + " bytes", legacyBytes > 100L * rows);
+        assertTrue("now " + newBytes + " bytes", newBytes < rows);
+    }
+
     // ============ formatTime Tests ============
 
     @Test
@@ -125,64 +280,69 @@ public class DateTimeHelperTest {
         assertEquals("15:45", result);
     }
 
-    // ============ parseTagDate Tests ============
-
     @Test
-    public void testParseTagDate_Valid() throws Exception {
-        Calendar result = DateTimeHelper.parseTagDate("2025-12-25");
-
-        assertNotNull(result);
-        assertEquals(2025, result.get(Calendar.YEAR));
-        assertEquals(Calendar.DECEMBER, result.get(Calendar.MONTH));
-        assertEquals(25, result.get(Calendar.DAY_OF_MONTH));
-    }
-
-    @Test
-    public void testParseTagDate_InvalidFormat() throws Exception {
-        // Note: parseTagDate only checks number of parts, not the order
-        // So "25-12-2025" will parse (just incorrectly as year=25, month=11, day=2025)
-        // This test now verifies it doesn't crash on unusual input
-        Calendar result = DateTimeHelper.parseTagDate("25-12-2025");
-        assertNotNull(result);
-    }
+    public void testFormatTime_IntoBuffer() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(2025, Calendar.DECEMBER, 17, 7, 8, 0);
+        char[] buffer = new char[DateTimeHelper.TIME_LENGTH];
 
-    @Test(expected = IllegalArgumentException.class)
-    public void testParseTagDate_IncompleteDate() throws Exception {
-        DateTimeHelper.parseTagDate("2025-12");
-    }
+        int length = DateTimeHelper.formatTime(calendar.getTimeInMillis(), buffer);
 
-    @Test(expected = NumberFormatException.class)
-    public void testParseTagDate_NonNumeric() throws Exception {
-        DateTimeHelper.parseTagDate("2025-AB-CD");
+        assertEquals("07:08", new String(buffer, 0, length));
     }
 
-    // ============ createDateTime Tests ============
+    // ============ epochDay / minuteOfDay Tests ============
 
     @Test
-    public void testCreateDateTime_Valid() throws Exception {
-        Calendar result = DateTimeHelper.createDateTime("2025-12-25", 14, 30);
+    public void testEpochDayAndMinuteOfDay() {
+        withDefaultZone("Asia/Ho_Chi_Minh", () -> {
+            // 2025-01-01 is epoch day 20089 in local time
+            Calendar cal = Calendar.getInstance();
+            cal.set(2025, Calendar.JANUARY, 1, 0, 30, 0);
+            long millis = cal.getTimeInMillis();
 
-        assertNotNull(result);
-        assertEquals(2025, result.get(Calendar.YEAR));
-        assertEquals(Calendar.DECEMBER, result.get(Calendar.MONTH));
-        assertEquals(25, result.get(Calendar.DAY_OF_MONTH));
-        assertEquals(14, result.get(Calendar.HOUR_OF_DAY));
-        assertEquals(30, result.get(Calendar.MINUTE));
-        assertEquals(0, result.get(Calendar.SECOND));
-        assertEquals(0, result.get(Calendar.MILLISECOND));
+            assertEquals(20089, DateTimeHelper.epochDay(millis));
+            assertEquals(30, DateTimeHelper.minuteOfDay(millis));
+            assertEquals(20088, DateTimeHelper.epochDay(millis - 31 * MINUTE));
+            assertEquals(23 * 60 + 59, DateTimeHelper.minuteOfDay(millis - 31 * MINUTE));
+        });
     }
 
     @Test
-    public void testCreateDateTime_Midnight() throws Exception {
-        Calendar result = DateTimeHelper.createDateTime("2025-01-01", 0, 0);
-
-        assertEquals(0, result.get(Calendar.HOUR_OF_DAY));
-        assertEquals(0, result.get(Calendar.MINUTE));
+    public void testToMillis_MatchesCalendarAcrossDst() {
+        for (String id : new String[]{"America/New_York", "Europe/Berlin", "Australia/Lord_Howe"}) {
+            withDefaultZone(id, () -> {
+                Calendar cal = Calendar.getInstance();
+                for (int epochDay = 20089; epochDay < 20089 + 365; epochDay++) {
+                    LocalDay day = LocalDay.ofEpochDay(epochDay);
+                    for (int minute = 0; minute < 24 * 60; minute += 15) {
+                        cal.clear();
+                        cal.set(day.getYear(), day.getMonth() - 1, day.getDayOfMonth(),
+                                minute / 60, minute % 60, 0);
+
+                        assertEquals(id + " " + day + " " + minute,
+                                cal.getTimeInMillis(), DateTimeHelper.toMillis(epochDay, minute));
+                    }
+                }
+            });
+        }
     }
 
-    @Test(expected = Exception.class)
-    public void testCreateDateTime_InvalidDate() throws Exception {
-        DateTimeHelper.createDateTime("invalid-date", 14, 30);
+    @Test
+    public void testFormatDates_FollowTimeZoneChange() {
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        utc.clear();
+        utc.set(2025, Calendar.DECEMBER, 31, 20, 0);
+        long millis = utc.getTimeInMillis();
+
+        withDefaultZone("America/New_York", () -> {
+            assertEquals("31/12/2025", DateTimeHelper.formatDisplayDate(millis));
+            assertEquals("15:00", DateTimeHelper.formatTime(millis));
+        });
+        withDefaultZone("Asia/Ho_Chi_Minh", () -> {
+            assertEquals("2026-01-01", DateTimeHelper.formatTagDate(millis));
+            assertEquals("03:00", DateTimeHelper.formatTime(millis));
+        });
     }
 
     // ============ getDayName Tests ============
@@ -322,4 +482,43 @@ public class DateTimeHelperTest {
         assertEquals(Calendar.MONDAY, result.get(Calendar.DAY_OF_WEEK));
         assertEquals(15, result.get(Calendar.DAY_OF_MONTH)); // Previous Monday
     }
+
+    @Test
+    public void testGetWeekStart_SundayFirstLocale() {
+        Calendar date = Calendar.getInstance(Locale.US);
+        date.set(2025, Calendar.DECEMBER, 21, 10, 30, 0); // Sunday
+
+        Calendar result = DateTimeHelper.getWeekStart(date);
+
+        assertEquals(Calendar.MONDAY, result.get(Calendar.DAY_OF_WEEK));
+        assertEquals(15, result.get(Calendar.DAY_OF_MONTH));
+        assertEquals(10, result.get(Calendar.HOUR_OF_DAY));
+    }
+
+    // ============ startOfDay Tests ============
+
+    @Test
+    public void testStartOfDay() {
+        Calendar date = Calendar.getInstance();
+        date.set(2025, Calendar.DECEMBER, 18, 10, 30, 45);
+
+        Calendar result = DateTimeHelper.startOfDay(date);
+
+        assertEquals(18, result.get(Calendar.DAY_OF_MONTH));
+        assertEquals(0, result.get(Calendar.HOUR_OF_DAY));
+        assertEquals(0, result.get(Calendar.MINUTE));
+        assertEquals(0, result.get(Calendar.SECOND));
+        assertEquals(0, result.get(Calendar.MILLISECOND));
+    }
+
+    @Test
+    public void testStartOfDay_DoesNotModifyInput() {
+        Calendar date = Calendar.getInstance();
+        date.set(2025, Calendar.DECEMBER, 18, 10, 30, 45);
+
+        DateTimeHelper.startOfDay(date);
+
+        assertEquals(10, date.get(Calendar.HOUR_OF_DAY));
+        assertEquals(30, date.get(Calendar.MINUTE));
+    }
 }
@@ -0,0 +1,132 @@
+package com.example.eventmanagerapp.utils;
+
+import com.example.eventmanagerapp.domain.model.Event;
+import com.example.eventmanagerapp.domain.model.LocalDay;
+import com.example.eventmanagerapp.domain.model.Recurrence;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for OccurrenceEngine
+ */
+public class OccurrenceEngineTest {
+
+    private static final long MINUTE = 60 * 1000L;
+    private static final long HOUR = 60 * MINUTE;
+
+    private static Event series(LocalDay first, int repeatDays, long until) {
+        Event event = new Event(7, 100, "Standup", "note",
+                first.atMinute(9 * 60), first.atMinute(9 * 60 + 30), 15);
+        event.setRecurrence(new Recurrence(repeatDays, until));
+        return event;
+    }
+
+    @Test
+    public void testExpand_OnlyOccurrencesInWindow() {
+        LocalDay monday = LocalDay.of(2025, 1, 6);
+        Event daily = series(monday, Recurrence.DAILY, Recurrence.FOREVER);
+        LocalDay from = monday.plusDays(14);
+
+        List<Event> occurrences = OccurrenceEngine.expand(daily, Collections.emptySet(),
+                from.startMillis(), from.plusDays(7).startMillis());
+
+        assertEquals(7, occurrences.size());
+        for (int i = 0; i < 7; i++) {
+            Event occurrence = occurrences.get(i);
+            assertEquals(from.plusDays(i).atMinute(9 * 60), occurrence.getStartTime());
+            assertEquals(30 * MINUTE, occurrence.getEndTime() - occurrence.getStartTime());
+            assertEquals(7, occurrence.getId());
+            assertEquals("Standup", occurrence.getTitle());
+        }
+    }
+
+    @Test
+    public void testExpand_DoesNotModifySeries() {
+        LocalDay monday = LocalDay.of(2025, 1, 6);
+        Event weekly = series(monday, Recurrence.WEEKLY, Recurrence.FOREVER);
+        long start = weekly.getStartTime();
+
+        OccurrenceEngine.expand(weekly, Collections.emptySet(),
+                monday.plusDays(70).startMillis(), monday.plusDays(77).startMillis());
+
+        assertEquals(start, weekly.getStartTime());
+    }
+
+    @Test
+    public void testExpand_SkipsExceptionsAndStopsAtUntil() {
+        LocalDay monday = LocalDay.of(2025, 1, 6);
+        Event daily = series(monday, Recurrence.DAILY, monday.plusDays(5).startMillis());
+        Set<Long> skipped = new HashSet<>();
+        skipped.add(monday.plusDays(2).atMinute(9 * 60));
+
+        List<Event> occurrences = OccurrenceEngine.expand(daily, skipped,
+                monday.startMillis(), monday.plusDays(7).startMillis());
+
+        // Days 0..4, minus day 2
+        assertEquals(4, occurrences.size());
+        assertEquals(monday.plusDays(3).atMinute(9 * 60), occurrences.get(2).getStartTime());
+    }
+
+    @Test
+    public void testExpand_WindowBeforeSeries() {
+        LocalDay monday = LocalDay.of(2025, 1, 6);
+        Event weekly = series(monday, Recurrence.WEEKLY, Recurrence.FOREVER);
+
+        assertTrue(OccurrenceEngine.expand(weekly, Collections.emptySet(),
+                monday.plusDays(-7).startMillis(), monday.startMillis()).isEmpty());
+    }
+
+    @Test
+    public void testExpand_FarWindowStartsAtComputedIndex() {
+        LocalDay monday = LocalDay.of(2025, 1, 6);
+        Event daily = series(monday, Recurrence.DAILY, Recurrence.FOREVER);
+        LocalDay far = monday.plusDays(365 * 50);
+
+        // Jumps straight to the window instead of walking 18k occurrences
+        assertEquals(365 * 50, daily.getRecurrence().firstIndexFrom(daily.getStartTime(), far.startMillis()));
+
+        List<Event> occurrences = OccurrenceEngine.expand(daily, Collections.emptySet(),
+                far.startMillis(), far.plusDays(7).startMillis());
+        assertEquals(7, occurrences.size());
+        assertEquals(far.atMinute(9 * 60), occurrences.get(0).getStartTime());
+    }
+
+    @Test
+    public void testNextReminderTime_FirstReminderAfter() {
+        LocalDay monday = LocalDay.of(2025, 1, 6);
+        Event daily = series(monday, Recurrence.DAILY, Recurrence.FOREVER);
+        long firstReminder = daily.getReminderTime();
+
+        assertEquals(firstReminder,
+                OccurrenceEngine.nextReminderTime(daily, Collections.emptySet(), firstReminder - 1));
+        assertEquals(monday.plusDays(1).atMinute(9 * 60 - 15),
+                OccurrenceEngine.nextReminderTime(daily, Collections.emptySet(), firstReminder));
+    }
+
+    @Test
+    public void testNextReminderTime_SkipsExceptions() {
+        LocalDay monday = LocalDay.of(2025, 1, 6);
+        Event daily = series(monday, Recurrence.DAILY, Recurrence.FOREVER);
+        Set<Long> skipped = new HashSet<>();
+        skipped.add(monday.plusDays(1).atMinute(9 * 60));
+
+        assertEquals(monday.plusDays(2).atMinute(9 * 60 - 15),
+                OccurrenceEngine.nextReminderTime(daily, skipped, daily.getReminderTime()));
+    }
+
+    @Test
+    public void testNextReminderTime_NoneAfterUntil() {
+        LocalDay monday = LocalDay.of(2025, 1, 6);
+        Event daily = series(monday, Recurrence.DAILY, monday.plusDays(2).startMillis());
+
+        assertEquals(-1, OccurrenceEngine.nextReminderTime(daily, Collections.emptySet(),
+                monday.plusDays(1).atMinute(9 * 60)));
+    }
+}
@@ -0,0 +1,286 @@
+package com.example.eventmanagerapp.utils;
+
+import android.content.Context;
+
+import com.example.eventmanagerapp.data.local.AppDatabase;
+import com.example.eventmanagerapp.data.repository.EventRepository;
+import com.example.eventmanagerapp.domain.model.Event;
+import com.example.eventmanagerapp.domain.model.Recurrence;
+import com.example.eventmanagerapp.domain.model.Reminder;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ReminderEngine
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ReminderEngineTest {
+
+    private static final long HOUR = 3600000L;
+
+    private Context context;
+    private EventRepository repository;
+    private RecordingScheduler scheduler;
+    private ReminderEngine engine;
+    private long base;
+
+    /**
+     * Records the alarms the engine arms instead of talking to AlarmManager.
+     */
+    private static class RecordingScheduler extends AlarmScheduler {
+        final List<Long> armed = new ArrayList<>();
+        int cancelled;
+        boolean allowed = true;
+
+        RecordingScheduler(Context context) {
+            super(context);
+        }
+
+        @Override
+        public boolean armReminderAlarm(long triggerAtMillis) {
+            if (!allowed) {
+                return false;
+            }
+            armed.add(triggerAtMillis);
+            return true;
+        }
+
+        @Override
+        public void cancelReminderAlarm() {
+            cancelled++;
+        }
+
+        long last() {
+            return armed.get(armed.size() - 1);
+        }
+    }
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        repository = EventRepository.getInstance(context);
+        repository.clearAll();
+
+        scheduler = new RecordingScheduler(context);
+        engine = new ReminderEngine(context, repository, scheduler);
+        base = System.currentTimeMillis() + 24 * HOUR;
+    }
+
+    @After
+    public void tearDown() {
+        AppDatabase.getInstance(context).close();
+    }
+
+    private int createEvent(String title, long startTime) {
+        Event event = new Event();
+        event.setUserId(100);
+        event.setTitle(title);
+        event.setStartTime(startTime);
+        event.setEndTime(startTime + HOUR);
+        return (int) repository.createEvent(event);
+    }
+
+    @Test
+    public void testReload_ArmsOnlyEarliest() {
+        createEvent("Third", base + 3 * HOUR);
+        createEvent("First", base + HOUR);
+        createEvent("Second", base + 2 * HOUR);
+
+        assertTrue(engine.reload());
+
+        assertEquals(1, scheduler.armed.size());
+        assertEquals(base + HOUR, scheduler.last());
+        assertEquals(3, engine.pendingCount());
+    }
+
+    @Test
+    public void testSchedule_RearmsOnlyWhenEarliestChanges() {
+        int first = createEvent("First", base + 2 * HOUR);
+        engine.schedule(first, "First", base + 2 * HOUR);
+        assertEquals(1, scheduler.armed.size());
+
+        int later = createEvent("Later", base + 5 * HOUR);
+        engine.schedule(later, "Later", base + 5 * HOUR);
+        assertEquals(1, scheduler.armed.size());
+
+        int earlier = createEvent("Earlier", base + HOUR);
+        engine.schedule(earlier, "Earlier", base + HOUR);
+        assertEquals(2, scheduler.armed.size());
+        assertEquals(base + HOUR, scheduler.last());
+    }
+
+    @Test
+    public void testSchedule_MovedReminderReplacesOldEntry() {
+        int id = createEvent("Moved", base + HOUR);
+        engine.schedule(id, "Moved", base + HOUR);
+        engine.schedule(id, "Moved", base + 3 * HOUR);
+
+        assertEquals(base + 3 * HOUR, scheduler.last());
+        assertEquals(1, engine.pendingCount());
+        assertTrue(engine.takeDue(base + 2 * HOUR).isEmpty());
+    }
+
+    @Test
+    public void testCancel_ArmsNextOrDisarms() {
+        int first = createEvent("First", base + HOUR);
+        int second = createEvent("Second", base + 2 * HOUR);
+        engine.reload();
+
+        engine.cancel(first);
+        assertEquals(base + 2 * HOUR, scheduler.last());
+
+        engine.cancel(second);
+        assertEquals(1, scheduler.cancelled);
+        assertEquals(-1, engine.getArmedAt());
+    }
+
+    @Test
+    public void testTakeDue_DeliversAllDueAndArmsNext() {
+        createEvent("A", base + HOUR);
+        createEvent("B", base + HOUR);
+        createEvent("C", base + 30 * 60000L);
+        createEvent("Later", base + 4 * HOUR);
+        engine.reload();
+
+        List<Reminder> due = engine.takeDue(base + HOUR);
+
+        assertEquals(3, due.size());
+        assertEquals("C", due.get(0).getTitle());
+        assertEquals(base + 4 * HOUR, scheduler.last());
+        assertEquals(1, engine.pendingCount());
+
+        List<Reminder> stillPending = repository.getPendingReminders();
+        assertEquals(1, stillPending.size());
+        assertEquals("Later", stillPending.get(0).getTitle());
+    }
+
+    @Test
+    public void testTakeDue_FiredRemindersNotReloaded() {
+        createEvent("Due", base);
+        engine.reload();
+        engine.takeDue(base);
+
+        ReminderEngine restarted = new ReminderEngine(context, repository, scheduler);
+        assertTrue(restarted.takeDue(base + HOUR).isEmpty());
+    }
+
+    @Test
+    public void testSchedule_ReportsMissingPermission() {
+        scheduler.allowed = false;
+        int id = createEvent("No permission", base + HOUR);
+
+        assertFalse(engine.schedule(id, "No permission", base + HOUR));
+        assertEquals(1, engine.pendingCount());
+
+        // Once the permission is granted, reloading arms the alarm
+        scheduler.allowed = true;
+        assertTrue(engine.reload());
+        assertEquals(base + HOUR, scheduler.last());
+    }
+
+    @Test
+    public void testManyUpdates_HeapStaysBounded() {
+        int id = createEvent("Busy", base + HOUR);
+        for (int i = 0; i < 1000; i++) {
+            engine.schedule(id, "Busy", base + HOUR + i * 60000L);
+        }
+
+        assertEquals(1, engine.pendingCount());
+        List<Reminder> due = engine.takeDue(base + 1000 * 60000L + HOUR);
+        assertEquals(1, due.size());
+        assertEquals(base + HOUR + 999 * 60000L, due.get(0).getTriggerAt());
+    }
+
+    @Test
+    public void testReload_HoldsOnlyLookAheadWindow() {
+        long far = base + ReminderEngine.LOOKAHEAD + HOUR;
+        createEvent("Soon", base + HOUR);
+        createEvent("Next month", far);
+
+        engine.reload();
+
+        assertEquals(1, engine.pendingCount());
+        assertEquals(base + HOUR, scheduler.last());
+
+        // Once the window has drained, the next one is read from the database
+        assertEquals(1, engine.takeDue(base + HOUR).size());
+        assertEquals(1, engine.pendingCount());
+        assertEquals(far, scheduler.last());
+    }
+
+    @Test
+    public void testReload_WindowCappedAtLoadLimit() {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < ReminderEngine.LOAD_LIMIT + 100; i++) {
+            Event event = new Event();
+            event.setUserId(100);
+            event.setTitle("Event " + i);
+            event.setStartTime(base + i * 60000L);
+            event.setEndTime(base + i * 60000L + HOUR);
+            events.add(event);
+        }
+        repository.createEvents(events);
+
+        engine.reload();
+
+        assertEquals(ReminderEngine.LOAD_LIMIT, engine.pendingCount());
+        assertEquals(base, scheduler.last());
+
+        // Delivering the whole window loads the reminders that did not fit
+        List<Reminder> due = engine.takeDue(base + (ReminderEngine.LOAD_LIMIT - 1) * 60000L);
+        assertEquals(ReminderEngine.LOAD_LIMIT, due.size());
+        assertEquals(100, engine.pendingCount());
+        assertEquals(base + ReminderEngine.LOAD_LIMIT * 60000L, scheduler.last());
+    }
+
+    private int createDailySeries(String title, long startTime) {
+        Event event = new Event();
+        event.setUserId(100);
+        event.setTitle(title);
+        event.setStartTime(startTime);
+        event.setEndTime(startTime + HOUR);
+        event.setRecurrence(new Recurrence(Recurrence.DAILY, Recurrence.FOREVER));
+        return (int) repository.createEvent(event);
+    }
+
+    @Test
+    public void testTakeDue_SeriesMovesToNextOccurrence() {
+        int id = createDailySeries("Standup", base + HOUR);
+        engine.reload();
+
+        List<Reminder> due = engine.takeDue(base + HOUR);
+
+        assertEquals(1, due.size());
+        assertEquals(id, due.get(0).getEventId());
+        assertEquals(1, engine.pendingCount());
+        assertEquals(base + 25 * HOUR, scheduler.last());
+        // Persisted, so a restart keeps the next occurrence
+        List<Reminder> stored = repository.getPendingReminders();
+        assertEquals(1, stored.size());
+        assertEquals(base + 25 * HOUR, stored.get(0).getTriggerAt());
+    }
+
+    @Test
+    public void testReload_MissedSeriesSkipsToFuture() {
+        long now = System.currentTimeMillis();
+        createDailySeries("Standup", now - 72 * HOUR + 3 * HOUR);
+        createEvent("Missed", now - 72 * HOUR);
+
+        engine.reload();
+
+        assertEquals(1, engine.pendingCount());
+        // Next occurrence is 3 hours from now, give or take a DST switch
+        assertEquals(now + 3 * HOUR, scheduler.last(), HOUR);
+        assertTrue(engine.takeDue(now).isEmpty());
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.eventmanagerapp.utils;
 
+import com.example.eventmanagerapp.domain.model.LocalDay;
+
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -208,101 +210,21 @@ public class ValidatorTest {
         assertNotNull(result); // Should be invalid as it's not in future
     }
 
-    // ============ validateDateFormat Tests ============
-
-    @Test
-    public void testValidateDateFormat_Valid() {
-        String result = Validator.validateDateFormat("2025-12-25");
-        assertNull(result);
-    }
-
-    @Test
-    public void testValidateDateFormat_ValidLeapYear() {
-        String result = Validator.validateDateFormat("2024-02-29");
-        assertNull(result);
-    }
-
-    @Test
-    public void testValidateDateFormat_NullDate() {
-        String result = Validator.validateDateFormat(null);
-        assertNotNull(result);
-        assertEquals("Thiếu ngày", result);
-    }
-
-    @Test
-    public void testValidateDateFormat_EmptyDate() {
-        String result = Validator.validateDateFormat("");
-        assertNotNull(result);
-        assertEquals("Thiếu ngày", result);
-    }
-
-    @Test
-    public void testValidateDateFormat_WrongFormat() {
-        String result = Validator.validateDateFormat("25/12/2025");
-        assertNotNull(result);
-        assertEquals("Ngày không hợp lệ", result);
-    }
-
-    @Test
-    public void testValidateDateFormat_InvalidYear() {
-        String result = Validator.validateDateFormat("2019-12-25");
-        assertNotNull(result);
-        assertEquals("Năm không hợp lệ", result);
-    }
-
-    @Test
-    public void testValidateDateFormat_YearTooHigh() {
-        String result = Validator.validateDateFormat("2101-12-25");
-        assertNotNull(result);
-        assertEquals("Năm không hợp lệ", result);
-    }
-
-    @Test
-    public void testValidateDateFormat_InvalidMonth() {
-        String result = Validator.validateDateFormat("2025-13-25");
-        assertNotNull(result);
-        assertEquals("Tháng không hợp lệ", result);
-    }
-
-    @Test
-    public void testValidateDateFormat_MonthZero() {
-        String result = Validator.validateDateFormat("2025-00-25");
-        assertNotNull(result);
-        assertEquals("Tháng không hợp lệ", result);
-    }
-
-    @Test
-    public void testValidateDateFormat_InvalidDay() {
-        String result = Validator.validateDateFormat("2025-12-32");
-        assertNotNull(result);
-        assertEquals("Ngày không hợp lệ", result);
-    }
-
-    @Test
-    public void testValidateDateFormat_DayZero() {
-        String result = Validator.validateDateFormat("2025-12-00");
-        assertNotNull(result);
-        assertEquals("Ngày không hợp lệ", result);
-    }
+    // ============ validateDay Tests ============
 
     @Test
-    public void testValidateDateFormat_NonNumericValues() {
-        String result = Validator.validateDateFormat("2025-AB-CD");
-        assertNotNull(result);
-        assertEquals("Ngày không hợp lệ", result);
+    public void testValidateDay_Valid() {
+        assertNull(Validator.validateDay(LocalDay.of(2025, 12, 25)));
     }
 
     @Test
-    public void testValidateDateFormat_IncompleteDate() {
-        String result = Validator.validateDateFormat("2025-12");
-        assertNotNull(result);
-        assertEquals("Ngày không hợp lệ", result);
+    public void testValidateDay_Null() {
+        assertNotNull(Validator.validateDay(null));
     }
 
     @Test
-    public void testValidateDateFormat_ExtraParts() {
-        String result = Validator.validateDateFormat("2025-12-25-extra");
-        assertNotNull(result);
-        assertEquals("Ngày không hợp lệ", result);
+    public void testValidateDay_YearOutOfRange() {
+        assertNotNull(Validator.validateDay(LocalDay.of(2019, 12, 31)));
+        assertNotNull(Validator.validateDay(LocalDay.of(2101, 1, 1)));
     }
 }
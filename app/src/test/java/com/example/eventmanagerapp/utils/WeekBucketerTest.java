@@ -0,0 +1,173 @@
+package com.example.eventmanagerapp.utils;
+
+import com.example.eventmanagerapp.domain.model.Event;
+import com.example.eventmanagerapp.domain.model.LocalDay;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for WeekBucketer
+ */
+public class WeekBucketerTest {
+
+    private static final TimeZone VIETNAM = TimeZone.getTimeZone("Asia/Ho_Chi_Minh");
+    private static final TimeZone BERLIN = TimeZone.getTimeZone("Europe/Berlin");
+
+    private static long millis(TimeZone timeZone, int year, int month, int day, int hour, int minute) {
+        Calendar cal = Calendar.getInstance(timeZone);
+        cal.clear();
+        cal.set(year, month, day, hour, minute, 0);
+        return cal.getTimeInMillis();
+    }
+
+    private static Event event(int id, long startTime) {
+        Event event = new Event();
+        event.setId(id);
+        event.setTitle("Event " + id);
+        event.setStartTime(startTime);
+        event.setEndTime(startTime + 3600000);
+        return event;
+    }
+
+    @Test
+    public void testCellIndex() {
+        assertEquals(0, WeekBucketer.cellIndex(0, true));
+        assertEquals(1, WeekBucketer.cellIndex(0, false));
+        assertEquals(12, WeekBucketer.cellIndex(6, true));
+        assertEquals(13, WeekBucketer.cellIndex(6, false));
+    }
+
+    @Test
+    public void testBucket_MorningAndAfternoon() {
+        long monday = millis(VIETNAM, 2025, Calendar.DECEMBER, 15, 0, 0);
+        WeekBucketer bucketer = new WeekBucketer(monday, VIETNAM);
+
+        List<Event> events = new ArrayList<>();
+        events.add(event(1, millis(VIETNAM, 2025, Calendar.DECEMBER, 15, 0, 0)));
+        events.add(event(2, millis(VIETNAM, 2025, Calendar.DECEMBER, 15, 11, 59)));
+        events.add(event(3, millis(VIETNAM, 2025, Calendar.DECEMBER, 15, 12, 0)));
+        events.add(event(4, millis(VIETNAM, 2025, Calendar.DECEMBER, 21, 23, 59)));
+
+        List<List<Event>> cells = bucketer.bucket(events);
+
+        assertEquals(WeekBucketer.CELL_COUNT, cells.size());
+        List<Event> mondayMorning = cells.get(WeekBucketer.cellIndex(0, true));
+        assertEquals(2, mondayMorning.size());
+        assertEquals(1, mondayMorning.get(0).getId());
+        assertEquals(2, mondayMorning.get(1).getId());
+        assertEquals(3, cells.get(WeekBucketer.cellIndex(0, false)).get(0).getId());
+        assertEquals(4, cells.get(WeekBucketer.cellIndex(6, false)).get(0).getId());
+    }
+
+    @Test
+    public void testBucket_SkipsEventsOutsideWeek() {
+        long monday = millis(VIETNAM, 2025, Calendar.DECEMBER, 15, 9, 30);
+        WeekBucketer bucketer = new WeekBucketer(monday, VIETNAM);
+
+        List<Event> events = new ArrayList<>();
+        events.add(event(1, millis(VIETNAM, 2025, Calendar.DECEMBER, 14, 23, 59)));
+        events.add(event(2, millis(VIETNAM, 2025, Calendar.DECEMBER, 22, 0, 0)));
+
+        List<List<Event>> cells = bucketer.bucket(events);
+
+        for (List<Event> cell : cells) {
+            assertTrue(cell.isEmpty());
+        }
+    }
+
+    @Test
+    public void testBucket_DaylightSavingWeek() {
+        // Berlin switches to summer time on Sunday 2026-03-29
+        long monday = millis(BERLIN, 2026, Calendar.MARCH, 23, 0, 0);
+        WeekBucketer bucketer = new WeekBucketer(monday, BERLIN);
+
+        assertEquals(WeekBucketer.cellIndex(6, true),
+                bucketer.cellOf(millis(BERLIN, 2026, Calendar.MARCH, 29, 11, 59)));
+        assertEquals(WeekBucketer.cellIndex(6, false),
+                bucketer.cellOf(millis(BERLIN, 2026, Calendar.MARCH, 29, 12, 0)));
+        assertEquals(WeekBucketer.cellIndex(0, true),
+                bucketer.cellOf(millis(BERLIN, 2026, Calendar.MARCH, 23, 0, 0)));
+        assertEquals(-1, bucketer.cellOf(millis(BERLIN, 2026, Calendar.MARCH, 30, 0, 0)));
+    }
+
+    @Test
+    public void testLocalDayWeekStart_SameCellsAsMillis() {
+        LocalDay monday = LocalDay.of(2026, 3, 23);
+        WeekBucketer byDay = new WeekBucketer(monday, BERLIN);
+        WeekBucketer byMillis = new WeekBucketer(millis(BERLIN, 2026, Calendar.MARCH, 23, 0, 0), BERLIN);
+
+        long from = millis(BERLIN, 2026, Calendar.MARCH, 22, 0, 0);
+        for (long t = from; t < from + 9 * 24 * 3600000L; t += 29 * 60000L) {
+            assertEquals(byMillis.cellOf(t), byDay.cellOf(t));
+        }
+    }
+
+    @Test
+    public void testBucket_MatchesDateTimeHelper() {
+        TimeZone timeZone = TimeZone.getDefault();
+        long monday = millis(timeZone, 2025, Calendar.DECEMBER, 15, 0, 0);
+        WeekBucketer bucketer = new WeekBucketer(monday, timeZone);
+
+        for (long t = monday; t < monday + 7 * 24 * 3600000L; t += 17 * 60000L) {
+            int cell = bucketer.cellOf(t);
+            assertTrue(cell >= 0);
+            assertEquals(DateTimeHelper.isMorning(t), cell % 2 == 0);
+        }
+    }
+
+    /**
+     * Counts offset lookups, the only per-event time zone work the bucketer should do.
+     */
+    private static class CountingTimeZone extends SimpleTimeZone {
+        int offsetLookups;
+
+        CountingTimeZone() {
+            super(7 * 3600000, "Asia/Ho_Chi_Minh");
+        }
+
+        @Override
+        public int getOffset(long date) {
+            offsetLookups++;
+            return super.getOffset(date);
+        }
+    }
+
+    @Test
+    public void testBucket_TenThousandEventsInOnePass() {
+        CountingTimeZone timeZone = new CountingTimeZone();
+        long monday = millis(VIETNAM, 2025, Calendar.DECEMBER, 15, 0, 0);
+        WeekBucketer bucketer = new WeekBucketer(monday, timeZone);
+
+        List<Event> events = new ArrayList<>();
+        long step = 7 * 24 * 3600000L / 10000;
+        for (int i = 0; i < 10000; i++) {
+            events.add(event(i, monday + i * step));
+        }
+
+        timeZone.offsetLookups = 0;
+        List<List<Event>> cells = bucketer.bucket(events);
+
+        // One offset lookup per event: no Calendar or per-event formatting behind it
+        assertEquals(10000, timeZone.offsetLookups);
+        assertEquals(WeekBucketer.CELL_COUNT, cells.size());
+        int total = 0;
+        int previousId = -1;
+        for (List<Event> cell : cells) {
+            total += cell.size();
+            for (Event event : cell) {
+                // Events are spread evenly, so cells taken in order keep the input order
+                assertTrue(event.getId() > previousId);
+                previousId = event.getId();
+            }
+        }
+        assertEquals(10000, total);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.eventmanagerapp.utils;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ZoneOffsetCache
+ */
+public class ZoneOffsetCacheTest {
+
+    private static final long MINUTE = 60 * 1000L;
+    private static final long HOUR = 60 * MINUTE;
+
+    private static long utc(int year, int month, int day, int hour, int minute) {
+        Calendar cal = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        cal.clear();
+        cal.set(year, month, day, hour, minute);
+        return cal.getTimeInMillis();
+    }
+
+    @Test
+    public void testFixedZone() {
+        ZoneOffsetCache cache = new ZoneOffsetCache(TimeZone.getTimeZone("Asia/Ho_Chi_Minh"));
+
+        assertEquals(7 * HOUR, cache.getOffset(utc(2025, Calendar.JANUARY, 1, 0, 0)));
+        assertEquals(7 * HOUR, cache.getOffset(utc(2025, Calendar.DECEMBER, 17, 23, 59)));
+        assertEquals(utc(2025, Calendar.JUNE, 1, 0, 0) + 7 * HOUR,
+                cache.toLocalMillis(utc(2025, Calendar.JUNE, 1, 0, 0)));
+    }
+
+    @Test
+    public void testTransitionDay_ExactAroundTheSwitch() {
+        TimeZone newYork = TimeZone.getTimeZone("America/New_York");
+        ZoneOffsetCache cache = new ZoneOffsetCache(newYork);
+        // 2025-03-09 02:00 EST = 07:00 UTC, clocks go forward to EDT
+        long transition = utc(2025, Calendar.MARCH, 9, 7, 0);
+
+        assertEquals(-5 * HOUR, cache.getOffset(transition - 1));
+        assertEquals(-4 * HOUR, cache.getOffset(transition));
+        // Both sides of the same day again, now served after the day was loaded
+        assertEquals(-5 * HOUR, cache.getOffset(transition - HOUR));
+        assertEquals(-4 * HOUR, cache.getOffset(transition + HOUR));
+    }
+
+    @Test
+    public void testMatchesTimeZoneEveryQuarterHour() {
+        for (String id : new String[]{"America/New_York", "Europe/London",
+                "Australia/Lord_Howe", "Asia/Kolkata", "Pacific/Chatham"}) {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            ZoneOffsetCache cache = new ZoneOffsetCache(zone);
+            long from = utc(2024, Calendar.JANUARY, 1, 0, 0);
+            long to = utc(2026, Calendar.JANUARY, 1, 0, 0);
+
+            for (long t = from; t < to; t += 15 * MINUTE) {
+                assertEquals(id + " at " + t, zone.getOffset(t), cache.getOffset(t));
+            }
+        }
+    }
+
+    @Test
+    public void testSlotCollision_ReplacesEntry() {
+        ZoneOffsetCache cache = new ZoneOffsetCache(TimeZone.getTimeZone("Europe/London"));
+        long winter = utc(2024, Calendar.NOVEMBER, 15, 12, 0);
+        // 1024 days later lands on the same slot, in summer time
+        long summer = winter + 1024 * ZoneOffsetCache.MILLIS_PER_DAY;
+
+        assertEquals(0, cache.getOffset(winter));
+        assertEquals(HOUR, cache.getOffset(summer));
+        assertEquals(0, cache.getOffset(winter));
+    }
+
+    @Test
+    public void testBeforeEpoch() {
+        ZoneOffsetCache cache = new ZoneOffsetCache(TimeZone.getTimeZone("America/New_York"));
+        long t = utc(1969, Calendar.JULY, 20, 20, 17);
+
+        assertEquals(-4 * HOUR, cache.getOffset(t));
+    }
+
+    @Test
+    public void testZoneIsCopied() {
+        TimeZone zone = TimeZone.getTimeZone("Asia/Tokyo");
+        ZoneOffsetCache cache = new ZoneOffsetCache(zone);
+
+        zone.setRawOffset(0);
+
+        assertEquals(9 * HOUR, cache.getOffset(0));
+    }
+}